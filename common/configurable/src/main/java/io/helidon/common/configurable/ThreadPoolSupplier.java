@@ -16,6 +16,7 @@
 
 package io.helidon.common.configurable;
 
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -45,6 +46,7 @@ public final class ThreadPoolSupplier implements Supplier<ExecutorService> {
     private static final String DEFAULT_POOL_NAME_PREFIX = "helidon-thread-pool-";
     private static final int DEFAULT_GROWTH_RATE = 0; // Maintain JDK pool behavior when max > core
     private static final int DEFAULT_GROWTH_THRESHOLD = 1000;
+    private static final boolean DEFAULT_VIRTUAL_THREADS = false;
 
     private final int corePoolSize;
     private final int maxPoolSize;
@@ -57,7 +59,8 @@ public final class ThreadPoolSupplier implements Supplier<ExecutorService> {
     private final int growthThreshold;
     private final int growthRate;
     private final ThreadPool.RejectionHandler rejectionHandler;
-    private final LazyValue<ExecutorService> lazyValue = LazyValue.create(() -> Contexts.wrap(getThreadPool()));
+    private final boolean virtualThreads;
+    private final LazyValue<ExecutorService> lazyValue = LazyValue.create(() -> Contexts.wrap(getExecutorService()));
 
     private ThreadPoolSupplier(Builder builder) {
         this.corePoolSize = builder.corePoolSize;
@@ -71,6 +74,7 @@ public final class ThreadPoolSupplier implements Supplier<ExecutorService> {
         this.growthThreshold = builder.growthThreshold;
         this.growthRate = builder.growthRate;
         this.rejectionHandler = builder.rejectionHandler == null ? DEFAULT_REJECTION_POLICY : builder.rejectionHandler;
+        this.virtualThreads = builder.virtualThreads;
     }
 
     /**
@@ -102,6 +106,28 @@ public final class ThreadPoolSupplier implements Supplier<ExecutorService> {
         return builder().build();
     }
 
+    /**
+     * Whether the running JVM supports virtual threads.
+     * If not, suppliers configured with {@link Builder#virtualThreads(boolean)} use a thread pool instead.
+     *
+     * @return {@code true} if virtual threads are supported
+     */
+    public static boolean virtualThreadsSupported() {
+        return VirtualThreads.supported();
+    }
+
+    ExecutorService getExecutorService() {
+        if (virtualThreads) {
+            Optional<ExecutorService> executor = VirtualThreads.executor(threadNamePrefix);
+            if (executor.isPresent()) {
+                return executor.get();
+            }
+            LOGGER.info(String.format("Virtual threads are not supported by this JVM, executor \"%s\" uses a thread pool",
+                                      name));
+        }
+        return getThreadPool();
+    }
+
     ThreadPool getThreadPool() {
         ThreadPool result = ThreadPool.create(name,
                                               corePoolSize,
@@ -148,6 +174,7 @@ public final class ThreadPoolSupplier implements Supplier<ExecutorService> {
         private int growthThreshold = DEFAULT_GROWTH_THRESHOLD;
         private int growthRate = DEFAULT_GROWTH_RATE;
         private ThreadPool.RejectionHandler rejectionHandler = DEFAULT_REJECTION_POLICY;
+        private boolean virtualThreads = DEFAULT_VIRTUAL_THREADS;
         private String name;
 
         private Builder() {
@@ -294,6 +321,22 @@ public final class ThreadPoolSupplier implements Supplier<ExecutorService> {
             return this;
         }
 
+        /**
+         * Whether to run each task on its own virtual thread instead of a thread pool.
+         * Blocking code then does not hold on to a platform thread while waiting.
+         * <p>
+         * If the JVM does not support virtual threads, the thread pool configured on this builder is used.
+         * When enabled, the pool sizes, queue capacity and rejection policy only apply to the fallback pool.
+         *
+         * @param virtualThreads whether to use virtual threads
+         * @return updated builder instance
+         * @see ThreadPoolSupplier#virtualThreadsSupported()
+         */
+        public Builder virtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+
         /**
          * Load all properties for this thread pool from configuration.
          * <p>
@@ -340,6 +383,11 @@ public final class ThreadPoolSupplier implements Supplier<ExecutorService> {
          *     <td>{@code true}</td>
          *     <td>Whether or not all core threads should be started when the pool is created.</td>
          * </tr>
+         * <tr>
+         *     <td>virtual-threads</td>
+         *     <td>{@code false}</td>
+         *     <td>Whether to run each task on a new virtual thread, if supported by the JVM.</td>
+         * </tr>
          * </table>
          * <p>
          * <table class="config">
@@ -383,6 +431,7 @@ public final class ThreadPoolSupplier implements Supplier<ExecutorService> {
             config.get("is-daemon").asBoolean().ifPresent(this::daemon);
             config.get("thread-name-prefix").asString().ifPresent(this::threadNamePrefix);
             config.get("should-prestart").asBoolean().ifPresent(this::prestart);
+            config.get("virtual-threads").asBoolean().ifPresent(this::virtualThreads);
             config.get("growth-threshold").asInt().ifPresent(value -> {
                 warnExperimental("growth-threshold");
                 growthThreshold(value);
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.common.configurable;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.helidon.common.LazyValue;
+
+/**
+ * Access to virtual threads of the running JVM.
+ * <p>
+ * Helidon is compiled for a JVM without virtual threads, so the API is looked up reflectively.
+ * When the JVM does not support virtual threads (or they are a preview feature that is not enabled),
+ * {@link #executor(String)} returns an empty optional.
+ */
+final class VirtualThreads {
+    private static final Logger LOGGER = Logger.getLogger(VirtualThreads.class.getName());
+    private static final LazyValue<Boolean> SUPPORTED = LazyValue.create(VirtualThreads::checkSupported);
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Whether the running JVM supports virtual threads.
+     *
+     * @return {@code true} if virtual threads can be created
+     */
+    static boolean supported() {
+        return SUPPORTED.get();
+    }
+
+    /**
+     * Create an executor service that starts a new virtual thread for each task.
+     *
+     * @param threadNamePrefix prefix of the names of the virtual threads
+     * @return a new executor service, or empty if virtual threads are not supported
+     */
+    static Optional<ExecutorService> executor(String threadNamePrefix) {
+        if (!supported()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(createExecutor(threadNamePrefix));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.log(Level.FINE, "Failed to create a virtual thread executor", e);
+            return Optional.empty();
+        }
+    }
+
+    private static boolean checkSupported() {
+        try {
+            // preview versions of virtual threads throw when preview features are not enabled
+            Thread.class.getMethod("ofVirtual").invoke(null);
+            return true;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.log(Level.FINEST, "Virtual threads are not supported", e);
+            return false;
+        }
+    }
+
+    private static ExecutorService createExecutor(String threadNamePrefix) throws ReflectiveOperationException {
+        Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+        Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+        builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 0L);
+        ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        Method newExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        return (ExecutorService) newExecutor.invoke(null, threadFactory);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2019 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -140,6 +140,22 @@ class ThreadPoolSupplierTest {
         }
     }
 
+    @Test
+    void testVirtualThreads() throws ExecutionException, InterruptedException {
+        Config config = Config.create(ConfigSources.create(Map.of("virtual-threads", "true",
+                                                                  "thread-name-prefix", "virtual-unit-test-")));
+        ExecutorService executor = ThreadPoolSupplier.create(config).get();
+        try {
+            AtomicReference<String> threadName = new AtomicReference<>();
+            executor.submit(() -> threadName.set(Thread.currentThread().getName())).get();
+            assertThat(threadName.get(), startsWith("virtual-unit-test-"));
+            // without virtual threads, the configured thread pool is used
+            assertThat(ThreadPool.asThreadPool(executor).isPresent(), is(!ThreadPoolSupplier.virtualThreadsSupported()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     private void testInstance(ThreadPoolExecutor theInstance,
                               String namePrefix,
                               int corePoolSize,
@@ -0,0 +1,490 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.common.http;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * A {@link Parameters} implementation with case-insensitive keys backed by flat arrays, intended for HTTP headers.
+ * <p>
+ * Names are compared by a case-insensitive hash first, which is precomputed for the {@link Http.Header} constants.
+ * Names are stored as they were first added. Values are immutable {@link List lists} that are copied on each write,
+ * same as in {@link HashParameters}.
+ * <p>
+ * A linear scan of a few dozen names is faster than a lookup in a sorted or hashed map and does not allocate.
+ * Instances are thread safe.
+ */
+public class ArrayParameters implements Parameters {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final KnownNames KNOWN_NAMES = new KnownNames(Http.Header.class);
+
+    private String[] names;
+    private int[] hashes;
+    private List<String>[] values;
+    private int size;
+
+    /**
+     * Creates a new instance.
+     */
+    protected ArrayParameters() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new instance with the provided initial capacity.
+     *
+     * @param capacity expected number of names
+     */
+    @SuppressWarnings("unchecked")
+    protected ArrayParameters(int capacity) {
+        int initial = Math.max(capacity, 1);
+        names = new String[initial];
+        hashes = new int[initial];
+        values = new List[initial];
+    }
+
+    /**
+     * Creates a new instance from provided data.
+     * Initial data are copied.
+     *
+     * @param initialContent initial content.
+     */
+    protected ArrayParameters(Map<String, List<String>> initialContent) {
+        this(initialContent == null ? DEFAULT_CAPACITY : initialContent.size());
+        if (initialContent != null) {
+            for (Map.Entry<String, List<String>> entry : initialContent.entrySet()) {
+                List<String> vls = internalListCopy(entry.getValue());
+                if (vls != null) {
+                    doAdd(entry.getKey(), vls);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a new instance from a sequence of name-value pairs, such as HTTP header fields
+     * in the order they were received. Values of the same name are appended.
+     *
+     * @param fields name-value pairs
+     */
+    protected ArrayParameters(Iterable<Map.Entry<String, String>> fields) {
+        this(DEFAULT_CAPACITY);
+        for (Map.Entry<String, String> field : fields) {
+            String name = field.getKey();
+            int hash = hash(name);
+            int index = indexOf(name, hash);
+            if (index < 0) {
+                insert(name, hash, Collections.singletonList(field.getValue()));
+            } else {
+                values[index] = append(values[index], Collections.singletonList(field.getValue()));
+            }
+        }
+    }
+
+    /**
+     * Creates a new empty instance {@link ArrayParameters}.
+     *
+     * @return a new instance of {@link ArrayParameters}.
+     */
+    public static ArrayParameters create() {
+        return new ArrayParameters();
+    }
+
+    /**
+     * Creates a new instance {@link ArrayParameters} from provided data. Initial data is copied.
+     *
+     * @param initialContent initial content.
+     * @return a new instance of {@link ArrayParameters} initialized with the given content.
+     */
+    public static ArrayParameters create(Map<String, List<String>> initialContent) {
+        return new ArrayParameters(initialContent);
+    }
+
+    /**
+     * Creates a new instance {@link ArrayParameters} from a sequence of name-value pairs.
+     * Values of the same name are appended in the order of the sequence.
+     *
+     * @param fields name-value pairs, such as HTTP header fields
+     * @return a new instance of {@link ArrayParameters} initialized with the given content.
+     */
+    public static ArrayParameters create(Iterable<Map.Entry<String, String>> fields) {
+        return new ArrayParameters(fields);
+    }
+
+    @Override
+    public Optional<String> first(String name) {
+        Objects.requireNonNull(name, "Parameter 'name' is null!");
+        synchronized (this) {
+            int index = indexOf(name, hash(name));
+            return index < 0 ? Optional.empty() : Optional.of(values[index].get(0));
+        }
+    }
+
+    @Override
+    public List<String> all(String name) {
+        Objects.requireNonNull(name, "Parameter 'name' is null!");
+        synchronized (this) {
+            int index = indexOf(name, hash(name));
+            return index < 0 ? Collections.emptyList() : values[index];
+        }
+    }
+
+    @Override
+    public List<String> put(String key, String... values) {
+        return doPut(key, internalListCopy(values));
+    }
+
+    @Override
+    public List<String> put(String key, Iterable<String> values) {
+        return doPut(key, internalListCopy(values));
+    }
+
+    @Override
+    public List<String> putIfAbsent(String key, String... values) {
+        return doPutIfAbsent(key, internalListCopy(values));
+    }
+
+    @Override
+    public List<String> putIfAbsent(String key, Iterable<String> values) {
+        return doPutIfAbsent(key, internalListCopy(values));
+    }
+
+    @Override
+    public synchronized List<String> computeIfAbsent(String key, Function<String, Iterable<String>> values) {
+        int hash = hash(key);
+        int index = indexOf(key, hash);
+        if (index >= 0) {
+            return this.values[index];
+        }
+        List<String> computed = internalListCopy(values.apply(key));
+        if (computed == null) {
+            return Collections.emptyList();
+        }
+        insert(key, hash, computed);
+        return computed;
+    }
+
+    @Override
+    public synchronized List<String> computeSingleIfAbsent(String key, Function<String, String> value) {
+        int hash = hash(key);
+        int index = indexOf(key, hash);
+        if (index >= 0) {
+            return values[index];
+        }
+        String computed = value.apply(key);
+        if (computed == null) {
+            return Collections.emptyList();
+        }
+        List<String> result = Collections.singletonList(computed);
+        insert(key, hash, result);
+        return result;
+    }
+
+    @Override
+    public void putAll(Parameters parameters) {
+        if (parameters == null) {
+            return;
+        }
+
+        for (Map.Entry<String, List<String>> entry : parameters.toMap().entrySet()) {
+            List<String> values = entry.getValue();
+            if (values != null && !values.isEmpty()) {
+                doPut(entry.getKey(), Collections.unmodifiableList(values));
+            }
+        }
+    }
+
+    @Override
+    public void add(String key, String... values) {
+        Objects.requireNonNull(key, "Parameter 'key' is null!");
+        if (values == null || values.length == 0) {
+            // do not necessarily create an entry, simply immediately return
+            return;
+        }
+        doAdd(key, Arrays.asList(values));
+    }
+
+    @Override
+    public void add(String key, Iterable<String> values) {
+        Objects.requireNonNull(key, "Parameter 'key' is null!");
+        List<String> vls = internalListCopy(values);
+        if (vls == null) {
+            // do not necessarily create an entry, simply immediately return
+            return;
+        }
+        doAdd(key, vls);
+    }
+
+    @Override
+    public void addAll(Parameters parameters) {
+        if (parameters == null) {
+            return;
+        }
+        Map<String, List<String>> map = parameters.toMap();
+        for (Map.Entry<String, List<String>> entry : map.entrySet()) {
+            add(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public synchronized List<String> remove(String key) {
+        int index = indexOf(key, hash(key));
+        if (index < 0) {
+            return Collections.emptyList();
+        }
+        List<String> result = values[index];
+        removeAt(index);
+        return result;
+    }
+
+    @Override
+    public synchronized Map<String, List<String>> toMap() {
+        // deep copy
+        Map<String, List<String>> result = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (int i = 0; i < size; i++) {
+            result.put(names[i], new ArrayList<>(values[i]));
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ArrayParameters)) {
+            return false;
+        }
+        ArrayParameters that = (ArrayParameters) o;
+        return toMap().equals(that.toMap());
+    }
+
+    @Override
+    public int hashCode() {
+        return toMap().hashCode();
+    }
+
+    private synchronized List<String> doPut(String key, List<String> vs) {
+        int hash = hash(key);
+        int index = indexOf(key, hash);
+        if (index < 0) {
+            if (vs != null) {
+                insert(key, hash, vs);
+            }
+            return Collections.emptyList();
+        }
+        List<String> result = values[index];
+        if (vs == null) {
+            removeAt(index);
+        } else {
+            values[index] = vs;
+        }
+        return result;
+    }
+
+    private synchronized List<String> doPutIfAbsent(String key, List<String> vls) {
+        int hash = hash(key);
+        int index = indexOf(key, hash);
+        if (index >= 0) {
+            return values[index];
+        }
+        if (vls != null) {
+            insert(key, hash, vls);
+        }
+        return Collections.emptyList();
+    }
+
+    private synchronized void doAdd(String key, List<String> vls) {
+        int hash = hash(key);
+        int index = indexOf(key, hash);
+        if (index < 0) {
+            insert(key, hash, Collections.unmodifiableList(new ArrayList<>(vls)));
+        } else {
+            values[index] = append(values[index], vls);
+        }
+    }
+
+    private void removeAt(int index) {
+        int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(names, index + 1, names, index, moved);
+            System.arraycopy(hashes, index + 1, hashes, index, moved);
+            System.arraycopy(values, index + 1, values, index, moved);
+        }
+        size--;
+        names[size] = null;
+        values[size] = null;
+    }
+
+    private static List<String> append(List<String> list, List<String> vls) {
+        ArrayList<String> newValues = new ArrayList<>(list.size() + vls.size());
+        newValues.addAll(list);
+        newValues.addAll(vls);
+        return Collections.unmodifiableList(newValues);
+    }
+
+    private int indexOf(String name, int hash) {
+        String[] names = this.names;
+        int[] hashes = this.hashes;
+        for (int i = 0; i < size; i++) {
+            if (hashes[i] == hash) {
+                String candidate = names[i];
+                if (candidate == name || candidate.equalsIgnoreCase(name)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private void insert(String name, int hash, List<String> vs) {
+        if (size == names.length) {
+            int capacity = size * 2;
+            names = Arrays.copyOf(names, capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        names[size] = name;
+        hashes[size] = hash;
+        values[size] = vs;
+        size++;
+    }
+
+    private static int hash(String name) {
+        Objects.requireNonNull(name, "Parameter 'key' is null!");
+        return KNOWN_NAMES.hash(name);
+    }
+
+    private static List<String> internalListCopy(String... values) {
+        return Optional.ofNullable(values)
+                .map(Arrays::asList)
+                .filter(l -> !l.isEmpty())
+                .map(Collections::unmodifiableList)
+                .orElse(null);
+    }
+
+    private static List<String> internalListCopy(Iterable<String> values) {
+        if (values == null) {
+            return null;
+        } else {
+            List<String> result;
+            if (values instanceof Collection) {
+                result = new ArrayList<>((Collection<String>) values);
+            } else {
+                result = new ArrayList<>();
+                for (String value : values) {
+                    result.add(value);
+                }
+            }
+            if (result.isEmpty()) {
+                return null;
+            } else {
+                return Collections.unmodifiableList(result);
+            }
+        }
+    }
+
+    /**
+     * Case-insensitive hashes of the {@code String} constants of a class, computed once.
+     * <p>
+     * {@link #hash(String)} looks up a constant by identity in an open-addressing table, using the
+     * {@link String#hashCode()} cached by the {@code String} instance, so that the hash of a constant
+     * is never computed again.
+     */
+    static final class KnownNames {
+        private final String[] byIdentity;
+        private final int[] identityHashes;
+        private final int mask;
+
+        KnownNames(Class<?> constants) {
+            List<String> known = new ArrayList<>();
+            for (Field field : constants.getFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) && Modifier.isFinal(modifiers) && field.getType() == String.class) {
+                    try {
+                        known.add((String) field.get(null));
+                    } catch (IllegalAccessException e) {
+                        throw new IllegalStateException("Cannot read constant " + field, e);
+                    }
+                }
+            }
+            int capacity = Integer.highestOneBit(Math.max(known.size(), 1) * 4);
+            this.mask = capacity - 1;
+            this.byIdentity = new String[capacity];
+            this.identityHashes = new int[capacity];
+            for (String name : known) {
+                int hash = caseInsensitiveHash(name);
+                int i = name.hashCode() & mask;
+                while (byIdentity[i] != null && byIdentity[i] != name) {
+                    i = (i + 1) & mask;
+                }
+                byIdentity[i] = name;
+                identityHashes[i] = hash;
+            }
+        }
+
+        /**
+         * Case-insensitive hash of a name.
+         *
+         * @param name name
+         * @return hash, precomputed if the name is one of the constants
+         */
+        int hash(String name) {
+            int i = name.hashCode() & mask;
+            String candidate;
+            while ((candidate = byIdentity[i]) != null) {
+                if (candidate == name) {
+                    return identityHashes[i];
+                }
+                i = (i + 1) & mask;
+            }
+            return caseInsensitiveHash(name);
+        }
+
+        static int caseInsensitiveHash(String name) {
+            int hash = 0;
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (c >= 'A' && c <= 'Z') {
+                    c = (char) (c + ('a' - 'A'));
+                } else if (c >= 128) {
+                    // same folding as String.equalsIgnoreCase
+                    c = Character.toLowerCase(Character.toUpperCase(c));
+                }
+                hash = 31 * hash + c;
+            }
+            return hash;
+        }
+    }
+}
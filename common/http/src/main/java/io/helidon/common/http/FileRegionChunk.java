@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.common.http;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A {@link DataChunk} representing a region of a file.
+ * <p>
+ * A transport that supports it (such as the web server on a plain socket) transfers the region directly
+ * from the file to the connection, without copying the content into memory. Such chunks must only be
+ * published to a transport that declared the support; the content is not available as buffers and
+ * {@link #data()} throws {@link UnsupportedOperationException}.
+ * <p>
+ * The file channel is owned by the chunk and is closed by {@link #release()}.
+ */
+public interface FileRegionChunk extends DataChunk {
+
+    /**
+     * Creates a data chunk for a region of a file.
+     *
+     * @param channel  an open file channel, closed when the chunk is released
+     * @param position position of the region in the file
+     * @param count    number of bytes of the region
+     * @return a file region data chunk
+     */
+    static FileRegionChunk create(FileChannel channel, long position, long count) {
+        return new FileRegionChunkImpl(channel, position, count);
+    }
+
+    /**
+     * The file channel this region belongs to.
+     *
+     * @return the file channel
+     */
+    FileChannel channel();
+
+    /**
+     * Position of the region in the file.
+     *
+     * @return position in bytes
+     */
+    long position();
+
+    /**
+     * Number of bytes of the region.
+     *
+     * @return region size in bytes
+     */
+    long count();
+
+    /**
+     * Returns the number of bytes of this region, or {@link Integer#MAX_VALUE} for regions which are larger;
+     * use {@link #count()} to obtain the exact size.
+     *
+     * @return the number of bytes of the region, at most {@link Integer#MAX_VALUE}
+     */
+    @Override
+    default int remaining() {
+        return (int) Math.min(count(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * File regions are transferred by the transport and never read into memory.
+     *
+     * @return never returns
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    ByteBuffer[] data();
+
+    @Override
+    default boolean isReadOnly() {
+        return true;
+    }
+}
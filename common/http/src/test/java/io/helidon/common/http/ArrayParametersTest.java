@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.common.http;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests {@link ArrayParameters}.
+ */
+public class ArrayParametersTest {
+
+    @Test
+    public void caseInsensitive() {
+        ArrayParameters params = ArrayParameters.create();
+        params.add("content-type", "text/plain");
+        params.add("X-Custom", "a");
+        params.add("x-custom", "b");
+
+        assertThat(params.first(Http.Header.CONTENT_TYPE).get(), is("text/plain"));
+        assertThat(params.first("CONTENT-TYPE").get(), is("text/plain"));
+        assertThat(params.all("X-CUSTOM"), contains("a", "b"));
+        assertThat(params.toMap().size(), is(2));
+    }
+
+    @Test
+    public void namesKeptAsAdded() {
+        ArrayParameters params = ArrayParameters.create();
+        params.add("content-length", "10");
+        params.add(Http.Header.CONTENT_LENGTH, "20");
+        params.add("x-custom", "a");
+
+        Map<String, List<String>> map = params.toMap();
+        assertThat(map.keySet(), containsInAnyOrder("content-length", "x-custom"));
+        assertThat(params.all(Http.Header.CONTENT_LENGTH), contains("10", "20"));
+    }
+
+    @Test
+    public void fields() {
+        List<Map.Entry<String, String>> fields = List.of(new AbstractMap.SimpleEntry<>("Accept", "text/html"),
+                                                         new AbstractMap.SimpleEntry<>("Host", "localhost"),
+                                                         new AbstractMap.SimpleEntry<>("accept", "*/*"));
+        ArrayParameters params = ArrayParameters.create(fields);
+
+        assertThat(params.all(Http.Header.ACCEPT), contains("text/html", "*/*"));
+        assertThat(params.first(Http.Header.HOST).get(), is("localhost"));
+        assertThat(params.first(Http.Header.COOKIE).isPresent(), is(false));
+    }
+
+    @Test
+    public void putAndRemove() {
+        ArrayParameters params = ArrayParameters.create();
+        List<String> result = params.put("a", "v1", "v2");
+        assertThat(result, hasSize(0));
+        result = params.put("A", "x1");
+        assertThat(result, contains("v1", "v2"));
+        assertThat(params.all("a"), contains("x1"));
+
+        List<String> values = new ArrayList<>(Arrays.asList("y1", "y2"));
+        params.put("a", values);
+        values.add("y3");
+        assertThat(params.all("a"), contains("y1", "y2"));
+
+        params.put("b", "b1");
+        params.put("c", "c1");
+        assertThat(params.remove("b"), contains("b1"));
+        assertThat(params.remove("b"), hasSize(0));
+        assertThat(params.all("c"), contains("c1"));
+        params.put("c");
+        assertThat(params.first("c").isPresent(), is(false));
+        assertThat(params.toMap().size(), is(1));
+    }
+
+    @Test
+    public void putIfAbsentAndCompute() {
+        ArrayParameters params = ArrayParameters.create();
+        assertThat(params.putIfAbsent("a", "v1"), hasSize(0));
+        assertThat(params.putIfAbsent("a", "x1"), contains("v1"));
+        assertThat(params.computeIfAbsent("a", k -> List.of("x1")), contains("v1"));
+        assertThat(params.computeIfAbsent("b", k -> null), hasSize(0));
+        assertThat(params.first("b").isPresent(), is(false));
+        assertThat(params.computeSingleIfAbsent("b", k -> "b1"), contains("b1"));
+        assertThat(params.all("b"), contains("b1"));
+    }
+
+    @Test
+    public void growAndCopy() {
+        ArrayParameters params = ArrayParameters.create();
+        for (int i = 0; i < 100; i++) {
+            params.add("name" + i, "value" + i);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertThat(params.first("NAME" + i).get(), is("value" + i));
+        }
+
+        ArrayParameters copy = ArrayParameters.create(params.toMap());
+        assertThat(copy, is(params));
+        copy.addAll(params);
+        assertThat(copy.all("name0"), contains("value0", "value0"));
+    }
+
+    @Test
+    public void unmodifiableValues() {
+        ArrayParameters params = ArrayParameters.create();
+        params.add("a", "v1", "v2");
+
+        assertThrows(UnsupportedOperationException.class, () -> params.all("a").add("this should fail"));
+        assertThrows(UnsupportedOperationException.class, () -> params.all("b").add("this should fail"));
+    }
+}
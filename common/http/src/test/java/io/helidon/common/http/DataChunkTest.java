@@ -16,8 +16,13 @@
 
 package io.helidon.common.http;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.jupiter.api.Test;
@@ -25,6 +30,7 @@ import org.junit.jupiter.api.Test;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * Unit test for {@link DataChunk}.
@@ -74,4 +80,24 @@ class DataChunkTest {
         chunk.release();
         assertThat(chunk.isReleased(), is(true));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testFileRegion() throws IOException {
+        Path file = Files.createTempFile("data-chunk", ".txt");
+        try {
+            Files.write(file, "urzatron".getBytes(StandardCharsets.UTF_8));
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+            FileRegionChunk chunk = FileRegionChunk.create(channel, 1, 4);
+
+            assertThat(chunk.count(), is(4L));
+            assertThat(chunk.remaining(), is(4));
+            assertThat(chunk.isReadOnly(), is(true));
+            assertThrows(UnsupportedOperationException.class, chunk::data);
+            chunk.release();
+            assertThat(chunk.isReleased(), is(true));
+            assertThat(channel.isOpen(), is(false));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
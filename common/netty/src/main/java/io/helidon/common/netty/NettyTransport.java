@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.common.netty;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+
+/**
+ * Network transport of Netty event loops: Java NIO, or one of the Linux native transports.
+ * <p>
+ * Supported transport names are {@code auto} (epoll if available, nio otherwise), {@code nio}, {@code epoll}
+ * and {@code io-uring}. Native transports are loaded reflectively, so the native libraries stay optional
+ * dependencies; if the requested native transport is not available, NIO is used instead.
+ */
+public final class NettyTransport {
+    private static final Logger LOGGER = Logger.getLogger(NettyTransport.class.getName());
+    private static final NettyTransport NIO = new NettyTransport("nio", null);
+
+    private static final String EPOLL_PREFIX = "io.netty.channel.epoll.Epoll";
+    private static final String IO_URING_PREFIX = "io.netty.incubator.channel.uring.IOUring";
+
+    private final String name;
+    private final String classPrefix;
+
+    private NettyTransport(String name, String classPrefix) {
+        this.name = name;
+        this.classPrefix = classPrefix;
+    }
+
+    /**
+     * The Java NIO transport, available on all platforms.
+     *
+     * @return NIO transport
+     */
+    public static NettyTransport nio() {
+        return NIO;
+    }
+
+    /**
+     * Resolve a transport by its name.
+     *
+     * @param transport transport name, case insensitive, {@code io_uring} is accepted as well
+     * @return the requested transport, or {@link #nio()} if it is not available
+     * @throws IllegalArgumentException in case the name is not a supported transport
+     */
+    public static NettyTransport create(String transport) {
+        String name = transport.trim().replace('_', '-').toLowerCase(Locale.ROOT);
+        switch (name) {
+        case "nio":
+            return NIO;
+        case "epoll":
+            return nativeTransport(name, EPOLL_PREFIX, true);
+        case "io-uring":
+            return nativeTransport(name, IO_URING_PREFIX, true);
+        case "auto":
+            return nativeTransport("epoll", EPOLL_PREFIX, false);
+        default:
+            throw new IllegalArgumentException("Unsupported transport: " + transport
+                                                       + ", supported values are auto, nio, epoll and io-uring");
+        }
+    }
+
+    /**
+     * Name of this transport, {@code nio}, {@code epoll} or {@code io-uring}.
+     *
+     * @return transport name
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Whether this is a Linux native transport.
+     *
+     * @return {@code true} for native transports, {@code false} for NIO
+     */
+    public boolean isNative() {
+        return classPrefix != null;
+    }
+
+    /**
+     * Create a new event loop group with Netty's default thread factory.
+     *
+     * @param threads number of threads, {@code 0} or less for Netty default
+     * @return a new event loop group
+     */
+    public EventLoopGroup createGroup(int threads) {
+        int count = Math.max(threads, 0);
+        if (classPrefix == null) {
+            return new NioEventLoopGroup(count);
+        }
+        try {
+            return (EventLoopGroup) loadClass("EventLoopGroup")
+                    .getConstructor(int.class)
+                    .newInstance(count);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create " + name + " event loop group", e);
+        }
+    }
+
+    /**
+     * Create a new event loop group.
+     *
+     * @param threads number of threads, {@code 0} or less for Netty default
+     * @param threadFactory factory of the event loop threads
+     * @return a new event loop group
+     */
+    public EventLoopGroup createGroup(int threads, ThreadFactory threadFactory) {
+        int count = Math.max(threads, 0);
+        if (classPrefix == null) {
+            return new NioEventLoopGroup(count, threadFactory);
+        }
+        try {
+            return (EventLoopGroup) loadClass("EventLoopGroup")
+                    .getConstructor(int.class, ThreadFactory.class)
+                    .newInstance(count, threadFactory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create " + name + " event loop group", e);
+        }
+    }
+
+    /**
+     * Client socket channel type of this transport.
+     *
+     * @return socket channel class
+     */
+    @SuppressWarnings("unchecked")
+    public Class<? extends Channel> socketChannelType() {
+        if (classPrefix == null) {
+            return NioSocketChannel.class;
+        }
+        try {
+            return (Class<? extends Channel>) loadClass("SocketChannel");
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Failed to load " + name + " socket channel", e);
+        }
+    }
+
+    /**
+     * Server socket channel type of this transport.
+     *
+     * @return server channel class
+     */
+    @SuppressWarnings("unchecked")
+    public Class<? extends ServerChannel> serverChannelType() {
+        if (classPrefix == null) {
+            return NioServerSocketChannel.class;
+        }
+        try {
+            return (Class<? extends ServerChannel>) loadClass("ServerSocketChannel");
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Failed to load " + name + " server channel", e);
+        }
+    }
+
+    /**
+     * A channel option specific to this transport, such as {@code SO_REUSEPORT} or {@code TCP_FASTOPEN}.
+     *
+     * @param optionName name of the option constant
+     * @param <T> type of the option value
+     * @return the option, empty if NIO or if not supported by this transport
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<ChannelOption<T>> option(String optionName) {
+        if (classPrefix == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of((ChannelOption<T>) loadClass("ChannelOption").getField(optionName).get(null));
+        } catch (ReflectiveOperationException e) {
+            LOGGER.fine(() -> "Channel option " + optionName + " is not supported by transport " + name);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    private Class<?> loadClass(String suffix) throws ClassNotFoundException {
+        return Class.forName(classPrefix + suffix, true, NettyTransport.class.getClassLoader());
+    }
+
+    private static NettyTransport nativeTransport(String name, String classPrefix, boolean explicit) {
+        Level level = explicit ? Level.WARNING : Level.FINE;
+        try {
+            Class<?> availability = Class.forName(classPrefix, true, NettyTransport.class.getClassLoader());
+            if ((Boolean) availability.getMethod("isAvailable").invoke(null)) {
+                return new NettyTransport(name, classPrefix);
+            }
+            Throwable cause = (Throwable) availability.getMethod("unavailabilityCause").invoke(null);
+            LOGGER.log(level, "Transport " + name + " is not available, falling back to nio", cause);
+        } catch (ClassNotFoundException e) {
+            LOGGER.log(level, "Transport " + name + " is not on the classpath, falling back to nio");
+        } catch (ReflectiveOperationException | LinkageError e) {
+            LOGGER.log(level, "Failed to load transport " + name + ", falling back to nio", e);
+        }
+        return NIO;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.common.netty;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests {@link NettyTransport}.
+ */
+class NettyTransportTest {
+
+    @Test
+    void testNio() {
+        NettyTransport transport = NettyTransport.create("NIO");
+        assertThat(transport.name(), is("nio"));
+        assertThat(transport.isNative(), is(false));
+        assertThat(transport.serverChannelType(), is((Object) NioServerSocketChannel.class));
+        assertThat(transport.socketChannelType(), is((Object) NioSocketChannel.class));
+        assertThat(transport.option("SO_REUSEPORT").isPresent(), is(false));
+        EventLoopGroup group = transport.createGroup(1);
+        try {
+            assertThat(group, instanceOf(NioEventLoopGroup.class));
+        } finally {
+            group.shutdownGracefully();
+        }
+    }
+
+    @Test
+    void testFallbackWithoutNativeLibrary() {
+        // native transports are not test dependencies of this module
+        assertThat(NettyTransport.create("epoll"), is(NettyTransport.nio()));
+        assertThat(NettyTransport.create("io_uring"), is(NettyTransport.nio()));
+        assertThat(NettyTransport.create(" auto "), is(NettyTransport.nio()));
+    }
+
+    @Test
+    void testUnsupported() {
+        assertThrows(IllegalArgumentException.class, () -> NettyTransport.create("kqueue"));
+    }
+}
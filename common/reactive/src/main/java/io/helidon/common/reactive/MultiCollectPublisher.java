@@ -74,7 +74,12 @@ final class MultiCollectPublisher<T, U> extends CompletionSingle<U> {
             SubscriptionHelper.validate(upstream, subscription);
             this.upstream = subscription;
             downstream().onSubscribe(this);
-            subscription.request(Long.MAX_VALUE);
+            SyncFuseableSubscription<T> fused = SyncFuseableSubscription.fuse(subscription, this);
+            if (fused != null) {
+                SyncFuseableSubscription.drain(fused, this, () -> upstream == SubscriptionHelper.CANCELED);
+            } else {
+                subscription.request(Long.MAX_VALUE);
+            }
         }
 
         @Override
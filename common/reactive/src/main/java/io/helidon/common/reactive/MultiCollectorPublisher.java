@@ -101,7 +101,12 @@ final class MultiCollectorPublisher<T, A, R> extends CompletionSingle<R> {
                 return;
             }
             downstream().onSubscribe(this);
-            subscription.request(Long.MAX_VALUE);
+            SyncFuseableSubscription<T> fused = SyncFuseableSubscription.fuse(subscription, this);
+            if (fused != null) {
+                SyncFuseableSubscription.drain(fused, this, () -> upstream == SubscriptionHelper.CANCELED);
+            } else {
+                subscription.request(Long.MAX_VALUE);
+            }
         }
 
         @Override
@@ -37,7 +37,14 @@ final class MultiFilterPublisher<T> implements Multi<T> {
         source.subscribe(new FilterSubscriber<>(subscriber, predicate));
     }
 
-    static final class FilterSubscriber<T> implements Flow.Subscriber<T>, Flow.Subscription {
+    @Override
+    public Multi<T> filter(Predicate<? super T> predicate) {
+        // fuse consecutive filters into a single stage
+        Predicate<? super T> first = this.predicate;
+        return new MultiFilterPublisher<>(source, item -> first.test(item) && predicate.test(item));
+    }
+
+    static final class FilterSubscriber<T> implements Flow.Subscriber<T>, SyncFuseableSubscription<T> {
 
         private final Flow.Subscriber<? super T> downstream;
 
@@ -45,6 +52,8 @@ final class MultiFilterPublisher<T> implements Multi<T> {
 
         private Flow.Subscription upstream;
 
+        private SyncFuseableSubscription<T> fused;
+
         FilterSubscriber(Flow.Subscriber<? super T> downstream, Predicate<? super T> predicate) {
             this.downstream = downstream;
             this.predicate = predicate;
@@ -113,5 +122,24 @@ final class MultiFilterPublisher<T> implements Multi<T> {
                 s.cancel();
             }
         }
+
+        @Override
+        public boolean requestSyncFusion(Flow.Subscriber<?> subscriber) {
+            if (subscriber != downstream) {
+                return false;
+            }
+            fused = SyncFuseableSubscription.fuse(upstream, this);
+            return fused != null;
+        }
+
+        @Override
+        public T poll() {
+            for (;;) {
+                T item = fused.poll();
+                if (item == null || predicate.test(item)) {
+                    return item;
+                }
+            }
+        }
     }
 }
@@ -35,7 +35,7 @@ final class MultiFromArrayPublisher<T> implements Multi<T> {
         subscriber.onSubscribe(new ArraySubscription<>(subscriber, items));
     }
 
-    static final class ArraySubscription<T> extends AtomicLong implements Flow.Subscription {
+    static final class ArraySubscription<T> extends AtomicLong implements SyncFuseableSubscription<T> {
 
         private final Flow.Subscriber<? super T> downstream;
 
@@ -114,5 +114,24 @@ final class MultiFromArrayPublisher<T> implements Multi<T> {
         public void cancel() {
             canceled = CANCEL;
         }
+
+        @Override
+        public boolean requestSyncFusion(Flow.Subscriber<?> subscriber) {
+            return subscriber == downstream && get() == 0L;
+        }
+
+        @Override
+        public T poll() {
+            int i = index;
+            if (i == array.length) {
+                return null;
+            }
+            T item = array[i];
+            if (item == null) {
+                throw new NullPointerException("Array element at index " + i + " is null");
+            }
+            index = i + 1;
+            return item;
+        }
     }
 }
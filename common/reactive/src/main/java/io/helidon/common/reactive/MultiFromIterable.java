@@ -60,7 +60,7 @@ final class MultiFromIterable<T> implements Multi<T> {
         subscriber.onSubscribe(new IteratorSubscription<>(subscriber, iterator));
     }
 
-    static final class IteratorSubscription<T> extends AtomicLong implements Flow.Subscription {
+    static final class IteratorSubscription<T> extends AtomicLong implements SyncFuseableSubscription<T> {
 
         private final Flow.Subscriber<? super T> downstream;
 
@@ -68,6 +68,8 @@ final class MultiFromIterable<T> implements Multi<T> {
 
         private volatile int canceled;
 
+        private boolean polled;
+
         static final int NORMAL_CANCEL = 1;
         static final int BAD_REQUEST = 2;
 
@@ -164,5 +166,25 @@ final class MultiFromIterable<T> implements Multi<T> {
             canceled = NORMAL_CANCEL;
             request(1); // for cleanup
         }
+
+        @Override
+        public boolean requestSyncFusion(Flow.Subscriber<?> subscriber) {
+            return subscriber == downstream && get() == 0L;
+        }
+
+        @Override
+        public T poll() {
+            Iterator<T> iterator = this.iterator;
+            if (iterator == null) {
+                return null;
+            }
+            // hasNext() of the first item was already checked by subscribe
+            if (polled && !iterator.hasNext()) {
+                this.iterator = null;
+                return null;
+            }
+            polled = true;
+            return Objects.requireNonNull(iterator.next(), "The iterator returned a null value");
+        }
     }
 }
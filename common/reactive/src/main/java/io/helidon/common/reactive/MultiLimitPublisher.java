@@ -44,6 +44,12 @@ final class MultiLimitPublisher<T> implements Multi<T> {
         source.subscribe(new LimitSubscriber<>(subscriber, limit));
     }
 
+    @Override
+    public Multi<T> limit(long limit) {
+        // fuse consecutive limits into a single stage
+        return new MultiLimitPublisher<>(source, Math.min(this.limit, limit));
+    }
+
     static final class LimitSubscriber<T> implements Flow.Subscriber<T>, Flow.Subscription {
 
         private final Flow.Subscriber<? super T> downstream;
@@ -42,7 +42,16 @@ final class MultiMapperPublisher<T, R> implements Multi<R> {
         source.subscribe(new MapperSubscriber<>(subscriber, mapper));
     }
 
-    static final class MapperSubscriber<T, R> implements Flow.Subscriber<T>, Flow.Subscription {
+    @Override
+    public <U> Multi<U> map(Function<? super R, ? extends U> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        // fuse consecutive mappers into a single stage
+        Function<? super T, ? extends R> first = this.mapper;
+        return new MultiMapperPublisher<T, U>(source, item -> mapper.apply(
+                Objects.requireNonNull(first.apply(item), "The mapper returned a null value.")));
+    }
+
+    static final class MapperSubscriber<T, R> implements Flow.Subscriber<T>, SyncFuseableSubscription<R> {
 
         private final Flow.Subscriber<? super R> downstream;
 
@@ -50,6 +59,8 @@ final class MultiMapperPublisher<T, R> implements Multi<R> {
 
         private Flow.Subscription upstream;
 
+        private SyncFuseableSubscription<T> fused;
+
         MapperSubscriber(Flow.Subscriber<? super R> downstream, Function<? super T, ? extends R> mapper) {
             this.downstream = downstream;
             this.mapper = mapper;
@@ -109,5 +120,23 @@ final class MultiMapperPublisher<T, R> implements Multi<R> {
             upstream.cancel();
             upstream = SubscriptionHelper.CANCELED;
         }
+
+        @Override
+        public boolean requestSyncFusion(Flow.Subscriber<?> subscriber) {
+            if (subscriber != downstream) {
+                return false;
+            }
+            fused = SyncFuseableSubscription.fuse(upstream, this);
+            return fused != null;
+        }
+
+        @Override
+        public R poll() {
+            T item = fused.poll();
+            if (item == null) {
+                return null;
+            }
+            return Objects.requireNonNull(mapper.apply(item), "The mapper returned a null value.");
+        }
     }
 }
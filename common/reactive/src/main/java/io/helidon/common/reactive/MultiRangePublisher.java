@@ -36,7 +36,26 @@ final class MultiRangePublisher implements Multi<Integer> {
         subscriber.onSubscribe(new RangeSubscription(subscriber, start, end));
     }
 
-    static final class RangeSubscription extends AtomicLong implements Flow.Subscription {
+    @Override
+    public Multi<Integer> limit(long limit) {
+        if (limit < 0L) {
+            throw new IllegalArgumentException("limit is negative");
+        }
+        // fuse into a shorter range
+        return Multi.range(start, (int) Math.min(limit, (long) end - start));
+    }
+
+    @Override
+    public Multi<Integer> skip(long skip) {
+        // fuse into a shorter range
+        long count = (long) end - start - Math.max(0L, skip);
+        if (count <= 0L) {
+            return Multi.empty();
+        }
+        return Multi.range(end - (int) count, (int) count);
+    }
+
+    static final class RangeSubscription extends AtomicLong implements SyncFuseableSubscription<Integer> {
 
         private final Flow.Subscriber<? super Integer> downstream;
 
@@ -113,5 +132,20 @@ final class MultiRangePublisher implements Multi<Integer> {
         public void cancel() {
             canceled = CANCELED;
         }
+
+        @Override
+        public boolean requestSyncFusion(Flow.Subscriber<?> subscriber) {
+            return subscriber == downstream && get() == 0L;
+        }
+
+        @Override
+        public Integer poll() {
+            int i = index;
+            if (i == end) {
+                return null;
+            }
+            index = i + 1;
+            return i;
+        }
     }
 }
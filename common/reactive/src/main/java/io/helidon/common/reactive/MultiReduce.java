@@ -61,7 +61,12 @@ final class MultiReduce<T> extends CompletionSingle<T> {
             SubscriptionHelper.validate(upstream, subscription);
             upstream = subscription;
             subscribeSelf();
-            subscription.request(Long.MAX_VALUE);
+            SyncFuseableSubscription<T> fused = SyncFuseableSubscription.fuse(subscription, this);
+            if (fused != null) {
+                SyncFuseableSubscription.drain(fused, this, () -> upstream == SubscriptionHelper.CANCELED);
+            } else {
+                subscription.request(Long.MAX_VALUE);
+            }
         }
 
         @Override
@@ -42,6 +42,13 @@ final class MultiSkipPublisher<T> implements Multi<T> {
         source.subscribe(new SkipSubscriber<>(subscriber, n));
     }
 
+    @Override
+    public Multi<T> skip(long skip) {
+        // fuse consecutive skips into a single stage
+        long sum = n + Math.max(0L, skip);
+        return new MultiSkipPublisher<>(source, sum < 0L ? Long.MAX_VALUE : sum);
+    }
+
     static final class SkipSubscriber<T> implements Flow.Subscriber<T> {
 
         private final Flow.Subscriber<? super T> downstream;
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.common.reactive;
+
+import java.util.concurrent.Flow;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Subscription of a synchronous source, or of a synchronous operator on top of one, that lets
+ * the consumer pull the items with {@link #poll()} instead of requesting them and receiving them
+ * via {@code onNext}, saving the per-item request accounting of every stage in between.
+ * <p>
+ * A consumer invokes {@link #requestSyncFusion(Flow.Subscriber)} from its {@code onSubscribe}, before
+ * requesting anything. Fusion is only granted to the subscriber the subscription was created for, so that
+ * operators forwarding the subscription of their upstream as is are never bypassed. If fusion is granted,
+ * the consumer must not call {@link #request(long)} and drains the items by calling {@link #poll()} until
+ * it returns {@code null}, which indicates completion. Failures are thrown from {@link #poll()}.
+ * No {@code onNext}, {@code onError} or {@code onComplete} signals are delivered to a fused consumer.
+ *
+ * @param <T> item type
+ */
+interface SyncFuseableSubscription<T> extends Flow.Subscription {
+
+    /**
+     * Request the synchronous fusion mode.
+     *
+     * @param subscriber the subscriber requesting fusion
+     * @return {@code true} if granted, {@code false} if the items must be requested as usual
+     */
+    boolean requestSyncFusion(Flow.Subscriber<?> subscriber);
+
+    /**
+     * Get the next item.
+     *
+     * @return next item, or {@code null} if there are no more items
+     */
+    T poll();
+
+    /**
+     * Request the synchronous fusion mode on the given subscription.
+     *
+     * @param subscription subscription received by {@code onSubscribe}
+     * @param subscriber the subscriber that received the subscription
+     * @param <T> item type
+     * @return fused subscription, or {@code null} if the subscription cannot be fused
+     */
+    @SuppressWarnings("unchecked")
+    static <T> SyncFuseableSubscription<T> fuse(Flow.Subscription subscription, Flow.Subscriber<? super T> subscriber) {
+        if (subscription instanceof SyncFuseableSubscription) {
+            SyncFuseableSubscription<T> fuseable = (SyncFuseableSubscription<T>) subscription;
+            if (fuseable.requestSyncFusion(subscriber)) {
+                return fuseable;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Pull all items of a fused subscription and signal them to the subscriber, followed by {@code onComplete}
+     * or {@code onError}, until the subscriber cancels.
+     *
+     * @param fused fused subscription
+     * @param subscriber the subscriber fusion was granted to
+     * @param canceled whether the subscriber canceled, checked before each item
+     * @param <T> item type
+     */
+    static <T> void drain(SyncFuseableSubscription<T> fused,
+                          Flow.Subscriber<? super T> subscriber,
+                          BooleanSupplier canceled) {
+        for (;;) {
+            if (canceled.getAsBoolean()) {
+                return;
+            }
+            T item;
+            try {
+                item = fused.poll();
+            } catch (Throwable ex) {
+                fused.cancel();
+                subscriber.onError(ex);
+                return;
+            }
+            if (item == null) {
+                subscriber.onComplete();
+                return;
+            }
+            subscriber.onNext(item);
+        }
+    }
+}
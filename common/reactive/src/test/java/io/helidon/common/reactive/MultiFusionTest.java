@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.common.reactive;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the fusion of synchronous operators and sources.
+ */
+public class MultiFusionTest {
+
+    @Test
+    public void consecutiveMappersFused() {
+        Multi<Integer> multi = Multi.just(1, 2, 3).map(v -> v + 1).map(v -> v * 10);
+        assertThat(multi, instanceOf(MultiMapperPublisher.class));
+
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+        multi.subscribe(ts);
+        ts.requestMax();
+        ts.assertResult(20, 30, 40);
+    }
+
+    @Test
+    public void fusedMapperNullValue() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+        Multi.just(1, 2, 3)
+                .map(v -> v == 2 ? null : v)
+                .map(v -> v * 10)
+                .subscribe(ts);
+        ts.requestMax();
+        ts.assertFailure(NullPointerException.class, 10);
+    }
+
+    @Test
+    public void consecutiveFiltersFused() {
+        Multi<Integer> multi = Multi.range(0, 20).filter(v -> v % 2 == 0).filter(v -> v % 3 == 0);
+        assertThat(multi, instanceOf(MultiFilterPublisher.class));
+
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+        multi.subscribe(ts);
+        ts.requestMax();
+        ts.assertResult(0, 6, 12, 18);
+    }
+
+    @Test
+    public void rangeLimitSkipFused() {
+        assertThat(Multi.range(0, 10).limit(3).collectList().await(), is(List.of(0, 1, 2)));
+        assertThat(Multi.range(0, 10).skip(7).collectList().await(), is(List.of(7, 8, 9)));
+        assertThat(Multi.range(0, 10).skip(2).limit(2).collectList().await(), is(List.of(2, 3)));
+        assertThat(Multi.range(0, 10).skip(Long.MAX_VALUE).collectList().await(), is(List.of()));
+        assertThat(Multi.range(0, 10).limit(Long.MAX_VALUE).collectList().await().size(), is(10));
+        assertThrows(IllegalArgumentException.class, () -> Multi.range(0, 10).limit(-1));
+    }
+
+    @Test
+    public void consecutiveLimitsAndSkipsFused() {
+        Multi<Integer> multi = Multi.just(0, 1, 2, 3, 4, 5, 6, 7, 8, 9)
+                .skip(1)
+                .skip(2)
+                .limit(5)
+                .limit(2);
+        assertThat(multi.collectList().await(), is(List.of(3, 4)));
+        assertThat(Multi.just(1, 2).skip(Long.MAX_VALUE).skip(1).collectList().await(), is(List.of()));
+    }
+
+    @Test
+    public void syncFusedReduce() {
+        Integer sum = Multi.create(List.of(1, 2, 3, 4))
+                .map(v -> v * 10)
+                .filter(v -> v > 10)
+                .reduce(Integer::sum)
+                .await();
+        assertThat(sum, is(90));
+
+        // a non-fuseable stage falls back to requesting
+        AtomicInteger peeked = new AtomicInteger();
+        sum = Multi.range(1, 4)
+                .peek(v -> peeked.incrementAndGet())
+                .map(v -> v * 10)
+                .reduce(Integer::sum)
+                .await();
+        assertThat(sum, is(100));
+        assertThat(peeked.get(), is(4));
+    }
+
+    @Test
+    public void syncFusedCollect() {
+        assertThat(Multi.range(0, 5).map(v -> v * 2).collectList().await(), is(List.of(0, 2, 4, 6, 8)));
+        assertThat(Multi.just("a", "b", "c").collectStream(Collectors.toList()).await(), is(List.of("a", "b", "c")));
+    }
+
+    @Test
+    public void syncFusedErrors() {
+        Single<Integer> mapperFailure = Multi.just(1, 2, 3)
+                .map(v -> {
+                    if (v == 3) {
+                        throw new IllegalStateException("failed");
+                    }
+                    return v;
+                })
+                .reduce(Integer::sum);
+        assertThrows(IllegalStateException.class, () -> unwrap(mapperFailure));
+
+        Single<List<Integer>> nullItem = Multi.create(Arrays.asList(1, null, 3)).collectList();
+        assertThrows(NullPointerException.class, () -> unwrap(nullItem));
+    }
+
+    private static void unwrap(Single<?> single) throws Throwable {
+        try {
+            single.await();
+        } catch (Exception ex) {
+            throw ex.getCause() == null ? ex : ex.getCause();
+        }
+    }
+}
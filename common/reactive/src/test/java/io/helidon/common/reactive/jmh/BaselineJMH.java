@@ -117,4 +117,22 @@ public class BaselineJMH {
     public void limitAll(Blackhole bh) {
         Multi.just(array).limit(Long.MAX_VALUE).subscribe(new SyncUnboundedJmhSubscriber(bh));
     }
+
+    @Benchmark
+    public void mapFilterMap(Blackhole bh) {
+        Multi.just(array)
+                .map(v -> v + 1)
+                .filter(v -> (v & 1) == 0)
+                .map(v -> v * 2)
+                .subscribe(new SyncUnboundedJmhSubscriber(bh));
+    }
+
+    @Benchmark
+    public void mapFilterReduce(Blackhole bh) throws Exception {
+        bh.consume(Multi.just(array)
+                           .map(v -> v + 1)
+                           .filter(v -> (v & 1) == 0)
+                           .reduce(Integer::sum)
+                           .get());
+    }
 }
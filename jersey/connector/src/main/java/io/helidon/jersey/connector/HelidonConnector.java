@@ -95,6 +95,16 @@ class HelidonConnector implements Connector {
 
         HelidonStructures.helidonConfig(config).ifPresent(webClientBuilder::config);
 
+        final Boolean keepAlive = ClientProperties.getValue(config.getProperties(), HelidonProperties.KEEP_ALIVE, Boolean.class);
+        if (keepAlive != null) {
+            webClientBuilder.keepAlive(keepAlive);
+        }
+        final Integer maxConnectionsPerHost = ClientProperties.getValue(config.getProperties(),
+                HelidonProperties.MAX_CONNECTIONS_PER_HOST, Integer.class);
+        if (maxConnectionsPerHost != null) {
+            webClientBuilder.maxConnectionsPerHost(maxConnectionsPerHost);
+        }
+
         webClientBuilder.connectTimeout(ClientProperties.getValue(config.getProperties(),
                 ClientProperties.CONNECT_TIMEOUT, 10000), TimeUnit.MILLISECONDS);
 
@@ -205,7 +215,7 @@ class HelidonConnector implements Connector {
 
         final CompletionStage<InputStream> stream = HelidonStructures.hasEntity(webClientResponse)
                 ? webClientResponse.content().as(InputStream.class)
-                : CompletableFuture.supplyAsync(() -> NO_CONTENT_INPUT_STREAM);
+                : CompletableFuture.completedFuture(NO_CONTENT_INPUT_STREAM);
 
         return stream.thenApply((a) -> {
             responseContext.setEntityStream(new FilterInputStream(a) {
@@ -225,7 +235,7 @@ class HelidonConnector implements Connector {
 
     private static HelidonEntity.HelidonEntityType getEntityType(final Configuration config) {
         final String helidonType = ClientProperties.getValue(config.getProperties(),
-                INTERNAL_ENTITY_TYPE, HelidonEntity.HelidonEntityType.READABLE_BYTE_CHANNEL.name());
+                INTERNAL_ENTITY_TYPE, HelidonEntity.HelidonEntityType.STREAMED.name());
         final HelidonEntity.HelidonEntityType entityType = HelidonEntity.HelidonEntityType.valueOf(helidonType);
 
         return entityType;
@@ -69,7 +69,13 @@ class HelidonEntity {
          * Helidon most native entity. Could be slower than {@link #READABLE_BYTE_CHANNEL}.
          */
         // Check LargeDataTest with OUTPUT_STREAM_MULTI
-        OUTPUT_STREAM_MULTI
+        OUTPUT_STREAM_MULTI,
+        /**
+         * Written data are coalesced into chunks published directly to the Helidon Client.
+         * The entity is written on the executor service, the calling thread never blocks.
+         * The writing thread only blocks if the data are written faster than they are sent.
+         */
+        STREAMED
     }
 
     /**
@@ -84,6 +90,7 @@ class HelidonEntity {
                 return Optional.of(new OutputStreamBodyWriter());
             case OUTPUT_STREAM_MULTI:
             case READABLE_BYTE_CHANNEL:
+            case STREAMED:
             default:
                 return Optional.empty();
         }
@@ -129,6 +136,26 @@ class HelidonEntity {
                     });
                     stage = requestBuilder.submit(Multi.create(publisher).map(DataChunk::create));
                     break;
+                case STREAMED:
+                    final OutputStreamPublisher streamPublisher = new OutputStreamPublisher(bufferSize);
+                    requestContext.setStreamProvider(contentLength -> streamPublisher);
+                    stage = requestBuilder.submit(streamPublisher);
+                    stage.whenComplete((response, throwable) -> {
+                        if (throwable != null) {
+                            // wake up the writer, if waiting for the data to be sent
+                            streamPublisher.fail(throwable);
+                        }
+                    });
+                    executorService.execute(() -> {
+                        try {
+                            requestContext.writeEntity();
+                            streamPublisher.close();
+                        } catch (IOException | RuntimeException e) {
+                            // fails the request, and so the returned stage
+                            streamPublisher.fail(e);
+                        }
+                    });
+                    break;
                 default:
             }
         }
@@ -32,4 +32,19 @@ public final class HelidonProperties {
      * This property is settable on {@link javax.ws.rs.core.Configurable#property(String, Object)} objects.
      */
     public static final String CONFIG = "jersey.connector.helidon.config";
+
+    /**
+     * Whether connections are kept alive and reused for subsequent requests to the same host, passed to
+     * {@link WebClient.Builder#keepAlive(boolean)}. If not set, the WebClient default applies.
+     * This property is settable on {@link javax.ws.rs.core.Configurable#property(String, Object)} objects.
+     */
+    public static final String KEEP_ALIVE = "jersey.connector.helidon.keepAlive";
+
+    /**
+     * Max number of kept alive connections to a single host, passed to
+     * {@link WebClient.Builder#maxConnectionsPerHost(int)}. Once reached, requests wait for a connection
+     * to become free instead of opening new ones. {@code 0}, the default, means no limit.
+     * This property is settable on {@link javax.ws.rs.core.Configurable#property(String, Object)} objects.
+     */
+    public static final String MAX_CONNECTIONS_PER_HOST = "jersey.connector.helidon.maxConnectionsPerHost";
 }
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.jersey.connector;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.reactive.BufferedEmittingPublisher;
+
+/**
+ * <p>An {@link OutputStream} publishing the {@link OutputStream#write(int) written} http entity as {@link DataChunk}s
+ * to the Helidon Client, without a thread reading it.
+ * </p>
+ * <p>
+ * Small writes are coalesced into chunks of {@code bufferSize} bytes, by default 8192 bytes, which can be overridden
+ * by {@code ClientProperties#OUTBOUND_CONTENT_LENGTH_BUFFER}. Chunks are handed over to the network without
+ * further copying. An entity fitting into a single chunk is sent with a {@code Content-Length}.
+ * </p>
+ * <p>
+ * The writer only blocks once more than {@link #CAPACITY} chunks are waiting to be sent, at most for
+ * {@link #WRITE_TIMEOUT} milliseconds, by default 10 seconds.
+ * </p>
+ */
+class OutputStreamPublisher extends OutputStream implements Flow.Publisher<DataChunk> {
+
+    private static final int CAPACITY = Integer.getInteger("helidon.connector.osp.capacity", 8);
+    private static final int WRITE_TIMEOUT = Integer.getInteger("helidon.connector.osp.write.timeout", 10000);
+
+    private final BufferedEmittingPublisher<DataChunk> emitter = BufferedEmittingPublisher.create();
+    private final Object lock = new Object();
+    private final int bufferSize;
+    private final long maxPending;
+
+    // bytes emitted, but not sent yet, guarded by lock
+    private long pending;
+    private volatile Throwable failure;
+
+    // accessed by the writing thread only
+    private byte[] buffer;
+    private int position;
+    private boolean closed;
+
+    /**
+     * Create a new publisher.
+     *
+     * @param bufferSize the size of the chunks written data are coalesced into
+     */
+    OutputStreamPublisher(int bufferSize) {
+        this.bufferSize = Math.max(bufferSize, 1);
+        this.maxPending = (long) this.bufferSize * CAPACITY;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super DataChunk> subscriber) {
+        emitter.subscribe(subscriber);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        checkOpen();
+        if (buffer == null) {
+            buffer = new byte[bufferSize];
+        }
+        buffer[position++] = (byte) b;
+        if (position == buffer.length) {
+            emitBuffer();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        checkOpen();
+        if (position == 0 && len >= bufferSize) {
+            // large write, no need to coalesce
+            emit(Arrays.copyOfRange(b, off, off + len), len);
+            return;
+        }
+        while (len > 0) {
+            if (buffer == null) {
+                buffer = new byte[bufferSize];
+            }
+            int length = Math.min(len, buffer.length - position);
+            System.arraycopy(b, off, buffer, position, length);
+            position += length;
+            off += length;
+            len -= length;
+            if (position == buffer.length) {
+                emitBuffer();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (failure != null) {
+            return;
+        }
+        if (position > 0) {
+            emitBuffer();
+        }
+        emitter.complete();
+    }
+
+    /**
+     * Fail the entity, the writer gets an {@link IOException} on its next write.
+     *
+     * @param throwable cause of the failure
+     */
+    void fail(Throwable throwable) {
+        synchronized (lock) {
+            if (failure != null) {
+                return;
+            }
+            failure = throwable;
+            lock.notifyAll();
+        }
+        emitter.fail(throwable);
+    }
+
+    private void emitBuffer() throws IOException {
+        byte[] bytes = buffer;
+        int length = position;
+        buffer = null;
+        position = 0;
+        emit(bytes, length);
+    }
+
+    private void emit(byte[] bytes, int length) throws IOException {
+        awaitCapacity(length);
+        emitter.emit(DataChunk.create(false, true, () -> sent(length), ByteBuffer.wrap(bytes, 0, length)));
+    }
+
+    private void awaitCapacity(int length) throws IOException {
+        synchronized (lock) {
+            long deadline = 0;
+            while (pending > 0 && pending + length > maxPending) {
+                checkFailed();
+                long now = System.nanoTime();
+                if (deadline == 0) {
+                    deadline = now + TimeUnit.MILLISECONDS.toNanos(WRITE_TIMEOUT);
+                } else if (now >= deadline) {
+                    throw new IOException("Buffer overflow.");
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(lock, deadline - now);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            pending += length;
+        }
+    }
+
+    private void sent(int length) {
+        synchronized (lock) {
+            pending -= length;
+            lock.notifyAll();
+        }
+    }
+
+    private void checkOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream already closed.");
+        }
+        checkFailed();
+    }
+
+    private void checkFailed() throws IOException {
+        Throwable throwable = failure;
+        if (throwable != null) {
+            throw new IOException("Entity cannot be sent.", throwable);
+        }
+        if (emitter.isCancelled()) {
+            throw new IOException("Entity is no longer consumed.");
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.jersey.connector;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.MediaType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.extension.Extension;
+import org.glassfish.jersey.client.ClientConfig;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the limit of connections per host.
+ */
+public class ConnectionPoolTest extends AbstractTest {
+
+    private static final int DELAY_MILLIS = 200;
+    private static final int REQUESTS = 3;
+
+    @BeforeAll
+    public static void setup() {
+        AbstractTest.extensions.set(new Extension[0]);
+
+        AbstractTest.rules.set(
+                () -> {
+                    wireMock.stubFor(
+                            WireMock.post(WireMock.urlEqualTo("/pool")).willReturn(
+                                    WireMock.ok("pooled").withFixedDelay(DELAY_MILLIS)
+                            )
+                    );
+                });
+
+        AbstractTest.setup();
+    }
+
+    @Test
+    public void testSingleConnection() throws Exception {
+        ClientConfig config = new ClientConfig();
+        config.connectorProvider(new HelidonConnectorProvider());
+        config.property(HelidonProperties.KEEP_ALIVE, true);
+        config.property(HelidonProperties.MAX_CONNECTIONS_PER_HOST, 1);
+        Client client = ClientBuilder.newClient(config);
+        WebTarget target = client.target(getBaseUri()).path("pool");
+
+        long start = System.nanoTime();
+        // entities are read as the responses arrive, the connection is released only once its entity is read
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            futures.add(target.request().async().post(Entity.entity("request " + i, MediaType.TEXT_PLAIN_TYPE), String.class));
+        }
+        for (Future<String> future : futures) {
+            Assertions.assertEquals("pooled", future.get(10, TimeUnit.SECONDS));
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // requests were sent one after another over the single connection
+        Assertions.assertTrue(elapsed >= REQUESTS * DELAY_MILLIS, "Requests took " + elapsed + " ms");
+        client.close();
+    }
+}
@@ -25,6 +25,7 @@ import java.util.concurrent.Flow.Publisher;
 
 import io.helidon.common.GenericType;
 import io.helidon.common.http.DataChunk;
+import io.helidon.common.http.FileRegionChunk;
 import io.helidon.common.http.MediaType;
 import io.helidon.common.mapper.Mapper;
 import io.helidon.common.reactive.Single;
@@ -80,8 +81,13 @@ final class FileBodyWriter implements MessageBodyWriter<File> {
             try {
                 Path path = file.toPath();
                 context.contentType(MediaType.APPLICATION_OCTET_STREAM);
-                context.contentLength(Files.size(path));
+                long size = Files.size(path);
+                context.contentLength(size);
                 FileChannel fc = FileChannel.open(path, StandardOpenOption.READ);
+                if (context.fileRegionsSupported()) {
+                    // a single region, so the transport can send the file without copying it into memory
+                    return Single.<DataChunk>just(FileRegionChunk.create(fc, 0, size));
+                }
                 return ContentWriters.byteChannelWriter().apply(fc);
             } catch (IOException ex) {
                 return Single.<DataChunk>error(ex);
@@ -123,6 +123,26 @@ final class MessageBodyOperators<T extends MessageBodyOperator<?>> implements It
         return assignableOperator;
     }
 
+    /**
+     * Whether neither this registry nor its parents hold any operator.
+     * @return {@code true} if there is no operator
+     */
+    boolean isEmpty() {
+        MessageBodyOperators<T> current = this;
+        while (current != null) {
+            try {
+                current.lock.readLock().lock();
+                if (!current.operators.isEmpty()) {
+                    return false;
+                }
+            } finally {
+                current.lock.readLock().unlock();
+            }
+            current = current.parent;
+        }
+        return true;
+    }
+
     @Override
     public Iterator<T> iterator() {
         return new ParentedIterator<>(this);
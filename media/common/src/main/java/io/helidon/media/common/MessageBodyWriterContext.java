@@ -59,6 +59,7 @@ public final class MessageBodyWriterContext extends MessageBodyContext implement
     private Optional<MediaType> contentTypeCache;
     private boolean charsetCached;
     private Charset charsetCache;
+    private volatile boolean fileRegionsSupported;
 
     /**
      * Private to enforce the use of the static factory methods.
@@ -444,6 +445,30 @@ public final class MessageBodyWriterContext extends MessageBodyContext implement
         }
     }
 
+    /**
+     * Indicate whether the transport writing the content transfers {@link io.helidon.common.http.FileRegionChunk}
+     * without reading the file into memory. Writers of files publish a single file region if supported,
+     * and read the file in chunks otherwise.
+     * <p>
+     * Default is {@code false}, set by the transport.
+     *
+     * @param supported whether file regions are supported
+     */
+    public void fileRegionsSupported(boolean supported) {
+        this.fileRegionsSupported = supported;
+    }
+
+    /**
+     * Whether the transport writing the content supports {@link io.helidon.common.http.FileRegionChunk}.
+     * File regions are never used when filters are registered, filters read the content in memory.
+     *
+     * @return {@code true} if file regions are supported, {@code false} otherwise
+     * @see #fileRegionsSupported(boolean)
+     */
+    public boolean fileRegionsSupported() {
+        return fileRegionsSupported && !hasFilters();
+    }
+
     /**
      * Find an media type in the inbound {@code Accept} header with the given
      * predicate and default value.
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.media.common;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.common.GenericType;
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.http.FileRegionChunk;
+import io.helidon.common.http.HashParameters;
+import io.helidon.common.reactive.Multi;
+import io.helidon.common.reactive.Single;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests {@link PathBodyWriter}.
+ */
+public class PathBodyWriterTest {
+
+    @Test
+    public void testChunks(@TempDir Path dir) throws Exception {
+        Path file = Files.writeString(dir.resolve("file.txt"), "file content");
+        MessageBodyWriterContext context = MessageBodyWriterContext.create(HashParameters.create());
+
+        List<DataChunk> chunks = write(file, context);
+        assertThat(chunks.size(), is(1));
+        assertThat(chunks.get(0), not(instanceOf(FileRegionChunk.class)));
+        assertThat(new String(chunks.get(0).bytes()), is("file content"));
+    }
+
+    @Test
+    public void testFileRegion(@TempDir Path dir) throws Exception {
+        Path file = Files.writeString(dir.resolve("file.txt"), "file content");
+        MessageBodyWriterContext context = MessageBodyWriterContext.create(HashParameters.create());
+        context.fileRegionsSupported(true);
+
+        List<DataChunk> chunks = write(file, context);
+        assertThat(chunks.size(), is(1));
+        assertThat(chunks.get(0), instanceOf(FileRegionChunk.class));
+        assertThat(((FileRegionChunk) chunks.get(0)).count(), is(12L));
+        chunks.get(0).release();
+    }
+
+    @Test
+    public void testFiltered(@TempDir Path dir) throws Exception {
+        Path file = Files.writeString(dir.resolve("file.txt"), "file content");
+        MessageBodyWriterContext context = MessageBodyWriterContext.create(HashParameters.create());
+        context.fileRegionsSupported(true);
+        context.registerFilter(publisher -> publisher);
+
+        List<DataChunk> chunks = write(file, context);
+        assertThat(chunks.size(), is(1));
+        assertThat(chunks.get(0), not(instanceOf(FileRegionChunk.class)));
+        assertThat(new String(chunks.get(0).bytes()), is("file content"));
+    }
+
+    private static List<DataChunk> write(Path file, MessageBodyWriterContext context) throws Exception {
+        return Multi.create(PathBodyWriter.create().write(Single.just(file), GenericType.create(Path.class), context))
+                .collectList()
+                .get(10, TimeUnit.SECONDS);
+    }
+}
@@ -15,29 +15,55 @@
  */
 package io.helidon.media.multipart;
 
+import java.nio.file.Path;
+import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import io.helidon.common.GenericType;
+import io.helidon.common.LazyValue;
 import io.helidon.common.http.DataChunk;
-import io.helidon.common.mapper.Mapper;
 import io.helidon.common.reactive.Collector;
 import io.helidon.common.reactive.Multi;
 import io.helidon.common.reactive.Single;
-import io.helidon.media.common.ContentReaders;
-import io.helidon.media.common.ContentWriters;
 import io.helidon.media.common.MessageBodyReadableContent;
 import io.helidon.media.common.MessageBodyReader;
 import io.helidon.media.common.MessageBodyReaderContext;
 
 /**
  * {@link ReadableMultiPart} reader.
+ * <p>
+ * The content of each body part is buffered in memory, unless it exceeds
+ * {@link Builder#maxInMemorySize(long)}, in which case it is spilled over to
+ * a temporary file, see {@link ReadableBodyPart#file()}. The temporary files
+ * are written on an executor service, see {@link Builder#executor(ExecutorService)}.
  */
 public final class MultiPartBodyReader implements MessageBodyReader<MultiPart> {
 
-    private static final BytesToChunks BYTES_TO_CHUNKS = new BytesToChunks();
-
-    private MultiPartBodyReader() {
+    private static final MultiPartBodyReader DEFAULT = builder().build();
+    private static final LazyValue<ExecutorService> DEFAULT_EXECUTOR = LazyValue.create(() -> {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "multipart-buffer-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    });
+
+    private final long maxInMemorySize;
+    private final Path tempDirectory;
+    private final LazyValue<ExecutorService> executor;
+
+    private MultiPartBodyReader(Builder builder) {
+        this.maxInMemorySize = builder.maxInMemorySize;
+        this.tempDirectory = builder.tempDirectory;
+        this.executor = builder.executor;
     }
 
     @Override
@@ -55,65 +81,156 @@ public final class MultiPartBodyReader implements MessageBodyReader<MultiPart> {
                 .orElseThrow(() -> new IllegalStateException("boundary header is missing"));
         MultiPartDecoder decoder = MultiPartDecoder.create(boundary, context);
         publisher.subscribe(decoder);
-        return (Single<U>) Multi.create(decoder).collect(new PartsCollector());
+        PartsCollector collector = new PartsCollector(maxInMemorySize, tempDirectory, executor);
+        return (Single<U>) Multi.create(decoder)
+                .collect(collector)
+                .flatMapSingle(Function.identity())
+                .onError(ex -> collector.discard())
+                .onCancel(collector::discard);
     }
 
     /**
-     * Create a new instance of {@link MultiPartBodyReader}.
+     * Create a new instance of {@link MultiPartBodyReader} that buffers the
+     * body parts in memory.
+     *
      * @return MultiPartReader
      */
     public static MultiPartBodyReader create() {
-        return new MultiPartBodyReader();
+        return DEFAULT;
     }
 
     /**
-     * A collector that accumulates and buffers body parts.
+     * Create a new builder of {@link MultiPartBodyReader}.
+     *
+     * @return builder
      */
-    private static final class PartsCollector implements Collector<ReadableBodyPart, ReadableMultiPart> {
+    public static Builder builder() {
+        return new Builder();
+    }
 
-        private final LinkedList<ReadableBodyPart> bodyParts;
+    /**
+     * Fluent API builder of {@link MultiPartBodyReader}.
+     */
+    public static final class Builder implements io.helidon.common.Builder<MultiPartBodyReader> {
 
-        PartsCollector() {
-            this.bodyParts = new LinkedList<>();
+        private long maxInMemorySize = Long.MAX_VALUE;
+        private Path tempDirectory;
+        private LazyValue<ExecutorService> executor = DEFAULT_EXECUTOR;
+
+        private Builder() {
         }
 
         @Override
-        public void collect(ReadableBodyPart bodyPart) {
-
-            MessageBodyReadableContent content = bodyPart.content();
-
-            // buffer the data
-            // TODO support disk buffering with threshold
-            Publisher<DataChunk> bufferedData = Single.create(ContentReaders.readBytes(content).toStage())
-                    .flatMap(BYTES_TO_CHUNKS);
+        public MultiPartBodyReader build() {
+            return new MultiPartBodyReader(this);
+        }
 
-            // create a content copy with the buffered data
-            MessageBodyReadableContent contentCopy = MessageBodyReadableContent.create(bufferedData, content.readerContext());
+        /**
+         * Maximal number of bytes of a body part kept in memory. The content of
+         * larger body parts is written to a temporary file. By default all
+         * body parts are kept in memory.
+         *
+         * @param maxInMemorySize maximal size in bytes
+         * @return updated builder instance
+         */
+        public Builder maxInMemorySize(long maxInMemorySize) {
+            if (maxInMemorySize < 0) {
+                throw new IllegalArgumentException("Maximal in-memory size must not be negative, but is "
+                        + maxInMemorySize);
+            }
+            this.maxInMemorySize = maxInMemorySize;
+            return this;
+        }
 
-            // create a new body part with the buffered content
-            ReadableBodyPart bufferedBodyPart = ReadableBodyPart.builder()
-                    .headers(bodyPart.headers())
-                    .content(contentCopy)
-                    .buffered()
-                    .build();
-            bodyParts.add(bufferedBodyPart);
+        /**
+         * Directory of the temporary files holding the content of large body
+         * parts. Defaults to the default temporary-file directory.
+         *
+         * @param tempDirectory directory
+         * @return updated builder instance
+         */
+        public Builder tempDirectory(Path tempDirectory) {
+            this.tempDirectory = Objects.requireNonNull(tempDirectory, "tempDirectory cannot be null");
+            return this;
         }
 
-        @Override
-        public ReadableMultiPart value() {
-            return new ReadableMultiPart(bodyParts);
+        /**
+         * Executor service creating and writing the temporary files, so that
+         * the threads decoding the request never block on the file system.
+         * Defaults to a shared pool of daemon threads.
+         *
+         * @param executor executor service
+         * @return updated builder instance
+         */
+        public Builder executor(ExecutorService executor) {
+            Objects.requireNonNull(executor, "executor cannot be null");
+            this.executor = LazyValue.create(executor);
+            return this;
         }
     }
 
     /**
-     * Implementation of {@link Mapper} that converts {@code byte[]} to a
-     * publisher of {@link DataChunk} by copying the bytes.
+     * A collector that accumulates and buffers body parts.
      */
-    private static final class BytesToChunks implements Mapper<byte[], Publisher<DataChunk>> {
+    private static final class PartsCollector implements Collector<ReadableBodyPart, Single<ReadableMultiPart>> {
+
+        private final long maxInMemorySize;
+        private final Path tempDirectory;
+        private final LazyValue<ExecutorService> executor;
+        private final LinkedList<ReadableBodyPart> bodyParts;
+        private final LinkedList<PartBuffer> buffers;
+
+        PartsCollector(long maxInMemorySize, Path tempDirectory, LazyValue<ExecutorService> executor) {
+            this.maxInMemorySize = maxInMemorySize;
+            this.tempDirectory = tempDirectory;
+            this.executor = executor;
+            this.bodyParts = new LinkedList<>();
+            this.buffers = new LinkedList<>();
+        }
+
+        @Override
+        public void collect(ReadableBodyPart bodyPart) {
+            // the decoder does not emit the next part before this one is fully consumed
+            // the executor is only needed once a part spills over
+            PartBuffer buffer = new PartBuffer(maxInMemorySize, tempDirectory, runnable -> executor.get().execute(runnable));
+            bodyParts.add(bodyPart);
+            buffers.add(buffer);
+            bodyPart.content().subscribe(buffer);
+        }
 
         @Override
-        public Publisher<DataChunk> map(byte[] bytes) {
-            return ContentWriters.writeBytes(bytes, /* copy */ true);
+        public Single<ReadableMultiPart> value() {
+            // the last writes of the temporary files may still be in progress
+            CompletableFuture<?>[] stages = buffers.stream()
+                    .map(PartBuffer::whenBuffered)
+                    .toArray(CompletableFuture[]::new);
+            return Single.create(CompletableFuture.allOf(stages).thenApply(it -> multiPart()));
+        }
+
+        private ReadableMultiPart multiPart() {
+            LinkedList<ReadableBodyPart> bufferedParts = new LinkedList<>();
+            Iterator<PartBuffer> it = buffers.iterator();
+            for (ReadableBodyPart bodyPart : bodyParts) {
+                PartBuffer buffer = it.next();
+                MessageBodyReadableContent content = bodyPart.content();
+
+                // create a content copy with the buffered data
+                MessageBodyReadableContent contentCopy = MessageBodyReadableContent.create(buffer.content(),
+                        content.readerContext());
+
+                // create a new body part with the buffered content
+                bufferedParts.add(ReadableBodyPart.builder()
+                        .headers(bodyPart.headers())
+                        .content(contentCopy)
+                        .buffer(buffer)
+                        .buffered()
+                        .build());
+            }
+            return new ReadableMultiPart(bufferedParts);
+        }
+
+        void discard() {
+            buffers.forEach(PartBuffer::discard);
         }
     }
 }
@@ -34,8 +34,8 @@ public final class MultiPartSupport implements MediaSupport {
     private final Collection<MessageBodyStreamReader<?>> streamReaders;
     private final Collection<MessageBodyStreamWriter<?>> streamWriters;
 
-    private MultiPartSupport(){
-        readers = List.of(MultiPartBodyReader.create());
+    private MultiPartSupport(MultiPartBodyReader reader){
+        readers = List.of(reader);
         writers = List.of(MultiPartBodyWriter.create());
         streamReaders = List.of(BodyPartBodyStreamReader.create());
         streamWriters = List.of(BodyPartBodyStreamWriter.create());
@@ -66,6 +66,18 @@ public final class MultiPartSupport implements MediaSupport {
      * @return MultiPartSupport
      */
     public static MultiPartSupport create(){
-        return new MultiPartSupport();
+        return new MultiPartSupport(MultiPartBodyReader.create());
+    }
+
+    /**
+     * Create a new instance of {@link MultiPartSupport} with the given
+     * {@link MultiPart} reader, such as a reader spilling large body parts
+     * over to temporary files.
+     *
+     * @param reader multipart reader
+     * @return MultiPartSupport
+     */
+    public static MultiPartSupport create(MultiPartBodyReader reader){
+        return new MultiPartSupport(reader);
     }
 }
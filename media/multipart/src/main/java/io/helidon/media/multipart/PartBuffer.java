@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.media.multipart;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.http.Utils;
+import io.helidon.common.reactive.Multi;
+
+/**
+ * Subscriber that buffers the content of a body part in memory, and spills it
+ * over to a temporary file once the content exceeds the configured threshold.
+ * <p>
+ * The file is created and written on the given executor, one chunk at a time,
+ * so that the thread emitting the content never blocks on the file system.
+ * The file is deleted once its content is consumed, or when the buffer is
+ * discarded.
+ */
+final class PartBuffer implements Subscriber<DataChunk> {
+
+    private static final Logger LOGGER = Logger.getLogger(PartBuffer.class.getName());
+    private static final String TEMP_FILE_PREFIX = "helidon-multipart";
+    private static final String TEMP_FILE_SUFFIX = ".part";
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private final long maxInMemorySize;
+    private final Path tempDirectory;
+    private final Executor executor;
+    private final CompletableFuture<PartBuffer> buffered = new CompletableFuture<>();
+    private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+    private Subscription subscription;
+    private CompletableFuture<Void> pending = CompletableFuture.completedFuture(null);
+    private boolean spilled;
+    private boolean discarded;
+    private FileChannel channel;
+    private Path file;
+    private long size;
+
+    /**
+     * Create a new part buffer.
+     *
+     * @param maxInMemorySize number of bytes kept in memory before spilling over to a file
+     * @param tempDirectory directory of the temporary files, {@code null} for the default temporary directory
+     * @param executor executor writing the temporary files
+     */
+    PartBuffer(long maxInMemorySize, Path tempDirectory, Executor executor) {
+        this.maxInMemorySize = maxInMemorySize;
+        this.tempDirectory = tempDirectory;
+        this.executor = executor;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.subscription = subscription;
+        // one chunk at a time, the next one is requested once the previous one is stored
+        subscription.request(1);
+    }
+
+    @Override
+    public void onNext(DataChunk chunk) {
+        if (buffered.isDone()) {
+            chunk.release();
+            return;
+        }
+        int remaining = chunk.remaining();
+        if (!spilled && size + remaining <= maxInMemorySize) {
+            try {
+                for (ByteBuffer byteBuffer : chunk.data()) {
+                    Utils.write(byteBuffer, memory);
+                }
+                size += remaining;
+            } catch (IOException ex) {
+                fail(ex);
+                return;
+            } finally {
+                chunk.release();
+            }
+            subscription.request(1);
+            return;
+        }
+        boolean spill = !spilled;
+        spilled = true;
+        size += remaining;
+        pending = pending.thenRunAsync(() -> write(chunk, spill), executor);
+        pending.whenComplete((it, ex) -> {
+            chunk.release();
+            if (ex == null) {
+                subscription.request(1);
+            } else {
+                fail(ex);
+            }
+        });
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        fail(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (!spilled) {
+            buffered.complete(this);
+            return;
+        }
+        pending = pending.thenRunAsync(this::finish, executor);
+        pending.whenComplete((it, ex) -> {
+            if (ex == null) {
+                buffered.complete(this);
+            } else {
+                fail(ex);
+            }
+        });
+    }
+
+    /**
+     * Get the stage completed once the whole content is buffered, or
+     * completed exceptionally if buffering failed.
+     *
+     * @return completion stage
+     */
+    CompletableFuture<PartBuffer> whenBuffered() {
+        return buffered;
+    }
+
+    /**
+     * Get the temporary file holding the content.
+     *
+     * @return file, or {@code null} if the content is kept in memory
+     */
+    Path file() {
+        return file;
+    }
+
+    /**
+     * Create a publisher of the buffered content. Content kept in memory is
+     * read from the beginning by each subscription, content held in a file
+     * can be read only once and the file is deleted once read completely.
+     *
+     * @return publisher
+     */
+    Publisher<DataChunk> content() {
+        if (file == null) {
+            return Multi.defer(() -> {
+                byte[] bytes = bytes();
+                return Multi.singleton(DataChunk.create(bytes));
+            });
+        }
+        return Multi.defer(() -> {
+            FileChunks chunks = open();
+            Iterable<DataChunk> iterable = () -> chunks;
+            return Multi.create(iterable)
+                    .onTerminate(chunks::close)
+                    .onComplete(this::discard);
+        });
+    }
+
+    /**
+     * Release the buffered content and delete the temporary file, if any.
+     */
+    synchronized void discard() {
+        discarded = true;
+        memory = null;
+        closeChannel();
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ex) {
+                LOGGER.log(Level.WARNING, "Unable to delete " + file, ex);
+            }
+        }
+    }
+
+    private synchronized byte[] bytes() {
+        if (discarded) {
+            throw new IllegalStateException("The content of the body part was discarded");
+        }
+        return memory.toByteArray();
+    }
+
+    private synchronized FileChunks open() {
+        if (discarded) {
+            throw new IllegalStateException("The content of the body part was already consumed or discarded");
+        }
+        return new FileChunks(file);
+    }
+
+    private void fail(Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+        if (buffered.completeExceptionally(cause)) {
+            subscription.cancel();
+            discard();
+        }
+    }
+
+    private synchronized void write(DataChunk chunk, boolean spill) {
+        if (discarded) {
+            throw new IllegalStateException("The body part buffer was discarded");
+        }
+        try {
+            if (spill) {
+                spill();
+            }
+            for (ByteBuffer byteBuffer : chunk.data()) {
+                ByteBuffer data = byteBuffer.duplicate();
+                while (data.hasRemaining()) {
+                    channel.write(data);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to buffer body part content", ex);
+        }
+    }
+
+    private void spill() throws IOException {
+        file = tempDirectory == null
+                ? Files.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX)
+                : Files.createTempFile(tempDirectory, TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+        channel = FileChannel.open(file, StandardOpenOption.WRITE);
+        memory.writeTo(Channels.newOutputStream(channel));
+        memory = null;
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Body part content exceeds {0} bytes, spilling over to {1}",
+                    new Object[] {maxInMemorySize, file});
+        }
+    }
+
+    private synchronized void finish() {
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to buffer body part content", ex);
+        }
+    }
+
+    private synchronized void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                LOGGER.log(Level.FINE, "Unable to close " + file, ex);
+            }
+        }
+    }
+
+    /**
+     * Reads a file as chunks synchronously, so that a spilled part can still be
+     * converted with {@link ReadableBodyPart#as(Class)}.
+     */
+    private static final class FileChunks implements Iterator<DataChunk> {
+
+        private final FileChannel channel;
+        private ByteBuffer next;
+
+        FileChunks(Path file) {
+            try {
+                channel = FileChannel.open(file, StandardOpenOption.READ);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && channel.isOpen()) {
+                try {
+                    ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+                    if (channel.read(buffer) < 0) {
+                        close();
+                    } else {
+                        next = buffer.flip();
+                    }
+                } catch (IOException ex) {
+                    close();
+                    throw new UncheckedIOException(ex);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public DataChunk next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ByteBuffer buffer = next;
+            next = null;
+            return DataChunk.create(buffer);
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                LOGGER.log(Level.FINE, "Unable to close a body part file", ex);
+            }
+        }
+    }
+}
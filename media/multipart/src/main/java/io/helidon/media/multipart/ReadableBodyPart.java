@@ -15,6 +15,8 @@
  */
 package io.helidon.media.multipart;
 
+import java.nio.file.Path;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
@@ -28,11 +30,13 @@ public final class ReadableBodyPart implements BodyPart {
     private final MessageBodyReadableContent content;
     private final ReadableBodyPartHeaders headers;
     private final boolean buffered;
+    private final PartBuffer buffer;
 
-    private ReadableBodyPart(MessageBodyReadableContent content, ReadableBodyPartHeaders headers, boolean buffered) {
-        this.content = content;
-        this.headers = headers;
-        this.buffered = buffered;
+    private ReadableBodyPart(Builder builder) {
+        this.content = builder.content;
+        this.headers = builder.headers;
+        this.buffered = builder.buffered;
+        this.buffer = builder.buffer;
     }
 
     @Override
@@ -58,6 +62,30 @@ public final class ReadableBodyPart implements BodyPart {
         return buffered;
     }
 
+    /**
+     * Get the temporary file holding the buffered content of this part. The
+     * content of a part is written to a file when it exceeds
+     * {@link MultiPartBodyReader.Builder#maxInMemorySize(long)}. Such content
+     * can be read only once, the file is deleted once the content is read
+     * completely, or when the {@link ReadableMultiPart} is closed. The
+     * application may instead move the file to keep it.
+     *
+     * @return file, or empty if the content is not buffered in a file
+     */
+    public Optional<Path> file() {
+        return buffer == null ? Optional.empty() : Optional.ofNullable(buffer.file());
+    }
+
+    /**
+     * Release the buffered content of this part, deleting its temporary file
+     * if any.
+     */
+    void discard() {
+        if (buffer != null) {
+            buffer.discard();
+        }
+    }
+
     /**
      * Converts the part content into an instance of the requested type.
      * <strong>This method can only be used if the part content is
@@ -101,6 +129,7 @@ public final class ReadableBodyPart implements BodyPart {
         private ReadableBodyPartHeaders headers;
         private MessageBodyReadableContent content;
         private boolean buffered;
+        private PartBuffer buffer;
 
         /**
          * Private constructor to force the use of
@@ -130,6 +159,17 @@ public final class ReadableBodyPart implements BodyPart {
             return this;
         }
 
+        /**
+         * Set the buffer holding the buffered content.
+         *
+         * @param buffer part buffer
+         * @return this builder instance
+         */
+        Builder buffer(PartBuffer buffer) {
+            this.buffer = buffer;
+            return this;
+        }
+
         /**
          * Set the headers for this part.
          * @param headers headers
@@ -148,7 +188,7 @@ public final class ReadableBodyPart implements BodyPart {
             if (content == null) {
                 throw new IllegalStateException("content is required");
             }
-            return new ReadableBodyPart(content, headers, buffered);
+            return new ReadableBodyPart(this);
         }
     }
 }
@@ -19,8 +19,11 @@ import java.util.List;
 
 /**
  * Readable multipart message.
+ * <p>
+ * Closing the message releases the buffered content of its body parts and
+ * deletes the temporary files holding it, if any.
  */
-public final class ReadableMultiPart implements MultiPart<ReadableBodyPart> {
+public final class ReadableMultiPart implements MultiPart<ReadableBodyPart>, AutoCloseable {
 
     private final List<ReadableBodyPart> parts;
 
@@ -36,4 +39,9 @@ public final class ReadableMultiPart implements MultiPart<ReadableBodyPart> {
     public List<ReadableBodyPart> bodyParts() {
         return parts;
     }
+
+    @Override
+    public void close() {
+        parts.forEach(ReadableBodyPart::discard);
+    }
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.media.multipart;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.common.GenericType;
+import io.helidon.common.http.MediaType;
+import io.helidon.media.common.MessageBodyReaderContext;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static io.helidon.media.multipart.BodyPartTest.MEDIA_CONTEXT;
+import static io.helidon.media.multipart.MultiPartDecoderTest.chunksPublisher;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests {@link MultiPartBodyReader}.
+ */
+public class MultiPartBodyReaderTest {
+
+    private static final String BOUNDARY = "boundary";
+    private static final String LARGE_BODY = "0123456789".repeat(2000);
+
+    @Test
+    public void testInMemory() throws Exception {
+        ReadableMultiPart multiPart = read(MultiPartBodyReader.create());
+        List<ReadableBodyPart> parts = multiPart.bodyParts();
+        assertThat(parts.size(), is(2));
+        assertThat(parts.get(0).file().isPresent(), is(false));
+        assertThat(parts.get(0).as(String.class), is("small"));
+        assertThat(parts.get(1).file().isPresent(), is(false));
+        assertThat(parts.get(1).as(String.class), is(LARGE_BODY));
+    }
+
+    @Test
+    public void testSpillOver(@TempDir Path tempDir) throws Exception {
+        MultiPartBodyReader reader = MultiPartBodyReader.builder()
+                .maxInMemorySize(1024)
+                .tempDirectory(tempDir)
+                .build();
+        List<ReadableBodyPart> parts = read(reader).bodyParts();
+        assertThat(parts.size(), is(2));
+        assertThat(parts.get(0).file().isPresent(), is(false));
+        assertThat(parts.get(0).as(String.class), is("small"));
+
+        ReadableBodyPart large = parts.get(1);
+        assertThat(large.isBuffered(), is(true));
+        Path file = large.file().orElseThrow();
+        assertThat(file.getParent(), is(tempDir));
+        assertThat(Files.readString(file), is(LARGE_BODY));
+        // the file is deleted once the content is consumed
+        assertThat(large.as(String.class), is(LARGE_BODY));
+        assertThat(Files.exists(file), is(false));
+        assertThrows(IllegalStateException.class, () -> large.as(String.class));
+    }
+
+    @Test
+    public void testSpillOverClosed(@TempDir Path tempDir) throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            MultiPartBodyReader reader = MultiPartBodyReader.builder()
+                    .maxInMemorySize(1024)
+                    .tempDirectory(tempDir)
+                    .executor(executor)
+                    .build();
+            Path file;
+            try (ReadableMultiPart multiPart = read(reader)) {
+                file = multiPart.bodyParts().get(1).file().orElseThrow();
+                assertThat(Files.exists(file), is(true));
+            }
+            assertThat(Files.exists(file), is(false));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ReadableMultiPart read(MultiPartBodyReader reader) throws Exception {
+        String message = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"small\"\r\n"
+                + "\r\n"
+                + "small\r\n"
+                + "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"large\"; filename=\"large.txt\"\r\n"
+                + "\r\n"
+                + LARGE_BODY + "\r\n"
+                + "--" + BOUNDARY + "--";
+        byte[] bytes = message.getBytes();
+        // split the message in chunks to exercise the spill-over across chunks
+        List<byte[]> chunks = List.of(
+                Arrays.copyOfRange(bytes, 0, 4096),
+                Arrays.copyOfRange(bytes, 4096, 12288),
+                Arrays.copyOfRange(bytes, 12288, bytes.length));
+        MessageBodyReaderContext context = MessageBodyReaderContext.create(MEDIA_CONTEXT, null,
+                ReadableBodyPartHeaders.create(),
+                Optional.of(MediaType.parse("multipart/form-data; boundary=" + BOUNDARY)));
+        return reader.read(chunksPublisher(chunks), GenericType.create(ReadableMultiPart.class), context)
+                .get(10, TimeUnit.SECONDS);
+    }
+}
@@ -93,6 +93,8 @@ import static io.helidon.webserver.cors.CorsEnabledServiceHelper.CORS_CONFIG_KEY
  * <tr><td>helidon.metrics.base.${metricName}.enabled</td><td>true</td><td>Can
  * control which base metrics are exposed, set to false to disable a base
  * metric</td></tr>
+ * <tr><td>helidon.metrics.request-timing.enabled</td><td>false</td><td>Whether to
+ * collect histograms of the request processing phases by route</td></tr>
  * </table>
  * <p>
  * The application metrics registry is then available as follows:
@@ -111,12 +113,14 @@ public final class MetricsSupport implements Service {
     private final String context;
     private final RegistryFactory rf;
     private final CorsEnabledServiceHelper corsEnabledServiceHelper;
+    private final boolean requestTiming;
 
     private static final Logger LOGGER = Logger.getLogger(MetricsSupport.class.getName());
 
     private MetricsSupport(Builder builder) {
         this.rf = builder.registryFactory.get();
         this.context = builder.context;
+        this.requestTiming = builder.requestTiming;
         corsEnabledServiceHelper = CorsEnabledServiceHelper.create(SERVICE_NAME, builder.crossOriginConfig);
     }
 
@@ -363,6 +367,13 @@ public final class MetricsSupport implements Service {
             totalMeter.mark();
             req.next();
         });
+
+        if (requestTiming) {
+            rules.any(new RequestTimingMetrics(vendor, metricPrefix));
+        }
+
+        // event loops, connections and buffers of the server
+        rules.onNewWebServer(webServer -> ServerMetrics.register(vendor, webServer));
     }
 
     /**
@@ -514,6 +525,7 @@ public final class MetricsSupport implements Service {
         private String context = DEFAULT_CONTEXT;
         private Config config = Config.empty();
         private CrossOriginConfig crossOriginConfig = null;
+        private boolean requestTiming;
 
         private Builder() {
 
@@ -546,6 +558,10 @@ public final class MetricsSupport implements Service {
                     .as(CrossOriginConfig::create)
                     .ifPresent(this::crossOriginConfig);
 
+            config.get("request-timing.enabled")
+                    .asBoolean()
+                    .ifPresent(this::requestTiming);
+
             if (!config.get(BaseRegistry.BASE_ENABLED_KEY).asBoolean().orElse(true)) {
                 LOGGER.finest("Metrics support for base metrics is disabled in configuration");
             }
@@ -599,6 +615,20 @@ public final class MetricsSupport implements Service {
             this.crossOriginConfig = crossOriginConfig;
             return this;
         }
+
+        /**
+         * Whether to collect vendor histograms of the durations of the request processing phases by route:
+         * {@code requests.routing}, {@code requests.filters}, {@code requests.handler} and {@code requests.write}.
+         * Disabled by default.
+         *
+         * @param requestTiming {@code true} to collect the histograms
+         * @return updated builder instance
+         * @see io.helidon.webserver.RequestTiming
+         */
+        public Builder requestTiming(boolean requestTiming) {
+            this.requestTiming = requestTiming;
+            return this;
+        }
     }
 
     // this class is created for cleaner tracing of web server handlers
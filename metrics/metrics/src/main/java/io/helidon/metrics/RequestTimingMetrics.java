@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.helidon.webserver.Handler;
+import io.helidon.webserver.RequestTiming;
+import io.helidon.webserver.ServerRequest;
+import io.helidon.webserver.ServerResponse;
+
+import org.eclipse.microprofile.metrics.Histogram;
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetricType;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.Tag;
+
+/**
+ * Histograms of the durations of the request processing phases, by route.
+ *
+ * @see RequestTiming
+ */
+final class RequestTimingMetrics implements Handler {
+    private final Registry vendor;
+    private final String metricPrefix;
+    private final Map<String, RouteHistograms> routes = new ConcurrentHashMap<>();
+
+    RequestTimingMetrics(Registry vendor, String metricPrefix) {
+        this.vendor = vendor;
+        this.metricPrefix = metricPrefix;
+    }
+
+    @Override
+    public void accept(ServerRequest req, ServerResponse res) {
+        RequestTiming timing = req.timing();
+        res.whenSent().thenRun(() -> update(timing));
+        req.next();
+    }
+
+    private void update(RequestTiming timing) {
+        String route = timing.route();
+        if (route == null || timing.headersWritten() == 0 || timing.completed() == 0) {
+            return;
+        }
+        RouteHistograms histograms = routes.computeIfAbsent(route, RouteHistograms::new);
+        histograms.routing.update(micros(timing.routed() - timing.received()));
+        histograms.filters.update(micros(timing.handlerEntered() - timing.routed()));
+        histograms.handler.update(micros(timing.headersWritten() - timing.handlerEntered()));
+        histograms.write.update(micros(timing.completed() - timing.headersWritten()));
+    }
+
+    private static long micros(long nanos) {
+        return Math.max(nanos, 0) / 1000;
+    }
+
+    private final class RouteHistograms {
+        private final Histogram routing;
+        private final Histogram filters;
+        private final Histogram handler;
+        private final Histogram write;
+
+        private RouteHistograms(String route) {
+            Tag tag = new Tag("route", route);
+            this.routing = histogram("routing", "Time from the request received to the first route matched", tag);
+            this.filters = histogram("filters", "Time from the first route matched to the last handler entered", tag);
+            this.handler = histogram("handler", "Time from the last handler entered to the response headers written", tag);
+            this.write = histogram("write", "Time from the response headers written to the last byte flushed", tag);
+        }
+
+        private Histogram histogram(String phase, String description, Tag tag) {
+            return vendor.histogram(Metadata.builder()
+                                            .withName(metricPrefix + phase)
+                                            .withDisplayName("Request " + phase + " time")
+                                            .withDescription(description)
+                                            .withType(MetricType.HISTOGRAM)
+                                            .withUnit(MetricUnits.MICROSECONDS)
+                                            .build(),
+                                    tag);
+        }
+    }
+}
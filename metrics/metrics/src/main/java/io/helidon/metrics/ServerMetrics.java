@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.metrics;
+
+import io.helidon.webserver.ConcurrencyLimiter;
+import io.helidon.webserver.ServerStatistics;
+import io.helidon.webserver.WebServer;
+
+import org.eclipse.microprofile.metrics.Gauge;
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetricID;
+import org.eclipse.microprofile.metrics.MetricType;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.Tag;
+
+/**
+ * Vendor metrics of the event loops, connections, concurrency limits and buffers of a web server.
+ * <p>
+ * Metrics of a previous server are replaced, so the metrics always describe the last created server.
+ */
+final class ServerMetrics {
+
+    private ServerMetrics() {
+    }
+
+    static void register(Registry vendor, WebServer webServer) {
+        webServer.statistics().ifPresent(statistics -> register(vendor, webServer, statistics));
+    }
+
+    private static void register(Registry vendor, WebServer webServer, ServerStatistics statistics) {
+        for (int i = 0; i < statistics.eventLoops(); i++) {
+            int eventLoop = i;
+            Tag tag = new Tag("eventLoop", String.valueOf(eventLoop));
+            gauge(vendor, "netty.eventLoop.pendingTasks", "Number of tasks waiting to be processed by the event loop",
+                  MetricUnits.NONE, () -> statistics.pendingTasks(eventLoop), tag);
+            gauge(vendor, "netty.eventLoop.delay", "Delay of a probe task scheduled on the event loop",
+                  MetricUnits.NANOSECONDS, () -> statistics.eventLoopDelay(eventLoop), tag);
+        }
+        for (String socketName : webServer.configuration().sockets().keySet()) {
+            gauge(vendor, "netty.connections.open", "Number of open connections of the socket",
+                  MetricUnits.NONE, () -> statistics.openConnections(socketName), new Tag("socket", socketName));
+            webServer.concurrencyLimiter(socketName).ifPresent(limiter -> register(vendor, socketName, limiter));
+        }
+        gauge(vendor, "netty.requestChunks.unreleased", "Number of request chunks not released yet",
+              MetricUnits.NONE, statistics::unreleasedChunks);
+        gauge(vendor, "netty.requestContent.buffered", "Request content received and not yet requested by the application",
+              MetricUnits.BYTES, webServer::bufferedRequestBytes);
+        gauge(vendor, "netty.allocator.directMemory", "Direct memory used by the buffer allocator",
+              MetricUnits.BYTES, statistics::allocatorDirectMemory);
+        gauge(vendor, "netty.allocator.heapMemory", "Heap memory used by the buffer allocator",
+              MetricUnits.BYTES, statistics::allocatorHeapMemory);
+        gauge(vendor, "netty.allocator.activeAllocations", "Number of buffers allocated from the allocator arenas",
+              MetricUnits.NONE, statistics::arenaActiveAllocations);
+        gauge(vendor, "netty.allocator.activeBytes", "Bytes of the buffers allocated from the allocator arenas",
+              MetricUnits.BYTES, statistics::arenaActiveBytes);
+        gauge(vendor, "netty.directMemory.used", "Direct memory reserved by Netty",
+              MetricUnits.BYTES, statistics::directMemory);
+        gauge(vendor, "netty.directMemory.max", "Maximal direct memory Netty can reserve",
+              MetricUnits.BYTES, statistics::maxDirectMemory);
+    }
+
+    private static void register(Registry vendor, String socketName, ConcurrencyLimiter limiter) {
+        Tag tag = new Tag("socket", socketName);
+        gauge(vendor, "netty.concurrency.limit", "Current adaptive limit of requests in flight of the socket",
+              MetricUnits.NONE, limiter::limit, tag);
+        gauge(vendor, "netty.concurrency.inFlight", "Number of requests in flight of the socket",
+              MetricUnits.NONE, limiter::inFlight, tag);
+        // counted by the limiter, exposed read-only
+        gauge(vendor, "netty.concurrency.rejected", "Number of requests rejected because the concurrency limit was reached",
+              MetricUnits.NONE, limiter::rejected, tag);
+    }
+
+    private static void gauge(Registry vendor,
+                              String name,
+                              String description,
+                              String unit,
+                              Gauge<? extends Number> gauge,
+                              Tag... tags) {
+        vendor.remove(new MetricID(name, tags));
+        vendor.register(Metadata.builder()
+                                .withName(name)
+                                .withDescription(description)
+                                .withType(MetricType.GAUGE)
+                                .withUnit(unit)
+                                .build(),
+                        gauge,
+                        tags);
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.metrics;
+
+import io.helidon.webserver.Routing;
+import io.helidon.webserver.WebServer;
+
+import org.eclipse.microprofile.metrics.MetricID;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Tests {@link ServerMetrics}.
+ */
+class ServerMetricsTest {
+
+    @Test
+    void testServerMetrics() {
+        Registry vendor = RegistryFactory.create().getARegistry(MetricRegistry.Type.VENDOR);
+        WebServer webServer = WebServer.builder(Routing.builder())
+                .concurrencyLimit(10)
+                .build();
+        ServerMetrics.register(vendor, webServer);
+
+        Tag socket = new Tag("socket", WebServer.DEFAULT_SOCKET_NAME);
+        assertThat(vendor.getGauges().get(new MetricID("netty.requestContent.buffered")).getValue(), is(0L));
+        assertThat(vendor.getGauges().get(new MetricID("netty.concurrency.limit", socket)).getValue(), is(10));
+        assertThat(vendor.getGauges().get(new MetricID("netty.concurrency.inFlight", socket)).getValue(), is(0));
+        assertThat(vendor.getGauges().get(new MetricID("netty.concurrency.rejected", socket)).getValue(), is(0L));
+    }
+}
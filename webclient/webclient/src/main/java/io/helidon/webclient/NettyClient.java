@@ -24,10 +24,12 @@ import java.util.concurrent.atomic.AtomicReference;
 import io.helidon.common.LazyValue;
 import io.helidon.common.Version;
 import io.helidon.common.http.Http;
+import io.helidon.common.netty.NettyTransport;
 import io.helidon.config.Config;
 import io.helidon.media.common.MediaContext;
 
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoopGroup;
 
 /*
  * This class must be:
@@ -71,9 +73,10 @@ final class NettyClient implements WebClient {
     static final AtomicReference<WebClientConfiguration> SHARED_CONFIGURATION = new AtomicReference<>(DEFAULT_CONFIGURATION);
 
     // shared by all client instances
-    private static LazyValue<NioEventLoopGroup> eventGroup = LazyValue.create(() -> {
+    private static LazyValue<EventLoopGroup> eventGroup = LazyValue.create(() -> {
         throw new IllegalStateException("Value supplier not yet set");
     });
+    private static volatile NettyTransport transport = NettyTransport.nio();
 
     // this instance configuration
     private final WebClientConfiguration configuration;
@@ -91,10 +94,14 @@ final class NettyClient implements WebClient {
         configureDefaults(EMPTY_CONFIG);
     }
 
-    static LazyValue<NioEventLoopGroup> eventGroup() {
+    static LazyValue<EventLoopGroup> eventGroup() {
         return eventGroup;
     }
 
+    static Class<? extends Channel> channelType() {
+        return transport.socketChannelType();
+    }
+
     @Override
     public WebClientRequestBuilder put() {
         return method(Http.Method.PUT);
@@ -151,6 +158,10 @@ final class NettyClient implements WebClient {
             String threadNamePrefix = eventLoopConfig.get("name-prefix")
                     .asString()
                     .orElse("helidon-client-");
+            String transportName = eventLoopConfig.get("transport")
+                    .asString()
+                    .orElse("nio");
+            NettyTransport clientTransport = NettyTransport.create(transportName);
             AtomicInteger threadCounter = new AtomicInteger();
 
             ThreadFactory threadFactory =
@@ -161,7 +172,8 @@ final class NettyClient implements WebClient {
                         return result;
                     };
 
-            eventGroup = LazyValue.create(new NioEventLoopGroup(numberOfThreads, threadFactory));
+            transport = clientTransport;
+            eventGroup = LazyValue.create(clientTransport.createGroup(numberOfThreads, threadFactory));
 
             builder.config(config);
 
@@ -46,6 +46,7 @@ import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.util.AttributeKey;
 
 import static io.helidon.webclient.WebClientRequestBuilderImpl.COMPLETED;
+import static io.helidon.webclient.WebClientRequestBuilderImpl.CONNECTION_IDENT;
 import static io.helidon.webclient.WebClientRequestBuilderImpl.IN_USE;
 import static io.helidon.webclient.WebClientRequestBuilderImpl.RECEIVED;
 import static io.helidon.webclient.WebClientRequestBuilderImpl.REQUEST;
@@ -322,6 +323,10 @@ class NettyClientHandler extends SimpleChannelInboundHandler<HttpObject> {
                     channel.read();
                 }
                 publisher.complete();
+                WebClientRequestBuilderImpl.ConnectionIdent key = channel.attr(CONNECTION_IDENT).get();
+                if (key != null) {
+                    WebClientRequestBuilderImpl.channelReleased(key);
+                }
             }
             return Single.create(cf, true);
         }
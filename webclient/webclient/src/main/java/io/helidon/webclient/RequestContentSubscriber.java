@@ -105,6 +105,15 @@ class RequestContentSubscriber implements Flow.Subscriber<DataChunk> {
 
     @Override
     public void onComplete() {
+        if (channel.eventLoop().inEventLoop()) {
+            // writes of previous chunks from another thread may still be queued on the event loop
+            channel.eventLoop().execute(this::complete);
+        } else {
+            complete();
+        }
+    }
+
+    private void complete() {
         if (lengthOptimization) {
             LOGGER.finest(() -> "(client reqID: " + requestId + ") "
                     + "Message body contains only one data chunk. Setting chunked encoding to false.");
@@ -388,6 +388,20 @@ public interface WebClient {
             return this;
         }
 
+        /**
+         * Sets max number of kept alive connections to a single host. Once all of them are in use,
+         * requests wait without blocking any thread until one of them is returned,
+         * for at most the {@link #connectTimeout(long, TimeUnit) connect timeout}.
+         * Defaults to {@code 0}, no limit.
+         *
+         * @param maxConnectionsPerHost max connections per host, {@code 0} for no limit
+         * @return updated builder instance
+         */
+        public Builder maxConnectionsPerHost(int maxConnectionsPerHost) {
+            configuration.maxConnectionsPerHost(maxConnectionsPerHost);
+            return this;
+        }
+
         /**
          * Whether to validate header names.
          * Defaults to {@code true}.
@@ -75,6 +75,7 @@ class WebClientConfiguration {
     private final boolean followRedirects;
     private final boolean keepAlive;
     private final int maxRedirects;
+    private final int maxConnectionsPerHost;
     private final MessageBodyReaderContext readerContext;
     private final MessageBodyWriterContext writerContext;
     private final WebClientTls webClientTls;
@@ -108,6 +109,7 @@ class WebClientConfiguration {
         this.clientServices = Collections.unmodifiableList(builder.clientServices);
         this.uri = builder.uri;
         this.keepAlive = builder.keepAlive;
+        this.maxConnectionsPerHost = builder.maxConnectionsPerHost;
         this.validateHeaders = builder.validateHeaders;
     }
 
@@ -269,6 +271,15 @@ class WebClientConfiguration {
         return keepAlive;
     }
 
+    /**
+     * Max number of kept alive connections to a single host, {@code 0} if not limited.
+     *
+     * @return max connections per host
+     */
+    int maxConnectionsPerHost() {
+        return maxConnectionsPerHost;
+    }
+
     boolean validateHeaders() {
         return validateHeaders;
     }
@@ -296,6 +307,7 @@ class WebClientConfiguration {
         private Proxy proxy;
         private boolean enableAutomaticCookieStore;
         private boolean keepAlive;
+        private int maxConnectionsPerHost;
         private WebClientTls webClientTls;
         private URI uri;
         private MessageBodyReaderContext readerContext;
@@ -571,6 +583,23 @@ class WebClientConfiguration {
             return me;
         }
 
+        /**
+         * Sets max number of kept alive connections to a single host.
+         * Requests waiting for a connection once the limit is reached are sent when one of the connections
+         * becomes free, or fail after the connect timeout.
+         *
+         * @param maxConnectionsPerHost max connections per host, {@code 0} for no limit
+         * @return updated builder instance
+         */
+        public B maxConnectionsPerHost(int maxConnectionsPerHost) {
+            if (maxConnectionsPerHost < 0) {
+                throw new IllegalArgumentException("Max connections per host must not be negative, but is "
+                                                           + maxConnectionsPerHost);
+            }
+            this.maxConnectionsPerHost = maxConnectionsPerHost;
+            return me;
+        }
+
         /**
          * Configures this {@link WebClientConfiguration.Builder} from the supplied {@link Config}.
          * <table class="config">
@@ -608,6 +637,10 @@ class WebClientConfiguration {
          *     <td>Whether connection should be kept alive</td>
          * </tr>
          * <tr>
+         *     <td>max-connections-per-host</td>
+         *     <td>Max number of kept alive connections to a single host, {@code 0} for no limit</td>
+         * </tr>
+         * <tr>
          *     <td>cookies</td>
          *     <td>Default cookies which should be used</td>
          * </tr>
@@ -638,6 +671,7 @@ class WebClientConfiguration {
             config.get("max-redirects").asInt().ifPresent(this::maxRedirects);
             config.get("user-agent").asString().ifPresent(this::userAgent);
             config.get("keep-alive").asBoolean().ifPresent(this::keepAlive);
+            config.get("max-connections-per-host").asInt().ifPresent(this::maxConnectionsPerHost);
             config.get("cookies").asNode().ifPresent(this::cookies);
             config.get("headers").asNode().ifPresent(this::headers);
             DeprecatedConfig.get(config, "tls", "ssl")
@@ -675,6 +709,7 @@ class WebClientConfiguration {
             writerContextParent(configuration.writerContext);
             context(configuration.context);
             keepAlive(configuration.keepAlive);
+            maxConnectionsPerHost(configuration.maxConnectionsPerHost);
             validateHeaders(configuration.validateHeaders);
             configuration.cookieManager.defaultCookies().forEach(this::defaultCookie);
             config = configuration.config;
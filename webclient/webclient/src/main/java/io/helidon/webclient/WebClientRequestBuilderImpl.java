@@ -23,8 +23,10 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -34,6 +36,7 @@ import java.util.StringTokenizer;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.Flow;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -64,8 +67,6 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.http.DefaultHttpHeaders;
 import io.netty.handler.codec.http.DefaultHttpRequest;
 import io.netty.handler.codec.http.HttpHeaderNames;
@@ -85,6 +86,7 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
     private static final Logger LOGGER = Logger.getLogger(WebClientRequestBuilderImpl.class.getName());
 
     private static final Map<ConnectionIdent, Set<ChannelRecord>> CHANNEL_CACHE = new ConcurrentHashMap<>();
+    private static final Map<ConnectionIdent, Deque<ChannelWaiter>> CHANNEL_WAITERS = new ConcurrentHashMap<>();
     static final AttributeKey<WebClientRequestImpl> REQUEST = AttributeKey.valueOf("request");
     static final AttributeKey<CompletableFuture<WebClientServiceResponse>> RECEIVED = AttributeKey.valueOf("received");
     static final AttributeKey<CompletableFuture<WebClientServiceResponse>> COMPLETED = AttributeKey.valueOf("completed");
@@ -104,7 +106,7 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
     }
 
     private final Map<String, String> properties;
-    private final LazyValue<NioEventLoopGroup> eventGroup;
+    private final LazyValue<EventLoopGroup> eventGroup;
     private final WebClientConfiguration configuration;
     private final Http.RequestMethod method;
     private final WebClientRequestHeaders headers;
@@ -128,7 +130,7 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
     private boolean keepAlive;
     private Long requestId;
 
-    private WebClientRequestBuilderImpl(LazyValue<NioEventLoopGroup> eventGroup,
+    private WebClientRequestBuilderImpl(LazyValue<EventLoopGroup> eventGroup,
                                         WebClientConfiguration configuration,
                                         Http.RequestMethod method) {
         this.properties = new HashMap<>();
@@ -158,7 +160,7 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
         this.keepAlive = configuration.keepAlive();
     }
 
-    public static WebClientRequestBuilder create(LazyValue<NioEventLoopGroup> eventGroup,
+    public static WebClientRequestBuilder create(LazyValue<EventLoopGroup> eventGroup,
                                                  WebClientConfiguration configuration,
                                                  Http.RequestMethod method) {
         return new WebClientRequestBuilderImpl(eventGroup, configuration, method);
@@ -188,31 +190,44 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
         return builder;
     }
 
-    private static ChannelFuture obtainChannelFuture(RequestConfiguration configuration,
-                                                     Bootstrap bootstrap) {
-        ConnectionIdent connectionIdent = new ConnectionIdent(configuration);
-        Set<ChannelRecord> channels = CHANNEL_CACHE.computeIfAbsent(connectionIdent,
-                                                                    s -> Collections.synchronizedSet(new HashSet<>()));
+    private static CompletableFuture<ChannelFuture> obtainChannelFuture(RequestConfiguration configuration,
+                                                                        Bootstrap bootstrap,
+                                                                        EventLoopGroup group) {
+        ChannelWaiter waiter = new ChannelWaiter(new ConnectionIdent(configuration),
+                                                 configuration.maxConnectionsPerHost(),
+                                                 bootstrap);
+        if (!waiter.acquire(false)) {
+            group.schedule(() -> waiter.completeExceptionally(
+                    new WebClientException("Timed out waiting for a free connection to " + waiter.connectionIdent.base)),
+                           configuration.connectTimeout().toMillis(),
+                           TimeUnit.MILLISECONDS);
+        }
+        return waiter;
+    }
+
+    /**
+     * Hands a channel over to the first request waiting for one, once a channel to the same host
+     * is returned to the cache or closed.
+     *
+     * @param key connection identification of the channel
+     */
+    static void channelReleased(ConnectionIdent key) {
+        Set<ChannelRecord> channels = CHANNEL_CACHE.get(key);
+        if (channels == null) {
+            return;
+        }
+        ChannelWaiter waiter = null;
+        // synchronized with the check for a free channel in ChannelWaiter#acquire, so no waiter is missed
         synchronized (channels) {
-            for (ChannelRecord channelRecord : channels) {
-                Channel channel = channelRecord.channel;
-                if (channel.isOpen() && channel.attr(IN_USE).get().compareAndSet(false, true)) {
-                    LOGGER.finest(() -> "Reusing -> " + channel.hashCode());
-                    LOGGER.finest(() -> "Setting in use -> true");
-                    return channelRecord.channelFuture;
-                }
-                LOGGER.finest(() -> "Not accepted -> " + channel.hashCode());
-                LOGGER.finest(() -> "Open -> " + channel.isOpen());
-                LOGGER.finest(() -> "In use -> " + channel.attr(IN_USE).get());
+            Deque<ChannelWaiter> waiters = CHANNEL_WAITERS.get(key);
+            if (waiters != null) {
+                do {
+                    waiter = waiters.pollFirst();
+                } while (waiter != null && waiter.isDone());
             }
-            LOGGER.finest(() -> "New connection to -> " + connectionIdent);
-            URI uri = connectionIdent.base;
-            ChannelFuture connect = bootstrap.connect(uri.getHost(), uri.getPort());
-            Channel channel = connect.channel();
-            channel.attr(IN_USE).set(new AtomicBoolean(true));
-            channel.attr(CONNECTION_IDENT).set(connectionIdent);
-            channels.add(new ChannelRecord(connect));
-            return connect;
+        }
+        if (waiter != null) {
+            waiter.acquire(true);
         }
     }
 
@@ -221,6 +236,7 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
         LOGGER.finest(() -> "Connection ident -> " + key);
         LOGGER.finest(() -> "Channel -> " + channel.hashCode());
         CHANNEL_CACHE.get(key).remove(new ChannelRecord(channel));
+        channelReleased(key);
     }
 
     @Override
@@ -558,41 +574,61 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
             EventLoopGroup group = eventGroup.get();
             Bootstrap bootstrap = new Bootstrap();
             bootstrap.group(group)
-                    .channel(NioSocketChannel.class)
+                    .channel(NettyClient.channelType())
                     .handler(new NettyClientInitializer(requestConfiguration))
                     .option(ChannelOption.SO_KEEPALIVE, keepAlive)
                     .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis());
 
-            ChannelFuture channelFuture = keepAlive
-                    ? obtainChannelFuture(requestConfiguration, bootstrap)
-                    : bootstrap.connect(uri.getHost(), uri.getPort());
-
-            channelFuture.addListener((ChannelFutureListener) future -> {
-                LOGGER.finest(() -> "(client reqID: " + requestId + ") "
-                        + "Channel hashcode -> " + channelFuture.channel().hashCode());
-                channelFuture.channel().attr(REQUEST).set(clientRequest);
-                channelFuture.channel().attr(RECEIVED).set(responseReceived);
-                channelFuture.channel().attr(COMPLETED).set(complete);
-                channelFuture.channel().attr(RESULT).set(result);
-                channelFuture.channel().attr(REQUEST_ID).set(requestId);
-                Throwable cause = future.cause();
-                if (null == cause) {
-                    RequestContentSubscriber requestContentSubscriber = new RequestContentSubscriber(request,
-                                                                                                     channelFuture.channel(),
-                                                                                                     result,
-                                                                                                     sent);
-                    requestEntity.subscribe(requestContentSubscriber);
+            CompletableFuture<ChannelFuture> channelFutureStage = keepAlive
+                    ? obtainChannelFuture(requestConfiguration, bootstrap, group)
+                    : CompletableFuture.completedFuture(bootstrap.connect(uri.getHost(), uri.getPort()));
+
+            channelFutureStage.whenComplete((channelFuture, throwable) -> {
+                if (throwable == null) {
+                    connected(channelFuture, request, requestEntity, clientRequest, sent, responseReceived, complete, result);
                 } else {
-                    sent.completeExceptionally(cause);
-                    responseReceived.completeExceptionally(cause);
-                    complete.completeExceptionally(cause);
-                    result.completeExceptionally(new WebClientException(uri.toString(), cause));
+                    sent.completeExceptionally(throwable);
+                    responseReceived.completeExceptionally(throwable);
+                    complete.completeExceptionally(throwable);
+                    result.completeExceptionally(throwable);
                 }
             });
             return result;
         }));
     }
 
+    private void connected(ChannelFuture channelFuture,
+                           DefaultHttpRequest request,
+                           Flow.Publisher<DataChunk> requestEntity,
+                           WebClientRequestImpl clientRequest,
+                           CompletableFuture<WebClientServiceRequest> sent,
+                           CompletableFuture<WebClientServiceResponse> responseReceived,
+                           CompletableFuture<WebClientServiceResponse> complete,
+                           CompletableFuture<WebClientResponse> result) {
+        channelFuture.addListener((ChannelFutureListener) future -> {
+            LOGGER.finest(() -> "(client reqID: " + requestId + ") "
+                    + "Channel hashcode -> " + channelFuture.channel().hashCode());
+            channelFuture.channel().attr(REQUEST).set(clientRequest);
+            channelFuture.channel().attr(RECEIVED).set(responseReceived);
+            channelFuture.channel().attr(COMPLETED).set(complete);
+            channelFuture.channel().attr(RESULT).set(result);
+            channelFuture.channel().attr(REQUEST_ID).set(requestId);
+            Throwable cause = future.cause();
+            if (null == cause) {
+                RequestContentSubscriber requestContentSubscriber = new RequestContentSubscriber(request,
+                                                                                                 channelFuture.channel(),
+                                                                                                 result,
+                                                                                                 sent);
+                requestEntity.subscribe(requestContentSubscriber);
+            } else {
+                sent.completeExceptionally(cause);
+                responseReceived.completeExceptionally(cause);
+                complete.completeExceptionally(cause);
+                result.completeExceptionally(new WebClientException(uri.toString(), cause));
+            }
+        });
+    }
+
     private MessageBodyReadableContent getContentFromClientResponse(WebClientResponse response) {
         //If the response status is greater then 300, ask user to change requested entity to ClientResponse
         if (response.status().code() >= Http.Status.MOVED_PERMANENTLY_301.code()) {
@@ -850,6 +886,83 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
         }
     }
 
+    /**
+     * A request waiting for a channel from the cache, or for a new connection.
+     */
+    private static final class ChannelWaiter extends CompletableFuture<ChannelFuture> {
+
+        private final ConnectionIdent connectionIdent;
+        private final int maxConnections;
+        private final Bootstrap bootstrap;
+
+        private ChannelWaiter(ConnectionIdent connectionIdent, int maxConnections, Bootstrap bootstrap) {
+            this.connectionIdent = connectionIdent;
+            this.maxConnections = maxConnections;
+            this.bootstrap = bootstrap;
+        }
+
+        /**
+         * Completes this waiter with a free cached channel, or with a new connection if the limit of connections
+         * is not reached yet. Otherwise the waiter is queued until a channel to the same host is released.
+         *
+         * @param retry whether the waiter was already queued, so it is queued again as the first one
+         * @return whether a channel was obtained
+         */
+        private boolean acquire(boolean retry) {
+            Set<ChannelRecord> channels = CHANNEL_CACHE.computeIfAbsent(connectionIdent,
+                                                                        s -> Collections.synchronizedSet(new HashSet<>()));
+            ChannelFuture channelFuture = null;
+            synchronized (channels) {
+                int open = 0;
+                Iterator<ChannelRecord> iterator = channels.iterator();
+                while (iterator.hasNext()) {
+                    ChannelRecord channelRecord = iterator.next();
+                    Channel channel = channelRecord.channel;
+                    if (!channel.isOpen()) {
+                        LOGGER.finest(() -> "Removing closed -> " + channel.hashCode());
+                        iterator.remove();
+                        continue;
+                    }
+                    if (channel.attr(IN_USE).get().compareAndSet(false, true)) {
+                        LOGGER.finest(() -> "Reusing -> " + channel.hashCode());
+                        LOGGER.finest(() -> "Setting in use -> true");
+                        channelFuture = channelRecord.channelFuture;
+                        break;
+                    }
+                    LOGGER.finest(() -> "Not accepted -> " + channel.hashCode());
+                    LOGGER.finest(() -> "In use -> " + channel.attr(IN_USE).get());
+                    open++;
+                }
+                if (channelFuture == null) {
+                    if (maxConnections > 0 && open >= maxConnections) {
+                        LOGGER.finest(() -> "Waiting for a free connection to -> " + connectionIdent);
+                        Deque<ChannelWaiter> waiters = CHANNEL_WAITERS.computeIfAbsent(connectionIdent,
+                                                                                       s -> new ConcurrentLinkedDeque<>());
+                        if (retry) {
+                            waiters.addFirst(this);
+                        } else {
+                            waiters.addLast(this);
+                        }
+                        return false;
+                    }
+                    LOGGER.finest(() -> "New connection to -> " + connectionIdent);
+                    URI uri = connectionIdent.base;
+                    channelFuture = bootstrap.connect(uri.getHost(), uri.getPort());
+                    Channel channel = channelFuture.channel();
+                    channel.attr(IN_USE).set(new AtomicBoolean(true));
+                    channel.attr(CONNECTION_IDENT).set(connectionIdent);
+                    channels.add(new ChannelRecord(channelFuture));
+                }
+            }
+            if (!complete(channelFuture)) {
+                // timed out in the meantime, the channel is free for others
+                channelFuture.channel().attr(IN_USE).get().set(false);
+                channelReleased(connectionIdent);
+            }
+            return true;
+        }
+    }
+
     private static class ChannelRecord {
 
         private final ChannelFuture channelFuture;
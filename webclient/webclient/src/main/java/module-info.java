@@ -26,6 +26,7 @@ module io.helidon.webclient {
     requires transitive io.helidon.common.http;
     requires transitive io.helidon.config;
     requires transitive io.helidon.media.common;
+    requires io.helidon.common.netty;
     requires io.helidon.common.pki;
     requires io.helidon.common.serviceloader;
 
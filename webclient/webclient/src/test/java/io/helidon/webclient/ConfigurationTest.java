@@ -52,6 +52,7 @@ public class ConfigurationTest {
                 .readTimeout(Duration.of(5000, ChronoUnit.MILLIS))
                 .followRedirects(true)
                 .maxRedirects(10)
+                .maxConnectionsPerHost(20)
                 .userAgent("HelidonTest")
                 .defaultHeader(Http.Header.ACCEPT, List.of("application/json", "text/plain"))
                 .build();
@@ -64,6 +65,7 @@ public class ConfigurationTest {
         assertThat(wcc.readTimout(), is(Duration.of(5000, ChronoUnit.MILLIS)));
         assertThat(wcc.followRedirects(), is(true));
         assertThat(wcc.maxRedirects(), is(10));
+        assertThat(wcc.maxConnectionsPerHost(), is(20));
         assertThat(wcc.userAgent(), is("HelidonTest"));
         assertThat(wcc.headers().acceptedTypes(), containsInAnyOrder(MediaType.APPLICATION_JSON, MediaType.TEXT_PLAIN));
     }
@@ -44,6 +44,8 @@ public interface AccessLogEntry extends Handler {
     /**
      * This method is called once the response is fully processed.
      * The {@link AccessLogContext#serverResponse()} will return a completed response.
+     * When the access log is written to a file (see {@link AccessLogSupport.Builder#file(AccessLogFile)}),
+     * this method is invoked by the writer thread, not by the event loop thread that processed the request.
      *
      * @param context context with access to information useful for access log entries
      * @return string representation of a log entry (such as a formatted date time, response time etc.)
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver.accesslog;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+
+import io.helidon.config.Config;
+
+/**
+ * Configuration of an access log file written asynchronously.
+ * <p>
+ * Access log records are handed over to a bounded queue and formatted and written to the file in batches
+ * by a dedicated thread, so the event loop threads never block on file I/O.
+ * When the queue is full, records are dropped and counted (see {@link AccessLogSupport#droppedRecords()}).
+ * <p>
+ * When the file reaches {@link #maxFileSize()}, it is rotated: {@code access.log} is renamed to {@code access.log.1},
+ * {@code access.log.1} to {@code access.log.2} etc., keeping at most {@link #maxFiles()} rotated files.
+ *
+ * @see AccessLogSupport.Builder#file(AccessLogFile)
+ */
+public final class AccessLogFile {
+    /**
+     * Default number of records waiting to be written.
+     */
+    public static final int DEFAULT_QUEUE_SIZE = 8192;
+    /**
+     * Default size of the file triggering rotation (100 MB).
+     */
+    public static final long DEFAULT_MAX_FILE_SIZE = 100L * 1024 * 1024;
+    /**
+     * Default number of rotated files to keep.
+     */
+    public static final int DEFAULT_MAX_FILES = 10;
+
+    private final Path path;
+    private final int queueSize;
+    private final long maxFileSize;
+    private final int maxFiles;
+
+    private AccessLogFile(Builder builder) {
+        this.path = builder.path;
+        this.queueSize = builder.queueSize;
+        this.maxFileSize = builder.maxFileSize;
+        this.maxFiles = builder.maxFiles;
+    }
+
+    /**
+     * Create access log file configuration with default values.
+     *
+     * @param path path of the access log file
+     * @return a new access log file configuration
+     */
+    public static AccessLogFile create(Path path) {
+        return builder().path(path).build();
+    }
+
+    /**
+     * Create access log file configuration from {@link Config}.
+     *
+     * @param config configuration of the access log file
+     * @return a new access log file configuration
+     */
+    public static AccessLogFile create(Config config) {
+        return builder().config(config).build();
+    }
+
+    /**
+     * A new fluent API builder.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Path of the access log file.
+     *
+     * @return file path
+     */
+    public Path path() {
+        return path;
+    }
+
+    /**
+     * Maximal number of records waiting to be written.
+     *
+     * @return queue size
+     */
+    public int queueSize() {
+        return queueSize;
+    }
+
+    /**
+     * Size of the file in bytes triggering rotation, {@code 0} to never rotate.
+     *
+     * @return maximal file size
+     */
+    public long maxFileSize() {
+        return maxFileSize;
+    }
+
+    /**
+     * Number of rotated files to keep.
+     *
+     * @return maximal number of rotated files
+     */
+    public int maxFiles() {
+        return maxFiles;
+    }
+
+    /**
+     * Fluent API builder for {@link io.helidon.webserver.accesslog.AccessLogFile}.
+     */
+    public static final class Builder implements io.helidon.common.Builder<AccessLogFile> {
+        private Path path;
+        private int queueSize = DEFAULT_QUEUE_SIZE;
+        private long maxFileSize = DEFAULT_MAX_FILE_SIZE;
+        private int maxFiles = DEFAULT_MAX_FILES;
+
+        private Builder() {
+        }
+
+        @Override
+        public AccessLogFile build() {
+            Objects.requireNonNull(path, "Access log file path must be configured");
+            return new AccessLogFile(this);
+        }
+
+        /**
+         * Update this builder from configuration.
+         * <table class="config">
+         *     <caption>Access log file configuration</caption>
+         *     <tr>
+         *         <th>key</th>
+         *         <th>default value</th>
+         *         <th>description</th>
+         *     </tr>
+         *     <tr>
+         *         <td>path</td>
+         *         <td>&nbsp;</td>
+         *         <td>Path of the access log file</td>
+         *     </tr>
+         *     <tr>
+         *         <td>queue-size</td>
+         *         <td>{@value #DEFAULT_QUEUE_SIZE}</td>
+         *         <td>Maximal number of records waiting to be written, records are dropped when exceeded</td>
+         *     </tr>
+         *     <tr>
+         *         <td>max-file-size</td>
+         *         <td>{@value #DEFAULT_MAX_FILE_SIZE}</td>
+         *         <td>Size of the file in bytes triggering rotation, {@code 0} to never rotate</td>
+         *     </tr>
+         *     <tr>
+         *         <td>max-files</td>
+         *         <td>{@value #DEFAULT_MAX_FILES}</td>
+         *         <td>Number of rotated files to keep</td>
+         *     </tr>
+         * </table>
+         *
+         * @param config configuration of the access log file
+         * @return updated builder instance
+         */
+        public Builder config(Config config) {
+            config.get("path").asString().map(Paths::get).ifPresent(this::path);
+            config.get("queue-size").asInt().ifPresent(this::queueSize);
+            config.get("max-file-size").asLong().ifPresent(this::maxFileSize);
+            config.get("max-files").asInt().ifPresent(this::maxFiles);
+            return this;
+        }
+
+        /**
+         * Path of the access log file. Records are appended if the file exists.
+         *
+         * @param path file path
+         * @return updated builder instance
+         */
+        public Builder path(Path path) {
+            this.path = path;
+            return this;
+        }
+
+        /**
+         * Maximal number of records waiting to be written. Records received when the queue is full are dropped.
+         * Defaults to {@value #DEFAULT_QUEUE_SIZE}, rounded up to a power of two.
+         *
+         * @param queueSize queue size
+         * @return updated builder instance
+         */
+        public Builder queueSize(int queueSize) {
+            if (queueSize < 1) {
+                throw new IllegalArgumentException("Queue size must be positive, but is " + queueSize);
+            }
+            this.queueSize = queueSize;
+            return this;
+        }
+
+        /**
+         * Size of the file in bytes triggering rotation.
+         * Defaults to {@value #DEFAULT_MAX_FILE_SIZE}, {@code 0} disables rotation.
+         *
+         * @param maxFileSize maximal file size
+         * @return updated builder instance
+         */
+        public Builder maxFileSize(long maxFileSize) {
+            if (maxFileSize < 0) {
+                throw new IllegalArgumentException("Maximal file size must not be negative, but is " + maxFileSize);
+            }
+            this.maxFileSize = maxFileSize;
+            return this;
+        }
+
+        /**
+         * Number of rotated files to keep. Defaults to {@value #DEFAULT_MAX_FILES}.
+         *
+         * @param maxFiles maximal number of rotated files
+         * @return updated builder instance
+         */
+        public Builder maxFiles(int maxFiles) {
+            if (maxFiles < 0) {
+                throw new IllegalArgumentException("Maximal number of files must not be negative, but is " + maxFiles);
+            }
+            this.maxFiles = maxFiles;
+            return this;
+        }
+    }
+}
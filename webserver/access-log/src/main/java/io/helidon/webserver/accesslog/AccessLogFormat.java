@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver.accesslog;
+
+import java.util.List;
+
+/**
+ * Log format compiled from the configured log entries into a flat array, appending the entries separated by spaces
+ * into a reusable buffer.
+ */
+final class AccessLogFormat {
+    private final AccessLogEntry[] entries;
+
+    AccessLogFormat(List<AccessLogEntry> entries) {
+        this.entries = entries.toArray(new AccessLogEntry[0]);
+    }
+
+    /**
+     * Append the log record to the buffer.
+     *
+     * @param context context of the logged request
+     * @param buffer buffer to append to
+     */
+    void format(AccessLogContext context, StringBuilder buffer) {
+        if (entries.length == 0) {
+            return;
+        }
+        buffer.append(entries[0].apply(context));
+        for (int i = 1; i < entries.length; i++) {
+            buffer.append(' ').append(entries[i].apply(context));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue with multiple producers (the event loop threads) and a single consumer
+ * (the access log writer thread).
+ *
+ * @param <T> type of the elements
+ */
+final class AccessLogRingBuffer<T> {
+    private final AtomicReferenceArray<T> elements;
+    private final int mask;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+
+    AccessLogRingBuffer(int capacity) {
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.elements = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Add an element, never blocks.
+     *
+     * @param element element to add
+     * @return {@code true} if added, {@code false} if the buffer is full
+     */
+    boolean offer(T element) {
+        long index;
+        do {
+            index = producerIndex.get();
+            if (index - consumerIndex.get() > mask) {
+                return false;
+            }
+        } while (!producerIndex.compareAndSet(index, index + 1));
+        elements.lazySet((int) index & mask, element);
+        return true;
+    }
+
+    /**
+     * Remove the oldest element. Must be called from a single thread only.
+     *
+     * @return the oldest element, or {@code null} if the buffer is empty
+     */
+    T poll() {
+        long index = consumerIndex.get();
+        int offset = (int) index & mask;
+        T element = elements.get(offset);
+        if (element == null) {
+            if (index == producerIndex.get()) {
+                return null;
+            }
+            // the slot is claimed by a producer that did not store the element yet
+            do {
+                Thread.onSpinWait();
+                element = elements.get(offset);
+            } while (element == null);
+        }
+        elements.lazySet(offset, null);
+        consumerIndex.lazySet(index + 1);
+        return element;
+    }
+
+    /**
+     * Whether there is no element to poll and no element being added.
+     *
+     * @return {@code true} if empty
+     */
+    boolean isEmpty() {
+        return producerIndex.get() == consumerIndex.get();
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -45,16 +45,20 @@ public final class AccessLogSupport implements Service {
     public static final String DEFAULT_LOGGER_NAME = "io.helidon.webserver.AccessLog";
     private static final Pattern HEADER_ENTRY_PATTERN = Pattern.compile("%\\{(.*?)}i");
 
-    private final List<AccessLogEntry> logFormat;
+    private final List<AccessLogEntry> entries;
+    private final AccessLogFormat logFormat;
     private final Logger logger;
     private final boolean enabled;
     private final Clock clock;
+    private final AsyncAccessLogWriter writer;
 
     private AccessLogSupport(Builder builder) {
         this.enabled = builder.enabled;
-        this.logFormat = builder.entries;
+        this.entries = builder.entries;
+        this.logFormat = new AccessLogFormat(builder.entries);
         this.clock = builder.clock;
         this.logger = Logger.getLogger(builder.loggerName);
+        this.writer = (enabled && builder.file != null) ? new AsyncAccessLogWriter(builder.file, logFormat) : null;
     }
 
     /**
@@ -87,9 +91,27 @@ public final class AccessLogSupport implements Service {
         return new Builder();
     }
 
+    /**
+     * Number of records dropped because the queue of the access log file was full.
+     * Always {@code 0} when logging to a {@link java.util.logging.Logger}.
+     *
+     * @return number of dropped records
+     * @see Builder#file(AccessLogFile)
+     */
+    public long droppedRecords() {
+        return (writer == null) ? 0 : writer.dropped();
+    }
+
     @Override
     public void update(Routing.Rules rules) {
         if (enabled) {
+            if (writer != null) {
+                // the writer thread runs while any of the web servers using this routing is running
+                rules.onNewWebServer(webServer -> {
+                    writer.start();
+                    webServer.whenShutdown().whenComplete((server, throwable) -> writer.close());
+                });
+            }
             rules.any(this::handle);
         }
     }
@@ -98,7 +120,9 @@ public final class AccessLogSupport implements Service {
         ZonedDateTime now = ZonedDateTime.now(clock);
         long nanoNow = System.nanoTime();
 
-        logFormat.forEach(entry -> entry.accept(req, res));
+        for (AccessLogEntry entry : entries) {
+            entry.accept(req, res);
+        }
 
         res.whenSent().thenAccept(aResponse -> log(req, aResponse, now, nanoNow))
                 .exceptionally((
@@ -111,7 +135,12 @@ public final class AccessLogSupport implements Service {
     }
 
     private void log(ServerRequest req, ServerResponse res, ZonedDateTime timeStart, long nanoStart) {
-        logger.log(Level.INFO, createLogRecord(req, res, timeStart, nanoStart, ZonedDateTime.now(clock), System.nanoTime()));
+        LogContext context = new LogContext(req, res, timeStart, nanoStart, ZonedDateTime.now(clock), System.nanoTime());
+        if (writer == null) {
+            logger.log(Level.INFO, createLogRecord(context));
+        } else {
+            writer.write(context);
+        }
     }
 
     String createLogRecord(ServerRequest req,
@@ -120,50 +149,70 @@ public final class AccessLogSupport implements Service {
                            long nanoStart,
                            ZonedDateTime timeNow,
                            long nanoNow) {
+        return createLogRecord(new LogContext(req, res, timeStart, nanoStart, timeNow, nanoNow));
+    }
 
-        AccessLogContext ctx = new AccessLogContext() {
-            @Override
-            public long requestNanoTime() {
-                return nanoStart;
-            }
-
-            @Override
-            public long responseNanoTime() {
-                return nanoNow;
-            }
+    private String createLogRecord(AccessLogContext context) {
+        StringBuilder sb = new StringBuilder();
+        logFormat.format(context, sb);
+        return sb.toString();
+    }
 
-            @Override
-            public ZonedDateTime requestDateTime() {
-                return timeStart;
-            }
+    /**
+     * Values of a single request to be logged. Only captures the request and response, the log entries
+     * are applied when the record is formatted.
+     */
+    private static final class LogContext implements AccessLogContext {
+        private final ServerRequest req;
+        private final ServerResponse res;
+        private final ZonedDateTime timeStart;
+        private final long nanoStart;
+        private final ZonedDateTime timeNow;
+        private final long nanoNow;
+
+        private LogContext(ServerRequest req,
+                           ServerResponse res,
+                           ZonedDateTime timeStart,
+                           long nanoStart,
+                           ZonedDateTime timeNow,
+                           long nanoNow) {
+            this.req = req;
+            this.res = res;
+            this.timeStart = timeStart;
+            this.nanoStart = nanoStart;
+            this.timeNow = timeNow;
+            this.nanoNow = nanoNow;
+        }
 
-            @Override
-            public ZonedDateTime responseDateTime() {
-                return timeNow;
-            }
+        @Override
+        public long requestNanoTime() {
+            return nanoStart;
+        }
 
-            @Override
-            public ServerRequest serverRequest() {
-                return req;
-            }
+        @Override
+        public long responseNanoTime() {
+            return nanoNow;
+        }
 
-            @Override
-            public ServerResponse serverResponse() {
-                return res;
-            }
-        };
-        StringBuilder sb = new StringBuilder();
+        @Override
+        public ZonedDateTime requestDateTime() {
+            return timeStart;
+        }
 
-        for (AccessLogEntry entry : logFormat) {
-            sb.append(entry.apply(ctx));
-            sb.append(" ");
+        @Override
+        public ZonedDateTime responseDateTime() {
+            return timeNow;
         }
 
-        if (sb.length() > 1) {
-            sb.setLength(sb.length() - 1);
+        @Override
+        public ServerRequest serverRequest() {
+            return req;
         }
 
-        return sb.toString();
+        @Override
+        public ServerResponse serverResponse() {
+            return res;
+        }
     }
 
     /**
@@ -194,6 +243,7 @@ public final class AccessLogSupport implements Service {
         private Clock clock = Clock.systemDefaultZone();
         private String loggerName = DEFAULT_LOGGER_NAME;
         private boolean enabled = true;
+        private AccessLogFile file;
 
         private Builder() {
         }
@@ -398,6 +448,27 @@ public final class AccessLogSupport implements Service {
             config.get("enabled").asBoolean().ifPresent(this::enabled);
             config.get("logger-name").asString().ifPresent(this::loggerName);
             config.get("format").asString().ifPresent(this::configLogFormat);
+            config.get("file").ifExists(it -> file(AccessLogFile.create(it)));
+            return this;
+        }
+
+        /**
+         * Write the access log to a file from a dedicated thread instead of the {@link java.util.logging.Logger}.
+         * The event loop threads only hand the records over to a bounded queue, the records are formatted
+         * and written in batches by the writer thread.
+         * The thread is started with the web server and stopped once it is shut down, after writing
+         * the pending records.
+         * <p>
+         * Note that {@link AccessLogEntry#apply(AccessLogContext)} is then invoked by the writer thread, off the
+         * event loop and after the response is sent, so custom entries must only use the request and response
+         * information that is still available at that time.
+         *
+         * @param file access log file configuration
+         * @return updated builder instance
+         * @see AccessLogSupport#droppedRecords()
+         */
+        public Builder file(AccessLogFile file) {
+            this.file = file;
             return this;
         }
 
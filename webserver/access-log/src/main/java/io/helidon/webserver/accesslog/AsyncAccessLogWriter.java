@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver.accesslog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes access log records to a file from a dedicated thread.
+ * <p>
+ * Records are handed over through a bounded ring buffer, records that do not fit are dropped and counted.
+ * The writer thread formats the records into a reusable buffer and writes them to the file in batches,
+ * and parks while the buffer is empty until a new record is handed over.
+ * <p>
+ * The thread runs from the first {@link #start()} until the matching last {@link #close()}, which is bound
+ * to the lifecycle of the web servers the access log is registered with.
+ */
+final class AsyncAccessLogWriter {
+    private static final Logger LOGGER = Logger.getLogger(AsyncAccessLogWriter.class.getName());
+    private static final int BATCH_SIZE = 64 * 1024;
+    private static final long CLOSE_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(5);
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final AccessLogRingBuffer<AccessLogContext> queue;
+    private final LongAdder dropped = new LongAdder();
+    private final AccessLogFormat format;
+    private final Path path;
+    private final long maxFileSize;
+    private final int maxFiles;
+    private final StringBuilder buffer = new StringBuilder(BATCH_SIZE);
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(BATCH_SIZE);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    private int users;
+    private volatile Thread thread;
+    private volatile boolean running;
+    private volatile boolean waiting;
+    private FileChannel channel;
+    private long fileSize;
+
+    AsyncAccessLogWriter(AccessLogFile file, AccessLogFormat format) {
+        this.queue = new AccessLogRingBuffer<>(file.queueSize());
+        this.format = format;
+        this.path = file.path();
+        this.maxFileSize = file.maxFileSize();
+        this.maxFiles = file.maxFiles();
+    }
+
+    /**
+     * Start the writer thread, if not running yet.
+     */
+    synchronized void start() {
+        if (users++ > 0) {
+            return;
+        }
+        running = true;
+        Thread writerThread = new Thread(this::run, "helidon-access-log-writer");
+        writerThread.setDaemon(true);
+        thread = writerThread;
+        writerThread.start();
+    }
+
+    /**
+     * Hand the record over to the writer thread, never blocks.
+     *
+     * @param context context of the logged request
+     */
+    void write(AccessLogContext context) {
+        if (!queue.offer(context)) {
+            dropped.increment();
+        } else if (waiting) {
+            waiting = false;
+            LockSupport.unpark(thread);
+        }
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Once called as many times as {@link #start()}, write all pending records, close the file
+     * and stop the writer thread.
+     */
+    synchronized void close() {
+        if (users == 0 || --users > 0) {
+            return;
+        }
+        Thread writerThread = thread;
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            if (!drain()) {
+                waiting = true;
+                // a record handed over before the flag was set is seen here, later ones unpark this thread
+                if (running && queue.isEmpty()) {
+                    LockSupport.park(this);
+                }
+                waiting = false;
+            }
+        }
+        drain();
+        closeChannel();
+    }
+
+    private boolean drain() {
+        boolean drained = false;
+        AccessLogContext context;
+        while ((context = queue.poll()) != null) {
+            drained = true;
+            int length = buffer.length();
+            try {
+                format.format(context, buffer);
+                buffer.append(LINE_SEPARATOR);
+            } catch (RuntimeException e) {
+                buffer.setLength(length);
+                LOGGER.log(Level.FINE, "Failed to format access log record", e);
+            }
+            if (buffer.length() >= BATCH_SIZE) {
+                flush();
+            }
+        }
+        if (buffer.length() > 0) {
+            flush();
+        }
+        return drained;
+    }
+
+    private void flush() {
+        CharBuffer chars = CharBuffer.wrap(buffer);
+        encoder.reset();
+        try {
+            if (channel == null) {
+                open();
+            }
+            CoderResult result;
+            do {
+                result = encoder.encode(chars, bytes, true);
+                writeBytes();
+            } while (result.isOverflow());
+            do {
+                result = encoder.flush(bytes);
+                writeBytes();
+            } while (result.isOverflow());
+            if (maxFileSize > 0 && fileSize >= maxFileSize) {
+                rotate();
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to write access log to " + path, e);
+            closeChannel();
+        } finally {
+            buffer.setLength(0);
+            bytes.clear();
+        }
+    }
+
+    private void writeBytes() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            fileSize += channel.write(bytes);
+        }
+        bytes.clear();
+    }
+
+    private void open() throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        fileSize = channel.size();
+    }
+
+    private void rotate() throws IOException {
+        closeChannel();
+        if (maxFiles == 0) {
+            Files.delete(path);
+        } else {
+            for (int i = maxFiles - 1; i > 0; i--) {
+                Path rotated = rotated(i);
+                if (Files.exists(rotated)) {
+                    Files.move(rotated, rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(path, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+        }
+        open();
+    }
+
+    private Path rotated(int index) {
+        return path.resolveSibling(path.getFileName() + "." + index);
+    }
+
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Failed to close access log file " + path, e);
+        }
+        channel = null;
+    }
+}
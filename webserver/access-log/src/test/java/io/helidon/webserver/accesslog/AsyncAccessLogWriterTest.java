@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver.accesslog;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for {@link AsyncAccessLogWriter}.
+ */
+class AsyncAccessLogWriterTest {
+
+    @Test
+    void testWrite(@TempDir Path dir) throws Exception {
+        Path path = dir.resolve("logs/access.log");
+        AsyncAccessLogWriter writer = new AsyncAccessLogWriter(AccessLogFile.create(path), format());
+        writer.start();
+
+        for (int i = 0; i < 100; i++) {
+            writer.write(context(i));
+        }
+        writer.close();
+
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        assertThat(lines.size(), is(100));
+        assertThat(lines.get(0), is("record 0"));
+        assertThat(lines.get(99), is("record 99"));
+        assertThat(writer.dropped(), is(0L));
+    }
+
+    @Test
+    void testRotation(@TempDir Path dir) throws Exception {
+        Path path = dir.resolve("access.log");
+        AsyncAccessLogWriter writer = new AsyncAccessLogWriter(AccessLogFile.builder()
+                                                                       .path(path)
+                                                                       .maxFileSize(1)
+                                                                       .maxFiles(2)
+                                                                       .build(),
+                                                               format());
+        writer.start();
+
+        for (int i = 0; i < 5; i++) {
+            writer.write(context(i));
+            // make sure each record is written in its own batch
+            waitForRecord(dir.resolve("access.log.1"), "record " + i);
+        }
+        writer.close();
+
+        assertThat(Files.exists(dir.resolve("access.log.3")), is(false));
+        assertThat(Files.readAllLines(dir.resolve("access.log.2")), is(List.of("record 3")));
+        assertThat(Files.readAllLines(dir.resolve("access.log.1")), is(List.of("record 4")));
+        assertThat(Files.size(path), is(0L));
+    }
+
+    @Test
+    void testLifecycle(@TempDir Path dir) throws Exception {
+        Path path = dir.resolve("access.log");
+        AsyncAccessLogWriter writer = new AsyncAccessLogWriter(AccessLogFile.create(path), format());
+        // records handed over before the start are written once the thread runs
+        writer.write(context(0));
+        writer.start();
+        writer.start();
+        waitForRecord(path, "record 0");
+
+        // still running for the second user, the idle thread is woken up by a new record
+        writer.close();
+        writer.write(context(1));
+        writer.close();
+        writer.close();
+
+        assertThat(Files.readAllLines(path), is(List.of("record 0", "record 1")));
+    }
+
+    @Test
+    void testRingBuffer() {
+        AccessLogRingBuffer<String> buffer = new AccessLogRingBuffer<>(3);
+        assertThat(buffer.capacity(), is(4));
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer("element " + i), is(true));
+        }
+        assertThat(buffer.offer("dropped"), is(false));
+        assertThat(buffer.poll(), is("element 0"));
+        assertThat(buffer.offer("element 4"), is(true));
+        for (int i = 1; i < 5; i++) {
+            assertThat(buffer.poll(), is("element " + i));
+        }
+        assertThat(buffer.poll(), is((String) null));
+    }
+
+    private static void waitForRecord(Path path, String record) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                if (Files.readAllLines(path).equals(List.of(record))) {
+                    return;
+                }
+            } catch (IOException ignored) {
+                // not rotated yet
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static AccessLogFormat format() {
+        return new AccessLogFormat(List.of(context -> "record", context -> String.valueOf(context.requestNanoTime())));
+    }
+
+    private static AccessLogContext context(long index) {
+        AccessLogContext context = mock(AccessLogContext.class);
+        when(context.requestNanoTime()).thenReturn(index);
+        return context;
+    }
+}
@@ -55,6 +55,9 @@ class Aggregator {
     // Records paths and configs added via addCrossOriginConfig
     private final List<CrossOriginConfigMatchable> crossOriginConfigMatchables = new ArrayList<>();
 
+    // Results of matching the path and method against the matchables, keyed by method and path
+    private final BoundedCache<String, Optional<CrossOriginConfig>> lookupCache = new BoundedCache<>();
+
     private boolean isEnabled = true;
 
     /**
@@ -245,17 +248,25 @@ class Aggregator {
      * Looks for a matching CORS config entry for the specified path among the provided CORS configuration information, returning
      * an {@code Optional} of the matching {@code CrossOrigin} instance for the path, if any.
      *
+     * The result of matching the configured path patterns is cached for each path and method,
+     * the secondary lookup is invoked every time.
+     *
      * @param path the unnormalized request path to check
+     * @param method the HTTP method of the request
      * @param secondaryLookup Supplier for CrossOrigin used if none found in config
      * @return Optional<CrossOrigin> for the matching config, or an empty Optional if none matched
      */
     Optional<CrossOriginConfig> lookupCrossOrigin(String path, String method,
             Supplier<Optional<CrossOriginConfig>> secondaryLookup) {
 
-        Optional<CrossOriginConfig> result = findFirst(crossOriginConfigMatchables, path, method)
-                .or(secondaryLookup);
+        String key = method + ' ' + path;
+        Optional<CrossOriginConfig> result = lookupCache.get(key);
+        if (result == null) {
+            result = findFirst(crossOriginConfigMatchables, path, method);
+            lookupCache.put(key, result);
+        }
 
-        return result;
+        return result.or(secondaryLookup);
     }
 
     /**
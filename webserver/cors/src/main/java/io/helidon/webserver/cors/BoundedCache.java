@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.cors;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Concurrent cache of CORS decisions with a bounded number of entries.
+ * <p>
+ * Reads never block. Paths with parameters make the set of keys unbounded, so once the cache is full it is cleared
+ * and filled again rather than tracking the usage of the entries.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the cached values
+ */
+final class BoundedCache<K, V> {
+
+    static final int DEFAULT_CAPACITY = 1024;
+
+    private final Map<K, V> entries = new ConcurrentHashMap<>();
+    private final int capacity;
+
+    BoundedCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    BoundedCache(int capacity) {
+        this.capacity = capacity;
+    }
+
+    V get(K key) {
+        return entries.get(key);
+    }
+
+    void put(K key, V value) {
+        if (entries.size() >= capacity) {
+            entries.clear();
+        }
+        entries.put(key, value);
+    }
+
+    int size() {
+        return entries.size();
+    }
+}
@@ -156,6 +156,8 @@ class CorsSupportHelper<Q, R> {
 
     private final Aggregator aggregator;
     private final Supplier<Optional<CrossOriginConfig>> secondaryCrossOriginLookup;
+    // Headers of successful preflight responses, keyed by the request values they depend on
+    private final BoundedCache<String, Headers> preflightCache = new BoundedCache<>();
 
     private CorsSupportHelper(Builder<Q, R>  builder) {
         name = builder.name;
@@ -381,6 +383,11 @@ class CorsSupportHelper<Q, R> {
         return aggregator;
     }
 
+    // Primarily for testing.
+    int preflightCacheSize() {
+        return preflightCache.size();
+    }
+
     private boolean isRequestTypeNormal(RequestAdapter<Q> requestAdapter, boolean silent) {
         // If no origin header or same as host, then just normal
         Optional<String> originOpt = requestAdapter.firstHeader(ORIGIN);
@@ -429,13 +436,14 @@ class CorsSupportHelper<Q, R> {
         CrossOriginConfig crossOriginConfig = crossOriginOpt.get();
 
         // If enabled but not whitelisted, deny request
-        List<String> allowedOrigins = Arrays.asList(crossOriginConfig.allowOrigins());
         Optional<String> originOpt = requestAdapter.firstHeader(ORIGIN);
-        if (!allowedOrigins.contains("*") && !contains(originOpt, allowedOrigins, String::equals)) {
+        if (!crossOriginConfig.allowsAllOrigins()
+                && (originOpt.isEmpty() || !crossOriginConfig.allowsOrigin(originOpt.get()))) {
             return Optional.of(forbid(requestAdapter,
                     responseAdapter,
                     ORIGIN_NOT_IN_ALLOWED_LIST,
-                    () -> String.format("actual: %s, allowed: %s", originOpt.orElse("(MISSING)"), allowedOrigins)));
+                    () -> String.format("actual: %s, allowed: %s", originOpt.orElse("(MISSING)"),
+                            Arrays.asList(crossOriginConfig.allowOrigins()))));
         }
 
         // Successful processing of request
@@ -465,16 +473,15 @@ class CorsSupportHelper<Q, R> {
                     .add(Http.Header.VARY, ORIGIN)
                     .setAndLog(responseAdapter::header, "allow-credentials was set in CORS config");
         } else {
-            List<String> allowedOrigins = Arrays.asList(crossOrigin.allowOrigins());
             new Headers()
-                    .add(ACCESS_CONTROL_ALLOW_ORIGIN, allowedOrigins.contains("*") ? "*" : origin)
+                    .add(ACCESS_CONTROL_ALLOW_ORIGIN, crossOrigin.allowsAllOrigins() ? "*" : origin)
                     .add(Http.Header.VARY, ORIGIN)
                     .setAndLog(responseAdapter::header, "allow-credentials was not set in CORS config");
         }
 
         // Add Access-Control-Expose-Headers if non-empty
         Headers headers = new Headers();
-        formatHeader(crossOrigin.exposeHeaders()).ifPresent(
+        crossOrigin.exposeHeadersValue().ifPresent(
                 h -> headers.add(ACCESS_CONTROL_EXPOSE_HEADERS, h));
         headers.setAndLog(responseAdapter::header, "expose-headers was set in CORS config");
     }
@@ -499,6 +506,19 @@ class CorsSupportHelper<Q, R> {
 
         // Access-Control-Request-Method had to be present in order for this to be assessed as a preflight request.
         String requestedMethod = requestAdapter.firstHeader(ACCESS_CONTROL_REQUEST_METHOD).get();
+        List<String> requestHeadersValues = requestAdapter.allHeaders(ACCESS_CONTROL_REQUEST_HEADERS);
+
+        // The secondary lookup depends on more than the request values, so only cache the configured decisions
+        String cacheKey = null;
+        if (secondaryCrossOriginLookup == EMPTY_SECONDARY_SUPPLIER) {
+            cacheKey = String.join("\n", requestAdapter.path(), requestedMethod, originOpt.get(),
+                    (requestHeadersValues == null) ? "" : String.join(",", requestHeadersValues));
+            Headers cached = preflightCache.get(cacheKey);
+            if (cached != null) {
+                cached.setAndLog(responseAdapter::header, "cached headers set on preflight request");
+                return responseAdapter.ok();
+            }
+        }
 
         // Lookup the CrossOriginConfig using the requested method, not the current method (which we know is OPTIONS).
         Optional<CrossOriginConfig> crossOriginOpt = aggregator.lookupCrossOrigin(
@@ -511,33 +531,30 @@ class CorsSupportHelper<Q, R> {
         CrossOriginConfig crossOrigin = crossOriginOpt.get();
 
         // If enabled but not whitelisted, deny request
-        List<String> allowedOrigins = Arrays.asList(crossOrigin.allowOrigins());
-        if (!allowedOrigins.contains("*") && !contains(originOpt, allowedOrigins, String::equals)) {
+        if (!crossOrigin.allowsOrigin(originOpt.get())) {
             return forbid(requestAdapter,
                     responseAdapter,
                     ORIGIN_NOT_IN_ALLOWED_LIST,
-                    () -> "actual origin: " + originOpt.get() + ", allowedOrigins: " + allowedOrigins);
+                    () -> "actual origin: " + originOpt.get() + ", allowedOrigins: "
+                            + Arrays.asList(crossOrigin.allowOrigins()));
         }
 
         // Check if method is allowed
-        List<String> allowedMethods = Arrays.asList(crossOrigin.allowMethods());
-        if (!allowedMethods.contains("*")
-                && !contains(requestedMethod, allowedMethods, String::equalsIgnoreCase)) {
+        if (!crossOrigin.matches(requestedMethod)) {
             return forbid(requestAdapter,
                     responseAdapter,
                     METHOD_NOT_IN_ALLOWED_LIST,
                     () -> String.format("header %s requested method %s but allowedMethods is %s", ACCESS_CONTROL_REQUEST_METHOD,
-                            requestedMethod, allowedMethods));
+                            requestedMethod, Arrays.asList(crossOrigin.allowMethods())));
         }
         // Check if headers are allowed
-        Set<String> requestHeaders = parseHeader(requestAdapter.allHeaders(ACCESS_CONTROL_REQUEST_HEADERS));
-        List<String> allowedHeaders = Arrays.asList(crossOrigin.allowHeaders());
-        if (!allowedHeaders.contains("*") && !contains(requestHeaders, allowedHeaders)) {
+        Set<String> requestHeaders = parseHeader(requestHeadersValues);
+        if (!crossOrigin.allowsHeaders(requestHeaders)) {
             return forbid(requestAdapter,
                     responseAdapter,
                     HEADERS_NOT_IN_ALLOWED_LIST,
                     () -> String.format("requested headers %s incompatible with allowed headers %s", requestHeaders,
-                            allowedHeaders));
+                            Arrays.asList(crossOrigin.allowHeaders())));
         }
 
         // Build successful response
@@ -554,6 +571,9 @@ class CorsSupportHelper<Q, R> {
         if (maxAgeSeconds > 0) {
             headers.add(ACCESS_CONTROL_MAX_AGE, maxAgeSeconds, "maxAgeSeconds > 0");
         }
+        if (cacheKey != null) {
+            preflightCache.put(cacheKey, headers);
+        }
         headers.setAndLog(responseAdapter::header, "headers set on preflight request");
         return responseAdapter.ok();
     }
@@ -17,6 +17,11 @@
 package io.helidon.webserver.cors;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import io.helidon.config.Config;
 
@@ -104,6 +109,15 @@ public class CrossOriginConfig {
     private final boolean allowCredentials;
     private final long maxAgeSeconds;
 
+    // Computed once, so requests do not copy and scan the arrays above
+    private final boolean allowAllOrigins;
+    private final Set<String> allowOriginsSet;
+    private final boolean allowAllMethods;
+    private final Set<String> allowMethodsSet;
+    private final boolean allowAllHeaders;
+    private final Set<String> allowHeadersSet;
+    private final String exposeHeadersValue;
+
     private CrossOriginConfig(Builder builder) {
         this.pathPattern = builder.pathPattern;
         this.enabled = builder.enabled;
@@ -113,6 +127,14 @@ public class CrossOriginConfig {
         this.allowMethods = builder.allowMethods;
         this.allowCredentials = builder.allowCredentials;
         this.maxAgeSeconds = builder.maxAgeSeconds;
+
+        this.allowAllOrigins = contains(allowOrigins, "*");
+        this.allowOriginsSet = toSet(allowOrigins, false);
+        this.allowAllMethods = contains(allowMethods, "*");
+        this.allowMethodsSet = toSet(allowMethods, true);
+        this.allowAllHeaders = contains(allowHeaders, "*");
+        this.allowHeadersSet = toSet(allowHeaders, true);
+        this.exposeHeadersValue = CorsSupportHelper.formatHeader(exposeHeaders).orElse(null);
     }
 
     /**
@@ -235,12 +257,31 @@ public class CrossOriginConfig {
      * @return true if this {@code CrossOriginConfig} matches the specified method; false otherwise
      */
     public boolean matches(String method) {
-        for (String allowMethod : allowMethods) {
-            if (allowMethod.equalsIgnoreCase(method) || allowMethod.equals("*")) {
-                return true;
+        return allowAllMethods || allowMethodsSet.contains(method.toUpperCase(Locale.ROOT));
+    }
+
+    boolean allowsAllOrigins() {
+        return allowAllOrigins;
+    }
+
+    boolean allowsOrigin(String origin) {
+        return allowAllOrigins || allowOriginsSet.contains(origin);
+    }
+
+    boolean allowsHeaders(Set<String> headers) {
+        if (allowAllHeaders) {
+            return true;
+        }
+        for (String header : headers) {
+            if (!allowHeadersSet.contains(header.toUpperCase(Locale.ROOT))) {
+                return false;
             }
         }
-        return false;
+        return true;
+    }
+
+    Optional<String> exposeHeadersValue() {
+        return Optional.ofNullable(exposeHeadersValue);
     }
 
     @Override
@@ -252,6 +293,19 @@ public class CrossOriginConfig {
                 allowCredentials, maxAgeSeconds);
     }
 
+    private static boolean contains(String[] strings, String value) {
+        return strings != null && Arrays.asList(strings).contains(value);
+    }
+
+    private static Set<String> toSet(String[] strings, boolean ignoreCase) {
+        if (strings == null) {
+            return Collections.emptySet();
+        }
+        return Arrays.stream(strings)
+                .map(it -> ignoreCase ? it.toUpperCase(Locale.ROOT) : it)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
     private static String[] copyOf(String[] strings) {
         return strings != null ? Arrays.copyOf(strings, strings.length) : new String[0];
     }
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.cors;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import io.helidon.common.http.Http;
+import io.helidon.webserver.cors.CorsSupportBase.RequestAdapter;
+import io.helidon.webserver.cors.CorsSupportBase.ResponseAdapter;
+
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.webserver.cors.CrossOriginConfig.ACCESS_CONTROL_ALLOW_HEADERS;
+import static io.helidon.webserver.cors.CrossOriginConfig.ACCESS_CONTROL_ALLOW_METHODS;
+import static io.helidon.webserver.cors.CrossOriginConfig.ACCESS_CONTROL_ALLOW_ORIGIN;
+import static io.helidon.webserver.cors.CrossOriginConfig.ACCESS_CONTROL_REQUEST_HEADERS;
+import static io.helidon.webserver.cors.CrossOriginConfig.ACCESS_CONTROL_REQUEST_METHOD;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class TestPreflightCache {
+
+    private static final String ORIGIN = "http://foo.bar";
+
+    @Test
+    public void testCachedPreflight() {
+        CorsSupportHelper<Void, Integer> helper = helper();
+
+        TestResponse first = new TestResponse();
+        assertThat(helper.processCorsPreFlightRequest(preflight("PUT", ORIGIN, "X-foo"), first), is(200));
+        assertThat(helper.preflightCacheSize(), is(1));
+
+        TestResponse second = new TestResponse();
+        assertThat(helper.processCorsPreFlightRequest(preflight("PUT", ORIGIN, "X-foo"), second), is(200));
+        assertThat(helper.preflightCacheSize(), is(1));
+        assertThat(second.headers, is(first.headers));
+        assertThat(second.headers.get(ACCESS_CONTROL_ALLOW_ORIGIN), is(ORIGIN));
+        assertThat(second.headers.get(ACCESS_CONTROL_ALLOW_METHODS), is("PUT"));
+        assertThat(second.headers.get(ACCESS_CONTROL_ALLOW_HEADERS), is("X-foo"));
+    }
+
+    @Test
+    public void testDeniedPreflightNotCached() {
+        CorsSupportHelper<Void, Integer> helper = helper();
+
+        assertThat(helper.processCorsPreFlightRequest(preflight("PUT", "http://other.origin", "X-foo"), new TestResponse()),
+                   is(403));
+        assertThat(helper.processCorsPreFlightRequest(preflight("PUT", ORIGIN, "X-other"), new TestResponse()), is(403));
+        assertThat(helper.processCorsPreFlightRequest(preflight("GET", ORIGIN, "X-foo"), new TestResponse()), is(403));
+        assertThat(helper.preflightCacheSize(), is(0));
+
+        // request headers are matched case insensitively
+        assertThat(helper.processCorsPreFlightRequest(preflight("put", ORIGIN, "x-FOO"), new TestResponse()), is(200));
+        assertThat(helper.preflightCacheSize(), is(1));
+    }
+
+    @Test
+    public void testBoundedCache() {
+        BoundedCache<String, String> cache = new BoundedCache<>(2);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        assertThat(cache.get("a"), is("1"));
+        cache.put("c", "3");
+        assertThat(cache.size(), is(1));
+        assertThat(cache.get("c"), is("3"));
+    }
+
+    private static CorsSupportHelper<Void, Integer> helper() {
+        CorsSupportHelper.Builder<Void, Integer> builder = CorsSupportHelper.builder();
+        builder.aggregatorBuilder()
+                .addCrossOrigin("/greet", CrossOriginConfig.builder()
+                        .allowOrigins(ORIGIN)
+                        .allowMethods("PUT")
+                        .allowHeaders("X-foo")
+                        .build());
+        return builder.build();
+    }
+
+    private static RequestAdapter<Void> preflight(String method, String origin, String requestHeaders) {
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put(Http.Header.ORIGIN, List.of(origin));
+        headers.put(ACCESS_CONTROL_REQUEST_METHOD, List.of(method));
+        headers.put(ACCESS_CONTROL_REQUEST_HEADERS, List.of(requestHeaders));
+        return new RequestAdapter<>() {
+            @Override
+            public String path() {
+                return "/greet";
+            }
+
+            @Override
+            public Optional<String> firstHeader(String key) {
+                return Optional.ofNullable(headers.get(key)).map(values -> values.get(0));
+            }
+
+            @Override
+            public boolean headerContainsKey(String key) {
+                return headers.containsKey(key);
+            }
+
+            @Override
+            public List<String> allHeaders(String key) {
+                return headers.getOrDefault(key, List.of());
+            }
+
+            @Override
+            public String method() {
+                return Http.Method.OPTIONS.name();
+            }
+
+            @Override
+            public void next() {
+            }
+
+            @Override
+            public Void request() {
+                return null;
+            }
+        };
+    }
+
+    private static final class TestResponse implements ResponseAdapter<Integer> {
+        private final Map<String, Object> headers = new HashMap<>();
+
+        @Override
+        public ResponseAdapter<Integer> header(String key, String value) {
+            headers.put(key, value);
+            return this;
+        }
+
+        @Override
+        public ResponseAdapter<Integer> header(String key, Object value) {
+            headers.put(key, value);
+            return this;
+        }
+
+        @Override
+        public Integer forbidden(String message) {
+            return 403;
+        }
+
+        @Override
+        public Integer ok() {
+            return 200;
+        }
+
+        @Override
+        public int status() {
+            return 200;
+        }
+    }
+}
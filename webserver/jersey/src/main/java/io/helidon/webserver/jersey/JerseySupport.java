@@ -16,16 +16,21 @@
 
 package io.helidon.webserver.jersey;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.lang.reflect.Type;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
 import java.security.Principal;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Logger;
 
@@ -39,9 +44,13 @@ import io.helidon.common.configurable.ServerThreadPoolSupplier;
 import io.helidon.common.configurable.ThreadPool;
 import io.helidon.common.context.Context;
 import io.helidon.common.context.Contexts;
+import io.helidon.common.http.DataChunk;
 import io.helidon.common.http.Http;
 import io.helidon.common.http.HttpRequest;
+import io.helidon.common.reactive.BufferedEmittingPublisher;
+import io.helidon.common.reactive.Single;
 import io.helidon.config.Config;
+import io.helidon.media.common.DataChunkInputStream;
 import io.helidon.webserver.Handler;
 import io.helidon.webserver.HttpException;
 import io.helidon.webserver.Routing;
@@ -56,6 +65,7 @@ import org.glassfish.jersey.internal.util.collection.Ref;
 import org.glassfish.jersey.server.ApplicationHandler;
 import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
 import org.glassfish.jersey.server.model.Resource;
 import org.glassfish.jersey.server.spi.Container;
 
@@ -80,6 +90,11 @@ import static org.glassfish.jersey.server.ServerProperties.WADL_FEATURE_DISABLE;
  * <p>
  * Note that due to a blocking IO approach, each request handling is forwarded to a dedicated
  * thread pool which can be configured by one of the JerseySupport constructor.
+ * <p>
+ * If {@link Builder#fastPathMaxBodySize(int)} is set, request entities up to that size are read into memory
+ * before the request is handed over to Jersey, so Jersey never blocks waiting for them, and response entities
+ * up to the same size are buffered by Jersey and written to the connection at once from a pooled buffer. Jersey
+ * still runs on the thread pool, as resources may block.
  */
 public class JerseySupport implements Service {
 
@@ -107,19 +122,26 @@ public class JerseySupport implements Service {
     private final JerseyHandler handler = new JerseyHandler();
     private final HelidonJerseyContainer container;
     private final Thread serviceShutdownHook;
+    private final int fastPathMaxBodySize;
 
     /**
      * Creates a Jersey Support based on the provided JAX-RS application.
      *
      * @param builder builder with application (the JAX-RS application to build the Jersey Support from),
      *                executor service (the executor service that is used for a request handling. If {@code null},
-     *                a thread pool of size {@link Runtime#availableProcessors()} {@code * 8} is used),
+     *                a thread pool of size {@link Runtime#availableProcessors()} {@code * 8} is used, or virtual
+     *                threads if configured),
      *                and Config
      */
     private JerseySupport(Builder builder) {
-        ExecutorService executorService = (builder.executorService != null)
-                ? builder.executorService
-                : getDefaultThreadPool(builder.config);
+        ExecutorService executorService;
+        if (builder.executorService != null) {
+            executorService = builder.executorService;
+        } else if (builder.virtualThreads) {
+            executorService = virtualThreadExecutor(builder.config);
+        } else {
+            executorService = getDefaultThreadPool(builder.config);
+        }
         this.service = Contexts.wrap(executorService);
 
         // Prevents reads/writes after Netty event loops are shutdown
@@ -135,6 +157,13 @@ public class JerseySupport implements Service {
             builder.resourceConfig.register(AsyncExecutorProvider.create(builder.asyncExecutorService));
         }
 
+        this.fastPathMaxBodySize = builder.fastPathMaxBodySize;
+        if (fastPathMaxBodySize > 0
+                && builder.resourceConfig.getProperty(ServerProperties.OUTBOUND_CONTENT_LENGTH_BUFFER) == null) {
+            // let Jersey buffer entities up to the same size, so it can tell us their length
+            builder.resourceConfig.property(ServerProperties.OUTBOUND_CONTENT_LENGTH_BUFFER, fastPathMaxBodySize);
+        }
+
         this.appHandler = new ApplicationHandler(builder.resourceConfig, new ServerBinder(executorService));
         this.container = new HelidonJerseyContainer(appHandler, builder.resourceConfig);
     }
@@ -166,6 +195,16 @@ public class JerseySupport implements Service {
         return DEFAULT_THREAD_POOL.get();
     }
 
+    private static ExecutorService virtualThreadExecutor(Config config) {
+        return ServerThreadPoolSupplier.builder()
+                .name("server-virtual")
+                .threadNamePrefix("helidon-virtual-")
+                .config(config.get("executor-service"))
+                .virtualThreads(true)
+                .build()
+                .get();
+    }
+
 
     private static URI baseUri(ServerRequest req) {
         try {
@@ -241,7 +280,7 @@ public class JerseySupport implements Service {
 
         private void doAccept(ServerRequest req, ServerResponse res) {
             CompletableFuture<Void> whenHandleFinishes = new CompletableFuture<>();
-            ResponseWriter responseWriter = new ResponseWriter(res, req, whenHandleFinishes);
+            ResponseWriter responseWriter = new ResponseWriter(res, req, whenHandleFinishes, fastPathMaxBodySize);
             ContainerRequest requestContext = new ContainerRequest(baseUri(req),
                                                                    req.absoluteUri(),
                                                                    req.method().name(),
@@ -260,11 +299,12 @@ public class JerseySupport implements Service {
 
             requestContext.setWriter(responseWriter);
 
-            req.content()
-                    .as(InputStream.class)
+            entityStream(req)
                     .thenAccept(is -> {
                         requestContext.setEntityStream(is);
 
+                        // Jersey runs on the executor even for an aggregated entity, as resources may block and
+                        // responses that outgrow the fast path are written through a stream waiting for the event loop
                         service.execute(() -> { // No need to use submit() since the future is not used.
                             try {
                                 LOGGER.finer("Handling in Jersey started.");
@@ -293,6 +333,107 @@ public class JerseySupport implements Service {
                         return null;
                     });
         }
+
+        /**
+         * Small (or no) entities are aggregated on the event loop, so Jersey reads them from memory.
+         * Anything else is read by Jersey through a blocking stream as it arrives, including entities
+         * that turn out to be larger than announced, such as decompressed ones.
+         */
+        private Single<InputStream> entityStream(ServerRequest req) {
+            if (fastPathMaxBodySize <= 0) {
+                return req.content().as(InputStream.class);
+            }
+            OptionalLong contentLength = req.headers().contentLength();
+            if (contentLength.isPresent()) {
+                if (contentLength.getAsLong() > fastPathMaxBodySize) {
+                    return req.content().as(InputStream.class);
+                }
+            } else if (req.headers().first(Http.Header.TRANSFER_ENCODING).isPresent()) {
+                // chunked entity of unknown size
+                return req.content().as(InputStream.class);
+            }
+            EntityBuffer buffer = new EntityBuffer((int) contentLength.orElse(0), fastPathMaxBodySize);
+            req.content().subscribe(buffer);
+            return Single.create(buffer.result);
+        }
+    }
+
+    /**
+     * Collects request entity chunks into an array sized by the {@code Content-Length}, one chunk at a time.
+     * The array only grows if the entity is larger, such as when it is decompressed. Once the entity exceeds
+     * the fast path limit, it is streamed instead: the bytes collected so far are followed by the rest
+     * of the content, requested as Jersey reads the stream.
+     */
+    private static final class EntityBuffer implements Flow.Subscriber<DataChunk> {
+        private final CompletableFuture<InputStream> result = new CompletableFuture<>();
+        private final int limit;
+        private byte[] bytes;
+        private int length;
+        private Flow.Subscription subscription;
+        private BufferedEmittingPublisher<DataChunk> remainder;
+
+        private EntityBuffer(int expected, int limit) {
+            this.bytes = new byte[expected];
+            this.limit = limit;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(DataChunk chunk) {
+            if (remainder != null) {
+                remainder.emit(chunk);
+                return;
+            }
+            if (length + chunk.remaining() > limit) {
+                stream(chunk);
+                return;
+            }
+            try {
+                for (ByteBuffer byteBuffer : chunk.data()) {
+                    int remaining = byteBuffer.remaining();
+                    if (length + remaining > bytes.length) {
+                        bytes = Arrays.copyOf(bytes, Math.min(Math.max(length + remaining, bytes.length * 2), limit));
+                    }
+                    byteBuffer.get(bytes, length, remaining);
+                    length += remaining;
+                }
+            } finally {
+                chunk.release();
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (remainder == null) {
+                result.completeExceptionally(throwable);
+            } else {
+                remainder.fail(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (remainder == null) {
+                result.complete(new ByteArrayInputStream(bytes, 0, length));
+            } else {
+                remainder.complete();
+            }
+        }
+
+        private void stream(DataChunk chunk) {
+            remainder = BufferedEmittingPublisher.create();
+            remainder.onRequest((n, demand) -> subscription.request(n));
+            remainder.emit(DataChunk.create(ByteBuffer.wrap(bytes, 0, length)));
+            remainder.emit(chunk);
+            bytes = null;
+            result.complete(new DataChunkInputStream(remainder));
+        }
     }
 
     /**
@@ -437,6 +578,8 @@ public class JerseySupport implements Service {
         private ExecutorService executorService;
         private Config config = Config.empty();
         private ExecutorService asyncExecutorService;
+        private boolean virtualThreads;
+        private int fastPathMaxBodySize;
 
         private Builder() {
             this(null);
@@ -558,6 +701,22 @@ public class JerseySupport implements Service {
             return this;
         }
 
+        /**
+         * Whether to handle each request that matches a path where the {@link JerseySupport} is registered
+         * on its own virtual thread, so resource methods can block without holding on to a platform thread.
+         * If the JVM does not support virtual threads, a thread pool configured from the
+         * {@code executor-service} configuration node is used.
+         * Virtual threads can also be enabled with the {@code executor-service.virtual-threads} configuration key.
+         * Ignored if an {@link #executorService(ExecutorService) executor service} is set.
+         *
+         * @param virtualThreads whether to use virtual threads
+         * @return an updated instance
+         */
+        public Builder virtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+
         /**
          * Sets the executor service to use for a handling of asynchronous requests
          * with {@link javax.ws.rs.container.AsyncResponse}.
@@ -570,15 +729,40 @@ public class JerseySupport implements Service {
             return this;
         }
 
+        /**
+         * Maximal size in bytes of request and response entities handled in memory.
+         * <p>
+         * A request entity with a {@code Content-Length} up to this size (or a request without any entity) is read
+         * completely before the request is handed over to Jersey, so the resource reads it from memory instead of
+         * waiting for it on a blocking stream. Response entities up to this size are buffered by Jersey and written
+         * as a single chunk. Larger entities are streamed.
+         * <p>
+         * Unless {@link ServerProperties#OUTBOUND_CONTENT_LENGTH_BUFFER} is set explicitly, it is set to this size,
+         * so small responses written through a {@code StreamingOutput} are sent only once complete.
+         * Defaults to {@code 0}, all entities are streamed and Jersey response buffering is left at its default.
+         *
+         * @param fastPathMaxBodySize maximal size of entities handled in memory
+         * @return an updated instance
+         */
+        public Builder fastPathMaxBodySize(int fastPathMaxBodySize) {
+            if (fastPathMaxBodySize < 0) {
+                throw new IllegalArgumentException("Fast path body size must not be negative, but is " + fastPathMaxBodySize);
+            }
+            this.fastPathMaxBodySize = fastPathMaxBodySize;
+            return this;
+        }
+
         /**
          * Update configuration from Config.
-         * Currently used to set up async executor service only.
+         * Used to set up the executor services and the
+         * {@link #fastPathMaxBodySize(int) fast-path-max-body-size}.
          *
          * @param config configuration at the Jersey configuration node
          * @return updated builder instance
          */
         public Builder config(Config config) {
             this.config = config;
+            config.get("fast-path-max-body-size").asInt().ifPresent(this::fastPathMaxBodySize);
             return this;
         }
     }
@@ -30,10 +30,14 @@ import javax.ws.rs.core.MediaType;
 import io.helidon.common.http.DataChunk;
 import io.helidon.common.http.Http;
 import io.helidon.common.reactive.MultiFromOutputStream;
+import io.helidon.common.reactive.Single;
 import io.helidon.webserver.ConnectionClosedException;
 import io.helidon.webserver.ServerRequest;
 import io.helidon.webserver.ServerResponse;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+
 import org.glassfish.jersey.server.ContainerException;
 import org.glassfish.jersey.server.ContainerResponse;
 import org.glassfish.jersey.server.spi.ContainerResponseWriter;
@@ -95,11 +99,17 @@ class ResponseWriter implements ContainerResponseWriter {
     private final ServerResponse res;
     private final ServerRequest req;
     private final CompletableFuture<Void> whenHandleFinishes;
+    private final int fastPathMaxBodySize;
+    private volatile EntityOutputStream entityStream;
 
-    ResponseWriter(ServerResponse res, ServerRequest req, CompletableFuture<Void> whenHandleFinishes) {
+    ResponseWriter(ServerResponse res,
+                   ServerRequest req,
+                   CompletableFuture<Void> whenHandleFinishes,
+                   int fastPathMaxBodySize) {
         this.res = res;
         this.req = req;
         this.whenHandleFinishes = whenHandleFinishes;
+        this.fastPathMaxBodySize = fastPathMaxBodySize;
     }
 
     @Override
@@ -133,6 +143,14 @@ class ResponseWriter implements ContainerResponseWriter {
             res.headers().put(entry.getKey(), entry.getValue());
         }
 
+        if (contentLength >= 0 && contentLength <= fastPathMaxBodySize
+                && !MediaType.SERVER_SENT_EVENTS_TYPE.isCompatible(context.getMediaType())) {
+            // entity buffered by Jersey, written at once when the stream is closed
+            EntityOutputStream stream = new EntityOutputStream((int) contentLength);
+            this.entityStream = stream;
+            return stream;
+        }
+
         res.send(publisher
                 .map(byteBuffer -> DataChunk.create(doFlush(context, byteBuffer), true, byteBuffer)));
 
@@ -158,7 +176,12 @@ class ResponseWriter implements ContainerResponseWriter {
             // Jersey doesn't close the OutputStream when there is no entity
             // as such the publisher needs to be closed from here ...
             // it is assumed it's possible to close the publisher, the OutputStream, multiple times
-            publisher.close();
+            EntityOutputStream stream = entityStream;
+            if (stream == null) {
+                publisher.close();
+            } else {
+                stream.close();
+            }
         } catch (IOException e) {
             // based on implementation of 'close', this never happens
             throw new IllegalStateException("Unexpected IO Exception received!", e);
@@ -169,13 +192,18 @@ class ResponseWriter implements ContainerResponseWriter {
     public void failure(Throwable error) {
         LOGGER.finer(() -> "Jersey handling finished with an exception; message: " + error.getMessage());
 
+        EntityOutputStream stream = entityStream;
+        if (stream != null) {
+            stream.discard();
+        }
         req.next(error);
     }
 
     @Override
     public boolean enableResponseBuffering() {
-        // Jersey should not try to do the buffering
-        return false;
+        // Jersey buffers entities up to the fast path size to find out their length,
+        // larger entities are streamed as they are written
+        return fastPathMaxBodySize > 0;
     }
 
     /**
@@ -192,4 +220,70 @@ class ResponseWriter implements ContainerResponseWriter {
         return MediaType.SERVER_SENT_EVENTS_TYPE.isCompatible(context.getMediaType())
                 || byteBuffer.hasArray() && byteBuffer.array().length == 0;
     }
+
+    /**
+     * Output stream collecting an entity of known length into a pooled buffer, sent as a single chunk
+     * with a single flush once closed. The buffer is released once the chunk is written.
+     */
+    private final class EntityOutputStream extends OutputStream {
+        private final int contentLength;
+        private ByteBuf buffer;
+        private boolean closed;
+
+        private EntityOutputStream(int contentLength) {
+            this.contentLength = contentLength;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureCapacity(1).writeByte(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            ensureCapacity(len).writeBytes(b, off, len);
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            ByteBuf data = buffer;
+            buffer = null;
+            if (data == null || !data.isReadable()) {
+                if (data != null) {
+                    data.release();
+                }
+                res.send();
+            } else {
+                res.send(Single.just(DataChunk.create(true, data::release, data.nioBuffer())));
+            }
+        }
+
+        /**
+         * Releases the buffer of an entity that is never sent.
+         */
+        private void discard() {
+            closed = true;
+            if (buffer != null) {
+                buffer.release();
+                buffer = null;
+            }
+        }
+
+        private ByteBuf ensureCapacity(int len) throws IOException {
+            if (closed) {
+                throw new IOException("Cannot write to a closed response stream.");
+            }
+            if (buffer == null) {
+                buffer = ByteBufAllocator.DEFAULT.directBuffer(contentLength, contentLength);
+            }
+            if (len > buffer.writableBytes()) {
+                throw new IOException("Response entity is larger than its Content-Length " + contentLength + ".");
+            }
+            return buffer;
+        }
+    }
 }
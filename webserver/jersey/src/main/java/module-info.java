@@ -28,6 +28,7 @@ module io.helidon.webserver.jersey {
     requires io.helidon.common.mapper;
     requires io.helidon.common.reactive;
     requires java.logging;
+    requires io.netty.buffer;
     requires hk2.api;
 
     exports io.helidon.webserver.jersey;
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver.jersey;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+import io.helidon.webserver.Routing;
+import io.helidon.webserver.WebServer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Measures the throughput of a hello world JAX-RS resource with entities streamed
+ * ({@code fastPathMaxBodySize} of {@code 0}, the default) and handled in memory ({@code 8192}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class JerseyHelloWorldJMH {
+
+    private static final String JSON = "{\"greeting\":\"Hello\",\"name\":\"World\",\"count\":42,\"tags\":[\"a\",\"b\",\"c\"]}";
+
+    public static void main(String[] args) throws Throwable {
+        Options opt = new OptionsBuilder()
+                .include(JerseyHelloWorldJMH.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(2))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(2))
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Param({"0", "8192"})
+    private int fastPathMaxBodySize;
+
+    private WebServer webServer;
+    private HttpClient client;
+    private HttpRequest getRequest;
+    private HttpRequest postRequest;
+
+    @Setup
+    public void setup() throws Exception {
+        webServer = WebServer.builder(Routing.builder()
+                                              .register("/jersey", JerseySupport.builder()
+                                                      .fastPathMaxBodySize(fastPathMaxBodySize)
+                                                      .register(HelloWorldResource.class)
+                                                      .build()))
+                .build()
+                .start()
+                .await(10, TimeUnit.SECONDS);
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        URI uri = URI.create("http://localhost:" + webServer.port() + "/jersey/hello");
+        getRequest = HttpRequest.newBuilder(uri).GET().build();
+        postRequest = HttpRequest.newBuilder(uri)
+                .header("Content-Type", MediaType.APPLICATION_JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(JSON))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        webServer.shutdown().await(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public String get() throws Exception {
+        return client.send(getRequest, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    @Benchmark
+    public String post() throws Exception {
+        return client.send(postRequest, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    @Path("hello")
+    public static class HelloWorldResource {
+
+        @GET
+        @Produces(MediaType.TEXT_PLAIN)
+        public String hello() {
+            return "Hello World!";
+        }
+
+        @POST
+        @Consumes(MediaType.APPLICATION_JSON)
+        @Produces(MediaType.APPLICATION_JSON)
+        public String echo(String json) {
+            return json;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver.jersey;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+
+import io.helidon.webserver.RequestDecompressionSupport;
+import io.helidon.webserver.Routing;
+import io.helidon.webserver.WebServer;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests entities below and above {@link JerseySupport.Builder#fastPathMaxBodySize(int)}.
+ */
+public class JerseySupportFastPathTest {
+
+    private static final int MAX_BODY_SIZE = 16;
+
+    private static WebServer webServer;
+    private static HttpClient client;
+
+    @BeforeAll
+    public static void startServer() throws Exception {
+        webServer = WebServer.builder(Routing.builder()
+                                              .register("/jersey", RequestDecompressionSupport.create())
+                                              .register("/jersey", JerseySupport.builder()
+                                                      .fastPathMaxBodySize(MAX_BODY_SIZE)
+                                                      .register(FastPathResource.class)
+                                                      .build()))
+                .build()
+                .start()
+                .await(10, TimeUnit.SECONDS);
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    @AfterAll
+    public static void close() throws Exception {
+        if (webServer != null) {
+            webServer.shutdown().await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testSmallRequest() throws Exception {
+        HttpResponse<String> response = post(HttpRequest.BodyPublishers.ofString("small"));
+        assertThat(response.statusCode(), is(200));
+        assertThat(response.body(), is("small"));
+    }
+
+    @Test
+    public void testLargeRequest() throws Exception {
+        String entity = data(MAX_BODY_SIZE * 4);
+        HttpResponse<String> response = post(HttpRequest.BodyPublishers.ofString(entity));
+        assertThat(response.statusCode(), is(200));
+        assertThat(response.body(), is(entity));
+    }
+
+    @Test
+    public void testChunkedRequest() throws Exception {
+        byte[] entity = "chunked".getBytes();
+        HttpResponse<String> response = post(HttpRequest.BodyPublishers.ofInputStream(() -> new ByteArrayInputStream(entity)));
+        assertThat(response.statusCode(), is(200));
+        assertThat(response.body(), is("chunked"));
+    }
+
+    @Test
+    public void testRequestLargerThanAnnounced() throws Exception {
+        // compressed below the fast path limit, decompressed above it
+        String entity = "ab".repeat(MAX_BODY_SIZE * 8);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        deflater.setInput(entity.getBytes());
+        deflater.finish();
+        byte[] compressed = new byte[MAX_BODY_SIZE];
+        int length = deflater.deflate(compressed);
+        assertThat(deflater.finished(), is(true));
+        deflater.end();
+
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/jersey/fast"))
+                                                             .header("Content-Encoding", "deflate")
+                                                             .POST(HttpRequest.BodyPublishers.ofByteArray(compressed, 0, length))
+                                                             .build(),
+                                                     HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode(), is(200));
+        assertThat(response.body(), is(entity));
+    }
+
+    @Test
+    public void testSmallResponse() throws Exception {
+        HttpResponse<String> response = get("/jersey/fast/" + MAX_BODY_SIZE);
+        assertThat(response.statusCode(), is(200));
+        assertThat(response.body(), is(data(MAX_BODY_SIZE)));
+        assertThat(response.headers().firstValue("Content-Length"), is(Optional.of(String.valueOf(MAX_BODY_SIZE))));
+    }
+
+    @Test
+    public void testLargeResponse() throws Exception {
+        HttpResponse<String> response = get("/jersey/fast/" + (MAX_BODY_SIZE + 1));
+        assertThat(response.statusCode(), is(200));
+        assertThat(response.body(), is(data(MAX_BODY_SIZE + 1)));
+    }
+
+    @Test
+    public void testNoEntity() throws Exception {
+        HttpResponse<String> response = get("/jersey/fast/none");
+        assertThat(response.statusCode(), is(204));
+        assertThat(response.body(), is(""));
+    }
+
+    private static HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> post(HttpRequest.BodyPublisher entity) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri("/jersey/fast")).POST(entity).build(),
+                           HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static URI uri(String path) {
+        return URI.create("http://localhost:" + webServer.port() + path);
+    }
+
+    private static String data(int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + i % 26));
+        }
+        return sb.toString();
+    }
+
+    @Path("fast")
+    public static class FastPathResource {
+
+        @POST
+        public String echo(String entity) {
+            return entity;
+        }
+
+        @GET
+        @Path("none")
+        public void none() {
+        }
+
+        @GET
+        @Path("{length}")
+        public String data(@PathParam("length") int length) {
+            return JerseySupportFastPathTest.data(length);
+        }
+    }
+}
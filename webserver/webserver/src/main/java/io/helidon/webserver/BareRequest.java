@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2019 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -113,4 +113,13 @@ public interface BareRequest {
      * @return a unique correlation ID associated with this request and its response
      */
     long requestId();
+
+    /**
+     * Timestamps of the processing phases of this request.
+     *
+     * @return request timing
+     */
+    default RequestTiming timing() {
+        return new RequestTiming(System.nanoTime());
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2019 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -44,6 +44,7 @@ class BareRequestImpl implements BareRequest {
     private final ChannelHandlerContext ctx;
     private final SSLEngine sslEngine;
     private final long requestId;
+    private final RequestTiming timing;
     private final URI uri;
 
     BareRequestImpl(HttpRequest request,
@@ -51,8 +52,10 @@ class BareRequestImpl implements BareRequest {
                     WebServer webServer,
                     ChannelHandlerContext ctx,
                     SSLEngine sslEngine,
-                    long requestId) {
+                    long requestId,
+                    RequestTiming timing) {
         this.nettyRequest = request;
+        this.timing = timing;
         this.publisher = publisher;
         this.webServer = webServer;
         this.ctx = ctx;
@@ -125,6 +128,15 @@ class BareRequestImpl implements BareRequest {
         return map;
     }
 
+    /**
+     * Header fields as received, used to create request headers without an intermediate map.
+     *
+     * @return header fields
+     */
+    Iterable<Map.Entry<String, String>> headerFields() {
+        return nettyRequest.headers();
+    }
+
     @Override
     public Flow.Publisher<DataChunk> bodyPublisher() {
         return publisher;
@@ -134,4 +146,9 @@ class BareRequestImpl implements BareRequest {
     public long requestId() {
         return requestId;
     }
+
+    @Override
+    public RequestTiming timing() {
+        return timing;
+    }
 }
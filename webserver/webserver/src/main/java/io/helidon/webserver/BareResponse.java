@@ -100,4 +100,14 @@ public interface BareResponse extends Flow.Subscriber<DataChunk> {
      * @return a unique correlation ID associated with this response and its request
      */
     long requestId();
+
+    /**
+     * Whether a {@link io.helidon.common.http.FileRegionChunk} published to this response is transferred
+     * without reading the file into memory.
+     *
+     * @return {@code true} if file regions are supported, {@code false} by default
+     */
+    default boolean fileRegionsSupported() {
+        return false;
+    }
 }
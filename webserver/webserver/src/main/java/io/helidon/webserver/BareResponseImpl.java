@@ -16,6 +16,9 @@
 
 package io.helidon.webserver;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -27,23 +30,34 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import io.helidon.common.http.DataChunk;
+import io.helidon.common.http.FileRegionChunk;
 import io.helidon.common.http.Http;
 import io.helidon.common.reactive.Single;
 
 import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.http.DefaultHttpContent;
 import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.HttpContentEncoder;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponseEncoder;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpServerCodec;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.stream.ChunkedNioFile;
+import io.netty.handler.stream.ChunkedWriteHandler;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GenericFutureListener;
 
@@ -60,8 +74,11 @@ class BareResponseImpl implements BareResponse {
     // See HttpConversionUtil.ExtensionHeaderNames
     private static final String HTTP_2_HEADER_PREFIX = "x-http2";
     private static final SocketClosedException CLOSED = new SocketClosedException("Response channel is closed!");
+    // maximal TLS record size
+    private static final int CHUNKED_FILE_SIZE = 16 * 1024;
 
-    private final boolean keepAlive;
+    private volatile boolean keepAlive;
+    private volatile boolean closeConnection;
     private final ChannelHandlerContext ctx;
     private final AtomicBoolean statusHeadersSent = new AtomicBoolean(false);
     private final AtomicBoolean internallyClosed = new AtomicBoolean(false);
@@ -69,19 +86,26 @@ class BareResponseImpl implements BareResponse {
     private final CompletableFuture<BareResponse> headersFuture;
     private final BooleanSupplier requestContentConsumed;
     private final long requestId;
+    private final RequestTiming timing;
+    private final HttpRequest request;
     private final HttpHeaders requestHeaders;
     private final ChannelFuture channelClosedFuture;
     private final GenericFutureListener<? extends Future<? super Void>> channelClosedListener;
+    private final int writeAggregationSize;
+    private final int writeAggregationChunks;
 
     // Accessed by Subscriber method threads
     private Flow.Subscription subscription;
     private DataChunk firstChunk;
     private CompletableFuture<?> prevRequestChunk;
+    private List<DataChunk> aggregated;
+    private long aggregatedSize;
 
     // Accessed by writeStatusHeaders(status, headers) method
     private volatile boolean lengthOptimization;
     private volatile boolean isWebSocketUpgrade = false;
     private volatile DefaultHttpResponse response;
+    private volatile CompressionConfiguration compression;
 
     /**
      * @param ctx the channel handler context
@@ -89,20 +113,31 @@ class BareResponseImpl implements BareResponse {
      * @param requestContentConsumed whether the request content is consumed
      * @param prevRequestChunk Future that represents previous request completion for HTTP pipelining
      * @param requestId the correlation ID that is added to the log statements
+     * @param timing timestamps of the request phases, marked once headers are written and once the response completes
+     * @param writeAggregationSize maximal number of bytes of data chunks aggregated into a single write,
+     *                             {@code 0} disables aggregation
+     * @param writeAggregationChunks maximal number of data chunks aggregated into a single write
      */
     BareResponseImpl(ChannelHandlerContext ctx,
                      HttpRequest request,
                      BooleanSupplier requestContentConsumed,
                      CompletableFuture<?> prevRequestChunk,
-                     long requestId) {
+                     long requestId,
+                     RequestTiming timing,
+                     int writeAggregationSize,
+                     int writeAggregationChunks) {
         this.requestContentConsumed = requestContentConsumed;
         this.responseFuture = new CompletableFuture<>();
         this.headersFuture = new CompletableFuture<>();
         this.ctx = ctx;
         this.requestId = requestId;
+        this.timing = timing;
         this.keepAlive = HttpUtil.isKeepAlive(request);
+        this.request = request;
         this.requestHeaders = request.headers();
         this.prevRequestChunk = prevRequestChunk;
+        this.writeAggregationSize = writeAggregationSize;
+        this.writeAggregationChunks = writeAggregationChunks;
 
         // We need to keep this listener so we can remove it when this response completes. If we don't, we leak
         // while the channel remains open since each response adds a new listener that references 'this'.
@@ -148,7 +183,9 @@ class BareResponseImpl implements BareResponse {
             throw new IllegalStateException("Status and headers were already sent");
         }
 
-        response = new DefaultHttpResponse(HTTP_1_1, valueOf(status.code()));
+        response = (compression == null)
+                ? new DefaultHttpResponse(HTTP_1_1, valueOf(status.code()))
+                : new ContentCompressor.ConfiguredResponse(HTTP_1_1, valueOf(status.code()), compression);
         for (Map.Entry<String, List<String>> headerEntry : headers.entrySet()) {
             response.headers().add(headerEntry.getKey(), headerEntry.getValue());
         }
@@ -175,8 +212,12 @@ class BareResponseImpl implements BareResponse {
         // Add keep alive header as per:
         // http://www.w3.org/Protocols/HTTP/1.1/draft-ietf-http-v11-spec-01.html#Connection
         // If already set (e.g. WebSocket upgrade), do not override
-        if (keepAlive && !headers.containsKey(HttpHeaderNames.CONNECTION.toString())) {
-            response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE);
+        if (!headers.containsKey(HttpHeaderNames.CONNECTION.toString())) {
+            if (keepAlive) {
+                response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE);
+            } else if (closeConnection) {
+                response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+            }
         }
 
         // Content length optimization attempt
@@ -186,6 +227,25 @@ class BareResponseImpl implements BareResponse {
         }
     }
 
+    /**
+     * Closes the connection once this response is sent, even if the client asked to keep it alive.
+     * The response gets a {@code Connection: close} header. Must be called before the response is written.
+     */
+    void closeConnection() {
+        this.keepAlive = false;
+        this.closeConnection = true;
+    }
+
+    /**
+     * Compresses this response with the configuration instead of the one of the socket, if the socket
+     * compresses responses. Must be called before the response is written.
+     *
+     * @param compression compression configuration of the route
+     */
+    void compression(CompressionConfiguration compression) {
+        this.compression = compression;
+    }
+
     private boolean isWebSocketUpgrade(Http.ResponseStatus status, Map<String, List<String>> headers) {
         return status.code() == 101 && headers.containsKey("Upgrade")
                 && headers.get("Upgrade").contains("websocket");
@@ -201,6 +261,23 @@ class BareResponseImpl implements BareResponse {
         return isWebSocketUpgrade;
     }
 
+    /**
+     * Upgrades the connection to a WebSocket served by the endpoint of the support instead of sending a response.
+     * The pipeline is re-arranged on the event loop once the request is read, this response completes once
+     * the handshake response is written.
+     *
+     * @param webSocket the WebSocket support serving the connection
+     * @param upgradeRequest the upgrade request
+     * @throws IllegalStateException if the response status and headers were already sent
+     */
+    void upgradeToWebSocket(WebSocketSupport webSocket, ServerRequest upgradeRequest) {
+        if (!statusHeadersSent.compareAndSet(false, true)) {
+            throw new IllegalStateException("Status and headers were already sent");
+        }
+        ctx.channel().eventLoop().execute(() -> NettyWebSocketSession.upgrade(ctx, request, webSocket, upgradeRequest,
+                                                                              () -> completeResponseFuture(null)));
+    }
+
     /**
      * Completes {@code responseFuture} instance to signal that this response is done.
      * <b>Prefer to use {@link #completeInternal(Throwable)} to cover whole completion process.</b>
@@ -274,7 +351,7 @@ class BareResponseImpl implements BareResponse {
             if (firstChunk != null) {
                 if (throwable == null) {
                     HttpUtil.setTransferEncodingChunked(response, false);
-                    HttpUtil.setContentLength(response, firstChunk.remaining());
+                    HttpUtil.setContentLength(response, contentLength(firstChunk));
                     chunked = false;
                 } else {
                     //headers not sent yet
@@ -286,6 +363,7 @@ class BareResponseImpl implements BareResponse {
             }
             initWriteResponse();
         }
+        writeAggregated(false);
 
         LastHttpContent lastHttpContent = new DefaultLastHttpContent(Unpooled.EMPTY_BUFFER);
 
@@ -316,6 +394,7 @@ class BareResponseImpl implements BareResponse {
     private GenericFutureListener<Future<? super Void>> completeOnSuccessListener(Throwable throwable) {
         return future -> {
             if (future.isSuccess()) {
+                timing.markCompleted();
                 completeResponseFuture(throwable);
                 LOGGER.finest(() -> log("Last http message flushed."));
             }
@@ -336,15 +415,22 @@ class BareResponseImpl implements BareResponse {
         if (data != null) {
             if (data.isFlushChunk()) {
                 if (prevRequestChunk == null) {
-                   ctx.flush();
+                   flushPipe();
                 } else {
-                   prevRequestChunk = prevRequestChunk.thenRun(ctx::flush);
+                   prevRequestChunk = prevRequestChunk.thenRun(this::flushPipe);
                 }
                 return;
             }
 
             if (lengthOptimization && firstChunk == null) {
-                firstChunk = data.isReadOnly() ? data : data.duplicate();      // cache first chunk
+                if (data.isReadOnly()) {
+                    firstChunk = data;
+                } else {
+                    // cache a copy of the first chunk, the original is done with
+                    firstChunk = data.duplicate();
+                    data.writeFuture().ifPresent(writeFuture -> writeFuture.complete(data));
+                    data.release();
+                }
                 return;
             }
 
@@ -360,7 +446,75 @@ class BareResponseImpl implements BareResponse {
             if (lengthOptimization) {
                 initWriteResponse();
             }
-            sendData(data);
+            if (isAggregated(data)) {
+                aggregate(data);
+            } else {
+                writeAggregated(false);
+                sendData(data);
+            }
+    }
+
+    private void flushPipe() {
+        if (aggregated == null) {
+            ctx.flush();
+        } else {
+            writeAggregated(true);
+        }
+    }
+
+    /**
+     * Whether a data chunk can be held back and written together with the following ones. File regions
+     * are written without copying and chunks with a write future may be awaited by their producer.
+     *
+     * @param data data chunk
+     * @return {@code true} if the chunk can be aggregated
+     */
+    private boolean isAggregated(DataChunk data) {
+        return writeAggregationSize > 0
+                && !(data instanceof FileRegionChunk)
+                && data.writeFuture().isEmpty()
+                && data.remaining() < writeAggregationSize;
+    }
+
+    private void aggregate(DataChunk data) {
+        if (aggregated == null) {
+            aggregated = new ArrayList<>();
+        }
+        aggregated.add(data);
+        aggregatedSize += data.remaining();
+        if (data.flush() || aggregatedSize >= writeAggregationSize || aggregated.size() >= writeAggregationChunks) {
+            writeAggregated(data.flush());
+        }
+    }
+
+    /**
+     * Writes the aggregated data chunks as a single HTTP content.
+     *
+     * @param flush whether to flush the channel
+     */
+    private void writeAggregated(boolean flush) {
+        List<DataChunk> chunks = aggregated;
+        if (chunks == null) {
+            return;
+        }
+        aggregated = null;
+        aggregatedSize = 0;
+        if (chunks.size() == 1) {
+            sendData(chunks.get(0), flush);
+            return;
+        }
+
+        LOGGER.finest(() -> log("Sending " + chunks.size() + " aggregated data chunks"));
+        List<ByteBuffer> buffers = new ArrayList<>(chunks.size());
+        for (DataChunk chunk : chunks) {
+            for (ByteBuffer buffer : chunk.data()) {
+                buffers.add(buffer);
+            }
+        }
+        write(new DefaultHttpContent(Unpooled.wrappedBuffer(buffers.toArray(new ByteBuffer[0]))), flush)
+                .addListener(future -> chunks.forEach(chunk -> chunkWritten(chunk, future)))
+                .addListener(completeOnFailureListener("Failure when sending a content!"))
+                .addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
     }
 
     /**
@@ -369,6 +523,7 @@ class BareResponseImpl implements BareResponse {
      * @return Future of response or first chunk.
      */
     private ChannelFuture initWriteResponse() {
+        timing.markHeadersWritten();
         ChannelFuture cf = ctx.write(response)
                 .addListener(future -> {
                     if (future.isSuccess()) {
@@ -387,34 +542,76 @@ class BareResponseImpl implements BareResponse {
     }
 
     private ChannelFuture sendData(DataChunk data) {
+        return sendData(data, data.flush());
+    }
+
+    private ChannelFuture sendData(DataChunk data, boolean flush) {
             LOGGER.finest(() -> log("Sending data chunk"));
 
-            DefaultHttpContent httpContent = new DefaultHttpContent(Unpooled.wrappedBuffer(data.data()));
+            ChannelFuture written;
+            if (data instanceof FileRegionChunk) {
+                written = writeFileRegion((FileRegionChunk) data, flush);
+            } else {
+                written = write(new DefaultHttpContent(Unpooled.wrappedBuffer(data.data())), flush);
+            }
 
             LOGGER.finest(() -> log("Sending data chunk on event loop thread."));
 
-            ChannelFuture channelFuture;
-            if (data.flush()) {
-                channelFuture = ctx.writeAndFlush(httpContent);
+            return written
+                    .addListener(future -> chunkWritten(data, future))
+                    .addListener(completeOnFailureListener("Failure when sending a content!"))
+                    .addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
+    }
+
+    private ChannelFuture write(Object httpContent, boolean flush) {
+        if (flush) {
+            return ctx.writeAndFlush(httpContent);
+        } else {
+            return ctx.write(httpContent);
+        }
+    }
+
+    private void chunkWritten(DataChunk data, Future<? super Void> future) {
+        data.writeFuture().ifPresent(writeFuture -> {
+            // Complete write future based con channel future
+            if (future.isSuccess()) {
+                writeFuture.complete(data);
             } else {
-                channelFuture = ctx.write(httpContent);
+                writeFuture.completeExceptionally(future.cause());
             }
+        });
+        data.release();
+        LOGGER.finest(() -> log("Data chunk sent with result: " + future.isSuccess()));
+    }
 
-            return channelFuture
-                    .addListener(future -> {
-                        data.writeFuture().ifPresent(writeFuture -> {
-                            // Complete write future based con channel future
-                            if (future.isSuccess()) {
-                                writeFuture.complete(data);
-                            } else {
-                                writeFuture.completeExceptionally(future.cause());
-                            }
-                        });
-                        data.release();
-                        LOGGER.finest(() -> log("Data chunk sent with result: " + future.isSuccess()));
-                    })
-                    .addListener(completeOnFailureListener("Failure when sending a content!"))
-                    .addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
+    /**
+     * Writes a file region without copying it into memory: a {@link DefaultFileRegion} ({@code sendfile})
+     * on plain sockets of a transport supporting it, or a {@link ChunkedNioFile} with TLS or other transports.
+     * The write fails if the pipeline cannot write file regions, they are never read into memory.
+     *
+     * @param data  file region chunk
+     * @param flush whether to flush
+     * @return future of the write
+     */
+    private ChannelFuture writeFileRegion(FileRegionChunk data, boolean flush) {
+        if (!fileRegionsSupported()) {
+            return ctx.newFailedFuture(new IllegalStateException("File regions are not supported by this connection"));
+        }
+        if (ctx.pipeline().get(SslHandler.class) == null && sendfileSupported(ctx.channel())) {
+            return write(new DefaultFileRegion(data.channel(), data.position(), data.count()), flush);
+        }
+        try {
+            return write(new ChunkedNioFile(data.channel(), data.position(), data.count(), CHUNKED_FILE_SIZE), flush);
+        } catch (IOException e) {
+            return ctx.newFailedFuture(e);
+        }
+    }
+
+    private static long contentLength(DataChunk data) {
+        if (data instanceof FileRegionChunk) {
+            return ((FileRegionChunk) data).count();
+        }
+        return data.remaining();
     }
 
     private String log(String s) {
@@ -453,4 +650,28 @@ class BareResponseImpl implements BareResponse {
     public long requestId() {
         return requestId;
     }
+
+    @Override
+    public boolean fileRegionsSupported() {
+        // HTTP/2 frames and content compression need the content in buffers
+        ChannelPipeline pipeline = ctx.pipeline();
+        if ((pipeline.get(HttpResponseEncoder.class) == null && pipeline.get(HttpServerCodec.class) == null)
+                || pipeline.get(HttpContentEncoder.class) != null) {
+            return false;
+        }
+        return (pipeline.get(SslHandler.class) == null && sendfileSupported(ctx.channel()))
+                || pipeline.get(ChunkedWriteHandler.class) != null;
+    }
+
+    /**
+     * Whether the channel writes a {@link DefaultFileRegion} with {@code sendfile}. The NIO and epoll transports
+     * do, the channels of the incubator io_uring transport reject file regions.
+     *
+     * @param channel channel of the connection
+     * @return whether file regions can be written to the channel
+     */
+    static boolean sendfileSupported(Channel channel) {
+        return channel instanceof NioSocketChannel
+                || channel.getClass().getName().startsWith("io.netty.channel.epoll.");
+    }
 }
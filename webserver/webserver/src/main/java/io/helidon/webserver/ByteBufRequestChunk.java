@@ -37,12 +37,14 @@ class ByteBufRequestChunk implements DataChunk {
 
     private final long id = ID_INCREMENTER.getAndIncrement();
     private final ByteBuffer[] byteBuffers;
+    private final int length;
     private final ReferenceHoldingQueue.ReleasableReference<DataChunk> ref;
 
     ByteBufRequestChunk(ByteBuf byteBuf, ReferenceHoldingQueue<DataChunk> referenceHoldingQueue) {
 
         Objects.requireNonNull(byteBuf, "The ByteBuf must not be null!");
         byteBuffers = new ByteBuffer[] {byteBuf.nioBuffer().asReadOnlyBuffer()};
+        length = byteBuf.readableBytes();
         ref = new ReferenceHoldingQueue.ReleasableReference<>(this, referenceHoldingQueue, byteBuf::release);
         byteBuf.retain();
     }
@@ -70,6 +72,15 @@ class ByteBufRequestChunk implements DataChunk {
         return id;
     }
 
+    /**
+     * Number of bytes of this chunk when it was created, regardless of how much was read since.
+     *
+     * @return length in bytes
+     */
+    int length() {
+        return length;
+    }
+
     /**
      * If possible, release this chunk as part of the finalization rather than
      * through the reference queue (see {@link ReferenceHoldingQueue#release()}
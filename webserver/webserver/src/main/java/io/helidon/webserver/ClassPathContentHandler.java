@@ -56,7 +56,16 @@ class ClassPathContentHandler extends StaticContentHandler {
                             String root,
                             Path tempDir,
                             ClassLoader classLoader) {
-        super(welcomeFilename, contentTypeSelector);
+        this(welcomeFilename, contentTypeSelector, root, tempDir, classLoader, null);
+    }
+
+    ClassPathContentHandler(String welcomeFilename,
+                            ContentTypeSelector contentTypeSelector,
+                            String root,
+                            Path tempDir,
+                            ClassLoader classLoader,
+                            StaticContentCache cache) {
+        super(welcomeFilename, contentTypeSelector, cache);
 
         this.classLoader = (classLoader == null) ? this.getClass().getClassLoader() : classLoader;
         this.tempDir = tempDir;
@@ -69,6 +78,15 @@ class ClassPathContentHandler extends StaticContentHandler {
                                               String clRoot,
                                               Path tempDir,
                                               ClassLoader classLoader) {
+        return create(welcomeFileName, selector, clRoot, tempDir, classLoader, null);
+    }
+
+    static StaticContentHandler create(String welcomeFileName,
+                                       ContentTypeSelector selector,
+                                       String clRoot,
+                                       Path tempDir,
+                                       ClassLoader classLoader,
+                                       StaticContentCache cache) {
         ClassLoader contentClassloader = (classLoader == null)
                 ? ClassPathContentHandler.class.getClassLoader()
                 : classLoader;
@@ -83,7 +101,7 @@ class ClassPathContentHandler extends StaticContentHandler {
             throw new IllegalArgumentException("Cannot serve full classpath, please configure a classpath prefix");
         }
 
-        return new ClassPathContentHandler(welcomeFileName, selector, clRoot, tempDir, contentClassloader);
+        return new ClassPathContentHandler(welcomeFileName, selector, clRoot, tempDir, contentClassloader, cache);
     }
 
     @SuppressWarnings("checkstyle:RegexpSinglelineJava")
@@ -104,6 +122,13 @@ class ClassPathContentHandler extends StaticContentHandler {
             return false;
         }
 
+        // jar entries do not change, cached ones are sent without looking up the resource again
+        StaticContentCache cache = cache();
+        if (cache != null
+                && cache.sendCached(jarCacheKey(requestedResource), method, request, response, contentTypeSelector())) {
+            return true;
+        }
+
         // try to find the resource on classpath (cannot use root URL and then resolve, as root and sub-resource
         // may be from different jar files/directories
         URL url = classLoader.getResource(resource);
@@ -137,8 +162,13 @@ class ClassPathContentHandler extends StaticContentHandler {
         // now read the URL - we have direct support for files and jar files, others are handled by stream only
         switch (url.getProtocol()) {
         case "file":
-            FileSystemContentHandler
-                    .sendFile(method, Paths.get(url.toURI()), request, response, contentTypeSelector(), welcomePageName());
+            FileSystemContentHandler.sendFile(method,
+                                              Paths.get(url.toURI()),
+                                              request,
+                                              response,
+                                              contentTypeSelector(),
+                                              welcomePageName(),
+                                              cache());
             break;
         case "jar":
             return sendJar(method, requestedResource, url, request, response);
@@ -154,7 +184,7 @@ class ClassPathContentHandler extends StaticContentHandler {
                     String requestedResource,
                     URL url,
                     ServerRequest request,
-                    ServerResponse response) {
+                    ServerResponse response) throws IOException {
 
         LOGGER.fine(() -> "Sending static content from classpath: " + url);
 
@@ -163,6 +193,17 @@ class ClassPathContentHandler extends StaticContentHandler {
         if (extrEntry.tempFile == null) {
             return false;
         }
+
+        StaticContentCache cache = cache();
+        if (cache != null && cache.send(jarCacheKey(requestedResource),
+                                        extrEntry.lastModified,
+                                        new JarEntryLoader(extrEntry, url),
+                                        method,
+                                        request,
+                                        response,
+                                        contentTypeSelector())) {
+            return true;
+        }
         if (extrEntry.lastModified != null) {
             processEtag(String.valueOf(extrEntry.lastModified.toEpochMilli()), request.headers(), response.headers());
             processModifyHeaders(extrEntry.lastModified, request.headers(), response.headers());
@@ -175,11 +216,7 @@ class ClassPathContentHandler extends StaticContentHandler {
                            response.headers(),
                            contentTypeSelector());
 
-        if (method == Http.Method.HEAD) {
-            response.send();
-        } else {
-            FileSystemContentHandler.send(response, extrEntry.tempFile);
-        }
+        FileSystemContentHandler.send(method, extrEntry.tempFile, extrEntry.lastModified, request, response);
 
         return true;
     }
@@ -218,6 +255,10 @@ class ClassPathContentHandler extends StaticContentHandler {
                 .map(DataChunk::create));
     }
 
+    private static String jarCacheKey(String requestedResource) {
+        return "jar:" + requestedResource;
+    }
+
     static String fileName(URL url) {
         String path = url.getPath();
         int index = path.lastIndexOf('/');
@@ -279,6 +320,48 @@ class ClassPathContentHandler extends StaticContentHandler {
         }
     }
 
+    /**
+     * Loads an extracted jar entry and its precompressed siblings into the cache.
+     */
+    private final class JarEntryLoader implements StaticContentCache.Loader {
+        private final ExtractedJarEntry entry;
+        private final URL url;
+
+        private JarEntryLoader(ExtractedJarEntry entry, URL url) {
+            this.entry = entry;
+            this.url = url;
+        }
+
+        @Override
+        public String name() {
+            return (entry.entryName == null) ? fileName(url) : entry.entryName;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return Files.size(entry.tempFile);
+        }
+
+        @Override
+        public byte[] content() throws IOException {
+            return Files.readAllBytes(entry.tempFile);
+        }
+
+        @Override
+        public byte[] precompressed(String extension) throws IOException {
+            if (entry.entryName == null) {
+                return null;
+            }
+            URL compressed = classLoader.getResource(entry.entryName + extension);
+            if (compressed == null) {
+                return null;
+            }
+            try (InputStream in = compressed.openStream()) {
+                return in.readAllBytes();
+            }
+        }
+    }
+
     private static class ExtractedJarEntry {
         private final Path tempFile;
         private final Instant lastModified;
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import io.helidon.config.Config;
+
+/**
+ * Configuration of the response compression of a socket, used when
+ * {@link SocketConfiguration#enableCompression() compression is enabled}.
+ * <p>
+ * A response is compressed when its content type is in the allowed {@link #mimeTypes() MIME types},
+ * its content length is unknown or at least {@link #minSize()}, it does not have a {@code Content-Encoding}
+ * header yet and the client accepts one of the {@link #encoders() encoders}. A handler can disable the compression
+ * of a response by setting {@code Content-Encoding: identity}, {@link ResponseCompressionSupport} overrides the
+ * configuration for some of the routes.
+ */
+public interface CompressionConfiguration {
+
+    /**
+     * Default minimal size of compressed responses.
+     */
+    int DEFAULT_MIN_SIZE = 1024;
+
+    /**
+     * Default compression level.
+     */
+    int DEFAULT_LEVEL = 6;
+
+    /**
+     * Default MIME types of compressed responses.
+     */
+    Set<String> DEFAULT_MIME_TYPES = Set.of("text/*",
+                                            "application/json",
+                                            "application/javascript",
+                                            "application/xml",
+                                            "application/xhtml+xml",
+                                            "application/x-ndjson",
+                                            "image/svg+xml");
+
+    /**
+     * Minimal content length of compressed responses in bytes, smaller responses are sent as they are.
+     * Responses of unknown length are always compressed.
+     *
+     * @return minimal size in bytes
+     */
+    int minSize();
+
+    /**
+     * Compression level passed to the encoders, {@code 1} (fastest) to {@code 9} (best compression)
+     * for {@code gzip} and {@code deflate}.
+     *
+     * @return compression level
+     */
+    int level();
+
+    /**
+     * MIME types of compressed responses, a type can end with {@code /*} to match all its subtypes.
+     * Other responses, such as images or archives, are usually compressed already.
+     *
+     * @return MIME types
+     */
+    Set<String> mimeTypes();
+
+    /**
+     * Encoders by content encoding name, in order of preference when the client accepts several of them
+     * with the same quality.
+     *
+     * @return encoders
+     */
+    Map<String, ContentEncoder> encoders();
+
+    /**
+     * Create a new fluent API builder.
+     *
+     * @return a new builder instance
+     */
+    static CompressionConfiguration.Builder builder() {
+        return new CompressionConfiguration.Builder();
+    }
+
+    /**
+     * Builder for {@link CompressionConfiguration}.
+     */
+    final class Builder implements io.helidon.common.Builder<CompressionConfiguration> {
+
+        private final Map<String, ContentEncoder> encoders = new LinkedHashMap<>();
+        private final Set<String> mimeTypes = new LinkedHashSet<>(DEFAULT_MIME_TYPES);
+        private int minSize = DEFAULT_MIN_SIZE;
+        private int level = DEFAULT_LEVEL;
+
+        private Builder() {
+            encoders.put("gzip", ContentEncoder.gzip());
+            encoders.put("deflate", ContentEncoder.deflate());
+        }
+
+        /**
+         * Update this builder from configuration.
+         * <table class="config">
+         * <caption>Optional configuration parameters</caption>
+         * <tr>
+         *     <th>key</th>
+         *     <th>default value</th>
+         *     <th>description</th>
+         * </tr>
+         * <tr>
+         *     <td>min-size</td>
+         *     <td>{@value #DEFAULT_MIN_SIZE}</td>
+         *     <td>Minimal content length of compressed responses in bytes</td>
+         * </tr>
+         * <tr>
+         *     <td>level</td>
+         *     <td>{@value #DEFAULT_LEVEL}</td>
+         *     <td>Compression level</td>
+         * </tr>
+         * <tr>
+         *     <td>mime-types</td>
+         *     <td>text and structured data types</td>
+         *     <td>MIME types of compressed responses, replaces the default types</td>
+         * </tr>
+         * </table>
+         *
+         * @param config compression configuration
+         * @return an updated builder
+         */
+        public Builder config(Config config) {
+            config.get("min-size").asInt().ifPresent(this::minSize);
+            config.get("level").asInt().ifPresent(this::level);
+            config.get("mime-types").asList(String.class).ifPresent(this::mimeTypes);
+            return this;
+        }
+
+        /**
+         * Sets the minimal content length of compressed responses.
+         *
+         * @param minSize minimal size in bytes
+         * @return an updated builder
+         */
+        public Builder minSize(int minSize) {
+            this.minSize = Math.max(minSize, 0);
+            return this;
+        }
+
+        /**
+         * Sets the compression level.
+         *
+         * @param level compression level
+         * @return an updated builder
+         */
+        public Builder level(int level) {
+            this.level = level;
+            return this;
+        }
+
+        /**
+         * Replaces the MIME types of compressed responses.
+         *
+         * @param mimeTypes MIME types, such as {@code text/*} or {@code application/json}
+         * @return an updated builder
+         */
+        public Builder mimeTypes(List<String> mimeTypes) {
+            this.mimeTypes.clear();
+            mimeTypes.forEach(this::addMimeType);
+            return this;
+        }
+
+        /**
+         * Adds a MIME type of compressed responses.
+         *
+         * @param mimeType MIME type, such as {@code text/*} or {@code application/json}
+         * @return an updated builder
+         */
+        public Builder addMimeType(String mimeType) {
+            this.mimeTypes.add(mimeType.trim().toLowerCase(Locale.ROOT));
+            return this;
+        }
+
+        /**
+         * Adds an encoder, it is preferred to the encoders added before when the client accepts
+         * several of them with the same quality. An encoder of an already configured encoding replaces it.
+         *
+         * @param encoding name of the content encoding, such as {@code br}
+         * @param encoder  encoder
+         * @return an updated builder
+         */
+        public Builder addEncoder(String encoding, ContentEncoder encoder) {
+            Objects.requireNonNull(encoder);
+            String name = encoding.trim().toLowerCase(Locale.ROOT);
+            Map<String, ContentEncoder> previous = new LinkedHashMap<>(encoders);
+            previous.remove(name);
+            encoders.clear();
+            encoders.put(name, encoder);
+            encoders.putAll(previous);
+            return this;
+        }
+
+        /**
+         * Removes an encoder, for example to disable {@code deflate}.
+         *
+         * @param encoding name of the content encoding
+         * @return an updated builder
+         */
+        public Builder removeEncoder(String encoding) {
+            encoders.remove(encoding.trim().toLowerCase(Locale.ROOT));
+            return this;
+        }
+
+        @Override
+        public CompressionConfiguration build() {
+            int minSize = this.minSize;
+            int level = this.level;
+            Set<String> mimeTypes = Collections.unmodifiableSet(new LinkedHashSet<>(this.mimeTypes));
+            Map<String, ContentEncoder> encoders = Collections.unmodifiableMap(new LinkedHashMap<>(this.encoders));
+            return new CompressionConfiguration() {
+                @Override
+                public int minSize() {
+                    return minSize;
+                }
+
+                @Override
+                public int level() {
+                    return level;
+                }
+
+                @Override
+                public Set<String> mimeTypes() {
+                    return mimeTypes;
+                }
+
+                @Override
+                public Map<String, ContentEncoder> encoders() {
+                    return encoders;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Adaptive limit of requests in flight on a socket.
+ * <p>
+ * The limit follows the gradient of the request latency: the average latency of recent requests
+ * is compared to a long term average, and the limit decreases while the recent latency grows
+ * (requests queue up somewhere) and increases by a small queue allowance otherwise.
+ * Requests received over the limit are rejected before routing.
+ * <p>
+ * The values can be registered as gauges and a counter in a metric registry.
+ *
+ * @see SocketConfiguration#concurrencyLimit()
+ */
+public final class ConcurrencyLimiter {
+    private static final Logger LOGGER = Logger.getLogger(ConcurrencyLimiter.class.getName());
+    // number of samples averaged into the short term latency
+    private static final int WINDOW_SAMPLES = 10;
+    // the long term latency is an exponential moving average over about 600 windows
+    private static final double LONG_TERM_ALPHA = 2.0 / 601;
+    // latency growth tolerated before the limit decreases
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final int MIN_LIMIT = 1;
+
+    private final int maxLimit;
+    private final int retryAfter;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile int limit;
+
+    // guarded by this
+    private double estimatedLimit;
+    private double longTermLatency;
+    private long windowLatency;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    ConcurrencyLimiter(SocketConfiguration soConfig) {
+        this.limit = soConfig.concurrencyLimit();
+        this.estimatedLimit = limit;
+        this.maxLimit = soConfig.maxConcurrencyLimit();
+        this.retryAfter = soConfig.concurrencyLimitRetryAfter();
+    }
+
+    /**
+     * Current concurrency limit.
+     *
+     * @return number of requests that can be in flight
+     */
+    public int limit() {
+        return limit;
+    }
+
+    /**
+     * Number of requests in flight, from admission until the response is completed.
+     *
+     * @return requests in flight
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Number of requests rejected because the limit was reached.
+     *
+     * @return rejected requests since the server was started
+     */
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    int retryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Admits a request if the limit is not reached.
+     * Each admitted request must be {@link #release(long) released}.
+     *
+     * @return {@code true} if the request was admitted
+     */
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases an admitted request and updates the limit.
+     *
+     * @param latencyNanos latency of the request in nanoseconds
+     */
+    void release(long latencyNanos) {
+        int current = inFlight.getAndDecrement();
+        sample(latencyNanos, current);
+    }
+
+    private synchronized void sample(long latencyNanos, int current) {
+        windowLatency += latencyNanos;
+        windowMaxInFlight = Math.max(windowMaxInFlight, current);
+        if (++windowSamples < WINDOW_SAMPLES) {
+            return;
+        }
+        double shortTermLatency = Math.max((double) windowLatency / windowSamples, 1);
+        int maxInFlight = windowMaxInFlight;
+        windowLatency = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+
+        if (longTermLatency == 0) {
+            longTermLatency = shortTermLatency;
+        } else {
+            longTermLatency = longTermLatency * (1 - LONG_TERM_ALPHA) + shortTermLatency * LONG_TERM_ALPHA;
+        }
+        // latency went down after a period of high latency, recover faster
+        if (longTermLatency / shortTermLatency > 2) {
+            longTermLatency *= 0.95;
+        }
+        // the limit was not what bounded the throughput, it says nothing about the latency under the limit
+        if (maxInFlight < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longTermLatency / shortTermLatency));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        estimatedLimit = Math.max(MIN_LIMIT, Math.min(maxLimit, newLimit));
+
+        int previous = limit;
+        int updated = (int) estimatedLimit;
+        limit = updated;
+        if (previous != updated) {
+            LOGGER.finest(() -> "Concurrency limit changed from " + previous + " to " + updated);
+        }
+    }
+}
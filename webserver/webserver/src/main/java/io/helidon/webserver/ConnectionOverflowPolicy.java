@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.util.Locale;
+
+/**
+ * What a socket does with new connections once {@link SocketConfiguration#maxConnections()} is reached.
+ */
+public enum ConnectionOverflowPolicy {
+
+    /**
+     * Accept new connections and close them right away, the clients fail fast and can retry elsewhere.
+     */
+    CLOSE,
+
+    /**
+     * Stop accepting new connections until a connection is closed. All the
+     * {@link SocketConfiguration#acceptors() acceptors} of the socket share the limit and pause together,
+     * pending connections wait in the {@link SocketConfiguration#backlog() backlog} of the server socket.
+     */
+    PAUSE;
+
+    /**
+     * Parse a policy from its configuration value, such as {@code close} or {@code pause}.
+     *
+     * @param value configured value, case insensitive
+     * @return overflow policy
+     * @throws IllegalArgumentException in case the value is not a known policy
+     */
+    public static ConnectionOverflowPolicy parse(String value) {
+        return ConnectionOverflowPolicy.valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
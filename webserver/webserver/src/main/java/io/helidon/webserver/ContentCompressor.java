@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.HttpContentEncoder;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+
+/**
+ * Compresses responses with the encoders of a {@link CompressionConfiguration}, negotiated using
+ * the {@code Accept-Encoding} request header. A {@link ConfiguredResponse} is compressed with its own configuration.
+ */
+class ContentCompressor extends HttpContentEncoder {
+    private final CompressionConfiguration config;
+    private ChannelHandlerContext ctx;
+    // encoder of the current response, null if not compressed
+    private StreamEncoder current;
+
+    ContentCompressor(CompressionConfiguration config) {
+        this.config = config;
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+    }
+
+    @Override
+    protected Result beginEncode(HttpResponse response, String acceptEncoding) {
+        HttpHeaders headers = response.headers();
+        current = null;
+        CompressionConfiguration config = (response instanceof ConfiguredResponse)
+                ? ((ConfiguredResponse) response).config
+                : this.config;
+        // already encoded, or the handler disabled the compression with the identity encoding
+        if (headers.contains(HttpHeaderNames.CONTENT_ENCODING) || !compressible(config, headers)) {
+            return null;
+        }
+        String encoding = select(config, acceptEncoding);
+        if (encoding == null) {
+            return null;
+        }
+        StreamEncoder encoder = new StreamEncoder(config.encoders().get(encoding), config.level());
+        current = encoder;
+        return new Result(encoding, new EmbeddedChannel(ctx.channel().id(),
+                                                        ctx.channel().metadata().hasDisconnect(),
+                                                        ctx.channel().config(),
+                                                        encoder));
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, HttpObject msg, List<Object> out) throws Exception {
+        super.encode(ctx, msg, out);
+        // a chunk may be fully buffered by the compressed stream until the next flush
+        if (out.isEmpty()) {
+            out.add(new DefaultHttpContent(Unpooled.EMPTY_BUFFER));
+        }
+    }
+
+    /**
+     * The compressed stream is only flushed when the response is flushed to the connection, such as for a data
+     * chunk requesting a flush, so that the chunks in between are compressed together.
+     */
+    @Override
+    public void flush(ChannelHandlerContext ctx) throws Exception {
+        StreamEncoder encoder = current;
+        if (encoder != null) {
+            ByteBuf flushed = encoder.flush(ctx.alloc());
+            if (flushed != null) {
+                ctx.write(new DefaultHttpContent(flushed));
+            }
+        }
+        ctx.flush();
+    }
+
+    private static boolean compressible(CompressionConfiguration config, HttpHeaders headers) {
+        String contentLength = headers.get(HttpHeaderNames.CONTENT_LENGTH);
+        if (contentLength != null) {
+            try {
+                if (Long.parseLong(contentLength) < config.minSize()) {
+                    return false;
+                }
+            } catch (NumberFormatException ignored) {
+                return false;
+            }
+        }
+        String contentType = headers.get(HttpHeaderNames.CONTENT_TYPE);
+        if (contentType == null) {
+            return false;
+        }
+        int end = contentType.indexOf(';');
+        String mimeType = ((end < 0) ? contentType : contentType.substring(0, end)).trim().toLowerCase(Locale.ROOT);
+        Set<String> mimeTypes = config.mimeTypes();
+        int slash = mimeType.indexOf('/');
+        return mimeTypes.contains(mimeType) || (slash > 0 && mimeTypes.contains(mimeType.substring(0, slash) + "/*"));
+    }
+
+    /**
+     * Selects the encoding with the highest quality in the {@code Accept-Encoding} header,
+     * the order of the configured encoders decides between equal qualities.
+     *
+     * @return encoding or {@code null} if the client does not accept any of the encoders
+     */
+    private static String select(CompressionConfiguration config, String acceptEncoding) {
+        Map<String, Double> qualities = new HashMap<>();
+        double wildcard = -1;
+        for (String value : acceptEncoding.split(",")) {
+            String[] parts = value.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException ignored) {
+                        quality = 0;
+                    }
+                }
+            }
+            if ("*".equals(name)) {
+                wildcard = quality;
+            } else {
+                qualities.put(name, quality);
+            }
+        }
+        String selected = null;
+        double best = 0;
+        for (String encoding : config.encoders().keySet()) {
+            double quality = qualities.getOrDefault(encoding, wildcard);
+            if (quality > best) {
+                best = quality;
+                selected = encoding;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * A response compressed with the configuration of its route instead of the one of the socket,
+     * see {@link ResponseCompressionSupport}.
+     */
+    static final class ConfiguredResponse extends DefaultHttpResponse {
+        private final CompressionConfiguration config;
+
+        ConfiguredResponse(HttpVersion version, HttpResponseStatus status, CompressionConfiguration config) {
+            super(version, status);
+            this.config = config;
+        }
+    }
+
+    /**
+     * Encodes the content of a single response through the stream of a {@link ContentEncoder}.
+     */
+    private static final class StreamEncoder extends MessageToByteEncoder<ByteBuf> {
+        private final ContentEncoder encoder;
+        private final int level;
+        private final TargetStream target = new TargetStream();
+        private OutputStream stream;
+        private boolean finished;
+
+        private StreamEncoder(ContentEncoder encoder, int level) {
+            this.encoder = encoder;
+            this.level = level;
+        }
+
+        @Override
+        protected void encode(ChannelHandlerContext ctx, ByteBuf msg, ByteBuf out) throws IOException {
+            target.buffer = out;
+            try {
+                if (stream == null) {
+                    stream = encoder.encode(target, level);
+                }
+                msg.readBytes(stream, msg.readableBytes());
+            } finally {
+                target.buffer = null;
+            }
+        }
+
+        /**
+         * Flushes the data compressed so far.
+         *
+         * @param alloc allocator of the buffer
+         * @return the flushed data, {@code null} if there is none
+         * @throws IOException if the stream fails to flush
+         */
+        private ByteBuf flush(ByteBufAllocator alloc) throws IOException {
+            if (stream == null || finished) {
+                return null;
+            }
+            ByteBuf out = alloc.heapBuffer();
+            target.buffer = out;
+            try {
+                stream.flush();
+            } finally {
+                target.buffer = null;
+            }
+            if (out.isReadable()) {
+                return out;
+            }
+            out.release();
+            return null;
+        }
+
+        @Override
+        public void close(ChannelHandlerContext ctx, ChannelPromise promise) throws IOException {
+            ByteBuf out = ctx.alloc().heapBuffer();
+            target.buffer = out;
+            try {
+                finish();
+            } finally {
+                target.buffer = null;
+            }
+            if (out.isReadable()) {
+                ctx.write(out);
+            } else {
+                out.release();
+            }
+            ctx.flush();
+            ctx.close(promise);
+        }
+
+        @Override
+        public void handlerRemoved(ChannelHandlerContext ctx) throws IOException {
+            // releases the resources of an encoder of an aborted response, the data is discarded
+            finish();
+        }
+
+        private void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            if (stream == null) {
+                stream = encoder.encode(target, level);
+            }
+            stream.close();
+        }
+    }
+
+    /**
+     * Writes to the buffer of the current encoding step.
+     */
+    private static final class TargetStream extends OutputStream {
+        private ByteBuf buffer;
+
+        @Override
+        public void write(int b) {
+            if (buffer != null) {
+                buffer.writeByte(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (buffer != null) {
+                buffer.writeBytes(b, off, len);
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses response entities for a {@code Content-Encoding}, such as {@code gzip}.
+ * <p>
+ * Encoders of other formats can be plugged in from their stream implementations,
+ * for example {@code br} with Brotli4j or {@code zstd} with zstd-jni:
+ * <pre>{@code
+ * CompressionConfiguration.builder()
+ *         .addEncoder("br", (out, level) -> new BrotliOutputStream(out, new Encoder.Parameters().setQuality(level)))
+ *         .addEncoder("zstd", (out, level) -> new ZstdOutputStream(out, level))
+ * }</pre>
+ * The returned stream is flushed when the response is flushed to the connection, such as for a data chunk
+ * requesting a flush, and closed once the response is complete.
+ *
+ * @see CompressionConfiguration
+ */
+@FunctionalInterface
+public interface ContentEncoder {
+
+    /**
+     * Create a stream compressing the data written to it.
+     *
+     * @param out   stream to write the compressed data to
+     * @param level compression level as configured by {@link CompressionConfiguration#level()}
+     * @return compressing stream
+     * @throws IOException if the stream cannot be created
+     */
+    OutputStream encode(OutputStream out, int level) throws IOException;
+
+    /**
+     * Encoder of the {@code gzip} content encoding.
+     *
+     * @return gzip encoder
+     */
+    static ContentEncoder gzip() {
+        return (out, level) -> new GZIPOutputStream(out, 8192, true) {
+            {
+                def.setLevel(level);
+            }
+        };
+    }
+
+    /**
+     * Encoder of the {@code deflate} content encoding, that is the zlib format.
+     *
+     * @return deflate encoder
+     */
+    static ContentEncoder deflate() {
+        return (out, level) -> new DeflaterOutputStream(out, new Deflater(level), 8192, true) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    def.end();
+                }
+            }
+        };
+    }
+}
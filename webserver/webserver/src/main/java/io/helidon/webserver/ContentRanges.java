@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.http.Http;
+import io.helidon.common.reactive.Multi;
+import io.helidon.common.reactive.Single;
+
+/**
+ * Support of byte range requests ({@code Range} and {@code If-Range} headers) for static content.
+ * <p>
+ * A single range is sent as a {@code 206 Partial Content} response with a {@code Content-Range} header,
+ * multiple ranges as a {@code multipart/byteranges} response. Overlapping and adjacent ranges are coalesced.
+ */
+final class ContentRanges {
+    private static final String BYTES_UNIT = "bytes";
+    // more ranges are more likely to be an attack than a legitimate request
+    private static final int MAX_RANGES = 16;
+
+    private ContentRanges() {
+    }
+
+    /**
+     * Creates the data chunks of a part of the content.
+     */
+    @FunctionalInterface
+    interface Source {
+        /**
+         * Creates the data chunks of a part of the content, without reading the preceding bytes.
+         * Multiple parts are created up front and sent one after the other, so the content should
+         * not be opened before the publisher is subscribed to.
+         *
+         * @param offset offset of the part
+         * @param count  number of bytes of the part
+         * @return publisher of the part
+         * @throws IOException if the content cannot be read
+         */
+        Flow.Publisher<DataChunk> part(long offset, long count) throws IOException;
+    }
+
+    /**
+     * Send the ranges requested by the {@code Range} header, if any. Expects validator
+     * ({@code ETag}, {@code Last-Modified}) and {@code Content-Type} headers to be already set on the response.
+     *
+     * @param request      an HTTP request
+     * @param response     an HTTP response
+     * @param length       length of the whole content
+     * @param lastModified last modification time of the content, may be {@code null}
+     * @param source       creates chunks of the content
+     * @return {@code true} if a partial response was sent, {@code false} if the whole content should be sent
+     * @throws IOException if the content cannot be read
+     */
+    static boolean send(ServerRequest request,
+                        ServerResponse response,
+                        long length,
+                        Instant lastModified,
+                        Source source) throws IOException {
+        Optional<String> rangeHeader = request.headers().first(Http.Header.RANGE);
+        if (rangeHeader.isEmpty()) {
+            return false;
+        }
+        Optional<String> ifRange = request.headers().first(Http.Header.IF_RANGE);
+        if (ifRange.isPresent()
+                && !ifRangeMatches(ifRange.get(), response.headers().first(Http.Header.ETAG).orElse(null), lastModified)) {
+            return false;
+        }
+        List<long[]> ranges = parse(rangeHeader.get(), length);
+        if (ranges == null) {
+            return false;
+        }
+
+        ResponseHeaders headers = response.headers();
+        if (ranges.isEmpty()) {
+            headers.put(Http.Header.CONTENT_RANGE, BYTES_UNIT + " */" + length);
+            response.status(Http.Status.REQUESTED_RANGE_NOT_SATISFIABLE_416);
+            response.send();
+            return true;
+        }
+
+        response.status(Http.Status.PARTIAL_CONTENT_206);
+        if (ranges.size() == 1) {
+            long[] range = ranges.get(0);
+            long count = range[1] - range[0] + 1;
+            headers.put(Http.Header.CONTENT_RANGE, contentRange(range, length));
+            headers.contentLength(count);
+            response.send(source.part(range[0], count));
+            return true;
+        }
+
+        String boundary = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        String contentType = headers.first(Http.Header.CONTENT_TYPE).orElse(null);
+        Multi<DataChunk> parts = Multi.empty();
+        long contentLength = 0;
+        for (long[] range : ranges) {
+            StringBuilder partHeader = new StringBuilder()
+                    .append("\r\n--").append(boundary).append("\r\n");
+            if (contentType != null) {
+                partHeader.append(Http.Header.CONTENT_TYPE).append(": ").append(contentType).append("\r\n");
+            }
+            partHeader.append(Http.Header.CONTENT_RANGE).append(": ").append(contentRange(range, length)).append("\r\n\r\n");
+            byte[] partHeaderBytes = partHeader.toString().getBytes(StandardCharsets.US_ASCII);
+            long count = range[1] - range[0] + 1;
+            parts = Multi.concat(parts, Single.just(DataChunk.create(partHeaderBytes)));
+            parts = Multi.concat(parts, source.part(range[0], count));
+            contentLength += partHeaderBytes.length + count;
+        }
+        byte[] end = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        parts = Multi.concat(parts, Single.just(DataChunk.create(end)));
+        contentLength += end.length;
+
+        headers.put(Http.Header.CONTENT_TYPE, "multipart/byteranges; boundary=" + boundary);
+        headers.contentLength(contentLength);
+        response.send(parts);
+        return true;
+    }
+
+    /**
+     * Parse a {@code Range} header value.
+     *
+     * @param header header value
+     * @param length length of the content
+     * @return satisfiable ranges as inclusive {@code [first, last]} byte positions, sorted and coalesced;
+     * empty if no range is satisfiable; {@code null} if the header is invalid or not supported and should be ignored
+     */
+    static List<long[]> parse(String header, long length) {
+        int eq = header.indexOf('=');
+        if (eq < 0 || !BYTES_UNIT.equalsIgnoreCase(header.substring(0, eq).trim())) {
+            return null;
+        }
+        String[] specs = header.substring(eq + 1).split(",");
+        if (specs.length > MAX_RANGES) {
+            return null;
+        }
+        List<long[]> ranges = new ArrayList<>(specs.length);
+        try {
+            for (String spec : specs) {
+                String value = spec.trim();
+                int dash = value.indexOf('-');
+                if (dash < 0) {
+                    return null;
+                }
+                String first = value.substring(0, dash).trim();
+                String last = value.substring(dash + 1).trim();
+                if (first.isEmpty()) {
+                    // suffix range, the last N bytes
+                    long suffix = Long.parseLong(last);
+                    if (suffix < 0) {
+                        return null;
+                    }
+                    if (suffix > 0 && length > 0) {
+                        ranges.add(new long[] {Math.max(0, length - suffix), length - 1});
+                    }
+                    continue;
+                }
+                long start = Long.parseLong(first);
+                // an open range past the end is unsatisfiable rather than invalid
+                long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+                if (start < 0 || end < start) {
+                    return null;
+                }
+                if (start < length) {
+                    ranges.add(new long[] {start, Math.min(end, length - 1)});
+                }
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return coalesce(ranges);
+    }
+
+    private static List<long[]> coalesce(List<long[]> ranges) {
+        if (ranges.size() < 2) {
+            return ranges;
+        }
+        ranges.sort(Comparator.comparingLong(range -> range[0]));
+        List<long[]> result = new ArrayList<>(ranges.size());
+        long[] current = ranges.get(0);
+        for (int i = 1; i < ranges.size(); i++) {
+            long[] next = ranges.get(i);
+            if (next[0] <= current[1] + 1) {
+                current = new long[] {current[0], Math.max(current[1], next[1])};
+            } else {
+                result.add(current);
+                current = next;
+            }
+        }
+        result.add(current);
+        return result;
+    }
+
+    private static boolean ifRangeMatches(String ifRange, String etag, Instant lastModified) {
+        String value = ifRange.trim();
+        if (value.startsWith("\"") || value.startsWith("W/")) {
+            // only strong validators may be used
+            return etag != null && !etag.startsWith("W/") && value.equals(etag);
+        }
+        if (lastModified == null) {
+            return false;
+        }
+        try {
+            return Http.DateTime.parse(value).toEpochSecond() == lastModified.getEpochSecond();
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static String contentRange(long[] range, long length) {
+        return BYTES_UNIT + " " + range[0] + "-" + range[1] + "/" + length;
+    }
+}
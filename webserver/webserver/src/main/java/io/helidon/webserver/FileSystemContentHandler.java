@@ -17,13 +17,23 @@
 package io.helidon.webserver;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.time.Instant;
+import java.util.concurrent.Flow;
 import java.util.logging.Logger;
 
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.http.FileRegionChunk;
 import io.helidon.common.http.Http;
+import io.helidon.common.reactive.IoMulti;
+import io.helidon.common.reactive.Multi;
+import io.helidon.common.reactive.Single;
 import io.helidon.media.common.DefaultMediaSupport;
 import io.helidon.media.common.MessageBodyWriter;
 
@@ -37,14 +47,28 @@ class FileSystemContentHandler extends StaticContentHandler {
     private final Path root;
 
     FileSystemContentHandler(String welcomeFilename, ContentTypeSelector contentTypeSelector, Path root) {
-        super(welcomeFilename, contentTypeSelector);
+        this(welcomeFilename, contentTypeSelector, root, null);
+    }
+
+    FileSystemContentHandler(String welcomeFilename,
+                             ContentTypeSelector contentTypeSelector,
+                             Path root,
+                             StaticContentCache cache) {
+        super(welcomeFilename, contentTypeSelector, cache);
 
         this.root = root.toAbsolutePath().normalize();
     }
 
     public static StaticContentHandler create(String welcomeFileName, ContentTypeSelector selector, Path fsRoot) {
+        return create(welcomeFileName, selector, fsRoot, null);
+    }
+
+    static StaticContentHandler create(String welcomeFileName,
+                                       ContentTypeSelector selector,
+                                       Path fsRoot,
+                                       StaticContentCache cache) {
         if (Files.exists(fsRoot) && Files.isDirectory(fsRoot)) {
-            return new FileSystemContentHandler(welcomeFileName, selector, fsRoot);
+            return new FileSystemContentHandler(welcomeFileName, selector, fsRoot, cache);
         } else {
             throw new IllegalArgumentException("Cannot create file system static content, path "
                                                        + fsRoot.toAbsolutePath()
@@ -75,7 +99,7 @@ class FileSystemContentHandler extends StaticContentHandler {
             return false;
         }
 
-        sendFile(method, path, request, response, contentTypeSelector(), welcomePageName());
+        sendFile(method, path, request, response, contentTypeSelector(), welcomePageName(), cache());
 
         return true;
     }
@@ -87,6 +111,17 @@ class FileSystemContentHandler extends StaticContentHandler {
                          ContentTypeSelector contentTypeSelector,
                          String welcomePage)
             throws IOException {
+        sendFile(method, pathParam, request, response, contentTypeSelector, welcomePage, null);
+    }
+
+    static void sendFile(Http.RequestMethod method,
+                         Path pathParam,
+                         ServerRequest request,
+                         ServerResponse response,
+                         ContentTypeSelector contentTypeSelector,
+                         String welcomePage,
+                         StaticContentCache cache)
+            throws IOException {
 
         LOGGER.fine(() -> "Sending static content from file: " + pathParam);
 
@@ -110,9 +145,17 @@ class FileSystemContentHandler extends StaticContentHandler {
             throw new HttpException("File is not accessible", Http.Status.FORBIDDEN_403);
         }
 
+        if (cache != null) {
+            Instant lastMod = Files.getLastModifiedTime(path).toInstant();
+            if (cache.send(path.toString(), lastMod, new FileLoader(path), method, request, response, contentTypeSelector)) {
+                return;
+            }
+        }
+
         // Caching headers support
+        Instant lastMod = null;
         try {
-            Instant lastMod = Files.getLastModifiedTime(path).toInstant();
+            lastMod = Files.getLastModifiedTime(path).toInstant();
             processEtag(String.valueOf(lastMod.toEpochMilli()), request.headers(), response.headers());
             processModifyHeaders(lastMod, request.headers(), response.headers());
         } catch (IOException | SecurityException e) {
@@ -120,17 +163,57 @@ class FileSystemContentHandler extends StaticContentHandler {
         }
 
         processContentType(fileName(path), request.headers(), response.headers(), contentTypeSelector);
+        send(method, path, lastMod, request, response);
+    }
+
+    /**
+     * Sends the file, or the byte ranges of it requested by the {@code Range} header.
+     *
+     * @param method       request method
+     * @param path         file to send
+     * @param lastModified last modification time of the file, may be {@code null}
+     * @param request      an HTTP request
+     * @param response     an HTTP response
+     * @throws IOException if the file cannot be read
+     */
+    static void send(Http.RequestMethod method,
+                     Path path,
+                     Instant lastModified,
+                     ServerRequest request,
+                     ServerResponse response) throws IOException {
+        response.headers().put(Http.Header.ACCEPT_RANGES, "bytes");
         if (method == Http.Method.HEAD) {
             response.send();
-        } else {
-            send(response, path);
+            return;
+        }
+        if (ContentRanges.send(request, response, Files.size(path), lastModified,
+                               (offset, count) -> part(path, offset, count, response))) {
+            return;
         }
+        send(response, path);
     }
 
     static void send(ServerResponse response, Path path) {
         response.send(PATH_WRITER.marshall(path));
     }
 
+    private static Flow.Publisher<DataChunk> part(Path path, long offset, long count, ServerResponse response) {
+        // the file is opened once the part is sent, not when the parts of a multipart response are created
+        return Multi.defer(() -> {
+            FileChannel channel;
+            try {
+                channel = FileChannel.open(path, StandardOpenOption.READ);
+            } catch (IOException e) {
+                return Multi.error(e);
+            }
+            if (response.writerContext().fileRegionsSupported()) {
+                return Single.just(FileRegionChunk.create(channel, offset, count));
+            }
+            return IoMulti.multiFromByteChannel(new RegionChannel(channel, offset, count))
+                    .map(DataChunk::create);
+        });
+    }
+
     /**
      * Find welcome file in provided directory or throw not found {@link HttpException}.
      *
@@ -145,4 +228,87 @@ class FileSystemContentHandler extends StaticContentHandler {
         throwNotFoundIf(!Files.exists(result));
         return result;
     }
+
+    /**
+     * Reads a region of a file.
+     */
+    private static final class RegionChannel implements ReadableByteChannel {
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+
+        RegionChannel(FileChannel channel, long offset, long count) {
+            this.channel = channel;
+            this.position = offset;
+            this.end = offset + count;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            long remaining = end - position;
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read;
+            if (dst.remaining() > remaining) {
+                ByteBuffer limited = dst.slice();
+                limited.limit((int) remaining);
+                read = channel.read(limited, position);
+                if (read > 0) {
+                    dst.position(dst.position() + read);
+                }
+            } else {
+                read = channel.read(dst, position);
+            }
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Loads a file and its precompressed siblings into the cache.
+     */
+    private static final class FileLoader implements StaticContentCache.Loader {
+        private final Path path;
+
+        private FileLoader(Path path) {
+            this.path = path;
+        }
+
+        @Override
+        public String name() {
+            return fileName(path);
+        }
+
+        @Override
+        public long size() throws IOException {
+            return Files.size(path);
+        }
+
+        @Override
+        public byte[] content() throws IOException {
+            return Files.readAllBytes(path);
+        }
+
+        @Override
+        public byte[] precompressed(String extension) throws IOException {
+            Path compressed = path.resolveSibling(fileName(path) + extension);
+            if (Files.isRegularFile(compressed)) {
+                return Files.readAllBytes(compressed);
+            }
+            return null;
+        }
+    }
 }
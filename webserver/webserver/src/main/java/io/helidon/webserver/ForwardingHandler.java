@@ -32,6 +32,7 @@ import io.helidon.common.http.Http;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
@@ -47,18 +48,23 @@ import io.netty.handler.codec.http.HttpRequestDecoder;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.handler.codec.http.websocketx.WebSocketServerProtocolHandler;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.timeout.IdleState;
+import io.netty.handler.timeout.IdleStateEvent;
 
 import static io.helidon.webserver.HttpInitializer.CERTIFICATE_NAME;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import static io.netty.handler.codec.http.HttpResponseStatus.CONTINUE;
 import static io.netty.handler.codec.http.HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE;
+import static io.netty.handler.codec.http.HttpResponseStatus.SERVICE_UNAVAILABLE;
 import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
 
 /**
  * ForwardingHandler bridges Netty response and request related APIs to
  * {@link BareRequest} and {@link BareResponse}.
  * <p>
- * For each tcp connection, a single {@link ForwardingHandler} is created.
+ * For each tcp connection, a single {@link ForwardingHandler} is created. HTTP/2 connections
+ * create one for each stream.
  */
 public class ForwardingHandler extends SimpleChannelInboundHandler<Object> {
 
@@ -70,7 +76,12 @@ public class ForwardingHandler extends SimpleChannelInboundHandler<Object> {
     private final SSLEngine sslEngine;
     private final Queue<ReferenceHoldingQueue<DataChunk>> queues;
     private final HttpRequestDecoder httpRequestDecoder;
+    private final SocketConfiguration soConfig;
     private final long maxPayloadSize;
+    private final int writeAggregationSize;
+    private final int writeAggregationChunks;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final int maxRequestsPerConnection;
 
     // this field is always accessed by the very same thread; as such, it doesn't need to be
     // concurrency aware
@@ -82,19 +93,27 @@ public class ForwardingHandler extends SimpleChannelInboundHandler<Object> {
 
     private CompletableFuture<?> prevRequestFuture;
     private boolean lastContent;
+    private int requestCount;
+    private boolean draining;
 
     ForwardingHandler(Routing routing,
                       NettyWebServer webServer,
                       SSLEngine sslEngine,
                       Queue<ReferenceHoldingQueue<DataChunk>> queues,
                       HttpRequestDecoder httpRequestDecoder,
-                      long maxPayloadSize) {
+                      SocketConfiguration soConfig,
+                      ConcurrencyLimiter concurrencyLimiter) {
         this.routing = routing;
         this.webServer = webServer;
         this.sslEngine = sslEngine;
         this.queues = queues;
         this.httpRequestDecoder = httpRequestDecoder;
-        this.maxPayloadSize = maxPayloadSize;
+        this.soConfig = soConfig;
+        this.maxPayloadSize = soConfig.maxPayloadSize();
+        this.writeAggregationSize = soConfig.writeAggregationSize();
+        this.writeAggregationChunks = soConfig.writeAggregationChunks();
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.maxRequestsPerConnection = soConfig.maxRequestsPerConnection();
     }
 
     private void reset() {
@@ -120,7 +139,7 @@ public class ForwardingHandler extends SimpleChannelInboundHandler<Object> {
             return;
         }
 
-        if (requestContext.publisher().hasRequests()) {
+        if (requestContext.publisher().requiresRead()) {
             ctx.channel().read();
         }
     }
@@ -132,6 +151,7 @@ public class ForwardingHandler extends SimpleChannelInboundHandler<Object> {
                 System.identityHashCode(this), System.identityHashCode(ctx.channel()), msg.getClass()));
 
         if (msg instanceof HttpRequest) {
+            RequestTiming timing = new RequestTiming(System.nanoTime());
             lastContent = false;
             // Turns off auto read
             ctx.channel().config().setAutoRead(false);
@@ -150,13 +170,17 @@ public class ForwardingHandler extends SimpleChannelInboundHandler<Object> {
 
             // Certificate management
             request.headers().remove(Http.Header.X_HELIDON_CN);
-            Optional.ofNullable(ctx.channel().attr(CERTIFICATE_NAME).get())
+            // HTTP/2 streams are child channels of the connection
+            Channel channel = (ctx.channel() instanceof Http2StreamChannel) ? ctx.channel().parent() : ctx.channel();
+            Optional.ofNullable(channel.attr(CERTIFICATE_NAME).get())
                     .ifPresent(name -> request.headers().set(Http.Header.X_HELIDON_CN, name));
 
             // Queue, context and publisher creation
             ReferenceHoldingQueue<DataChunk> queue = new ReferenceHoldingQueue<>();
             queues.add(queue);
-            RequestContext requestContext = new RequestContext(new HttpRequestScopedPublisher(ctx, queue), request);
+            HttpRequestScopedPublisher publisher = new HttpRequestScopedPublisher(ctx, queue, soConfig,
+                                                                                  webServer.bufferedRequestBytesCounter());
+            RequestContext requestContext = new RequestContext(publisher, request);
             this.requestContext = requestContext;
 
             // the only reason we have the 'ref' here is that the field might get assigned with null
@@ -167,7 +191,7 @@ public class ForwardingHandler extends SimpleChannelInboundHandler<Object> {
             BareRequestImpl bareRequest;
             try {
                 bareRequest = new BareRequestImpl((HttpRequest) msg, requestContext.publisher(),
-                        webServer, ctx, sslEngine, requestId);
+                        webServer, ctx, sslEngine, requestId, timing);
             } catch (IllegalArgumentException e) {
                 send400BadRequest(ctx, e.getMessage());
                 return;
@@ -194,6 +218,22 @@ public class ForwardingHandler extends SimpleChannelInboundHandler<Object> {
                 }
             }
 
+            // If the concurrency limit is reached, return 503 response before routing
+            if (concurrencyLimiter != null && !concurrencyLimiter.tryAcquire()) {
+                LOGGER.fine(() -> String.format("[Handler: %s, Channel: %s] Concurrency limit %d reached",
+                        System.identityHashCode(this), System.identityHashCode(ctx.channel()),
+                        concurrencyLimiter.limit()));
+                ignorePayload = true;
+                send503ServiceUnavailable(ctx, request);
+                return;
+            }
+            long admittedTime = System.nanoTime();
+
+            // Close the HTTP/1 connection after this response if it is the last one allowed or the server is draining
+            // (HTTP/2 streams are child channels of the connection, which is not closed here)
+            boolean closeConnection = !(ctx.channel() instanceof Http2StreamChannel)
+                    && (draining || (maxRequestsPerConnection > 0 && ++requestCount >= maxRequestsPerConnection));
+
             // If prev response is done, the next can start writing right away (HTTP pipelining)
             if (prevRequestFuture != null && prevRequestFuture.isDone()) {
                 prevRequestFuture = null;
@@ -201,7 +241,11 @@ public class ForwardingHandler extends SimpleChannelInboundHandler<Object> {
 
             // Create response and handler for its completion
             BareResponseImpl bareResponse =
-                    new BareResponseImpl(ctx, request, publisherRef::isCompleted, prevRequestFuture, requestId);
+                    new BareResponseImpl(ctx, request, publisherRef::isCompleted, prevRequestFuture, requestId, timing,
+                                         writeAggregationSize, writeAggregationChunks);
+            if (closeConnection) {
+                bareResponse.closeConnection();
+            }
             prevRequestFuture = new CompletableFuture<>();
             CompletableFuture<?> thisResp = prevRequestFuture;
             bareResponse.whenCompleted()
@@ -221,6 +265,11 @@ public class ForwardingHandler extends SimpleChannelInboundHandler<Object> {
                             // Enables next response to proceed (HTTP pipelining)
                             thisResp.complete(null);
                         });
+            if (concurrencyLimiter != null) {
+                // released also when the connection is closed before the response is completed
+                bareResponse.whenCompleted()
+                        .whenComplete((response, throwable) -> concurrencyLimiter.release(System.nanoTime() - admittedTime));
+            }
             if (HttpUtil.is100ContinueExpected(request)) {
                 send100Continue(ctx);
             }
@@ -387,6 +436,81 @@ public class ForwardingHandler extends SimpleChannelInboundHandler<Object> {
         ctx.write(response);
     }
 
+    /**
+     * Returns a 503 (Service Unavailable) response with a {@code Retry-After} header.
+     * The connection is closed if the request has content, as it is not read.
+     *
+     * @param ctx Channel context.
+     * @param request The rejected request.
+     */
+    private void send503ServiceUnavailable(ChannelHandlerContext ctx, HttpRequest request) {
+        FullHttpResponse response = new DefaultFullHttpResponse(HTTP_1_1, SERVICE_UNAVAILABLE);
+        response.headers().add(HttpHeaderNames.RETRY_AFTER, concurrencyLimiter.retryAfter());
+        response.headers().add(HttpHeaderNames.CONTENT_LENGTH, 0);
+        boolean close = HttpUtil.getContentLength(request, 0L) > 0 || HttpUtil.isTransferEncodingChunked(request);
+        if (close) {
+            response.headers().add(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+        }
+
+        // keep the order of responses (HTTP pipelining)
+        CompletableFuture<?> previous = prevRequestFuture;
+        CompletableFuture<?> thisResp = new CompletableFuture<>();
+        prevRequestFuture = thisResp;
+        Runnable write = () -> ctx.writeAndFlush(response)
+                .addListener(future -> {
+                    thisResp.complete(null);
+                    if (close) {
+                        ctx.close();
+                    }
+                });
+        if (previous == null || previous.isDone()) {
+            write.run();
+        } else {
+            previous.thenRun(write);
+        }
+    }
+
+    @Override
+    public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+        if (evt instanceof IdleStateEvent) {
+            IdleState state = ((IdleStateEvent) evt).state();
+            if (state == IdleState.ALL_IDLE && isIdle()) {
+                LOGGER.finer(() -> "Closing idle connection " + ctx.channel());
+                ctx.close();
+            } else if (state == IdleState.READER_IDLE
+                    && !isWebSocketUpgrade
+                    && requestContext != null
+                    && requestContext.publisher().requiresRead()) {
+                LOGGER.finer(() -> "Closing connection " + ctx.channel() + ", request content not received in time");
+                requestContext.publisher().fail(new IllegalStateException("Request content not received in time"));
+                ctx.close();
+            }
+        } else if (evt == HttpInitializer.ConnectionEvent.DRAIN) {
+            draining = true;
+            closeWhenIdle(ctx);
+        } else {
+            super.userEventTriggered(ctx, evt);
+        }
+    }
+
+    /**
+     * Closes the connection once there is no exchange in progress; requests received from now on
+     * are answered with {@code Connection: close}.
+     *
+     * @param ctx Channel context.
+     */
+    private void closeWhenIdle(ChannelHandlerContext ctx) {
+        if (isIdle()) {
+            ctx.close();
+        } else if (prevRequestFuture != null && !prevRequestFuture.isDone()) {
+            prevRequestFuture.whenComplete((it, throwable) -> ctx.executor().execute(() -> closeWhenIdle(ctx)));
+        }
+    }
+
+    private boolean isIdle() {
+        return requestContext == null && (prevRequestFuture == null || prevRequestFuture.isDone());
+    }
+
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
         if (requestContext != null) {
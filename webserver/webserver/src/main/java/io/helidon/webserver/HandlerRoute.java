@@ -39,6 +39,8 @@ class HandlerRoute implements Route {
     private final HttpMethodPredicate methodPredicate;
 
     private final Map<String, String> diagnosticEvent;
+    // set once when the routing is created
+    private String template;
 
     /**
      * Creates new instance.
@@ -138,6 +140,23 @@ class HandlerRoute implements Route {
         return diagnosticEvent;
     }
 
+    PathMatcher pathMatcher() {
+        return pathMatcher;
+    }
+
+    /**
+     * Path pattern of this route including the path patterns of the enclosing route lists.
+     *
+     * @return path pattern
+     */
+    String template() {
+        return template;
+    }
+
+    void template(String template) {
+        this.template = template;
+    }
+
     /**
      * Matches this against a URI path.
      *
@@ -28,6 +28,7 @@ import java.util.stream.Collectors;
 
 import io.helidon.common.LazyList;
 import io.helidon.common.LazyValue;
+import io.helidon.common.http.ArrayParameters;
 import io.helidon.common.http.HashParameters;
 import io.helidon.common.http.Http;
 import io.helidon.common.http.MediaType;
@@ -36,7 +37,8 @@ import io.helidon.common.http.ReadOnlyParameters;
 import io.helidon.common.http.Utils;
 
 /**
- * A {@link RequestHeaders} implementation on top of {@link ReadOnlyParameters}.
+ * A {@link RequestHeaders} implementation on top of {@link ReadOnlyParameters}, with the headers
+ * stored in {@link ArrayParameters}.
  */
 class HashRequestHeaders extends ReadOnlyParameters implements RequestHeaders {
 
@@ -57,6 +59,7 @@ class HashRequestHeaders extends ReadOnlyParameters implements RequestHeaders {
                 MediaType.parse("*/*; q=.2"));
 
     private final Object internalLock = new Object();
+    private final ArrayParameters headers;
     private volatile Parameters cookies;
     private List<MediaType> acceptedtypesCache;
 
@@ -64,7 +67,7 @@ class HashRequestHeaders extends ReadOnlyParameters implements RequestHeaders {
      * Creates a new instance.
      */
     HashRequestHeaders() {
-        this(null);
+        this((Map<String, List<String>>) null);
     }
 
     /**
@@ -74,7 +77,50 @@ class HashRequestHeaders extends ReadOnlyParameters implements RequestHeaders {
      * @param initialContent initial content.
      */
     HashRequestHeaders(Map<String, List<String>> initialContent) {
-        super(initialContent);
+        this(ArrayParameters.create(initialContent));
+    }
+
+    /**
+     * Creates a new instance from header fields in the order they were received, without
+     * building an intermediate map.
+     *
+     * @param fields header fields
+     */
+    HashRequestHeaders(Iterable<Map.Entry<String, String>> fields) {
+        this(ArrayParameters.create(fields));
+    }
+
+    private HashRequestHeaders(ArrayParameters headers) {
+        super((Parameters) null);
+        this.headers = headers;
+    }
+
+    /**
+     * Creates headers of a bare request.
+     *
+     * @param bareRequest bare request
+     * @return request headers
+     */
+    static HashRequestHeaders create(BareRequest bareRequest) {
+        if (bareRequest instanceof BareRequestImpl) {
+            return new HashRequestHeaders(((BareRequestImpl) bareRequest).headerFields());
+        }
+        return new HashRequestHeaders(bareRequest.headers());
+    }
+
+    @Override
+    public Optional<String> first(String name) {
+        return headers.first(name);
+    }
+
+    @Override
+    public List<String> all(String name) {
+        return headers.all(name);
+    }
+
+    @Override
+    public Map<String, List<String>> toMap() {
+        return headers.toMap();
     }
 
     @Override
@@ -82,6 +128,16 @@ class HashRequestHeaders extends ReadOnlyParameters implements RequestHeaders {
         return first(Http.Header.CONTENT_TYPE).map(MediaType::parse);
     }
 
+    /**
+     * Removes a header that no longer describes the request, such as {@code Content-Encoding} once the
+     * server decoded the content. The headers remain read-only for the application.
+     *
+     * @param name header name
+     */
+    void removeHeader(String name) {
+        headers.remove(name);
+    }
+
     @Override
     public OptionalLong contentLength() {
         Optional<String> v = first(Http.Header.CONTENT_LENGTH);
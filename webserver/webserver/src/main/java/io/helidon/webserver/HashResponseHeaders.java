@@ -37,7 +37,7 @@ import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import io.helidon.common.http.AlreadyCompletedException;
-import io.helidon.common.http.HashParameters;
+import io.helidon.common.http.ArrayParameters;
 import io.helidon.common.http.Http;
 import io.helidon.common.http.MediaType;
 import io.helidon.common.http.Parameters;
@@ -46,9 +46,9 @@ import io.helidon.common.http.Utils;
 import io.helidon.common.reactive.Single;
 
 /**
- * A {@link ResponseHeaders} implementation on top of {@link HashParameters}.
+ * A {@link ResponseHeaders} implementation on top of {@link ArrayParameters}.
  */
-class HashResponseHeaders extends HashParameters implements ResponseHeaders {
+class HashResponseHeaders extends ArrayParameters implements ResponseHeaders {
 
     private static final String COMPLETED_EXCEPTION_MESSAGE = "Response headers are already completed (sent to the client)!";
 
@@ -253,7 +253,7 @@ class HashResponseHeaders extends HashParameters implements ResponseHeaders {
     }
 
     // --------------------------------------------------------------------
-    // --- Limit access to HashParameters mutable methods when closed.
+    // --- Limit access to ArrayParameters mutable methods when closed.
     // ---------------------------------------------------------------------
 
     @Override
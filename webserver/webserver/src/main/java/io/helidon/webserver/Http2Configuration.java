@@ -34,10 +34,10 @@ public interface Http2Configuration {
     boolean enable();
 
     /**
-     * Default HTTP/2 content length. Streaming is currently not supported for HTTP/2,
-     * so this is largest payload acceptable.
+     * Maximal content length of an HTTP/1.1 request upgraded to HTTP/2. Content of HTTP/2 requests
+     * is streamed and not limited by this value.
      *
-     * @return Max HTTP/2 buffer size.
+     * @return Max HTTP/2 upgrade request buffer size.
      */
     int maxContentLength();
 
@@ -70,7 +70,7 @@ public interface Http2Configuration {
         }
 
         /**
-         * Sets max content length for HTTP/2.
+         * Sets max content length of an HTTP/1.1 request upgraded to HTTP/2.
          *
          * @param http2MaxContentLength New value for max content length.
          * @return an updated builder
@@ -20,56 +20,108 @@ import java.security.Principal;
 import java.security.cert.Certificate;
 import java.security.cert.X509Certificate;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLPeerUnverifiedException;
 
 import io.helidon.common.http.DataChunk;
-import io.helidon.webserver.HelidonConnectionHandler.HelidonHttp2ConnectionHandlerBuilder;
 
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerAdapter;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.DefaultChannelGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.handler.codec.http.HttpContentCompressor;
 import io.netty.handler.codec.http.HttpRequestDecoder;
 import io.netty.handler.codec.http.HttpResponseEncoder;
 import io.netty.handler.codec.http.HttpServerCodec;
 import io.netty.handler.codec.http.HttpServerUpgradeHandler;
 import io.netty.handler.codec.http2.CleartextHttp2ServerUpgradeHandler;
 import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2FrameLogger;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
 import io.netty.handler.codec.http2.Http2ServerUpgradeCodec;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.handler.flush.FlushConsolidationHandler;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.stream.ChunkedWriteHandler;
+import io.netty.handler.timeout.IdleState;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
 import io.netty.util.AsciiString;
 import io.netty.util.AttributeKey;
 import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.GlobalEventExecutor;
+
+import static io.netty.handler.logging.LogLevel.DEBUG;
 
 /**
  * The HttpInitializer.
  */
 class HttpInitializer extends ChannelInitializer<SocketChannel> {
     private static final Logger LOGGER = Logger.getLogger(HttpInitializer.class.getName());
+    private static final Http2FrameLogger FRAME_LOGGER = new Http2FrameLogger(DEBUG, HttpInitializer.class);
     static final AttributeKey<String> CERTIFICATE_NAME = AttributeKey.valueOf("certificate_name");
 
+    /**
+     * User events fired on the connections of a socket.
+     */
+    enum ConnectionEvent {
+        /**
+         * The server is shutting down, the connection should be closed once its exchanges in progress are done.
+         */
+        DRAIN
+    }
+
     private final SslContext sslContext;
     private final NettyWebServer webServer;
     private final SocketConfiguration soConfig;
     private final Routing routing;
+    private final ConcurrencyLimiter concurrencyLimiter;
     private final Queue<ReferenceHoldingQueue<DataChunk>> queues = new ConcurrentLinkedQueue<>();
+    private final ChannelGroup connections = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    // server channels of all the acceptors of this socket, these share the connection limit
+    private final Set<Channel> acceptors = ConcurrentHashMap.newKeySet();
+    private boolean acceptorsPaused;
 
     HttpInitializer(SocketConfiguration soConfig,
                     SslContext sslContext,
                     Routing routing,
-                    NettyWebServer webServer) {
+                    NettyWebServer webServer,
+                    ConcurrencyLimiter concurrencyLimiter) {
         this.soConfig = soConfig;
         this.routing = routing;
         this.sslContext = sslContext;
         this.webServer = webServer;
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    int openConnections() {
+        return connectionCount.get();
+    }
+
+    int unreleasedChunks() {
+        int count = 0;
+        for (ReferenceHoldingQueue<DataChunk> queue : queues) {
+            count += queue.size();
+        }
+        return count;
     }
 
     private void clearQueues() {
@@ -83,10 +135,38 @@ class HttpInitializer extends ChannelInitializer<SocketChannel> {
         });
     }
 
+    /**
+     * Starts draining the connections of this socket. HTTP/1 connections are closed once their current
+     * response is sent, HTTP/2 connections receive {@code GOAWAY} and are closed once their active streams are done.
+     *
+     * @return future completed once all the connections are closed
+     */
+    CompletableFuture<Void> drain() {
+        CompletableFuture<Void> drained = new CompletableFuture<>();
+        connections.newCloseFuture().addListener(future -> drained.complete(null));
+        connections.forEach(ch -> ch.pipeline().fireUserEventTriggered(ConnectionEvent.DRAIN));
+        return drained;
+    }
+
     @Override
     public void initChannel(SocketChannel ch) {
         final ChannelPipeline p = ch.pipeline();
 
+        if (!admit(ch)) {
+            return;
+        }
+
+        // close idle connections and connections of clients that stopped sending request content
+        if (soConfig.readTimeoutMillis() > 0 || soConfig.idleTimeoutMillis() > 0) {
+            p.addLast(new IdleStateHandler(soConfig.readTimeoutMillis(), 0, soConfig.idleTimeoutMillis(),
+                                           TimeUnit.MILLISECONDS));
+        }
+
+        // consolidate flushes of responses written from other threads or while reading pipelined requests
+        if (soConfig.flushConsolidation() > 0) {
+            p.addLast(new FlushConsolidationHandler(soConfig.flushConsolidation(), true));
+        }
+
         SSLEngine sslEngine = null;
         if (sslContext != null) {
             SslHandler sslHandler = sslContext.newHandler(ch.alloc());
@@ -97,46 +177,195 @@ class HttpInitializer extends ChannelInitializer<SocketChannel> {
 
         // Set up HTTP/2 pipeline if feature is enabled
         ServerConfiguration serverConfig = webServer.configuration();
-        HttpRequestDecoder requestDecoder = new HttpRequestDecoder(soConfig.maxInitialLineLength(),
-                                                                   soConfig.maxHeaderSize(),
-                                                                   soConfig.maxChunkSize(),
-                                                                   soConfig.validateHeaders(),
-                                                                   soConfig.initialBufferSize());
         if (serverConfig.isHttp2Enabled()) {
-            ExperimentalConfiguration experimental = serverConfig.experimental();
-            Http2Configuration http2Config = experimental.http2();
-            HttpServerCodec sourceCodec = new HttpServerCodec();
-            HelidonConnectionHandler helidonHandler = new HelidonHttp2ConnectionHandlerBuilder()
-                    .maxContentLength(http2Config.maxContentLength()).build();
-            HttpServerUpgradeHandler upgradeHandler = new HttpServerUpgradeHandler(sourceCodec,
-                    protocol -> AsciiString.contentEquals(Http2CodecUtil.HTTP_UPGRADE_PROTOCOL_NAME, protocol)
-                            ? new Http2ServerUpgradeCodec(helidonHandler) : null,
-                    http2Config.maxContentLength());
-
-            CleartextHttp2ServerUpgradeHandler cleartextHttp2ServerUpgradeHandler =
-                    new CleartextHttp2ServerUpgradeHandler(sourceCodec, upgradeHandler, helidonHandler);
-
-            p.addLast(cleartextHttp2ServerUpgradeHandler);
-            p.addLast(new HelidonEventLogger());
+            p.addLast(new Http2ConnectionEventHandler());
+            if (sslContext == null) {
+                addHttp2UpgradeHandlers(p);
+            } else {
+                // HTTP/2 over TLS is negotiated using ALPN
+                SSLEngine engine = sslEngine;
+                p.addLast(new ApplicationProtocolNegotiationHandler(ApplicationProtocolNames.HTTP_1_1) {
+                    @Override
+                    protected void configurePipeline(ChannelHandlerContext ctx, String protocol) {
+                        if (ApplicationProtocolNames.HTTP_2.equals(protocol)) {
+                            addHttp2Handlers(ctx.pipeline(), engine);
+                        } else {
+                            addHttp1Handlers(ctx.pipeline(), engine);
+                        }
+                    }
+                });
+            }
         } else {
-            p.addLast(requestDecoder);
-            // Uncomment the following line if you don't want to handle HttpChunks.
-            //        p.addLast(new HttpObjectAggregator(1048576));
-            p.addLast(new HttpResponseEncoder());
-
-            // Enable compression via "Accept-Encoding" header if configured
-            if (serverConfig.enableCompression()) {
-                LOGGER.fine("HTTP compression negotiation enabled (gzip, deflate)");
-                p.addLast(new HttpContentCompressor());
+            addHttp1Handlers(p, sslEngine);
+        }
+
+        // Cleanup queues as part of event loop
+        ch.eventLoop().execute(this::clearQueues);
+    }
+
+    /**
+     * Counts the connection against {@link SocketConfiguration#maxConnections()}.
+     *
+     * @param ch new connection
+     * @return {@code false} if the connection was closed as it is over the limit
+     */
+    private boolean admit(SocketChannel ch) {
+        int maxConnections = soConfig.maxConnections();
+        int count = connectionCount.incrementAndGet();
+        ch.closeFuture().addListener(future -> connectionClosed());
+        if (maxConnections <= 0) {
+            connections.add(ch);
+            return true;
+        }
+        if (soConfig.connectionOverflowPolicy() == ConnectionOverflowPolicy.CLOSE) {
+            if (count > maxConnections) {
+                LOGGER.finer(() -> "Closing connection " + ch + ", maximum of " + maxConnections + " connections reached");
+                ch.close();
+                return false;
             }
+        } else if (count >= maxConnections) {
+            // all the acceptors stop accepting, pending connections wait in the backlog
+            acceptorBound(ch.parent());
+            pauseAcceptors();
+            // a connection may have been closed in the meantime
+            if (connectionCount.get() < maxConnections) {
+                resumeAcceptors();
+            }
+        }
+        connections.add(ch);
+        return true;
+    }
+
+    private void connectionClosed() {
+        if (connectionCount.decrementAndGet() < soConfig.maxConnections()) {
+            resumeAcceptors();
+        }
+    }
+
+    /**
+     * Registers a server channel accepting the connections of this socket, there is one per acceptor.
+     *
+     * @param acceptor server channel
+     */
+    synchronized void acceptorBound(Channel acceptor) {
+        if (acceptors.add(acceptor)) {
+            acceptor.closeFuture().addListener(future -> acceptors.remove(acceptor));
+            if (acceptorsPaused) {
+                acceptor.config().setAutoRead(false);
+            }
+        }
+    }
+
+    synchronized void pauseAcceptors() {
+        if (!acceptorsPaused) {
+            acceptorsPaused = true;
+            acceptors.forEach(acceptor -> acceptor.config().setAutoRead(false));
+        }
+    }
+
+    synchronized void resumeAcceptors() {
+        if (acceptorsPaused) {
+            acceptorsPaused = false;
+            acceptors.forEach(acceptor -> acceptor.config().setAutoRead(true));
+        }
+    }
+
+    private void addHttp1Handlers(ChannelPipeline p, SSLEngine sslEngine) {
+        HttpRequestDecoder requestDecoder = requestDecoder();
+        p.addLast(requestDecoder);
+        // Uncomment the following line if you don't want to handle HttpChunks.
+        //        p.addLast(new HttpObjectAggregator(1048576));
+        p.addLast(new HttpResponseEncoder());
+        if (sslContext != null || !BareResponseImpl.sendfileSupported(p.channel())) {
+            // file regions cannot be sent over TLS or by every transport using sendfile, these are written in chunks
+            p.addLast(new ChunkedWriteHandler());
+        }
+
+        // Enable compression via "Accept-Encoding" header if configured
+        if (soConfig.enableCompression()) {
+            LOGGER.fine(() -> "HTTP compression negotiation enabled " + soConfig.compression().encoders().keySet());
+            p.addLast(new ContentCompressor(soConfig.compression()));
         }
 
         // Helidon's forwarding handler
-        p.addLast(new ForwardingHandler(routing, webServer, sslEngine, queues,
-                                        requestDecoder, soConfig.maxPayloadSize()));
+        p.addLast(new ForwardingHandler(routing, webServer, sslEngine, queues, requestDecoder, soConfig,
+                                        concurrencyLimiter));
+    }
 
-        // Cleanup queues as part of event loop
-        ch.eventLoop().execute(this::clearQueues);
+    private void addHttp2UpgradeHandlers(ChannelPipeline p) {
+        Http2Configuration http2Config = webServer.configuration().experimental().http2();
+        HttpServerCodec sourceCodec = new HttpServerCodec(soConfig.maxInitialLineLength(),
+                                                          soConfig.maxHeaderSize(),
+                                                          soConfig.maxChunkSize(),
+                                                          soConfig.validateHeaders(),
+                                                          soConfig.initialBufferSize());
+        HttpServerUpgradeHandler upgradeHandler = new HttpServerUpgradeHandler(sourceCodec,
+                protocol -> AsciiString.contentEquals(Http2CodecUtil.HTTP_UPGRADE_PROTOCOL_NAME, protocol)
+                        ? new Http2ServerUpgradeCodec(http2FrameCodec(), http2MultiplexHandler(null)) : null,
+                http2Config.maxContentLength());
+
+        // connections starting with the HTTP/2 connection preface do not upgrade, the HTTP/2 handlers
+        // take the place of the upgrade handler, ahead of the forwarding handler of HTTP/1.1 requests
+        CleartextHttp2ServerUpgradeHandler cleartextHttp2ServerUpgradeHandler =
+                new CleartextHttp2ServerUpgradeHandler(sourceCodec, upgradeHandler, new ChannelHandlerAdapter() {
+                    @Override
+                    public void handlerAdded(ChannelHandlerContext ctx) {
+                        Http2FrameCodec codec = http2FrameCodec();
+                        ctx.pipeline().replace(this, null, codec);
+                        ctx.pipeline().addAfter(ctx.pipeline().context(codec).name(), null, http2MultiplexHandler(null));
+                    }
+                });
+
+        p.addLast(cleartextHttp2ServerUpgradeHandler);
+        p.addLast(new HelidonEventLogger());
+
+        // Helidon's forwarding handler of HTTP/1.1 requests that are not upgraded
+        p.addLast(new ForwardingHandler(routing, webServer, null, queues, requestDecoder(), soConfig,
+                                        concurrencyLimiter));
+    }
+
+    private void addHttp2Handlers(ChannelPipeline p, SSLEngine sslEngine) {
+        p.addLast(http2FrameCodec());
+        p.addLast(http2MultiplexHandler(sslEngine));
+    }
+
+    private Http2FrameCodec http2FrameCodec() {
+        return Http2FrameCodecBuilder.forServer()
+                .frameLogger(FRAME_LOGGER)
+                .validateHeaders(soConfig.validateHeaders())
+                .build();
+    }
+
+    /**
+     * Each HTTP/2 stream is handled in its own child channel, with request and response bodies converted
+     * to and from {@code DATA} frames as they are read and written. Reads of a stream are controlled
+     * by its {@link ForwardingHandler}, the flow-control window of the stream is only updated when its
+     * frames are read, so a slow subscriber to the request content stops the client from sending more data.
+     *
+     * @param sslEngine the SSL engine of the connection, {@code null} if not TLS
+     * @return a new multiplex handler
+     */
+    private Http2MultiplexHandler http2MultiplexHandler(SSLEngine sslEngine) {
+        return new Http2MultiplexHandler(new ChannelInitializer<>() {
+            @Override
+            protected void initChannel(Channel ch) {
+                ChannelPipeline p = ch.pipeline();
+                p.addLast(new Http2StreamFrameToHttpObjectCodec(true, soConfig.validateHeaders()));
+                if (soConfig.enableCompression()) {
+                    p.addLast(new ContentCompressor(soConfig.compression()));
+                }
+                p.addLast(new ForwardingHandler(routing, webServer, sslEngine, queues, null, soConfig,
+                                                concurrencyLimiter));
+            }
+        });
+    }
+
+    private HttpRequestDecoder requestDecoder() {
+        return new HttpRequestDecoder(soConfig.maxInitialLineLength(),
+                                      soConfig.maxHeaderSize(),
+                                      soConfig.maxChunkSize(),
+                                      soConfig.validateHeaders(),
+                                      soConfig.initialBufferSize());
     }
 
     private void obtainClientCN(Future<? super Channel> future, SocketChannel ch, SslHandler sslHandler) {
@@ -166,6 +395,32 @@ class HttpInitializer extends ChannelInitializer<SocketChannel> {
         }
     }
 
+    /**
+     * Handles idle and drain events of HTTP/2 connections, events of HTTP/1 connections are passed
+     * to the {@link ForwardingHandler}.
+     */
+    private static final class Http2ConnectionEventHandler extends ChannelInboundHandlerAdapter {
+        @Override
+        public void userEventTriggered(ChannelHandlerContext ctx, Object evt) {
+            Http2FrameCodec codec = ctx.pipeline().get(Http2FrameCodec.class);
+            if (codec == null) {
+                ctx.fireUserEventTriggered(evt);
+                return;
+            }
+            if (evt == ConnectionEvent.DRAIN) {
+                // closing through the whole pipeline sends GOAWAY and waits for the active streams
+                ctx.channel().close();
+            } else if (evt instanceof IdleStateEvent) {
+                if (((IdleStateEvent) evt).state() == IdleState.ALL_IDLE && codec.connection().numActiveStreams() == 0) {
+                    LOGGER.finer(() -> "Closing idle HTTP/2 connection " + ctx.channel());
+                    ctx.channel().close();
+                }
+            } else {
+                ctx.fireUserEventTriggered(evt);
+            }
+        }
+    }
+
     private static final class HelidonEventLogger extends ChannelInboundHandlerAdapter {
         @Override
         public void userEventTriggered(ChannelHandlerContext ctx, Object evt) {
@@ -15,7 +15,11 @@
  */
 package io.helidon.webserver;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 import io.helidon.common.http.DataChunk;
@@ -29,6 +33,11 @@ import io.netty.channel.ChannelHandlerContext;
  * This publisher is always associated with a single http request. Additionally,
  * it is associated with the connection context handler and it maintains a fine
  * control of the associated context handler to perform Netty push-backing.
+ * <p>
+ * Content received and not yet requested by the subscriber is buffered. Reading from the
+ * connection is suspended when the buffered content exceeds
+ * {@link SocketConfiguration#requestBufferHighWatermark()} and resumed once it drops to
+ * {@link SocketConfiguration#requestBufferLowWatermark()}.
  */
 class HttpRequestScopedPublisher extends BufferedEmittingPublisher<DataChunk> {
 
@@ -36,12 +45,26 @@ class HttpRequestScopedPublisher extends BufferedEmittingPublisher<DataChunk> {
 
     private final ReentrantReadWriteLock.WriteLock lock = new ReentrantReadWriteLock().writeLock();
     private final ReferenceHoldingQueue<DataChunk> referenceQueue;
+    private final ChannelHandlerContext ctx;
+    private final long highWatermark;
+    private final long lowWatermark;
+    private final LongAdder serverBufferedBytes;
+    private final AtomicLong bufferedBytes = new AtomicLong();
+    private final AtomicBoolean suspended = new AtomicBoolean();
 
-    HttpRequestScopedPublisher(ChannelHandlerContext ctx, ReferenceHoldingQueue<DataChunk> referenceQueue) {
+    HttpRequestScopedPublisher(ChannelHandlerContext ctx,
+                               ReferenceHoldingQueue<DataChunk> referenceQueue,
+                               SocketConfiguration soConfig,
+                               LongAdder serverBufferedBytes) {
         super();
+        this.ctx = ctx;
         this.referenceQueue = referenceQueue;
+        this.highWatermark = soConfig.requestBufferHighWatermark();
+        this.lowWatermark = soConfig.requestBufferLowWatermark();
+        this.serverBufferedBytes = serverBufferedBytes;
+        super.onEmit(chunk -> buffered(-((ByteBufRequestChunk) chunk).length()));
         super.onRequest((n, demand) -> {
-            if (super.isUnbounded()) {
+            if (super.isUnbounded() && !suspended.get()) {
                 LOGGER.finest("Netty autoread: true");
                 ctx.channel().config().setAutoRead(true);
             } else {
@@ -52,7 +75,7 @@ class HttpRequestScopedPublisher extends BufferedEmittingPublisher<DataChunk> {
             try {
                 lock.lock();
 
-                if (super.hasRequests()) {
+                if (requiresRead()) {
                     LOGGER.finest("Requesting next chunks from Netty.");
                     ctx.channel().read();
                 } else {
@@ -66,12 +89,48 @@ class HttpRequestScopedPublisher extends BufferedEmittingPublisher<DataChunk> {
 
     public int emit(ByteBuf data) {
         try {
-            return super.emit(new ByteBufRequestChunk(data, referenceQueue));
+            ByteBufRequestChunk chunk = new ByteBufRequestChunk(data, referenceQueue);
+            // counted before emitting, the chunk may be sent to the subscriber right away
+            buffered(chunk.length());
+            try {
+                return super.emit(chunk);
+            } catch (IllegalStateException e) {
+                buffered(-chunk.length());
+                throw e;
+            }
         } finally {
             referenceQueue.release();
         }
     }
 
+    /**
+     * Whether more content should be read from the connection, i.e. there is demand of the subscriber
+     * and reading is not suspended by the buffered content.
+     *
+     * @return {@code true} if the next read should be requested
+     */
+    boolean requiresRead() {
+        return !suspended.get() && super.hasRequests();
+    }
+
+    private void buffered(long bytes) {
+        long buffered = bufferedBytes.addAndGet(bytes);
+        serverBufferedBytes.add(bytes);
+        if (bytes > 0) {
+            if (buffered > highWatermark && suspended.compareAndSet(false, true)) {
+                LOGGER.finest(() -> "Buffered " + buffered + " bytes, suspending reads");
+                ctx.channel().config().setAutoRead(false);
+            }
+        } else if (buffered <= lowWatermark && suspended.compareAndSet(true, false)) {
+            LOGGER.finest(() -> "Buffered " + buffered + " bytes, resuming reads");
+            if (super.isUnbounded()) {
+                ctx.channel().config().setAutoRead(true);
+            } else if (super.hasRequests()) {
+                ctx.channel().read();
+            }
+        }
+    }
+
     /**
      * Clear and release any {@link io.helidon.common.http.DataChunk DataChunk} hanging in
      * the buffer. Try self subscribe in case no one subscribed and unreleased {@link io.netty.buffer.ByteBuf ByteBufs}
@@ -82,7 +141,15 @@ class HttpRequestScopedPublisher extends BufferedEmittingPublisher<DataChunk> {
                 // release any chunks coming if subscription succeed
                 .forEach(DataChunk::release)
                 // in any case clear the buffer and release its content
-                .onTerminate(() -> super.clearBuffer(DataChunk::release));
+                .onTerminate(() -> clearBuffer(DataChunk::release));
+    }
+
+    @Override
+    public void clearBuffer(Consumer<DataChunk> consumer) {
+        super.clearBuffer(chunk -> {
+            buffered(-((ByteBufRequestChunk) chunk).length());
+            consumer.accept(chunk);
+        });
     }
 
     @Override
@@ -23,6 +23,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -31,6 +32,8 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -38,6 +41,7 @@ import io.helidon.common.HelidonFeatures;
 import io.helidon.common.HelidonFlavor;
 import io.helidon.common.Version;
 import io.helidon.common.context.Context;
+import io.helidon.common.netty.NettyTransport;
 import io.helidon.common.reactive.Single;
 import io.helidon.media.common.MessageBodyReaderContext;
 import io.helidon.media.common.MessageBodyWriterContext;
@@ -47,8 +51,6 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.ssl.ApplicationProtocolConfig;
@@ -67,7 +69,10 @@ class NettyWebServer implements WebServer {
     private static final Logger LOGGER = Logger.getLogger(NettyWebServer.class.getName());
     private static final String EXIT_ON_STARTED_KEY = "exit.on.started";
     private static final boolean EXIT_ON_STARTED = "!".equals(System.getProperty(EXIT_ON_STARTED_KEY));
+    // names the channels of additional acceptors of a socket, such as "@default#1"
+    private static final String ACCEPTOR_SEPARATOR = "#";
 
+    private final NettyTransport transport;
     private final EventLoopGroup bossGroup;
     private final EventLoopGroup workerGroup;
     private final Map<String, ServerBootstrap> bootstraps = new HashMap<>();
@@ -82,6 +87,11 @@ class NettyWebServer implements WebServer {
     private final List<HttpInitializer> initializers = new LinkedList<>();
     private final MessageBodyWriterContext writerContext;
     private final MessageBodyReaderContext readerContext;
+    private final LongAdder bufferedRequestBytes = new LongAdder();
+    private final Map<String, ConcurrencyLimiter> concurrencyLimiters = new HashMap<>();
+    private final Map<String, HttpInitializer> socketInitializers = new HashMap<>();
+    private final ServerStatistics statistics;
+    private final Map<String, Integer> acceptorCounts = new HashMap<>();
 
     private volatile boolean started;
     private final AtomicBoolean shutdownThreadGroupsInitiated = new AtomicBoolean(false);
@@ -105,8 +115,18 @@ class NettyWebServer implements WebServer {
         HelidonFeatures.print(HelidonFlavor.SE,
                               Version.VERSION,
                               config.printFeatureDetails());
-        this.bossGroup = new NioEventLoopGroup(sockets.size());
-        this.workerGroup = config.workersCount() <= 0 ? new NioEventLoopGroup() : new NioEventLoopGroup(config.workersCount());
+        this.transport = NettyTransport.create(config.transport().name());
+        LOGGER.fine(() -> "Using transport " + transport);
+        int acceptors = 0;
+        for (Map.Entry<String, SocketConfiguration> entry : sockets) {
+            if (entry.getValue().enabled()) {
+                int socketAcceptors = acceptors(transport, entry.getValue());
+                acceptorCounts.put(entry.getKey(), socketAcceptors);
+                acceptors += socketAcceptors;
+            }
+        }
+        this.bossGroup = transport.createGroup(Math.max(acceptors, 1));
+        this.workerGroup = transport.createGroup(config.workersCount());
         this.contextualRegistry = config.context();
         this.configuration = config;
         this.readerContext = MessageBodyReaderContext.create(readerContext);
@@ -162,18 +182,63 @@ class NettyWebServer implements WebServer {
                 bootstrap.option(ChannelOption.SO_RCVBUF, soConfig.receiveBufferSize());
             }
 
+            configureTransport(bootstrap, soConfig);
+
+            ConcurrencyLimiter concurrencyLimiter = null;
+            if (soConfig.concurrencyLimit() > 0) {
+                concurrencyLimiter = new ConcurrencyLimiter(soConfig);
+                concurrencyLimiters.put(name, concurrencyLimiter);
+            }
+
             HttpInitializer childHandler = new HttpInitializer(soConfig,
                                                                sslContext,
                                                                namedRoutings.getOrDefault(name, routing),
-                                                               this);
+                                                               this,
+                                                               concurrencyLimiter);
             initializers.add(childHandler);
+            socketInitializers.put(name, childHandler);
             bootstrap.group(bossGroup, workerGroup)
-                     .channel(NioServerSocketChannel.class)
+                     .channel(transport.serverChannelType())
                      .handler(new LoggingHandler(NettyLog.class, LogLevel.DEBUG))
                      .childHandler(childHandler);
 
             bootstraps.put(name, bootstrap);
         }
+        this.statistics = new ServerStatistics(workerGroup, socketInitializers);
+    }
+
+    /**
+     * Number of server channels to bind for a socket.
+     * Multiple acceptors bind the same port with {@code SO_REUSEPORT}, which needs a native transport.
+     *
+     * @param transport transport of the server
+     * @param soConfig socket configuration
+     * @return number of acceptors, at least one
+     */
+    static int acceptors(NettyTransport transport, SocketConfiguration soConfig) {
+        int acceptors = Math.max(soConfig.acceptors(), 1);
+        if (acceptors > 1 && !transport.isNative()) {
+            LOGGER.warning("Socket '" + soConfig.name() + "' requests " + acceptors + " acceptors, "
+                                   + "which are only supported with a native transport, using a single acceptor.");
+            return 1;
+        }
+        return acceptors;
+    }
+
+    private void configureTransport(ServerBootstrap bootstrap, SocketConfiguration soConfig) {
+        if (!transport.isNative()) {
+            if (soConfig.reusePort() || soConfig.tcpFastOpen() > 0) {
+                LOGGER.warning("Socket '" + soConfig.name() + "' requests SO_REUSEPORT or TCP_FASTOPEN, "
+                                       + "which are only supported with a native transport.");
+            }
+            return;
+        }
+        if (soConfig.reusePort() || soConfig.acceptors() > 1) {
+            transport.<Boolean>option("SO_REUSEPORT").ifPresent(option -> bootstrap.option(option, true));
+        }
+        if (soConfig.tcpFastOpen() > 0) {
+            transport.<Integer>option("TCP_FASTOPEN").ifPresent(option -> bootstrap.option(option, soConfig.tcpFastOpen()));
+        }
     }
 
     @Override
@@ -215,6 +280,7 @@ class NettyWebServer implements WebServer {
 
             Set<Map.Entry<String, ServerBootstrap>> bootstrapEntries = bootstraps.entrySet();
             int bootstrapsSize = bootstrapEntries.size();
+            int channelsSize = acceptorCounts.values().stream().mapToInt(Integer::intValue).sum();
             for (Map.Entry<String, ServerBootstrap> entry : bootstrapEntries) {
                 ServerBootstrap bootstrap = entry.getValue();
                 String name = entry.getKey();
@@ -229,59 +295,17 @@ class NettyWebServer implements WebServer {
                     break;
                 }
 
+                int acceptors = acceptorCounts.get(name);
                 try {
-                    bootstrap.bind(configuration.bindAddress(), port).addListener(channelFuture -> {
-                        if (!channelFuture.isSuccess()) {
-                            LOGGER.info(() -> "Channel '" + name + "' startup failed with message '"
-                                    + channelFuture.cause().getMessage() + "'.");
-                            Throwable cause = channelFuture.cause();
-
-                            String message = "Channel startup failed: " + name;
-                            if (cause instanceof BindException) {
-                                message = message + ", failed to listen on " + configuration.bindAddress() + ":" + port;
+                    bind(bootstrap, name, name, port, channelsSize, boundPort -> {
+                        // additional acceptors bind the same port, the kernel balances connections with SO_REUSEPORT
+                        for (int i = 1; i < acceptors; i++) {
+                            try {
+                                bind(bootstrap, name, name + ACCEPTOR_SEPARATOR + i, boundPort, channelsSize, it -> { });
+                            } catch (RejectedExecutionException e) {
+                                channelsUpFuture.completeExceptionally(e);
+                                break;
                             }
-
-                            channelsUpFuture.completeExceptionally(new IllegalStateException(message,
-                                                                                             channelFuture.cause()));
-
-                            return;
-                        }
-
-                        Channel channel = ((ChannelFuture) channelFuture).channel();
-                        LOGGER.info(() -> "Channel '" + name + "' started: " + channel);
-                        channels.put(name, channel);
-
-                        channel.closeFuture().addListener(future -> {
-                            LOGGER.info(() -> "Channel '" + name + "' closed: " + channel);
-                            channels.remove(name);
-                            if (channelsUpFuture.isCompletedExceptionally()) {
-                                // we're in a startup failure handler
-                                if (channels.isEmpty()) {
-                                    channelsUpFuture.exceptionally(this::startFailureHandler);
-                                    // all the channels are down
-                                } else if (future.cause() != null) {
-                                    LOGGER.log(Level.WARNING,
-                                               "Startup failure channel close failure",
-                                               new IllegalStateException(future.cause()));
-                                }
-                            } else {
-                                if (!future.isSuccess()) {
-                                    channelsCloseFuture.completeExceptionally(new IllegalStateException("Channel stop failure.",
-                                                                                                        future.cause()));
-                                } else if (channels.isEmpty()) {
-                                    channelsCloseFuture.complete(this);
-                                }
-                                // else we're waiting for the rest of the channels to start, successful branch
-                            }
-                        });
-
-                        if (channelsUpFuture.isCompletedExceptionally()) {
-                            channel.close();
-                        }
-
-                        if (channels.size() >= bootstrapsSize) {
-                            LOGGER.finer(() -> "All channels started: " + channels.size());
-                            channelsUpFuture.complete(this);
                         }
                     });
                 } catch (RejectedExecutionException e) {
@@ -300,6 +324,72 @@ class NettyWebServer implements WebServer {
         return Single.create(startFuture);
     }
 
+    private void bind(ServerBootstrap bootstrap,
+                      String name,
+                      String channelName,
+                      int port,
+                      int channelsSize,
+                      IntConsumer boundListener) {
+        bootstrap.bind(configuration.bindAddress(), port).addListener(channelFuture -> {
+            if (!channelFuture.isSuccess()) {
+                LOGGER.info(() -> "Channel '" + channelName + "' startup failed with message '"
+                        + channelFuture.cause().getMessage() + "'.");
+                Throwable cause = channelFuture.cause();
+
+                String message = "Channel startup failed: " + name;
+                if (cause instanceof BindException) {
+                    message = message + ", failed to listen on " + configuration.bindAddress() + ":" + port;
+                }
+
+                channelsUpFuture.completeExceptionally(new IllegalStateException(message,
+                                                                                 channelFuture.cause()));
+
+                return;
+            }
+
+            Channel channel = ((ChannelFuture) channelFuture).channel();
+            LOGGER.info(() -> "Channel '" + channelName + "' started: " + channel);
+            channels.put(channelName, channel);
+            socketInitializers.get(name).acceptorBound(channel);
+
+            channel.closeFuture().addListener(future -> {
+                LOGGER.info(() -> "Channel '" + channelName + "' closed: " + channel);
+                channels.remove(channelName);
+                if (channelsUpFuture.isCompletedExceptionally()) {
+                    // we're in a startup failure handler
+                    if (channels.isEmpty()) {
+                        channelsUpFuture.exceptionally(this::startFailureHandler);
+                        // all the channels are down
+                    } else if (future.cause() != null) {
+                        LOGGER.log(Level.WARNING,
+                                   "Startup failure channel close failure",
+                                   new IllegalStateException(future.cause()));
+                    }
+                } else {
+                    if (!future.isSuccess()) {
+                        channelsCloseFuture.completeExceptionally(new IllegalStateException("Channel stop failure.",
+                                                                                            future.cause()));
+                    } else if (channels.isEmpty()) {
+                        channelsCloseFuture.complete(this);
+                    }
+                    // else we're waiting for the rest of the channels to start, successful branch
+                }
+            });
+
+            if (channelsUpFuture.isCompletedExceptionally()) {
+                channel.close();
+                return;
+            }
+
+            boundListener.accept(((InetSocketAddress) channel.localAddress()).getPort());
+
+            if (channels.size() >= channelsSize) {
+                LOGGER.finer(() -> "All channels started: " + channels.size());
+                channelsUpFuture.complete(this);
+            }
+        });
+    }
+
     private void started(WebServer server) {
         if (EXIT_ON_STARTED) {
             LOGGER.info(String.format("Exiting, -D%s set.", EXIT_ON_STARTED_KEY));
@@ -323,7 +413,8 @@ class NettyWebServer implements WebServer {
     }
 
     private void shutdown(Throwable cause) {
-        shutdownThreadGroups()
+        drain()
+                .thenCompose(it -> shutdownThreadGroups())
                 .whenComplete((webServer, throwable) -> {
                     if (cause == null && throwable == null) {
                         shutdownFuture.complete(this);
@@ -340,6 +431,29 @@ class NettyWebServer implements WebServer {
                 });
     }
 
+    /**
+     * Waits for the exchanges in progress to finish, at most for {@link ServerConfiguration#drainTimeoutMillis()}.
+     * The server channels are already closed, so no new connections are accepted.
+     *
+     * @return completion stage completed once all the connections are closed or the timeout elapsed
+     */
+    private CompletionStage<Void> drain() {
+        long drainTimeout = configuration.drainTimeoutMillis();
+        if (drainTimeout <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        LOGGER.fine(() -> "Draining connections, timeout " + drainTimeout + " ms");
+        CompletableFuture<?>[] drained = initializers.stream()
+                .map(HttpInitializer::drain)
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(drained)
+                .orTimeout(drainTimeout, TimeUnit.MILLISECONDS)
+                .exceptionally(throwable -> {
+                    LOGGER.info(() -> "Connections not drained in " + drainTimeout + " ms, closing them");
+                    return null;
+                });
+    }
+
     private CompletionStage<WebServer> shutdownThreadGroups() {
         if (shutdownThreadGroupsInitiated.getAndSet(true)) {
             return threadGroupsShutdownFuture;
@@ -414,6 +528,30 @@ class NettyWebServer implements WebServer {
         return address instanceof InetSocketAddress ? ((InetSocketAddress) address).getPort() : -1;
     }
 
+    @Override
+    public long bufferedRequestBytes() {
+        return bufferedRequestBytes.sum();
+    }
+
+    @Override
+    public Optional<ConcurrencyLimiter> concurrencyLimiter(String socketName) {
+        return Optional.ofNullable(concurrencyLimiters.get(socketName));
+    }
+
+    @Override
+    public Optional<ServerStatistics> statistics() {
+        return Optional.of(statistics);
+    }
+
+    /**
+     * Counter of request content bytes buffered by all connections of this server.
+     *
+     * @return buffered bytes counter
+     */
+    LongAdder bufferedRequestBytesCounter() {
+        return bufferedRequestBytes;
+    }
+
     // this class is only used to create a log handler in NettyLogHandler, to distinguish from webclient
     private static final class NettyLog {
     }
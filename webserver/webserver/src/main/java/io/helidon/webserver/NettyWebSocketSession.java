@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.util.concurrent.Flow;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.reactive.BufferedEmittingPublisher;
+import io.helidon.common.reactive.Multi;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.TooLongFrameException;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.EmptyHttpHeaders;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.CloseWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.PingWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.PongWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrameAggregator;
+import io.netty.handler.codec.http.websocketx.WebSocketServerProtocolHandler;
+import io.netty.handler.codec.http.websocketx.extensions.compression.WebSocketServerCompressionHandler;
+import io.netty.handler.stream.ChunkedWriteHandler;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.ReferenceCountUtil;
+
+/**
+ * Last handler of the pipeline of a connection upgraded by {@link WebSocketSupport}, bridging the WebSocket frames
+ * to the {@link WebSocketEndpoint}.
+ * <p>
+ * The frames are read only while the subscriber of {@link #inbound()} has outstanding demand, the next outbound message
+ * is requested once the previous one is written.
+ */
+class NettyWebSocketSession extends ChannelInboundHandlerAdapter implements WebSocketSession {
+
+    private static final Logger LOGGER = Logger.getLogger(NettyWebSocketSession.class.getName());
+
+    private static final int NORMAL_CLOSURE = 1000;
+    private static final int MESSAGE_TOO_BIG = 1009;
+    private static final int INTERNAL_ERROR = 1011;
+
+    private final WebSocketSupport webSocket;
+    private final BufferedEmittingPublisher<WebSocketMessage> inbound = BufferedEmittingPublisher.create();
+    private final Runnable onHandshake;
+    private ServerRequest upgradeRequest;
+    private volatile ChannelHandlerContext ctx;
+    private volatile Flow.Subscription outbound;
+
+    private NettyWebSocketSession(WebSocketSupport webSocket, ServerRequest upgradeRequest, Runnable onHandshake) {
+        this.webSocket = webSocket;
+        this.upgradeRequest = upgradeRequest;
+        this.onHandshake = onHandshake;
+    }
+
+    /**
+     * Replaces the HTTP handler of the pipeline with the WebSocket handlers and performs the handshake.
+     * Must be invoked on the event loop of the connection, after the request was read.
+     *
+     * @param ctx context of the HTTP handler
+     * @param request the upgrade request
+     * @param webSocket the WebSocket support serving the connection
+     * @param upgradeRequest the upgrade request passed to the endpoint
+     * @param onHandshake invoked once the handshake response is written
+     */
+    static void upgrade(ChannelHandlerContext ctx,
+                        HttpRequest request,
+                        WebSocketSupport webSocket,
+                        ServerRequest upgradeRequest,
+                        Runnable onHandshake) {
+        if (ctx.isRemoved() || !ctx.channel().isActive()) {
+            return;
+        }
+        ChannelPipeline p = ctx.pipeline();
+        String name = ctx.name();
+
+        String uri = request.uri();
+        int query = uri.indexOf('?');
+        String path = (query < 0) ? uri : uri.substring(0, query);
+
+        // entry point to pass the request to the handlers added after it
+        p.addBefore(name, "webSocketUpgrade", new ChannelInboundHandlerAdapter());
+        if (webSocket.compression()) {
+            // the extension handler must see the handshake request and response
+            p.addBefore(name, "webSocketCompression", new WebSocketServerCompressionHandler());
+        }
+        p.addBefore(name, "webSocketProtocol", new WebSocketServerProtocolHandler(path, null, webSocket.compression(),
+                                                                                  webSocket.maxFramePayloadLength(),
+                                                                                  false, true));
+        // a message is always received whole, continuation frames are not passed to the endpoint
+        p.addBefore(name, "webSocketAggregator", new WebSocketFrameAggregator(webSocket.maxMessageLength()));
+        p.replace(name, "webSocketSession", new NettyWebSocketSession(webSocket, upgradeRequest, onHandshake));
+
+        // the request was already decoded, pass it to the handshake handler once more as a full request
+        DefaultFullHttpRequest fullRequest = new DefaultFullHttpRequest(request.protocolVersion(),
+                                                                        request.method(),
+                                                                        request.uri(),
+                                                                        Unpooled.EMPTY_BUFFER,
+                                                                        request.headers(),
+                                                                        EmptyHttpHeaders.INSTANCE);
+        ChannelHandlerContext entry = p.context("webSocketUpgrade");
+        entry.fireChannelRead(fullRequest);
+        p.remove(entry.handler());
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+        inbound.onRequest((n, demand) -> ctx.executor().execute(this::read));
+    }
+
+    @Override
+    public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+        if (evt instanceof WebSocketServerProtocolHandler.HandshakeComplete) {
+            open(ctx);
+        }
+        super.userEventTriggered(ctx, evt);
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (!(msg instanceof WebSocketFrame)
+                || msg instanceof CloseWebSocketFrame
+                || msg instanceof PingWebSocketFrame
+                || msg instanceof PongWebSocketFrame
+                || inbound.isCancelled()
+                || inbound.isCompleted()) {
+            // control frames are handled by the protocol handler, the rest of the upgrade request is ignored
+            ReferenceCountUtil.release(msg);
+            return;
+        }
+        ByteBuf content = ((WebSocketFrame) msg).content();
+        DataChunk data = DataChunk.create(false, content::release, content.nioBuffers());
+        inbound.emit((msg instanceof TextWebSocketFrame) ? WebSocketMessage.text(data) : WebSocketMessage.binary(data));
+    }
+
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) {
+        read();
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        if (!inbound.isCancelled() && !inbound.isCompleted()) {
+            inbound.complete();
+        }
+        inbound.clearBuffer(WebSocketMessage::release);
+        Flow.Subscription subscription = outbound;
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        if (cause instanceof TooLongFrameException) {
+            LOGGER.fine(() -> "Closing WebSocket, message too big: " + cause.getMessage());
+            close(MESSAGE_TOO_BIG, "Message too big");
+        } else {
+            LOGGER.log(Level.FINE, "Closing WebSocket after failure", cause);
+            if (!inbound.isCancelled() && !inbound.isCompleted()) {
+                inbound.fail(cause);
+            }
+            ctx.close();
+        }
+    }
+
+    @Override
+    public Multi<WebSocketMessage> inbound() {
+        return Multi.create(inbound);
+    }
+
+    @Override
+    public void close(int statusCode, String reason) {
+        ChannelHandlerContext ctx = this.ctx;
+        if (ctx.channel().isActive()) {
+            ctx.writeAndFlush(new CloseWebSocketFrame(statusCode, reason))
+                    .addListener(ChannelFutureListener.CLOSE);
+        }
+    }
+
+    private void open(ChannelHandlerContext ctx) {
+        ChannelPipeline p = ctx.pipeline();
+        // HTTP handlers not needed by an upgraded connection, per connection state and timers are dropped
+        removeIfPresent(p, IdleStateHandler.class);
+        removeIfPresent(p, ChunkedWriteHandler.class);
+        removeIfPresent(p, ContentCompressor.class);
+        ctx.channel().config().setAutoRead(false);
+        onHandshake.run();
+
+        ServerRequest request = upgradeRequest;
+        upgradeRequest = null;
+        Flow.Publisher<WebSocketMessage> messages;
+        try {
+            messages = webSocket.endpoint().onOpen(request, this);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "WebSocket endpoint failed to open", e);
+            close(INTERNAL_ERROR, "Internal error");
+            return;
+        }
+        messages.subscribe(new OutboundSubscriber());
+        read();
+    }
+
+    private void read() {
+        ChannelHandlerContext ctx = this.ctx;
+        if (inbound.hasRequests() && !ctx.channel().config().isAutoRead()) {
+            ctx.read();
+        }
+    }
+
+    private static void removeIfPresent(ChannelPipeline p, Class<? extends ChannelHandler> handlerType) {
+        if (p.get(handlerType) != null) {
+            p.remove(handlerType);
+        }
+    }
+
+    /**
+     * Writes the messages published by the endpoint, one at a time.
+     */
+    private final class OutboundSubscriber implements Flow.Subscriber<WebSocketMessage> {
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            outbound = subscription;
+            if (ctx.channel().isActive()) {
+                subscription.request(1);
+            } else {
+                subscription.cancel();
+            }
+        }
+
+        @Override
+        public void onNext(WebSocketMessage message) {
+            ByteBuf content = Unpooled.wrappedBuffer(message.data().data());
+            WebSocketFrame frame = message.isText()
+                    ? new TextWebSocketFrame(content)
+                    : new BinaryWebSocketFrame(content);
+            ctx.writeAndFlush(frame).addListener(future -> {
+                message.release();
+                if (future.isSuccess()) {
+                    outbound.request(1);
+                } else {
+                    outbound.cancel();
+                }
+            });
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            LOGGER.log(Level.FINE, "WebSocket endpoint publisher failed", throwable);
+            close(INTERNAL_ERROR, "Internal error");
+        }
+
+        @Override
+        public void onComplete() {
+            close(NORMAL_CLOSURE, null);
+        }
+    }
+}
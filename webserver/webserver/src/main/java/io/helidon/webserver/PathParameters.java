@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable path parameters stored as offsets into the matched path.
+ * <p>
+ * A value is created from the path only when it is requested (e.g. by {@link ServerRequest.Path#param(String)}),
+ * so matching a route does not allocate strings for parameters which are never read.
+ */
+final class PathParameters extends AbstractMap<String, String> {
+    private final String path;
+    private final String[] names;
+    private final int[] offsets;
+    private final String[] values;
+    private final int size;
+
+    /**
+     * Create new parameters.
+     *
+     * @param path    the matched path
+     * @param names   parameter names, must be unique
+     * @param offsets start and end offset into the path for each name (in pairs), a negative start means
+     *                the parameter is not present
+     */
+    PathParameters(String path, String[] names, int[] offsets) {
+        this.path = path;
+        this.names = names;
+        this.offsets = offsets;
+        this.values = new String[names.length];
+        int count = 0;
+        for (int i = 0; i < names.length; i++) {
+            if (offsets[i * 2] >= 0) {
+                count++;
+            }
+        }
+        this.size = count;
+    }
+
+    @Override
+    public String get(Object key) {
+        int index = indexOf(key);
+        return index < 0 ? null : value(index);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+                return new Iterator<>() {
+                    private int next = advance(0);
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < names.length;
+                    }
+
+                    @Override
+                    public Entry<String, String> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        int current = next;
+                        next = advance(current + 1);
+                        return new SimpleImmutableEntry<>(names[current], value(current));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int advance(int from) {
+        int index = from;
+        while (index < names.length && offsets[index * 2] < 0) {
+            index++;
+        }
+        return index;
+    }
+
+    private int indexOf(Object key) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(key)) {
+                return offsets[i * 2] < 0 ? -1 : i;
+            }
+        }
+        return -1;
+    }
+
+    private String value(int index) {
+        // racy, but a repeated substring is harmless
+        String value = values[index];
+        if (value == null) {
+            value = path.substring(offsets[index * 2], offsets[index * 2 + 1]);
+            values[index] = value;
+        }
+        return value;
+    }
+}
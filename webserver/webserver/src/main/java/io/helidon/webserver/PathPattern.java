@@ -68,6 +68,25 @@ final class PathPattern {
     private PathPattern() {
     }
 
+    /**
+     * Returns the pattern a path matcher was compiled from.
+     *
+     * @param matcher a path matcher
+     * @return the pattern, an empty string for the matcher accepting any path, or {@code null} if not known
+     */
+    static String pattern(PathMatcher matcher) {
+        if (matcher == null || matcher == Route.EMPTY_PATH_MATCHER) {
+            return "";
+        }
+        if (matcher instanceof CanonicalPathMatcher) {
+            return ((CanonicalPathMatcher) matcher).pattern;
+        }
+        if (matcher instanceof RegexpPathMatcher) {
+            return ((RegexpPathMatcher) matcher).source;
+        }
+        return null;
+    }
+
     /**
      * Compiles a standard {@link PathMatcher} pattern.
      *
@@ -144,7 +163,7 @@ final class PathPattern {
         }
         try {
             if (isRegexp) {
-                return new RegexpPathMatcher(regexp.toString(), paramToGroupName);
+                return new RegexpPathMatcher(pattern.toString(), regexp.toString(), paramToGroupName);
             } else {
                 return new CanonicalPathMatcher(canonical.toString());
             }
@@ -331,6 +350,10 @@ final class PathPattern {
             }
         }
 
+        String pattern() {
+            return pattern;
+        }
+
         @Override
         public String toString() {
             return "CanonicalPathMatcher{"
@@ -346,7 +369,10 @@ final class PathPattern {
 
         private static final String RIGHT_PART_PARAM_NAME = PARAM_PREFIX + "rightpart";
 
+        private final String source;
         private final Map<String, String> paramToGroupName;
+        private final String[] paramNames;
+        private final String[] groupNames;
         private final Pattern pattern;
         private final Pattern leftPattern;
 
@@ -359,7 +385,21 @@ final class PathPattern {
          * @throws PatternSyntaxException If the expression's syntax is invalid.
          */
         RegexpPathMatcher(String regexp, Map<String, String> paramToGroupName) {
+            this(null, regexp, paramToGroupName);
+        }
+
+        /**
+         * Creates new instance.
+         *
+         * @param source the Web Server path pattern this matcher was compiled from, may be {@code null}.
+         * @param regexp an regular expression.
+         * @param paramToGroupName a map of pattern parameter names and it's regexp matching group names.
+         * @throws NullPointerException  In case of {@code null} regexp parameter.
+         * @throws PatternSyntaxException If the expression's syntax is invalid.
+         */
+        RegexpPathMatcher(String source, String regexp, Map<String, String> paramToGroupName) {
             Objects.requireNonNull(regexp, "Parameter 'pattern' is null!");
+            this.source = source;
             this.pattern = Pattern.compile(regexp);
             this.leftPattern = Pattern.compile(regexp + "(?<" + RIGHT_PART_PARAM_NAME + ">/.+)?");
             if (paramToGroupName == null) {
@@ -367,13 +407,19 @@ final class PathPattern {
             } else {
                 this.paramToGroupName = new HashMap<>(paramToGroupName);
             }
+            this.paramNames = this.paramToGroupName.keySet().toArray(new String[0]);
+            this.groupNames = new String[paramNames.length];
+            for (int i = 0; i < paramNames.length; i++) {
+                groupNames[i] = this.paramToGroupName.get(paramNames[i]);
+            }
         }
 
         @Override
         public Result match(CharSequence path) {
-            Matcher matcher = pattern.matcher(path);
+            String value = path.toString();
+            Matcher matcher = pattern.matcher(value);
             if (matcher.matches()) {
-                return new PositiveResult(exctractPatternParams(matcher));
+                return new PositiveResult(exctractPatternParams(matcher, value));
             } else {
                 return NOT_MATCHED_RESULT;
             }
@@ -381,14 +427,15 @@ final class PathPattern {
 
         @Override
         public PrefixResult prefixMatch(CharSequence path) {
-            Matcher matcher = leftPattern.matcher(path);
+            String value = path.toString();
+            Matcher matcher = leftPattern.matcher(value);
             if (matcher.matches()) {
                 String rightPart = matcher.group(RIGHT_PART_PARAM_NAME);
                 if (rightPart == null || rightPart.isEmpty()) {
                     rightPart = "/";
                 }
                 if (rightPart.charAt(0) == '/') {
-                    return new PositiveResult(exctractPatternParams(matcher), rightPart);
+                    return new PositiveResult(exctractPatternParams(matcher, value), rightPart);
                 } else {
                     return NOT_MATCHED_RESULT;
                 }
@@ -397,16 +444,26 @@ final class PathPattern {
             }
         }
 
-        private Map<String, String> exctractPatternParams(Matcher matcher) {
-            // Old school, but slightly faster then stream.
-            Map<String, String> params = new HashMap<>(paramToGroupName.size());
-            for (Map.Entry<String, String> entry : paramToGroupName.entrySet()) {
-                String paramValue = matcher.group(entry.getValue());
-                if (paramValue != null) {
-                    params.put(entry.getKey(), paramValue);
-                }
+        /**
+         * The Web Server path pattern this matcher was compiled from.
+         *
+         * @return source pattern or {@code null} if not known
+         */
+        String source() {
+            return source;
+        }
+
+        private Map<String, String> exctractPatternParams(Matcher matcher, String path) {
+            if (paramNames.length == 0) {
+                return null;
             }
-            return params;
+            // only offsets are captured, values are created when requested
+            int[] offsets = new int[paramNames.length * 2];
+            for (int i = 0; i < groupNames.length; i++) {
+                offsets[i * 2] = matcher.start(groupNames[i]);
+                offsets[i * 2 + 1] = matcher.end(groupNames[i]);
+            }
+            return new PathParameters(path, paramNames, offsets);
         }
 
         @Override
@@ -434,6 +491,9 @@ final class PathPattern {
         PositiveResult(Map<String, String> params, String rightPart) {
             if (params == null) {
                 this.params = Collections.emptyMap();
+            } else if (params instanceof PathParameters) {
+                // already immutable
+                this.params = params;
             } else {
                 this.params = Collections.unmodifiableMap(params);
             }
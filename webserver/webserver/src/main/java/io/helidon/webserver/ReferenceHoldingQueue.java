@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2019 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -74,6 +74,15 @@ class ReferenceHoldingQueue<T> extends ReferenceQueue<T> {
         return set.isEmpty();
     }
 
+    /**
+     * Number of the references linked with this queue that were not released yet.
+     *
+     * @return number of unreleased references
+     */
+    int size() {
+        return set.size();
+    }
+
     /**
      * Hook invoked before invoking {@link ReleasableReference#release()}
      * for each object referenced by a {@link ReleasableReference} that
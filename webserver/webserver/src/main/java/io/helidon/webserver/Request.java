@@ -64,6 +64,7 @@ abstract class Request implements ServerRequest {
     private final HashRequestHeaders headers;
     private final MessageBodyReadableContent content;
     private final MessageBodyEventListener eventListener;
+    private final RequestTiming timing;
 
     /**
      * Creates new instance.
@@ -81,6 +82,9 @@ abstract class Request implements ServerRequest {
         MessageBodyReaderContext readerContext = MessageBodyReaderContext
                 .create(webServer.readerContext(), eventListener, headers, headers.contentType());
         this.content = MessageBodyReadableContent.create(req.bodyPublisher(), readerContext);
+        RequestTiming timing = req.timing();
+        // bare requests not created by the web server may not provide the timing
+        this.timing = (timing == null) ? new RequestTiming(System.nanoTime()) : timing;
     }
 
     /**
@@ -96,6 +100,7 @@ abstract class Request implements ServerRequest {
         this.headers = request.headers;
         this.content = request.content;
         this.eventListener = request.eventListener;
+        this.timing = request.timing;
     }
 
     /**
@@ -182,6 +187,15 @@ abstract class Request implements ServerRequest {
         return headers;
     }
 
+    /**
+     * Removes a request header that no longer describes the request content, for this and the next handlers.
+     *
+     * @param name header name
+     */
+    void removeHeader(String name) {
+        headers.removeHeader(name);
+    }
+
     @Override
     public MessageBodyReadableContent content() {
         return this.content;
@@ -192,6 +206,11 @@ abstract class Request implements ServerRequest {
         return bareRequest.requestId();
     }
 
+    @Override
+    public RequestTiming timing() {
+        return timing;
+    }
+
     private final class MessageBodyEventListener implements MessageBodyContext.EventListener {
 
         private Span readSpan;
@@ -262,7 +281,8 @@ abstract class Request implements ServerRequest {
         private final String path;
         private final String rawPath;
         private final Map<String, String> params;
-        private final Path absolutePath;
+        private final Path parent;
+        private Path absolutePath;
         private List<String> segments;
 
         /**
@@ -271,13 +291,13 @@ abstract class Request implements ServerRequest {
          * @param path actual relative URI path.
          * @param rawPath actual relative URI path without any decoding.
          * @param params resolved path parameters.
-         * @param absolutePath absolute path.
+         * @param parent contextual path this path is relative to, or {@code null} for an absolute path.
          */
-        Path(String path, String rawPath, Map<String, String> params, Path absolutePath) {
+        Path(String path, String rawPath, Map<String, String> params, Path parent) {
             this.path = path;
             this.rawPath = rawPath;
             this.params = params == null ? Collections.emptyMap() : params;
-            this.absolutePath = absolutePath;
+            this.parent = parent;
         }
 
         @Override
@@ -311,7 +331,20 @@ abstract class Request implements ServerRequest {
 
         @Override
         public Path absolute() {
-            return absolutePath == null ? this : absolutePath;
+            if (parent == null) {
+                return this;
+            }
+            // Parameters are merged only when the absolute path is requested, which is rare
+            Path result = absolutePath;
+            if (result == null) { // No synchronisation needed, worst case is multiple merging.
+                Path parentAbsolute = parent.absolute();
+                Map<String, String> map = new HashMap<>(parentAbsolute.params.size() + params.size());
+                map.putAll(parentAbsolute.params);
+                map.putAll(params);
+                result = new Path(parentAbsolute.path, parentAbsolute.rawPath, map, null);
+                this.absolutePath = result;
+            }
+            return result;
         }
 
         static Path create(Path contextual, String path, Map<String, String> params) {
@@ -327,23 +360,7 @@ abstract class Request implements ServerRequest {
         }
 
         Path createSubpath(String path, String rawPath, Map<String, String> params) {
-            if (params == null) {
-                params = Collections.emptyMap();
-            }
-            if (absolutePath == null) {
-                HashMap<String, String> map = new HashMap<>(this.params.size() + params.size());
-                map.putAll(this.params);
-                map.putAll(params);
-                return new Path(path, rawPath, params, new Path(this.path, this.rawPath, map, null));
-            } else {
-                int size = this.params.size() + params.size()
-                        + absolutePath.params.size();
-                HashMap<String, String> map = new HashMap<>(size);
-                map.putAll(absolutePath.params);
-                map.putAll(this.params);
-                map.putAll(params);
-                return new Path(path, rawPath, params, new Path(absolutePath.path, absolutePath.rawPath, map, null));
-            }
+            return new Path(path, rawPath, params, this);
         }
     }
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.Flow;
+
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.http.Http;
+import io.helidon.common.reactive.Multi;
+import io.helidon.media.common.MessageBodyFilter;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.compression.ZlibCodecFactory;
+import io.netty.handler.codec.compression.ZlibWrapper;
+
+/**
+ * Decompresses the content of requests sent with {@code Content-Encoding: gzip} (or {@code deflate})
+ * for the handlers registered after this support.
+ * <p>
+ * The content is decompressed chunk by chunk as the handler reads it. The {@code Content-Encoding} and
+ * {@code Content-Length} headers of the compressed content are removed, the length of the decompressed content
+ * is not known before it is read. Requests with other content encodings are passed through unchanged.
+ * <pre>{@code
+ * Routing.builder()
+ *        .register("/upload", RequestDecompressionSupport.create(), new UploadService())
+ * }</pre>
+ */
+public final class RequestDecompressionSupport implements Service, Handler {
+
+    private RequestDecompressionSupport() {
+    }
+
+    /**
+     * Create a new request decompression support.
+     *
+     * @return a new support
+     */
+    public static RequestDecompressionSupport create() {
+        return new RequestDecompressionSupport();
+    }
+
+    @Override
+    public void update(Routing.Rules rules) {
+        rules.any(this);
+    }
+
+    @Override
+    public void accept(ServerRequest req, ServerResponse res) {
+        Optional<ZlibWrapper> wrapper = req.headers()
+                .first(Http.Header.CONTENT_ENCODING)
+                .map(RequestDecompressionSupport::wrapper);
+        if (wrapper.isPresent()) {
+            req.content().registerFilter(new DecompressionFilter(wrapper.get()));
+            if (req instanceof Request) {
+                ((Request) req).removeHeader(Http.Header.CONTENT_ENCODING);
+                ((Request) req).removeHeader(Http.Header.CONTENT_LENGTH);
+            }
+        }
+        req.next();
+    }
+
+    private static ZlibWrapper wrapper(String encoding) {
+        switch (encoding.trim().toLowerCase(Locale.ROOT)) {
+        case "gzip":
+        case "x-gzip":
+            return ZlibWrapper.GZIP;
+        case "deflate":
+            return ZlibWrapper.ZLIB_OR_NONE;
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * Streaming decompression of the request content.
+     */
+    private static final class DecompressionFilter implements MessageBodyFilter {
+        private final ZlibWrapper wrapper;
+
+        private DecompressionFilter(ZlibWrapper wrapper) {
+            this.wrapper = wrapper;
+        }
+
+        @Override
+        public Flow.Publisher<DataChunk> apply(Flow.Publisher<DataChunk> publisher) {
+            return Multi.defer(() -> {
+                EmbeddedChannel decoder = new EmbeddedChannel(ZlibCodecFactory.newZlibDecoder(wrapper));
+                return Multi.create(publisher)
+                        .flatMapIterable(chunk -> {
+                            try {
+                                decoder.writeInbound(Unpooled.copiedBuffer(chunk.data()));
+                            } finally {
+                                chunk.release();
+                            }
+                            return decoded(decoder);
+                        })
+                        .onCompleteResumeWith(Multi.defer(() -> {
+                            decoder.finish();
+                            return Multi.create(decoded(decoder));
+                        }))
+                        .onTerminate(decoder::finishAndReleaseAll);
+            });
+        }
+
+        private static List<DataChunk> decoded(EmbeddedChannel decoder) {
+            List<DataChunk> chunks = new ArrayList<>();
+            ByteBuf buffer;
+            while ((buffer = decoder.readInbound()) != null) {
+                if (buffer.isReadable()) {
+                    ByteBuf data = buffer;
+                    chunks.add(DataChunk.create(false, data::release, data.nioBuffer()));
+                } else {
+                    buffer.release();
+                }
+            }
+            return chunks;
+        }
+    }
+}
@@ -65,6 +65,32 @@ class RequestRouting implements Routing {
         this.routes = routes;
         this.errorHandlers = errorHandlers;
         this.newWebServerCallbacks = new ArrayList<>(newWebServerCallbacks);
+        templates(routes, "");
+    }
+
+    /**
+     * Resolves the full path patterns of the handler routes, reported by {@link RequestTiming#route()}.
+     */
+    private static void templates(RouteList routes, String prefix) {
+        String context = join(prefix, PathPattern.pattern(routes.pathContext()));
+        for (Route route : routes) {
+            if (route instanceof HandlerRoute) {
+                String template = join(context, PathPattern.pattern(((HandlerRoute) route).pathMatcher()));
+                ((HandlerRoute) route).template(template.isEmpty() ? "/" : template);
+            } else if (route instanceof RouteList) {
+                templates((RouteList) route, context);
+            }
+        }
+    }
+
+    private static String join(String prefix, String pattern) {
+        if (pattern == null) {
+            return prefix + "/*";
+        }
+        if (pattern.isEmpty() || pattern.equals("/")) {
+            return prefix;
+        }
+        return prefix + (pattern.startsWith("/") ? pattern : "/" + pattern);
     }
 
     @Override
@@ -72,7 +98,7 @@ class RequestRouting implements Routing {
 
         try {
             WebServer webServer = bareRequest.webServer();
-            HashRequestHeaders requestHeaders = new HashRequestHeaders(bareRequest.headers());
+            HashRequestHeaders requestHeaders = HashRequestHeaders.create(bareRequest);
             RoutedResponse response = new RoutedResponse(
                     webServer,
                     bareResponse,
@@ -124,7 +150,8 @@ class RequestRouting implements Routing {
      */
     private static class Crawler {
 
-        private final List<Route> routes;
+        private final RouteList routes;
+        private final RouteIndex.Lookup lookup;
         private final Request.Path contextPath;
         private final String path;
         private final String rawPath;
@@ -142,9 +169,10 @@ class RequestRouting implements Routing {
          * @param rawPath     not decoded URI path to route.
          * @param method      an HTTP method to route.
          */
-        private Crawler(List<Route> routes, Request.Path contextPath, String path, String rawPath,
+        private Crawler(RouteList routes, Request.Path contextPath, String path, String rawPath,
                         Http.RequestMethod method) {
             this.routes = routes;
+            this.lookup = routes.index().lookup(path, method);
             this.path = path;
             this.rawPath = rawPath;
             this.contextPath = contextPath;
@@ -159,56 +187,59 @@ class RequestRouting implements Routing {
          * @param rawPath not decoded URI path to route.
          * @param method an HTTP method to route.
          */
-        Crawler(List<Route> routes, String path, String rawPath, Http.RequestMethod method) {
+        Crawler(RouteList routes, String path, String rawPath, Http.RequestMethod method) {
             this(routes, null, path, rawPath, method);
         }
 
         /**
          * Returns next {@link HandlerRoute} to execute or {@code null} if there are no more acceptable routes.
          * It is not synchronized.
+         * <p>
+         * Only routes returned by the {@link RouteIndex route index} lookup (accepting the method and possibly
+         * matching the path) are visited.
          *
          * @return a next item.
          */
         public Item next() {
-            while ((subCrawler != null) || (++index < routes.size())) {
+            while (true) {
                 if (subCrawler != null) {
                     Item result = subCrawler.next();
                     if (result != null) {
                         return result;
-                    } else {
-                        subCrawler = null;
                     }
-                } else {
-                    Route route = routes.get(index);
-                    if (route.accepts(method)) {
-                        if (route instanceof HandlerRoute) {
-                            HandlerRoute hr = (HandlerRoute) route;
-                            PathMatcher.Result match = hr.match(path);
-                            if (match.matches()) {
-                                return new Item(hr, Request.Path.create(contextPath, path, rawPath, match.params()));
-                            }
-                        } else if (route instanceof RouteList) {
-                            RouteList rl = (RouteList) route;
-                            PathMatcher.PrefixResult prefixMatch = rl.prefixMatch(path);
-                            PathMatcher.PrefixResult rawPrefixMatch = rl.prefixMatch(rawPath);
-                            if (prefixMatch.matches()) {
-                                subCrawler = new Crawler(rl,
-                                                         Request.Path.create(contextPath, path, rawPath, prefixMatch.params()),
-                                                         prefixMatch.remainingPart(),
-                                                         rawPrefixMatch.remainingPart(),
-                                                         method);
-                                // do "continue" in order to not log the failure message bellow
-                                continue;
-                            }
-                        }
-
-                        LOGGER.finest(() -> "Route candidate '" + route + "' doesn't match path: " + path);
-                    } else {
-                        LOGGER.finest(() -> "Route candidate '" + route + "' doesn't match method: " + method);
+                    subCrawler = null;
+                    continue;
+                }
+                int candidate = lookup.nextCandidate(index + 1);
+                if (candidate < 0) {
+                    index = routes.size();
+                    return null;
+                }
+                index = candidate;
+                Route route = routes.get(candidate);
+                if (route instanceof HandlerRoute) {
+                    HandlerRoute hr = (HandlerRoute) route;
+                    PathMatcher.Result match = lookup.match(candidate);
+                    if (match.matches()) {
+                        return new Item(hr, Request.Path.create(contextPath, path, rawPath, match.params()));
+                    }
+                } else if (route instanceof RouteList) {
+                    RouteList rl = (RouteList) route;
+                    PathMatcher.PrefixResult prefixMatch = rl.prefixMatch(path);
+                    if (prefixMatch.matches()) {
+                        PathMatcher.PrefixResult rawPrefixMatch = rl.prefixMatch(rawPath);
+                        subCrawler = new Crawler(rl,
+                                                 Request.Path.create(contextPath, path, rawPath, prefixMatch.params()),
+                                                 prefixMatch.remainingPart(),
+                                                 rawPrefixMatch.remainingPart(),
+                                                 method);
+                        // do "continue" in order to not log the failure message bellow
+                        continue;
                     }
                 }
+
+                LOGGER.finest(() -> "Route candidate '" + route + "' doesn't match path: " + path);
             }
-            return null;
         }
 
         /**
@@ -304,6 +335,8 @@ class RequestRouting implements Routing {
                 // 404 error
                 nextNoCheck(new NotFoundException("No handler found for path: " + path()));
             } else {
+                RequestTiming timing = timing();
+                timing.markRouted();
                 try {
                     RoutedResponse nextResponse = new RoutedResponse(response);
                     RoutedRequest nextRequest = new RoutedRequest(this, nextResponse, nextItem.path, errorHandlers);
@@ -318,6 +351,7 @@ class RequestRouting implements Routing {
                         }
                     }
 
+                    timing.markHandlerEntered(nextItem.handlerRoute.template());
                     nextItem.handlerRoute
                             .handler()
                             .accept(nextRequest, nextResponse);
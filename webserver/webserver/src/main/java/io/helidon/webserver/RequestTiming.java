@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+/**
+ * Timestamps of the processing phases of a single request, as returned by {@link System#nanoTime()}.
+ * A timestamp is {@code 0} until its phase is reached.
+ * <p>
+ * The phases follow each other in this order:
+ * <ol>
+ *     <li>{@link #received()} - the request headers are decoded</li>
+ *     <li>{@link #routed()} - the first route matching the request is found</li>
+ *     <li>{@link #handlerEntered()} - the last handler processing the request is entered, filters
+ *     registered before it (such as security or tracing) run in between</li>
+ *     <li>{@link #headersWritten()} - the response status and headers are written with the first
+ *     bytes of the entity</li>
+ *     <li>{@link #completed()} - the last byte of the response is flushed</li>
+ * </ol>
+ * The timestamps are complete once {@link ServerResponse#whenSent()} completes.
+ *
+ * @see ServerRequest#timing()
+ */
+public final class RequestTiming {
+    private final long received;
+    private volatile long routed;
+    private volatile long handlerEntered;
+    private volatile long headersWritten;
+    private volatile long completed;
+    private volatile String route;
+
+    RequestTiming(long received) {
+        this.received = received;
+    }
+
+    /**
+     * Time the request headers were decoded.
+     *
+     * @return nano time
+     */
+    public long received() {
+        return received;
+    }
+
+    /**
+     * Time the first route matching the request was found.
+     *
+     * @return nano time, or {@code 0} if not routed yet
+     */
+    public long routed() {
+        return routed;
+    }
+
+    /**
+     * Time the last handler processing the request was entered.
+     *
+     * @return nano time, or {@code 0} if no handler was entered yet
+     */
+    public long handlerEntered() {
+        return handlerEntered;
+    }
+
+    /**
+     * Time the response status and headers were written.
+     *
+     * @return nano time, or {@code 0} if not written yet
+     */
+    public long headersWritten() {
+        return headersWritten;
+    }
+
+    /**
+     * Time the last byte of the response was flushed.
+     *
+     * @return nano time, or {@code 0} if the response is not completed yet
+     */
+    public long completed() {
+        return completed;
+    }
+
+    /**
+     * Path pattern of the route of the last handler entered, including the paths services are registered on,
+     * such as {@code /greet/{name}}. Requests without any matching route have no route.
+     *
+     * @return route path pattern, or {@code null} if no handler was entered yet
+     */
+    public String route() {
+        return route;
+    }
+
+    void markRouted() {
+        if (routed == 0) {
+            routed = System.nanoTime();
+        }
+    }
+
+    void markHandlerEntered(String route) {
+        this.handlerEntered = System.nanoTime();
+        this.route = route;
+    }
+
+    void markHeadersWritten() {
+        if (headersWritten == 0) {
+            headersWritten = System.nanoTime();
+        }
+    }
+
+    void markCompleted() {
+        completed = System.nanoTime();
+    }
+
+    @Override
+    public String toString() {
+        return "RequestTiming{"
+                + "route=" + route
+                + ", routed=" + elapsed(routed)
+                + ", handlerEntered=" + elapsed(handlerEntered)
+                + ", headersWritten=" + elapsed(headersWritten)
+                + ", completed=" + elapsed(completed)
+                + '}';
+    }
+
+    private String elapsed(long time) {
+        return (time == 0) ? "-" : ((time - received) / 1000) + "us";
+    }
+}
@@ -77,6 +77,7 @@ abstract class Response implements ServerResponse {
         this.sendLockSupport = new SendLockSupport();
         this.eventListener = new MessageBodyEventListener();
         this.writerContext = MessageBodyWriterContext.create(webServer.writerContext(), eventListener, headers, acceptedTypes);
+        this.writerContext.fileRegionsSupported(bareResponse.fileRegionsSupported());
     }
 
     /**
@@ -105,6 +106,15 @@ abstract class Response implements ServerResponse {
      */
     abstract Optional<SpanContext> spanContext();
 
+    /**
+     * The underlying response SPI.
+     *
+     * @return bare response
+     */
+    BareResponse bareResponse() {
+        return bareResponse;
+    }
+
     @Override
     public WebServer webServer() {
         return webServer;
@@ -0,0 +1,791 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.http.Http;
+import io.helidon.common.reactive.Multi;
+import io.helidon.common.reactive.Single;
+import io.helidon.config.Config;
+
+/**
+ * Caches complete responses of the handlers registered after this support in a bounded in-memory store.
+ * <p>
+ * Only responses to {@code GET} requests are stored, {@code HEAD} requests are served from the same entries.
+ * Entries are keyed by the request scheme, {@code Host} header, path and query, and by the values of the request
+ * headers listed in the {@code Vary} header of the response. A response is stored only if the handler makes it explicitly
+ * cacheable, with {@code Cache-Control: max-age} (or {@code s-maxage}) or an {@code Expires} header;
+ * {@code no-store}, {@code private}, {@code Vary: *} and responses setting cookies are never stored,
+ * and requests with an {@code Authorization} header bypass the cache.
+ * <p>
+ * Concurrent requests missing the same entry are collapsed, the handler runs once and the other requests
+ * are answered from the stored response; a request that waited longer than the
+ * {@link Builder#collapseTimeout(long, TimeUnit) collapse timeout} runs the handler itself. A stale entry within
+ * its {@code stale-while-revalidate} window is sent right away, while a single request runs the handler to refresh it.
+ * Conditional requests with {@code If-None-Match} are answered with {@code 304} when the stored {@code ETag} matches,
+ * and a {@code 304} returned by the handler for such a request refreshes the stored entry.
+ * <pre>{@code
+ * Routing.builder()
+ *        .register("/catalog", ResponseCacheSupport.create(), new CatalogService())
+ * }</pre>
+ * The least recently used entries are evicted when the maximal size or number of entries is exceeded.
+ */
+public final class ResponseCacheSupport implements Service, Handler {
+    // heuristically cacheable status codes, RFC 7231 section 6.1
+    private static final Set<Integer> CACHEABLE_STATUS = Set.of(200, 203, 204, 300, 301, 404, 405, 410, 414, 501);
+    // not forwarded from the stored response
+    private static final Set<String> EXCLUDED_HEADERS = Set.of("connection",
+                                                               "keep-alive",
+                                                               "transfer-encoding",
+                                                               "content-length",
+                                                               "age");
+
+    private final long maxSize;
+    private final int maxEntries;
+    private final int maxEntrySize;
+    private final long collapseTimeoutMillis;
+    private final Stats stats = new Stats();
+    // guarded by this
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // request headers the responses vary on, by scheme, host, path and query
+    private final Map<String, List<String>> varyNames = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Entry>> loading = new ConcurrentHashMap<>();
+    // guarded by this
+    private long size;
+
+    private ResponseCacheSupport(Builder builder) {
+        this.maxSize = builder.maxSize;
+        this.maxEntries = builder.maxEntries;
+        this.maxEntrySize = builder.maxEntrySize;
+        this.collapseTimeoutMillis = builder.collapseTimeoutMillis;
+    }
+
+    /**
+     * Create support with the default configuration.
+     *
+     * @return a new response cache support
+     */
+    public static ResponseCacheSupport create() {
+        return builder().build();
+    }
+
+    /**
+     * Create support from configuration.
+     *
+     * @param config configuration of the cache, see {@link Builder#config(Config)}
+     * @return a new response cache support
+     */
+    public static ResponseCacheSupport create(Config config) {
+        return builder().config(config).build();
+    }
+
+    /**
+     * A new fluent API builder.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Statistics of the cache, such as the number of hits and misses. The values can be registered as gauges in
+     * a metric registry.
+     *
+     * @return cache statistics
+     */
+    public Statistics statistics() {
+        return stats;
+    }
+
+    /**
+     * Remove all entries.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        size = 0;
+    }
+
+    @Override
+    public void update(Routing.Rules rules) {
+        rules.any(this);
+    }
+
+    @Override
+    public void accept(ServerRequest req, ServerResponse res) {
+        Http.RequestMethod method = req.method();
+        if ((method != Http.Method.GET && method != Http.Method.HEAD)
+                || req.headers().first(Http.Header.AUTHORIZATION).isPresent()) {
+            req.next();
+            return;
+        }
+        List<String> requestDirectives = directives(req.headers().all(Http.Header.CACHE_CONTROL));
+        if (requestDirectives.contains("no-store")) {
+            req.next();
+            return;
+        }
+        // the client asks for a response validated by the handler, the entry is refreshed
+        boolean refresh = requestDirectives.contains("no-cache") || requestDirectives.contains("max-age=0");
+
+        String baseKey = baseKey(req);
+        String key = baseKey + varyKey(varyNames.getOrDefault(baseKey, List.of()), req);
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+        long now = System.nanoTime();
+        if (entry != null && !refresh) {
+            if (entry.isFresh(now)) {
+                stats.hits.increment();
+                send(entry, req, res);
+                return;
+            }
+            if (entry.isStaleUsable(now)) {
+                if (method == Http.Method.GET && entry.revalidating.compareAndSet(false, true)) {
+                    // this request refreshes the entry, the others get the stale one in the meantime
+                    stats.misses.increment();
+                    load(null, null, baseKey, entry, req, res);
+                } else {
+                    stats.hits.increment();
+                    send(entry, req, res);
+                }
+                return;
+            }
+        }
+
+        if (method == Http.Method.HEAD) {
+            stats.misses.increment();
+            req.next();
+            return;
+        }
+
+        CompletableFuture<Entry> loaded = new CompletableFuture<>();
+        CompletableFuture<Entry> inProgress = loading.putIfAbsent(key, loaded);
+        if (inProgress != null) {
+            stats.collapsed.increment();
+            // a copy, the timeout of this request must not complete the loading of the others
+            inProgress.copy()
+                    .completeOnTimeout(null, collapseTimeoutMillis, TimeUnit.MILLISECONDS)
+                    .thenAccept(it -> {
+                        if (it != null && it.matches(req)) {
+                            send(it, req, res);
+                        } else {
+                            // the response was not cacheable, it varies on a header of this request,
+                            // or it takes too long to load
+                            req.next();
+                        }
+                    });
+            return;
+        }
+        stats.misses.increment();
+        load(key, loaded, baseKey, entry, req, res);
+    }
+
+    private void load(String loadingKey,
+                      CompletableFuture<Entry> loaded,
+                      String baseKey,
+                      Entry stale,
+                      ServerRequest req,
+                      ServerResponse res) {
+        Capture capture = new Capture(maxEntrySize);
+        res.registerFilter(capture::filter);
+        res.whenSent()
+                // the client may close the connection as soon as it has the response, the captured entity decides
+                .handle((response, throwable) -> capture)
+                // the entity may still be completing when the response is sent
+                .thenCompose(Capture::completed)
+                .whenComplete((captured, throwable) -> {
+                    Entry entry = (throwable == null && captured)
+                            ? store(baseKey, stale, req, res, capture)
+                            : null;
+                    if (stale != null) {
+                        stale.revalidating.set(false);
+                    }
+                    if (loadingKey != null) {
+                        loading.remove(loadingKey, loaded);
+                        loaded.complete(entry);
+                    }
+                });
+        req.next();
+    }
+
+    private Entry store(String baseKey, Entry stale, ServerRequest req, ServerResponse res, Capture capture) {
+        ResponseHeaders headers = res.headers();
+        int status = res.status().code();
+        Freshness freshness = Freshness.create(headers);
+        if (freshness == null) {
+            return null;
+        }
+
+        if (status == Http.Status.NOT_MODIFIED_304.code()) {
+            // the handler validated the stored response for a conditional request
+            String etag = headers.first(Http.Header.ETAG).orElse(null);
+            if (stale == null || stale.etag == null || (etag != null && !stale.etag.equals(etag))) {
+                return null;
+            }
+            return put(stale.refresh(freshness));
+        }
+
+        if (!CACHEABLE_STATUS.contains(status)
+                || capture.overflow
+                || (!capture.invoked && status != Http.Status.NO_CONTENT_204.code())) {
+            return null;
+        }
+        List<String> vary = directives(headers.all(Http.Header.VARY));
+        if (vary.contains("*")) {
+            return null;
+        }
+        if (vary.isEmpty()) {
+            varyNames.remove(baseKey);
+        } else {
+            varyNames.put(baseKey, vary);
+        }
+        Map<String, List<String>> stored = new LinkedHashMap<>();
+        headers.toMap().forEach((name, values) -> {
+            if (!EXCLUDED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                stored.put(name, List.copyOf(values));
+            }
+        });
+        Entry entry = new Entry(baseKey,
+                                baseKey + varyKey(vary, req),
+                                vary,
+                                res.status(),
+                                stored,
+                                headers.first(Http.Header.ETAG).orElse(null),
+                                capture.content(),
+                                freshness);
+        return put(entry);
+    }
+
+    private synchronized Entry put(Entry entry) {
+        if (entry.size > maxSize) {
+            return entry;
+        }
+        Entry previous = entries.put(entry.key, entry);
+        if (previous != null) {
+            size -= previous.size;
+        }
+        size += entry.size;
+        Iterator<Entry> iterator = entries.values().iterator();
+        while ((size > maxSize || entries.size() > maxEntries) && iterator.hasNext()) {
+            Entry evicted = iterator.next();
+            iterator.remove();
+            size -= evicted.size;
+            // the other variants of the entry are looked up again once loaded
+            varyNames.remove(evicted.baseKey);
+            stats.evictions.increment();
+        }
+        return entry;
+    }
+
+    private static void send(Entry entry, ServerRequest req, ServerResponse res) {
+        ResponseHeaders headers = res.headers();
+        entry.headers.forEach(headers::put);
+        headers.put(Http.Header.AGE, String.valueOf(entry.age(System.nanoTime())));
+        if (entry.etag != null && matches(req.headers().all(Http.Header.IF_NONE_MATCH), entry.etag)) {
+            res.status(Http.Status.NOT_MODIFIED_304);
+            res.send();
+            return;
+        }
+        res.status(entry.status);
+        headers.contentLength(entry.content.remaining());
+        if (req.method() == Http.Method.HEAD || !entry.content.hasRemaining()) {
+            res.send();
+        } else {
+            res.send(Single.just(DataChunk.create(false, true, entry.content.duplicate())));
+        }
+    }
+
+    private static boolean matches(List<String> ifNoneMatch, String etag) {
+        String opaque = opaque(etag);
+        for (String header : ifNoneMatch) {
+            for (String value : header.split(",")) {
+                String tag = value.trim();
+                if ("*".equals(tag) || opaque(tag).equals(opaque)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // weak comparison, RFC 7232 section 2.3.2
+    private static String opaque(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static String baseKey(ServerRequest req) {
+        return (req.isSecure() ? "https://" : "http://")
+                + req.headers().first(Http.Header.HOST).orElse("")
+                + req.path().absolute().toRawString()
+                + "?" + req.query();
+    }
+
+    private static String varyKey(List<String> vary, ServerRequest req) {
+        if (vary.isEmpty()) {
+            return "";
+        }
+        StringBuilder result = new StringBuilder();
+        for (String name : vary) {
+            result.append('\n')
+                    .append(name)
+                    .append(':')
+                    .append(String.join(",", req.headers().all(name)));
+        }
+        return result.toString();
+    }
+
+    /**
+     * Comma separated values of headers, lower cased, such as {@code Cache-Control} directives.
+     */
+    private static List<String> directives(List<String> headerValues) {
+        List<String> result = new ArrayList<>();
+        for (String header : headerValues) {
+            for (String value : header.split(",")) {
+                String directive = value.trim().toLowerCase(Locale.ROOT);
+                if (!directive.isEmpty()) {
+                    result.add(directive);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Statistics of a {@link ResponseCacheSupport}.
+     */
+    public interface Statistics {
+        /**
+         * Number of requests served from the cache.
+         *
+         * @return number of cache hits
+         */
+        long hits();
+
+        /**
+         * Number of requests that ran the handler because there was no usable entry.
+         *
+         * @return number of cache misses
+         */
+        long misses();
+
+        /**
+         * Number of requests that missed an entry while the same entry was being loaded,
+         * and waited for it instead of running the handler.
+         *
+         * @return number of collapsed requests
+         */
+        long collapsed();
+
+        /**
+         * Number of entries evicted because the cache was full.
+         *
+         * @return number of evictions
+         */
+        long evictions();
+
+        /**
+         * Current size of the cached content.
+         *
+         * @return size in bytes
+         */
+        long size();
+
+        /**
+         * Current number of entries.
+         *
+         * @return number of entries
+         */
+        int entries();
+    }
+
+    /**
+     * Fluent API builder for {@link ResponseCacheSupport}.
+     */
+    public static final class Builder implements io.helidon.common.Builder<ResponseCacheSupport> {
+        private long maxSize = 64 * 1024 * 1024;
+        private int maxEntries = 10_000;
+        private int maxEntrySize = 1024 * 1024;
+        private long collapseTimeoutMillis = 10_000;
+
+        private Builder() {
+        }
+
+        @Override
+        public ResponseCacheSupport build() {
+            return new ResponseCacheSupport(this);
+        }
+
+        /**
+         * Update this builder from configuration.
+         * <table class="config">
+         * <caption>Optional configuration parameters</caption>
+         * <tr>
+         *     <th>key</th>
+         *     <th>default value</th>
+         *     <th>description</th>
+         * </tr>
+         * <tr>
+         *     <td>max-size</td>
+         *     <td>64 MB</td>
+         *     <td>Maximal size of all cached content in bytes</td>
+         * </tr>
+         * <tr>
+         *     <td>max-entries</td>
+         *     <td>10000</td>
+         *     <td>Maximal number of cached responses</td>
+         * </tr>
+         * <tr>
+         *     <td>max-entry-size</td>
+         *     <td>1 MB</td>
+         *     <td>Maximal size of a cached response entity in bytes, bigger responses are not cached</td>
+         * </tr>
+         * <tr>
+         *     <td>collapse-timeout-millis</td>
+         *     <td>10000</td>
+         *     <td>How long a request waits for the same entry being loaded by another request before running
+         *     the handler itself</td>
+         * </tr>
+         * </table>
+         *
+         * @param config configuration of the cache
+         * @return updated builder instance
+         */
+        public Builder config(Config config) {
+            config.get("max-size").asLong().ifPresent(this::maxSize);
+            config.get("max-entries").asInt().ifPresent(this::maxEntries);
+            config.get("max-entry-size").asInt().ifPresent(this::maxEntrySize);
+            config.get("collapse-timeout-millis").asLong()
+                    .ifPresent(it -> this.collapseTimeout(it, TimeUnit.MILLISECONDS));
+            return this;
+        }
+
+        /**
+         * Maximal size of all cached content in bytes.
+         *
+         * @param maxSize maximal size in bytes
+         * @return updated builder instance
+         */
+        public Builder maxSize(long maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * Maximal number of cached responses.
+         *
+         * @param maxEntries maximal number of entries
+         * @return updated builder instance
+         */
+        public Builder maxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * Maximal size of a cached response entity in bytes, bigger responses are not cached.
+         *
+         * @param maxEntrySize maximal entity size in bytes
+         * @return updated builder instance
+         */
+        public Builder maxEntrySize(int maxEntrySize) {
+            this.maxEntrySize = maxEntrySize;
+            return this;
+        }
+
+        /**
+         * How long a request waits for the same entry being loaded by another request. Once the timeout
+         * elapses, the request runs the handler itself instead of waiting for the slow response.
+         * Default value is 10 seconds.
+         * <p>
+         * Configuration key: {@code collapse-timeout-millis}
+         *
+         * @param amount amount of time
+         * @param unit time unit
+         * @return updated builder instance
+         */
+        public Builder collapseTimeout(long amount, TimeUnit unit) {
+            this.collapseTimeoutMillis = Math.max(unit.toMillis(amount), 0);
+            return this;
+        }
+    }
+
+    private final class Stats implements Statistics {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder collapsed = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+
+        @Override
+        public long hits() {
+            return hits.sum();
+        }
+
+        @Override
+        public long misses() {
+            return misses.sum();
+        }
+
+        @Override
+        public long collapsed() {
+            return collapsed.sum();
+        }
+
+        @Override
+        public long evictions() {
+            return evictions.sum();
+        }
+
+        @Override
+        public long size() {
+            synchronized (ResponseCacheSupport.this) {
+                return size;
+            }
+        }
+
+        @Override
+        public int entries() {
+            synchronized (ResponseCacheSupport.this) {
+                return entries.size();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "ResponseCacheSupport.Statistics{"
+                    + "hits=" + hits()
+                    + ", misses=" + misses()
+                    + ", collapsed=" + collapsed()
+                    + ", evictions=" + evictions()
+                    + ", size=" + size()
+                    + ", entries=" + entries()
+                    + '}';
+        }
+    }
+
+    /**
+     * Copies the response entity while it is sent.
+     */
+    private static final class Capture {
+        private final int maxSize;
+        private final List<byte[]> chunks = new ArrayList<>();
+        // completed with true once the entity is complete, false if it failed or was cancelled
+        private final CompletableFuture<Boolean> completed = new CompletableFuture<>();
+        private volatile boolean filtered;
+        private int size;
+        private volatile boolean invoked;
+        private volatile boolean overflow;
+
+        private Capture(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        private Flow.Publisher<DataChunk> filter(Flow.Publisher<DataChunk> publisher) {
+            filtered = true;
+            return Multi.create(publisher)
+                    .peek(this::add)
+                    .onComplete(() -> completed.complete(true))
+                    .onError(throwable -> completed.complete(false))
+                    .onCancel(() -> completed.complete(false));
+        }
+
+        /**
+         * Completes once the entity is captured, right away for responses sent without an entity.
+         */
+        private CompletableFuture<Boolean> completed() {
+            return filtered ? completed : CompletableFuture.completedFuture(true);
+        }
+
+        private synchronized void add(DataChunk chunk) {
+            invoked = true;
+            if (overflow) {
+                return;
+            }
+            int remaining = chunk.remaining();
+            if (size + remaining > maxSize) {
+                overflow = true;
+                chunks.clear();
+                return;
+            }
+            if (remaining > 0) {
+                chunks.add(chunk.bytes());
+                size += remaining;
+            }
+        }
+
+        private synchronized ByteBuffer content() {
+            ByteBuffer result = ByteBuffer.allocateDirect(size);
+            chunks.forEach(result::put);
+            return result.flip().asReadOnlyBuffer();
+        }
+    }
+
+    /**
+     * Freshness lifetime and stale window of a response, from its {@code Cache-Control} and {@code Expires} headers.
+     */
+    private static final class Freshness {
+        private final long maxAgeNanos;
+        private final long staleWhileRevalidateNanos;
+
+        private Freshness(long maxAgeNanos, long staleWhileRevalidateNanos) {
+            this.maxAgeNanos = maxAgeNanos;
+            this.staleWhileRevalidateNanos = staleWhileRevalidateNanos;
+        }
+
+        /**
+         * Freshness of a response.
+         *
+         * @return freshness or {@code null} if the response must not be stored
+         */
+        private static Freshness create(ResponseHeaders headers) {
+            if (!headers.all(Http.Header.SET_COOKIE).isEmpty()) {
+                return null;
+            }
+            long maxAge = -1;
+            long sharedMaxAge = -1;
+            long staleWhileRevalidate = 0;
+            boolean noCache = false;
+            for (String directive : directives(headers.all(Http.Header.CACHE_CONTROL))) {
+                if (directive.equals("no-store") || directive.startsWith("private")) {
+                    return null;
+                }
+                if (directive.startsWith("no-cache")) {
+                    noCache = true;
+                } else if (directive.startsWith("s-maxage=")) {
+                    sharedMaxAge = seconds(directive);
+                } else if (directive.startsWith("max-age=")) {
+                    maxAge = seconds(directive);
+                } else if (directive.startsWith("stale-while-revalidate=")) {
+                    staleWhileRevalidate = Math.max(seconds(directive), 0);
+                }
+            }
+            long lifetime = (sharedMaxAge >= 0) ? sharedMaxAge : maxAge;
+            if (lifetime < 0) {
+                lifetime = expires(headers);
+                if (lifetime < 0) {
+                    // no explicit freshness, not cached
+                    return null;
+                }
+            }
+            if (noCache) {
+                // stored, but always validated by the handler
+                lifetime = 0;
+                staleWhileRevalidate = 0;
+            }
+            return new Freshness(TimeUnit.SECONDS.toNanos(lifetime), TimeUnit.SECONDS.toNanos(staleWhileRevalidate));
+        }
+
+        private static long seconds(String directive) {
+            String value = directive.substring(directive.indexOf('=') + 1).replace("\"", "");
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+
+        private static long expires(ResponseHeaders headers) {
+            String expires = headers.first(Http.Header.EXPIRES).orElse(null);
+            if (expires == null) {
+                return -1;
+            }
+            try {
+                ZonedDateTime expiresAt = Http.DateTime.parse(expires);
+                ZonedDateTime date = headers.first(Http.Header.DATE)
+                        .map(Http.DateTime::parse)
+                        .orElseGet(ZonedDateTime::now);
+                return Math.max(Duration.between(date, expiresAt).getSeconds(), 0);
+            } catch (DateTimeException e) {
+                // invalid dates mean already expired
+                return 0;
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final String baseKey;
+        private final String key;
+        private final List<String> vary;
+        private final Http.ResponseStatus status;
+        private final Map<String, List<String>> headers;
+        private final String etag;
+        private final ByteBuffer content;
+        private final long storedAt;
+        private final long expiresAt;
+        private final long staleUntil;
+        private final long size;
+        private final AtomicBoolean revalidating = new AtomicBoolean();
+
+        private Entry(String baseKey,
+                      String key,
+                      List<String> vary,
+                      Http.ResponseStatus status,
+                      Map<String, List<String>> headers,
+                      String etag,
+                      ByteBuffer content,
+                      Freshness freshness) {
+            this.baseKey = baseKey;
+            this.key = key;
+            this.vary = vary;
+            this.status = status;
+            this.headers = headers;
+            this.etag = etag;
+            this.content = content;
+            this.storedAt = System.nanoTime();
+            this.expiresAt = storedAt + freshness.maxAgeNanos;
+            this.staleUntil = expiresAt + freshness.staleWhileRevalidateNanos;
+            this.size = content.remaining();
+        }
+
+        private Entry refresh(Freshness freshness) {
+            return new Entry(baseKey, key, vary, status, headers, etag, content, freshness);
+        }
+
+        private boolean isFresh(long now) {
+            return now - expiresAt < 0;
+        }
+
+        private boolean isStaleUsable(long now) {
+            return now - staleUntil < 0;
+        }
+
+        private long age(long now) {
+            return TimeUnit.NANOSECONDS.toSeconds(now - storedAt);
+        }
+
+        private boolean matches(ServerRequest req) {
+            return key.equals(baseKey + varyKey(vary, req));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.util.Objects;
+
+import io.helidon.config.Config;
+
+/**
+ * Overrides the {@link SocketConfiguration#compression() response compression} of the socket
+ * for the handlers registered after this support, for example to compress the responses of an API with
+ * a different level, or not to compress a streaming route at all.
+ * <p>
+ * The responses are compressed only if {@link SocketConfiguration#enableCompression() compression is enabled}
+ * on the socket.
+ * <pre>{@code
+ * Routing.builder()
+ *        .register("/events", ResponseCompressionSupport.disabled(), new EventService())
+ *        .register("/api", ResponseCompressionSupport.create(CompressionConfiguration.builder()
+ *                                                                    .level(1)
+ *                                                                    .build()), new ApiService())
+ * }</pre>
+ */
+public final class ResponseCompressionSupport implements Service, Handler {
+
+    private final CompressionConfiguration compression;
+
+    private ResponseCompressionSupport(CompressionConfiguration compression) {
+        this.compression = compression;
+    }
+
+    /**
+     * Create a new support compressing the responses with the configuration.
+     *
+     * @param compression compression configuration of the routes
+     * @return a new support
+     */
+    public static ResponseCompressionSupport create(CompressionConfiguration compression) {
+        return new ResponseCompressionSupport(Objects.requireNonNull(compression));
+    }
+
+    /**
+     * Create a new support compressing the responses with the configuration.
+     *
+     * @param config configuration on the {@code compression} node, see
+     *               {@link CompressionConfiguration.Builder#config(Config)}
+     * @return a new support
+     */
+    public static ResponseCompressionSupport create(Config config) {
+        return create(CompressionConfiguration.builder()
+                              .config(config)
+                              .build());
+    }
+
+    /**
+     * Create a new support that does not compress the responses.
+     *
+     * @return a new support
+     */
+    public static ResponseCompressionSupport disabled() {
+        // no encoder is ever accepted by the client
+        return create(CompressionConfiguration.builder()
+                              .removeEncoder("gzip")
+                              .removeEncoder("deflate")
+                              .build());
+    }
+
+    @Override
+    public void update(Routing.Rules rules) {
+        rules.any(this);
+    }
+
+    @Override
+    public void accept(ServerRequest req, ServerResponse res) {
+        if (res instanceof Response) {
+            BareResponse bareResponse = ((Response) res).bareResponse();
+            if (bareResponse instanceof BareResponseImpl) {
+                ((BareResponseImpl) bareResponse).compression(compression);
+            }
+        }
+        req.next();
+    }
+}
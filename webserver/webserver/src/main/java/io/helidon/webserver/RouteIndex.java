@@ -0,0 +1,428 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.helidon.common.http.Http;
+
+/**
+ * A segment trie compiled from the {@link Route routes} of a {@link RouteList}.
+ * <p>
+ * Routes are indexed by the path segments of their {@link PathMatcher#create(String) path pattern}, using literal,
+ * parameter ({@code {name}}) and wildcard ({@code {+name}}) nodes. A lookup returns only the routes which can match
+ * the path and method, preserving the registration order, so {@link ServerRequest#next()} semantics are unchanged.
+ * Routes that cannot be expressed by the trie (custom {@code {name:regexp}} segments, optional sections, custom
+ * {@link PathMatcher} implementations or routes without a path) are always candidates and are matched by their
+ * own matcher.
+ */
+final class RouteIndex {
+    private static final PathMatcher.Result EMPTY_RESULT = new PathPattern.PositiveResult(null);
+
+    private final List<Route> routes;
+    private final Node root = new Node();
+    private final BitSet fallback = new BitSet();
+    private final Map<Http.Method, BitSet> methodRoutes = new EnumMap<>(Http.Method.class);
+    private final Template[] templates;
+
+    private RouteIndex(List<Route> routes) {
+        this.routes = routes;
+        this.templates = new Template[routes.size()];
+
+        for (Http.Method method : Http.Method.values()) {
+            methodRoutes.put(method, acceptingRoutes(method));
+        }
+
+        for (int i = 0; i < routes.size(); i++) {
+            Route route = routes.get(i);
+            if (route instanceof HandlerRoute) {
+                indexHandler(i, ((HandlerRoute) route).pathMatcher());
+            } else if (route instanceof RouteList) {
+                indexRouteList(i, ((RouteList) route).pathContext());
+            } else {
+                fallback.set(i);
+            }
+        }
+        root.compile();
+    }
+
+    /**
+     * Compile an index for a list of routes.
+     *
+     * @param routes routes to index, the list must not change after this method is called
+     * @return a new route index
+     */
+    static RouteIndex create(List<Route> routes) {
+        return new RouteIndex(routes);
+    }
+
+    /**
+     * Find routes that may match the path and method.
+     *
+     * @param path   canonical path to route
+     * @param method HTTP method to route
+     * @return lookup over the candidate routes in registration order
+     */
+    Lookup lookup(String path, Http.RequestMethod method) {
+        int[] slashes = slashes(path);
+        BitSet candidates = (BitSet) fallback.clone();
+        collect(root, path, slashes, 0, candidates);
+        candidates.and(method instanceof Http.Method ? methodRoutes.get(method) : acceptingRoutes(method));
+        return new Lookup(this, path, slashes, candidates);
+    }
+
+    private BitSet acceptingRoutes(Http.RequestMethod method) {
+        BitSet result = new BitSet(routes.size());
+        for (int i = 0; i < routes.size(); i++) {
+            if (routes.get(i).accepts(method)) {
+                result.set(i);
+            }
+        }
+        return result;
+    }
+
+    private void indexHandler(int index, PathMatcher matcher) {
+        List<Segment> segments = segments(matcher, false);
+        if (segments == null) {
+            fallback.set(index);
+            return;
+        }
+        Node node = root;
+        int last = segments.size() - 1;
+        for (int i = 0; i <= last; i++) {
+            Segment segment = segments.get(i);
+            if (segment.type == SegmentType.WILDCARD) {
+                node.wildcard = add(node.wildcard, index);
+                templates[index] = new Template(segments);
+                return;
+            }
+            node = node.child(segment);
+        }
+        node.terminal = add(node.terminal, index);
+        templates[index] = new Template(segments);
+    }
+
+    private void indexRouteList(int index, PathMatcher pathContext) {
+        List<Segment> segments = segments(pathContext, true);
+        if (segments == null) {
+            fallback.set(index);
+            return;
+        }
+        Node node = root;
+        for (Segment segment : segments) {
+            if (segment.type == SegmentType.WILDCARD) {
+                node.wildcard = add(node.wildcard, index);
+                return;
+            }
+            node = node.child(segment);
+        }
+        node.prefix = add(node.prefix, index);
+    }
+
+    private static BitSet add(BitSet set, int index) {
+        BitSet result = (set == null) ? new BitSet() : set;
+        result.set(index);
+        return result;
+    }
+
+    private static void collect(Node node, String path, int[] slashes, int segment, BitSet result) {
+        if (node.prefix != null) {
+            result.or(node.prefix);
+        }
+        int segmentCount = slashes.length - 1;
+        if (segment == segmentCount) {
+            if (node.terminal != null) {
+                result.or(node.terminal);
+            }
+            return;
+        }
+        int start = slashes[segment] + 1;
+        int end = slashes[segment + 1];
+        if (node.wildcard != null && start < path.length()) {
+            result.or(node.wildcard);
+        }
+        Node child = node.literal(path, start, end);
+        if (child != null) {
+            collect(child, path, slashes, segment + 1, result);
+        }
+        if (node.param != null && end > start) {
+            collect(node.param, path, slashes, segment + 1, result);
+        }
+    }
+
+    /**
+     * Positions of the segment separators, with a leading {@code -1} and a trailing path length.
+     * Segment {@code i} spans {@code [slashes[i] + 1, slashes[i + 1])}.
+     */
+    private static int[] slashes(String path) {
+        int count = 0;
+        for (int i = 0; i < path.length(); i++) {
+            if (path.charAt(i) == '/') {
+                count++;
+            }
+        }
+        int[] result = new int[count + 2];
+        result[0] = -1;
+        int index = 1;
+        for (int i = 0; i < path.length(); i++) {
+            if (path.charAt(i) == '/') {
+                result[index++] = i;
+            }
+        }
+        result[index] = path.length();
+        return result;
+    }
+
+    /**
+     * Decompose a path matcher into trie segments.
+     *
+     * @param matcher matcher to decompose
+     * @param prefix  whether the matcher is used for prefix matching
+     * @return segments or {@code null} if the matcher cannot be expressed by the trie
+     */
+    private static List<Segment> segments(PathMatcher matcher, boolean prefix) {
+        if (matcher instanceof PathPattern.CanonicalPathMatcher) {
+            String pattern = ((PathPattern.CanonicalPathMatcher) matcher).pattern();
+            List<Segment> result = new ArrayList<>();
+            for (String literal : pattern.split("/", -1)) {
+                result.add(new Segment(SegmentType.LITERAL, literal));
+            }
+            return (prefix && !prefixable(result)) ? null : result;
+        }
+        if (matcher instanceof PathPattern.RegexpPathMatcher) {
+            String source = ((PathPattern.RegexpPathMatcher) matcher).source();
+            List<Segment> result = (source == null) ? null : parse(source);
+            return (result == null || (prefix && !prefixable(result))) ? null : result;
+        }
+        return null;
+    }
+
+    /**
+     * Prefix matches of patterns with empty segments (such as {@code /} or {@code /foo/}) do not align
+     * with segment boundaries, these are left to the matcher.
+     */
+    private static boolean prefixable(List<Segment> segments) {
+        if (segments.size() < 2) {
+            return false;
+        }
+        for (int i = 1; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            if (segment.type == SegmentType.LITERAL && segment.value.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<Segment> parse(String source) {
+        if (source.indexOf('\\') >= 0 || source.indexOf('[') >= 0 || source.indexOf(']') >= 0) {
+            return null;
+        }
+        String[] parts = source.split("/", -1);
+        List<Segment> result = new ArrayList<>(parts.length);
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i];
+            int open = part.indexOf('{');
+            int close = part.indexOf('}');
+            if (open < 0 && close < 0) {
+                result.add(new Segment(SegmentType.LITERAL, part));
+                continue;
+            }
+            if (open != 0 || close != part.length() - 1 || part.indexOf('{', 1) >= 0) {
+                // parameter mixed with literal characters, or nested braces
+                return null;
+            }
+            String inner = part.substring(1, part.length() - 1);
+            if (inner.indexOf(':') >= 0) {
+                // custom regular expression
+                return null;
+            }
+            if (inner.startsWith("+")) {
+                if (i != parts.length - 1) {
+                    return null;
+                }
+                result.add(new Segment(SegmentType.WILDCARD, inner.substring(1).trim()));
+            } else {
+                result.add(new Segment(SegmentType.PARAM, inner.trim()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Candidate routes of a single lookup.
+     */
+    static final class Lookup {
+        private final RouteIndex index;
+        private final String path;
+        private final int[] slashes;
+        private final BitSet candidates;
+
+        private Lookup(RouteIndex index, String path, int[] slashes, BitSet candidates) {
+            this.index = index;
+            this.path = path;
+            this.slashes = slashes;
+            this.candidates = candidates;
+        }
+
+        /**
+         * Index of the next candidate route.
+         *
+         * @param fromIndex index to start from (inclusive)
+         * @return index of the next candidate or {@code -1} if there are no more candidates
+         */
+        int nextCandidate(int fromIndex) {
+            return candidates.nextSetBit(fromIndex);
+        }
+
+        /**
+         * Match a candidate handler route. Routes indexed by the trie are resolved from the path segments,
+         * without invoking the route matcher.
+         *
+         * @param routeIndex index of a {@link HandlerRoute}
+         * @return match result
+         */
+        PathMatcher.Result match(int routeIndex) {
+            Template template = index.templates[routeIndex];
+            if (template == null) {
+                return ((HandlerRoute) index.routes.get(routeIndex)).match(path);
+            }
+            return template.resolve(path, slashes);
+        }
+    }
+
+    /**
+     * Parameter positions of a route indexed by the trie.
+     */
+    private static final class Template {
+        private final String[] names;
+        private final int[] segments;
+        private final int last;
+
+        private Template(List<Segment> segments) {
+            // a repeated name resolves to its last occurrence, as with the regular expression matcher
+            Map<String, Integer> positions = new LinkedHashMap<>();
+            for (int i = 0; i < segments.size(); i++) {
+                Segment segment = segments.get(i);
+                if (segment.type != SegmentType.LITERAL && !segment.value.isEmpty()) {
+                    positions.remove(segment.value);
+                    positions.put(segment.value, i);
+                }
+            }
+            this.names = positions.keySet().toArray(new String[0]);
+            this.segments = positions.values().stream().mapToInt(Integer::intValue).toArray();
+            this.last = segments.size() - 1;
+        }
+
+        PathMatcher.Result resolve(String path, int[] slashes) {
+            if (names.length == 0) {
+                return EMPTY_RESULT;
+            }
+            int[] offsets = new int[names.length * 2];
+            for (int i = 0; i < names.length; i++) {
+                int segment = segments[i];
+                offsets[i * 2] = slashes[segment] + 1;
+                // the last parameter may be a wildcard spanning the rest of the path
+                offsets[i * 2 + 1] = (segment == last) ? path.length() : slashes[segment + 1];
+            }
+            return new PathPattern.PositiveResult(new PathParameters(path, names, offsets));
+        }
+    }
+
+    private enum SegmentType {
+        LITERAL,
+        PARAM,
+        WILDCARD
+    }
+
+    private static final class Segment {
+        private final SegmentType type;
+        private final String value;
+
+        private Segment(SegmentType type, String value) {
+            this.type = type;
+            this.value = value;
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        private Node param;
+        private BitSet terminal;
+        private BitSet wildcard;
+        private BitSet prefix;
+        // open addressing table of literal children, so a lookup does not need a substring of the path
+        private String[] literalKeys;
+        private Node[] literalNodes;
+
+        private void compile() {
+            if (!literals.isEmpty()) {
+                int size = Integer.highestOneBit(literals.size() * 2 - 1) << 1;
+                literalKeys = new String[size];
+                literalNodes = new Node[size];
+                for (Map.Entry<String, Node> entry : literals.entrySet()) {
+                    String key = entry.getKey();
+                    int slot = key.hashCode() & (size - 1);
+                    while (literalKeys[slot] != null) {
+                        slot = (slot + 1) & (size - 1);
+                    }
+                    literalKeys[slot] = key;
+                    literalNodes[slot] = entry.getValue();
+                    entry.getValue().compile();
+                }
+            }
+            if (param != null) {
+                param.compile();
+            }
+        }
+
+        private Node literal(String path, int start, int end) {
+            if (literalKeys == null) {
+                return null;
+            }
+            // same as String.hashCode() of the segment
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + path.charAt(i);
+            }
+            int length = end - start;
+            int mask = literalKeys.length - 1;
+            for (int slot = hash & mask; literalKeys[slot] != null; slot = (slot + 1) & mask) {
+                String key = literalKeys[slot];
+                if (key.length() == length && path.regionMatches(start, key, 0, length)) {
+                    return literalNodes[slot];
+                }
+            }
+            return null;
+        }
+
+        private Node child(Segment segment) {
+            if (segment.type == SegmentType.PARAM) {
+                if (param == null) {
+                    param = new Node();
+                }
+                return param;
+            }
+            return literals.computeIfAbsent(segment.value, it -> new Node());
+        }
+    }
+}
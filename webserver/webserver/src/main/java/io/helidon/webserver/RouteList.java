@@ -35,6 +35,7 @@ class RouteList extends ArrayList<Route> implements Route {
     // must declare transient, as ArrayList is Serializable (and we are not)
     private final transient PathMatcher pathContext;
     private final transient HttpMethodPredicate methodPredicate;
+    private final transient RouteIndex index;
 
     /**
      * Creates new instance.
@@ -66,6 +67,7 @@ class RouteList extends ArrayList<Route> implements Route {
             this.methodPredicate = null;
         }
         this.pathContext = pathContext;
+        this.index = RouteIndex.create(this);
     }
 
     /**
@@ -81,6 +83,15 @@ class RouteList extends ArrayList<Route> implements Route {
         return pathContext;
     }
 
+    /**
+     * Index of the routes of this list, compiled when the list is created.
+     *
+     * @return route index
+     */
+    RouteIndex index() {
+        return index;
+    }
+
     @Override
     public Set<Http.RequestMethod> acceptedMethods() {
         return methodPredicate == null ? null : methodPredicate.acceptedMethods();
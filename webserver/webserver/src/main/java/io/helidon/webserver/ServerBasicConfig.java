@@ -40,6 +40,8 @@ class ServerBasicConfig implements ServerConfiguration {
     private final ExperimentalConfiguration experimental;
     private final Context context;
     private final boolean printFeatureDetails;
+    private final Transport transport;
+    private final long drainTimeoutMillis;
 
     /**
      * Creates new instance.
@@ -53,6 +55,8 @@ class ServerBasicConfig implements ServerConfiguration {
         this.experimental = builder.experimental();
         this.context = builder.context();
         this.printFeatureDetails = builder.printFeatureDetails();
+        this.transport = builder.transport();
+        this.drainTimeoutMillis = builder.drainTimeoutMillis();
 
         HashMap<String, SocketConfiguration> map = new HashMap<>(builder.sockets());
         map.put(WebServer.DEFAULT_SOCKET_NAME, this.socketConfig);
@@ -159,6 +163,101 @@ class ServerBasicConfig implements ServerConfiguration {
         return socketConfig.enableCompression();
     }
 
+    @Override
+    public boolean reusePort() {
+        return socketConfig.reusePort();
+    }
+
+    @Override
+    public int acceptors() {
+        return socketConfig.acceptors();
+    }
+
+    @Override
+    public int tcpFastOpen() {
+        return socketConfig.tcpFastOpen();
+    }
+
+    @Override
+    public int writeAggregationSize() {
+        return socketConfig.writeAggregationSize();
+    }
+
+    @Override
+    public int writeAggregationChunks() {
+        return socketConfig.writeAggregationChunks();
+    }
+
+    @Override
+    public int flushConsolidation() {
+        return socketConfig.flushConsolidation();
+    }
+
+    @Override
+    public int requestBufferHighWatermark() {
+        return socketConfig.requestBufferHighWatermark();
+    }
+
+    @Override
+    public int requestBufferLowWatermark() {
+        return socketConfig.requestBufferLowWatermark();
+    }
+
+    @Override
+    public int concurrencyLimit() {
+        return socketConfig.concurrencyLimit();
+    }
+
+    @Override
+    public int maxConcurrencyLimit() {
+        return socketConfig.maxConcurrencyLimit();
+    }
+
+    @Override
+    public int concurrencyLimitRetryAfter() {
+        return socketConfig.concurrencyLimitRetryAfter();
+    }
+
+    @Override
+    public int idleTimeoutMillis() {
+        return socketConfig.idleTimeoutMillis();
+    }
+
+    @Override
+    public int readTimeoutMillis() {
+        return socketConfig.readTimeoutMillis();
+    }
+
+    @Override
+    public int maxRequestsPerConnection() {
+        return socketConfig.maxRequestsPerConnection();
+    }
+
+    @Override
+    public int maxConnections() {
+        return socketConfig.maxConnections();
+    }
+
+    @Override
+    public ConnectionOverflowPolicy connectionOverflowPolicy() {
+        return socketConfig.connectionOverflowPolicy();
+    }
+
+    @Override
+    public CompressionConfiguration compression() {
+        return socketConfig.compression();
+    }
+
+    @Override
+    public Transport transport() {
+        return transport;
+    }
+
+    @Override
+    public long drainTimeoutMillis() {
+        return drainTimeoutMillis;
+    }
+
     static class SocketConfig implements SocketConfiguration {
 
         private final int port;
@@ -178,6 +277,23 @@ class ServerBasicConfig implements ServerConfiguration {
         private final int initialBufferSize;
         private final boolean enableCompression;
         private final long maxPayloadSize;
+        private final boolean reusePort;
+        private final int acceptors;
+        private final int tcpFastOpen;
+        private final int writeAggregationSize;
+        private final int writeAggregationChunks;
+        private final int flushConsolidation;
+        private final int requestBufferHighWatermark;
+        private final int requestBufferLowWatermark;
+        private final int concurrencyLimit;
+        private final int maxConcurrencyLimit;
+        private final int concurrencyLimitRetryAfter;
+        private final int idleTimeoutMillis;
+        private final int readTimeoutMillis;
+        private final int maxRequestsPerConnection;
+        private final int maxConnections;
+        private final ConnectionOverflowPolicy connectionOverflowPolicy;
+        private final CompressionConfiguration compression;
 
         /**
          * Creates new instance.
@@ -197,6 +313,24 @@ class ServerBasicConfig implements ServerConfiguration {
             this.initialBufferSize = builder.initialBufferSize();
             this.enableCompression = builder.enableCompression();
             this.maxPayloadSize = builder.maxPayloadSize();
+            this.reusePort = builder.reusePort();
+            this.acceptors = Math.max(builder.acceptors(), 1);
+            this.tcpFastOpen = Math.max(builder.tcpFastOpen(), 0);
+            this.writeAggregationSize = Math.max(builder.writeAggregationSize(), 0);
+            this.writeAggregationChunks = Math.max(builder.writeAggregationChunks(), 1);
+            this.flushConsolidation = Math.max(builder.flushConsolidation(), 0);
+            this.requestBufferHighWatermark = Math.max(builder.requestBufferHighWatermark(), 0);
+            this.requestBufferLowWatermark = Math.min(Math.max(builder.requestBufferLowWatermark(), 0),
+                                                      requestBufferHighWatermark);
+            this.concurrencyLimit = Math.max(builder.concurrencyLimit(), 0);
+            this.maxConcurrencyLimit = Math.max(builder.maxConcurrencyLimit(), concurrencyLimit);
+            this.concurrencyLimitRetryAfter = Math.max(builder.concurrencyLimitRetryAfter(), 0);
+            this.idleTimeoutMillis = Math.max(builder.idleTimeoutMillis(), 0);
+            this.readTimeoutMillis = Math.max(builder.readTimeoutMillis(), 0);
+            this.maxRequestsPerConnection = Math.max(builder.maxRequestsPerConnection(), 0);
+            this.maxConnections = Math.max(builder.maxConnections(), 0);
+            this.connectionOverflowPolicy = builder.connectionOverflowPolicy();
+            this.compression = builder.compression();
 
             WebServerTls webServerTls = builder.tlsConfig();
             if (webServerTls.enabled()) {
@@ -294,5 +428,90 @@ class ServerBasicConfig implements ServerConfiguration {
         public long maxPayloadSize() {
             return maxPayloadSize;
         }
+
+        @Override
+        public boolean reusePort() {
+            return reusePort;
+        }
+
+        @Override
+        public int acceptors() {
+            return acceptors;
+        }
+
+        @Override
+        public int tcpFastOpen() {
+            return tcpFastOpen;
+        }
+
+        @Override
+        public int writeAggregationSize() {
+            return writeAggregationSize;
+        }
+
+        @Override
+        public int writeAggregationChunks() {
+            return writeAggregationChunks;
+        }
+
+        @Override
+        public int flushConsolidation() {
+            return flushConsolidation;
+        }
+
+        @Override
+        public int requestBufferHighWatermark() {
+            return requestBufferHighWatermark;
+        }
+
+        @Override
+        public int requestBufferLowWatermark() {
+            return requestBufferLowWatermark;
+        }
+
+        @Override
+        public int concurrencyLimit() {
+            return concurrencyLimit;
+        }
+
+        @Override
+        public int maxConcurrencyLimit() {
+            return maxConcurrencyLimit;
+        }
+
+        @Override
+        public int concurrencyLimitRetryAfter() {
+            return concurrencyLimitRetryAfter;
+        }
+
+        @Override
+        public int idleTimeoutMillis() {
+            return idleTimeoutMillis;
+        }
+
+        @Override
+        public int readTimeoutMillis() {
+            return readTimeoutMillis;
+        }
+
+        @Override
+        public int maxRequestsPerConnection() {
+            return maxRequestsPerConnection;
+        }
+
+        @Override
+        public int maxConnections() {
+            return maxConnections;
+        }
+
+        @Override
+        public ConnectionOverflowPolicy connectionOverflowPolicy() {
+            return connectionOverflowPolicy;
+        }
+
+        @Override
+        public CompressionConfiguration compression() {
+            return compression;
+        }
     }
 }
@@ -207,6 +207,29 @@ public interface ServerConfiguration extends SocketConfiguration {
      */
     boolean printFeatureDetails();
 
+    /**
+     * Network transport used by the server event loops.
+     * <p>
+     * Default value is {@link io.helidon.webserver.Transport#AUTO}.
+     *
+     * @return transport
+     */
+    default Transport transport() {
+        return Transport.AUTO;
+    }
+
+    /**
+     * How long the server waits for exchanges in progress to finish when shutting down.
+     * During the drain, HTTP/1 connections are closed once their current response is sent and HTTP/2
+     * connections receive {@code GOAWAY}; new connections are not accepted.
+     * {@code 0} closes the connections right away.
+     *
+     * @return drain timeout in milliseconds
+     */
+    default long drainTimeoutMillis() {
+        return 0;
+    }
+
     /**
      * Checks if HTTP/2 is enabled in config.
      *
@@ -270,6 +293,8 @@ public interface ServerConfiguration extends SocketConfiguration {
         private ExperimentalConfiguration experimental;
         private Context context;
         private boolean printFeatureDetails;
+        private Transport transport = Transport.AUTO;
+        private long drainTimeoutMillis;
 
         private Builder() {
         }
@@ -445,6 +470,37 @@ public interface ServerConfiguration extends SocketConfiguration {
             return this;
         }
 
+        /**
+         * Sets the network transport used by the server event loops. Native transports
+         * are used only when available on the classpath and platform, otherwise NIO is used.
+         * Default value is {@link Transport#AUTO}.
+         * <p>
+         * Configuration key: {@code transport}
+         *
+         * @param transport transport to use
+         * @return an updated builder
+         */
+        public Builder transport(Transport transport) {
+            this.transport = Objects.requireNonNull(transport, "Parameter 'transport' must not be null!");
+            return this;
+        }
+
+        /**
+         * Sets how long the server waits for exchanges in progress to finish when shutting down.
+         * Default value is {@code 0}, connections are closed right away.
+         * <p>
+         * Configuration key: {@code drain-timeout-millis}
+         *
+         * @param amount amount of time
+         * @param unit time unit
+         * @return an updated builder
+         * @see ServerConfiguration#drainTimeoutMillis()
+         */
+        public Builder drainTimeout(long amount, TimeUnit unit) {
+            this.drainTimeoutMillis = Math.max(unit.toMillis(amount), 0);
+            return this;
+        }
+
         /**
          * Sets an <a href="http://opentracing.io">opentracing.io</a> tracer. (Default is {@link GlobalTracer}.)
          *
@@ -563,6 +619,8 @@ public interface ServerConfiguration extends SocketConfiguration {
                     .ifPresent(this::workersCount);
 
             config.get("features.print-details").asBoolean().ifPresent(this::printFeatureDetails);
+            config.get("transport").asString().map(Transport::parse).ifPresent(this::transport);
+            config.get("drain-timeout-millis").asLong().ifPresent(it -> this.drainTimeout(it, TimeUnit.MILLISECONDS));
 
             // sockets
             Config socketsConfig = config.get("sockets");
@@ -682,6 +740,14 @@ public interface ServerConfiguration extends SocketConfiguration {
             return printFeatureDetails;
         }
 
+        Transport transport() {
+            return transport;
+        }
+
+        long drainTimeoutMillis() {
+            return drainTimeoutMillis;
+        }
+
         @Override
         public Builder timeout(long amount, TimeUnit unit) {
             this.defaultSocketBuilder.timeout(amount, unit);
@@ -699,5 +765,107 @@ public interface ServerConfiguration extends SocketConfiguration {
             this.defaultSocketBuilder.enableCompression(true);
             return this;
         }
+
+        @Override
+        public Builder reusePort(boolean reusePort) {
+            this.defaultSocketBuilder.reusePort(reusePort);
+            return this;
+        }
+
+        @Override
+        public Builder acceptors(int acceptors) {
+            this.defaultSocketBuilder.acceptors(acceptors);
+            return this;
+        }
+
+        @Override
+        public Builder tcpFastOpen(int queueLength) {
+            this.defaultSocketBuilder.tcpFastOpen(queueLength);
+            return this;
+        }
+
+        @Override
+        public Builder writeAggregationSize(int size) {
+            this.defaultSocketBuilder.writeAggregationSize(size);
+            return this;
+        }
+
+        @Override
+        public Builder writeAggregationChunks(int chunks) {
+            this.defaultSocketBuilder.writeAggregationChunks(chunks);
+            return this;
+        }
+
+        @Override
+        public Builder flushConsolidation(int flushes) {
+            this.defaultSocketBuilder.flushConsolidation(flushes);
+            return this;
+        }
+
+        @Override
+        public Builder requestBufferHighWatermark(int bytes) {
+            this.defaultSocketBuilder.requestBufferHighWatermark(bytes);
+            return this;
+        }
+
+        @Override
+        public Builder requestBufferLowWatermark(int bytes) {
+            this.defaultSocketBuilder.requestBufferLowWatermark(bytes);
+            return this;
+        }
+
+        @Override
+        public Builder concurrencyLimit(int limit) {
+            this.defaultSocketBuilder.concurrencyLimit(limit);
+            return this;
+        }
+
+        @Override
+        public Builder maxConcurrencyLimit(int limit) {
+            this.defaultSocketBuilder.maxConcurrencyLimit(limit);
+            return this;
+        }
+
+        @Override
+        public Builder concurrencyLimitRetryAfter(int seconds) {
+            this.defaultSocketBuilder.concurrencyLimitRetryAfter(seconds);
+            return this;
+        }
+
+        @Override
+        public Builder idleTimeout(long amount, TimeUnit unit) {
+            this.defaultSocketBuilder.idleTimeout(amount, unit);
+            return this;
+        }
+
+        @Override
+        public Builder readTimeout(long amount, TimeUnit unit) {
+            this.defaultSocketBuilder.readTimeout(amount, unit);
+            return this;
+        }
+
+        @Override
+        public Builder maxRequestsPerConnection(int max) {
+            this.defaultSocketBuilder.maxRequestsPerConnection(max);
+            return this;
+        }
+
+        @Override
+        public Builder maxConnections(int max) {
+            this.defaultSocketBuilder.maxConnections(max);
+            return this;
+        }
+
+        @Override
+        public Builder connectionOverflowPolicy(ConnectionOverflowPolicy policy) {
+            this.defaultSocketBuilder.connectionOverflowPolicy(policy);
+            return this;
+        }
+
+        @Override
+        public Builder compression(CompressionConfiguration compression) {
+            this.defaultSocketBuilder.compression(compression);
+            return this;
+        }
     }
 }
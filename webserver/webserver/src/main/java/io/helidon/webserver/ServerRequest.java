@@ -126,6 +126,14 @@ public interface ServerRequest extends HttpRequest {
      */
     long requestId();
 
+    /**
+     * Timestamps of the processing phases of this request, such as the time its handler was entered
+     * or the time the response headers were written.
+     *
+     * @return request timing
+     */
+    RequestTiming timing();
+
     /**
      * Returns a span context related to the current request.
      * <p>
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufAllocatorMetric;
+import io.netty.buffer.ByteBufAllocatorMetricProvider;
+import io.netty.buffer.PoolArenaMetric;
+import io.netty.buffer.PooledByteBufAllocatorMetric;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * Internal state of a web server: its event loops, connections and buffers.
+ * <p>
+ * The values are computed when read, so they can be registered as gauges in a metric registry
+ * with no cost until they are collected.
+ *
+ * @see WebServer#statistics()
+ */
+public final class ServerStatistics {
+    private static final long PROBE_PERIOD_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final List<EventExecutor> eventLoops;
+    private final Map<String, HttpInitializer> initializers;
+    private final ByteBufAllocator allocator = ByteBufAllocator.DEFAULT;
+    private final AtomicBoolean probesStarted = new AtomicBoolean();
+    private final List<DelayProbe> probes;
+
+    ServerStatistics(EventLoopGroup workerGroup, Map<String, HttpInitializer> initializers) {
+        List<EventExecutor> eventLoops = new ArrayList<>();
+        workerGroup.forEach(eventLoops::add);
+        List<DelayProbe> probes = new ArrayList<>(eventLoops.size());
+        eventLoops.forEach(eventLoop -> probes.add(new DelayProbe(eventLoop)));
+        this.eventLoops = Collections.unmodifiableList(eventLoops);
+        this.probes = Collections.unmodifiableList(probes);
+        this.initializers = initializers;
+    }
+
+    /**
+     * Number of event loops processing the connections of the server.
+     *
+     * @return number of event loops
+     */
+    public int eventLoops() {
+        return eventLoops.size();
+    }
+
+    /**
+     * Number of tasks waiting to be processed by an event loop.
+     *
+     * @param eventLoop index of the event loop, less than {@link #eventLoops()}
+     * @return number of pending tasks, or {@code -1} if not supported by the transport
+     */
+    public int pendingTasks(int eventLoop) {
+        EventExecutor executor = eventLoops.get(eventLoop);
+        if (executor instanceof SingleThreadEventExecutor) {
+            return ((SingleThreadEventExecutor) executor).pendingTasks();
+        }
+        return -1;
+    }
+
+    /**
+     * Scheduling delay of an event loop, the time between the moment a probe task was due and the moment
+     * it ran, as measured by the last probe. A growing delay means the event loop is blocked or overloaded,
+     * and so is every connection it serves.
+     * <p>
+     * The probes are scheduled on all event loops twice per second, starting with the first invocation
+     * of this method.
+     *
+     * @param eventLoop index of the event loop, less than {@link #eventLoops()}
+     * @return scheduling delay in nanoseconds
+     */
+    public long eventLoopDelay(int eventLoop) {
+        if (probesStarted.compareAndSet(false, true)) {
+            probes.forEach(DelayProbe::schedule);
+        }
+        return probes.get(eventLoop).delay;
+    }
+
+    /**
+     * Number of open connections of a socket.
+     *
+     * @param socketName the name of an additional named server socket configuration, or
+     *                   {@link WebServer#DEFAULT_SOCKET_NAME} for the default socket
+     * @return number of open connections, {@code 0} for an unknown socket
+     */
+    public int openConnections(String socketName) {
+        HttpInitializer initializer = initializers.get(socketName);
+        return (initializer == null) ? 0 : initializer.openConnections();
+    }
+
+    /**
+     * Number of request chunks handed to the application and not released yet. Chunks that are never
+     * released are released once garbage collected, a growing backlog means they are not released
+     * by the application.
+     *
+     * @return number of unreleased request chunks
+     */
+    public int unreleasedChunks() {
+        int count = 0;
+        for (HttpInitializer initializer : initializers.values()) {
+            count += initializer.unreleasedChunks();
+        }
+        return count;
+    }
+
+    /**
+     * Direct memory used by the buffer allocator.
+     *
+     * @return direct memory in bytes, or {@code -1} if not supported by the allocator
+     */
+    public long allocatorDirectMemory() {
+        ByteBufAllocatorMetric metric = allocatorMetric();
+        return (metric == null) ? -1 : metric.usedDirectMemory();
+    }
+
+    /**
+     * Heap memory used by the buffer allocator.
+     *
+     * @return heap memory in bytes, or {@code -1} if not supported by the allocator
+     */
+    public long allocatorHeapMemory() {
+        ByteBufAllocatorMetric metric = allocatorMetric();
+        return (metric == null) ? -1 : metric.usedHeapMemory();
+    }
+
+    /**
+     * Number of buffers currently allocated from the arenas of the pooled buffer allocator.
+     *
+     * @return number of active allocations, or {@code -1} if the allocator is not pooled
+     */
+    public long arenaActiveAllocations() {
+        ByteBufAllocatorMetric metric = allocatorMetric();
+        if (!(metric instanceof PooledByteBufAllocatorMetric)) {
+            return -1;
+        }
+        PooledByteBufAllocatorMetric pooled = (PooledByteBufAllocatorMetric) metric;
+        long count = 0;
+        for (PoolArenaMetric arena : pooled.directArenas()) {
+            count += arena.numActiveAllocations();
+        }
+        for (PoolArenaMetric arena : pooled.heapArenas()) {
+            count += arena.numActiveAllocations();
+        }
+        return count;
+    }
+
+    /**
+     * Bytes of the buffers currently allocated from the arenas of the pooled buffer allocator.
+     *
+     * @return active bytes, or {@code -1} if the allocator is not pooled
+     */
+    public long arenaActiveBytes() {
+        ByteBufAllocatorMetric metric = allocatorMetric();
+        if (!(metric instanceof PooledByteBufAllocatorMetric)) {
+            return -1;
+        }
+        PooledByteBufAllocatorMetric pooled = (PooledByteBufAllocatorMetric) metric;
+        long bytes = 0;
+        for (PoolArenaMetric arena : pooled.directArenas()) {
+            bytes += arena.numActiveBytes();
+        }
+        for (PoolArenaMetric arena : pooled.heapArenas()) {
+            bytes += arena.numActiveBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Direct memory reserved by Netty, including buffers allocated outside of the allocator pools.
+     *
+     * @return direct memory in bytes, or {@code -1} if not tracked
+     */
+    public long directMemory() {
+        return PlatformDependent.usedDirectMemory();
+    }
+
+    /**
+     * Maximal direct memory Netty can reserve.
+     *
+     * @return maximal direct memory in bytes
+     */
+    public long maxDirectMemory() {
+        return PlatformDependent.maxDirectMemory();
+    }
+
+    private ByteBufAllocatorMetric allocatorMetric() {
+        if (allocator instanceof ByteBufAllocatorMetricProvider) {
+            return ((ByteBufAllocatorMetricProvider) allocator).metric();
+        }
+        return null;
+    }
+
+    /**
+     * Periodic task measuring how late it runs on its event loop.
+     */
+    private static final class DelayProbe implements Runnable {
+        private final EventExecutor eventLoop;
+        private volatile long delay;
+        private long deadline;
+
+        private DelayProbe(EventExecutor eventLoop) {
+            this.eventLoop = eventLoop;
+        }
+
+        @Override
+        public void run() {
+            delay = Math.max(System.nanoTime() - deadline, 0);
+            schedule();
+        }
+
+        private void schedule() {
+            if (eventLoop.isShuttingDown()) {
+                return;
+            }
+            deadline = System.nanoTime() + PROBE_PERIOD_NANOS;
+            try {
+                eventLoop.schedule(this, PROBE_PERIOD_NANOS, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException ignored) {
+                // the event loop is shut down
+            }
+        }
+    }
+}
@@ -20,6 +20,7 @@ import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -49,6 +50,61 @@ public interface SocketConfiguration {
      */
     int DEFAULT_BACKLOG_SIZE = 1024;
 
+    /**
+     * The default number of response data chunks aggregated into a single write.
+     */
+    int DEFAULT_WRITE_AGGREGATION_CHUNKS = 64;
+
+    /**
+     * The default number of buffered request content bytes above which reading from the connection is suspended.
+     */
+    int DEFAULT_REQUEST_BUFFER_HIGH_WATERMARK = 64 * 1024;
+
+    /**
+     * The default number of buffered request content bytes below which reading from the connection is resumed.
+     */
+    int DEFAULT_REQUEST_BUFFER_LOW_WATERMARK = 32 * 1024;
+
+    /**
+     * The default initial concurrency limit, admission control is disabled by default.
+     */
+    int DEFAULT_CONCURRENCY_LIMIT = 0;
+
+    /**
+     * The default maximum of the adaptive concurrency limit.
+     */
+    int DEFAULT_MAX_CONCURRENCY_LIMIT = 1000;
+
+    /**
+     * The default {@code Retry-After} of requests rejected by the concurrency limit, in seconds.
+     */
+    int DEFAULT_CONCURRENCY_LIMIT_RETRY_AFTER = 1;
+
+    /**
+     * The default number of acceptors of a socket.
+     */
+    int DEFAULT_ACCEPTORS = 1;
+
+    /**
+     * The default idle timeout of connections, idle connections are not closed by default.
+     */
+    int DEFAULT_IDLE_TIMEOUT_MILLIS = 0;
+
+    /**
+     * The default read timeout of request content, disabled by default.
+     */
+    int DEFAULT_READ_TIMEOUT_MILLIS = 0;
+
+    /**
+     * The default maximum of requests per connection, unlimited by default.
+     */
+    int DEFAULT_MAX_REQUESTS_PER_CONNECTION = 0;
+
+    /**
+     * The default maximum of concurrent connections, unlimited by default.
+     */
+    int DEFAULT_MAX_CONNECTIONS = 0;
+
     /**
      * Name of this socket.
      * Default to {@link io.helidon.webserver.WebServer#DEFAULT_SOCKET_NAME} for the main and
@@ -192,6 +248,184 @@ public interface SocketConfiguration {
      */
     int initialBufferSize();
 
+    /**
+     * Whether to set {@code SO_REUSEPORT} on the server socket, so multiple sockets can bind the same port
+     * and the kernel balances new connections between them.
+     * Only supported with a native {@link io.helidon.webserver.Transport}.
+     *
+     * @return {@code true} to enable {@code SO_REUSEPORT}
+     */
+    default boolean reusePort() {
+        return false;
+    }
+
+    /**
+     * Number of server channels bound to the port of this socket, each accepting connections on its own thread.
+     * More than one acceptor sets {@code SO_REUSEPORT}, so the kernel balances new connections between them,
+     * and requires a native transport.
+     *
+     * @return number of acceptors
+     */
+    default int acceptors() {
+        return DEFAULT_ACCEPTORS;
+    }
+
+    /**
+     * Length of the queue of pending TCP Fast Open connections on the server socket, {@code 0} disables
+     * TCP Fast Open.
+     * Only supported with a native {@link io.helidon.webserver.Transport}.
+     *
+     * @return TCP Fast Open queue length
+     */
+    default int tcpFastOpen() {
+        return 0;
+    }
+
+    /**
+     * Maximal number of bytes of response data chunks aggregated into a single write. Chunks are written
+     * once the aggregated size or number of chunks reaches its limit, when a chunk requests a flush
+     * ({@link io.helidon.common.http.DataChunk#flush()}) and when the response completes.
+     * Aggregated chunks reach the client as a single HTTP chunk.
+     * {@code 0} (the default) disables aggregation.
+     *
+     * @return aggregation size in bytes
+     */
+    default int writeAggregationSize() {
+        return 0;
+    }
+
+    /**
+     * Maximal number of response data chunks aggregated into a single write.
+     *
+     * @return number of chunks
+     * @see #writeAggregationSize()
+     */
+    default int writeAggregationChunks() {
+        return DEFAULT_WRITE_AGGREGATION_CHUNKS;
+    }
+
+    /**
+     * Number of flushes after which a flush is written to the socket, flushes requested in between are
+     * consolidated into a single one at the end of the current event loop task or read.
+     * {@code 0} (the default) disables flush consolidation.
+     *
+     * @return number of flushes
+     */
+    default int flushConsolidation() {
+        return 0;
+    }
+
+    /**
+     * Number of bytes of request content received and not yet requested by the subscriber of the content,
+     * above which reading from the connection is suspended. Reading resumes once the buffered content
+     * drops to {@link #requestBufferLowWatermark()}.
+     *
+     * @return high watermark in bytes
+     */
+    default int requestBufferHighWatermark() {
+        return DEFAULT_REQUEST_BUFFER_HIGH_WATERMARK;
+    }
+
+    /**
+     * Number of bytes of buffered request content below which suspended reading from the connection resumes.
+     *
+     * @return low watermark in bytes
+     * @see #requestBufferHighWatermark()
+     */
+    default int requestBufferLowWatermark() {
+        return DEFAULT_REQUEST_BUFFER_LOW_WATERMARK;
+    }
+
+    /**
+     * Initial number of requests that can be in flight on this socket at the same time.
+     * The limit adapts to the observed request latency between {@code 1} and {@link #maxConcurrencyLimit()}.
+     * Requests over the limit are rejected with {@code 503 Service Unavailable} before routing.
+     *
+     * @return initial concurrency limit, {@code 0} if admission control is disabled
+     */
+    default int concurrencyLimit() {
+        return DEFAULT_CONCURRENCY_LIMIT;
+    }
+
+    /**
+     * Maximum the adaptive concurrency limit can grow to.
+     * A value equal to {@link #concurrencyLimit()} makes the limit fixed.
+     *
+     * @return maximum concurrency limit
+     */
+    default int maxConcurrencyLimit() {
+        return DEFAULT_MAX_CONCURRENCY_LIMIT;
+    }
+
+    /**
+     * Value of the {@code Retry-After} header of requests rejected because of the concurrency limit.
+     *
+     * @return retry after in seconds
+     */
+    default int concurrencyLimitRetryAfter() {
+        return DEFAULT_CONCURRENCY_LIMIT_RETRY_AFTER;
+    }
+
+    /**
+     * Time in milliseconds after which a connection without any request in flight and without any reads or writes is closed,
+     * {@code 0} to keep idle connections open.
+     *
+     * @return idle timeout in milliseconds
+     */
+    default int idleTimeoutMillis() {
+        return DEFAULT_IDLE_TIMEOUT_MILLIS;
+    }
+
+    /**
+     * Time in milliseconds the server waits for more request content requested by the application
+     * before the connection is closed, {@code 0} to wait indefinitely.
+     *
+     * @return read timeout in milliseconds
+     */
+    default int readTimeoutMillis() {
+        return DEFAULT_READ_TIMEOUT_MILLIS;
+    }
+
+    /**
+     * Maximum number of requests served on a single HTTP/1 connection, {@code 0} for unlimited.
+     * The response to the last request has a {@code Connection: close} header, so the client opens a new connection,
+     * which can be balanced to another server.
+     *
+     * @return maximum number of requests per connection
+     */
+    default int maxRequestsPerConnection() {
+        return DEFAULT_MAX_REQUESTS_PER_CONNECTION;
+    }
+
+    /**
+     * Maximum number of connections open on this socket at the same time, {@code 0} for unlimited.
+     * Connections over the limit are handled according to {@link #connectionOverflowPolicy()}.
+     *
+     * @return maximum number of connections
+     */
+    default int maxConnections() {
+        return DEFAULT_MAX_CONNECTIONS;
+    }
+
+    /**
+     * What to do with new connections when {@link #maxConnections()} is reached.
+     * Default is {@link ConnectionOverflowPolicy#CLOSE}.
+     *
+     * @return connection overflow policy
+     */
+    default ConnectionOverflowPolicy connectionOverflowPolicy() {
+        return ConnectionOverflowPolicy.CLOSE;
+    }
+
+    /**
+     * Configuration of the response compression, used when {@link #enableCompression()} is {@code true}.
+     *
+     * @return compression configuration
+     */
+    default CompressionConfiguration compression() {
+        return CompressionConfiguration.builder().build();
+    }
+
     /**
      * Creates a builder of {@link SocketConfiguration} class.
      *
@@ -213,6 +447,17 @@ public interface SocketConfiguration {
                 .build();
     }
 
+    /**
+     * Socket configuration builder API, used by {@link SocketConfiguration.Builder}
+     * to configure additional sockets, and by {@link WebServer.Builder} to
+     * configure the default socket.
+     * <p>
+     * Options added after the first release have default methods that ignore the value and return this builder,
+     * so existing implementations of this interface still compile and can be configured from any config,
+     * and the defaults of {@link SocketConfiguration} apply to the options they do not support.
+     *
+     * @param <B> type of the builder
+     */
     interface SocketConfigurationBuilder<B extends SocketConfigurationBuilder<B>> {
         /**
          * Configures a server port to listen on with the server socket. If port is
@@ -357,13 +602,234 @@ public interface SocketConfiguration {
          */
         B maxPayloadSize(long size);
 
+        /**
+         * Set {@code SO_REUSEPORT} on the server socket. Only supported with a native
+         * {@link io.helidon.webserver.Transport}.
+         * <p>
+         * Default is {@code false}
+         *
+         * @param reusePort whether to reuse port
+         * @return this builder
+         */
+        default B reusePort(boolean reusePort) {
+            return identity();
+        }
+
+        /**
+         * Number of server channels bound to the port, each accepting connections on its own thread.
+         * Use more than one acceptor when the server must accept connections at a high rate.
+         * Only supported with a native transport, which balances the connections with {@code SO_REUSEPORT}.
+         * <p>
+         * Default is {@value SocketConfiguration#DEFAULT_ACCEPTORS}
+         *
+         * @param acceptors number of acceptors
+         * @return this builder
+         * @see SocketConfiguration#acceptors()
+         */
+        default B acceptors(int acceptors) {
+            return identity();
+        }
+
+        /**
+         * Enable TCP Fast Open on the server socket with the provided pending connection queue length.
+         * Only supported with a native {@link io.helidon.webserver.Transport}.
+         * <p>
+         * Default is {@code 0} (disabled)
+         *
+         * @param queueLength queue length of pending TCP Fast Open connections, {@code 0} to disable
+         * @return this builder
+         */
+        default B tcpFastOpen(int queueLength) {
+            return identity();
+        }
+
+        /**
+         * Maximal number of bytes of response data chunks aggregated into a single write.
+         * <p>
+         * Aggregation is disabled by default.
+         *
+         * @param size aggregation size in bytes, {@code 0} to disable aggregation
+         * @return this builder
+         * @see SocketConfiguration#writeAggregationSize()
+         */
+        default B writeAggregationSize(int size) {
+            return identity();
+        }
+
+        /**
+         * Maximal number of response data chunks aggregated into a single write.
+         * <p>
+         * Default is {@value SocketConfiguration#DEFAULT_WRITE_AGGREGATION_CHUNKS}
+         *
+         * @param chunks number of chunks
+         * @return this builder
+         * @see SocketConfiguration#writeAggregationChunks()
+         */
+        default B writeAggregationChunks(int chunks) {
+            return identity();
+        }
+
+        /**
+         * Number of flushes after which a flush is written to the socket, flushes in between are consolidated.
+         * <p>
+         * Flush consolidation is disabled by default.
+         *
+         * @param flushes number of flushes, {@code 0} to disable flush consolidation
+         * @return this builder
+         * @see SocketConfiguration#flushConsolidation()
+         */
+        default B flushConsolidation(int flushes) {
+            return identity();
+        }
+
+        /**
+         * Number of buffered request content bytes above which reading from the connection is suspended.
+         * <p>
+         * Default is {@value SocketConfiguration#DEFAULT_REQUEST_BUFFER_HIGH_WATERMARK}
+         *
+         * @param bytes high watermark in bytes
+         * @return this builder
+         * @see SocketConfiguration#requestBufferHighWatermark()
+         */
+        default B requestBufferHighWatermark(int bytes) {
+            return identity();
+        }
+
+        /**
+         * Number of buffered request content bytes below which suspended reading from the connection resumes.
+         * <p>
+         * Default is {@value SocketConfiguration#DEFAULT_REQUEST_BUFFER_LOW_WATERMARK}
+         *
+         * @param bytes low watermark in bytes, not higher than the high watermark
+         * @return this builder
+         * @see SocketConfiguration#requestBufferLowWatermark()
+         */
+        default B requestBufferLowWatermark(int bytes) {
+            return identity();
+        }
+
+        /**
+         * Initial number of requests that can be in flight at the same time, {@code 0} to disable admission control.
+         * <p>
+         * Default is {@value SocketConfiguration#DEFAULT_CONCURRENCY_LIMIT}
+         *
+         * @param limit initial concurrency limit
+         * @return this builder
+         * @see SocketConfiguration#concurrencyLimit()
+         */
+        default B concurrencyLimit(int limit) {
+            return identity();
+        }
+
+        /**
+         * Maximum the adaptive concurrency limit can grow to, not lower than the initial limit.
+         * <p>
+         * Default is {@value SocketConfiguration#DEFAULT_MAX_CONCURRENCY_LIMIT}
+         *
+         * @param limit maximum concurrency limit
+         * @return this builder
+         * @see SocketConfiguration#maxConcurrencyLimit()
+         */
+        default B maxConcurrencyLimit(int limit) {
+            return identity();
+        }
+
+        /**
+         * Value of the {@code Retry-After} header of requests rejected because of the concurrency limit.
+         * <p>
+         * Default is {@value SocketConfiguration#DEFAULT_CONCURRENCY_LIMIT_RETRY_AFTER}
+         *
+         * @param seconds retry after in seconds
+         * @return this builder
+         * @see SocketConfiguration#concurrencyLimitRetryAfter()
+         */
+        default B concurrencyLimitRetryAfter(int seconds) {
+            return identity();
+        }
+
+        /**
+         * Time after which a connection without any request in flight and without any reads or writes is closed.
+         * <p>
+         * Default is {@value SocketConfiguration#DEFAULT_IDLE_TIMEOUT_MILLIS}
+         *
+         * @param amount idle timeout, {@code 0} to keep idle connections open
+         * @param unit time unit of the amount
+         * @return this builder
+         * @see SocketConfiguration#idleTimeoutMillis()
+         */
+        default B idleTimeout(long amount, TimeUnit unit) {
+            return identity();
+        }
+
+        /**
+         * Time the server waits for more request content requested by the application before the connection is closed.
+         * <p>
+         * Default is {@value SocketConfiguration#DEFAULT_READ_TIMEOUT_MILLIS}
+         *
+         * @param amount read timeout, {@code 0} to wait indefinitely
+         * @param unit time unit of the amount
+         * @return this builder
+         * @see SocketConfiguration#readTimeoutMillis()
+         */
+        default B readTimeout(long amount, TimeUnit unit) {
+            return identity();
+        }
+
+        /**
+         * Maximum number of requests served on a single HTTP/1 connection, {@code 0} for unlimited.
+         * <p>
+         * Default is {@value SocketConfiguration#DEFAULT_MAX_REQUESTS_PER_CONNECTION}
+         *
+         * @param max maximum number of requests per connection
+         * @return this builder
+         * @see SocketConfiguration#maxRequestsPerConnection()
+         */
+        default B maxRequestsPerConnection(int max) {
+            return identity();
+        }
+
+        /**
+         * Maximum number of connections open on this socket at the same time, {@code 0} for unlimited.
+         * <p>
+         * Default is {@value SocketConfiguration#DEFAULT_MAX_CONNECTIONS}
+         *
+         * @param max maximum number of connections
+         * @return this builder
+         * @see SocketConfiguration#maxConnections()
+         */
+        default B maxConnections(int max) {
+            return identity();
+        }
+
+        /**
+         * What to do with new connections when the maximum number of connections is reached.
+         * Default is {@link ConnectionOverflowPolicy#CLOSE}.
+         *
+         * @param policy connection overflow policy
+         * @return this builder
+         * @see SocketConfiguration#connectionOverflowPolicy()
+         */
+        default B connectionOverflowPolicy(ConnectionOverflowPolicy policy) {
+            return identity();
+        }
+
+        /**
+         * Configure the response compression, used when compression is enabled.
+         *
+         * @param compression compression configuration
+         * @return this builder
+         * @see SocketConfiguration#compression()
+         */
+        default B compression(CompressionConfiguration compression) {
+            return identity();
+        }
+
         /**
          * Update this socket configuration from a {@link io.helidon.config.Config}.
          *
          * @param config configuration on the node of a socket
          * @return updated builder instance
          */
-        @SuppressWarnings("unchecked")
         default B config(Config config) {
             config.get("port").asInt().ifPresent(this::port);
             config.get("bind-address").asString().ifPresent(this::host);
@@ -371,6 +837,24 @@ public interface SocketConfiguration {
             config.get("max-header-size").asInt().ifPresent(this::maxHeaderSize);
             config.get("max-initial-line-length").asInt().ifPresent(this::maxInitialLineLength);
             config.get("max-payload-size").asInt().ifPresent(this::maxPayloadSize);
+            config.get("reuse-port").asBoolean().ifPresent(this::reusePort);
+            config.get("acceptors").asInt().ifPresent(this::acceptors);
+            config.get("tcp-fast-open").asInt().ifPresent(this::tcpFastOpen);
+            config.get("write-aggregation-size").asInt().ifPresent(this::writeAggregationSize);
+            config.get("write-aggregation-chunks").asInt().ifPresent(this::writeAggregationChunks);
+            config.get("flush-consolidation").asInt().ifPresent(this::flushConsolidation);
+            config.get("request-buffer-high-watermark").asInt().ifPresent(this::requestBufferHighWatermark);
+            config.get("request-buffer-low-watermark").asInt().ifPresent(this::requestBufferLowWatermark);
+            config.get("concurrency-limit").asInt().ifPresent(this::concurrencyLimit);
+            config.get("max-concurrency-limit").asInt().ifPresent(this::maxConcurrencyLimit);
+            config.get("concurrency-limit-retry-after").asInt().ifPresent(this::concurrencyLimitRetryAfter);
+            config.get("idle-timeout-millis").asLong().ifPresent(it -> this.idleTimeout(it, TimeUnit.MILLISECONDS));
+            config.get("read-timeout-millis").asLong().ifPresent(it -> this.readTimeout(it, TimeUnit.MILLISECONDS));
+            config.get("max-requests-per-connection").asInt().ifPresent(this::maxRequestsPerConnection);
+            config.get("max-connections").asInt().ifPresent(this::maxConnections);
+            config.get("connection-overflow-policy").asString()
+                    .map(ConnectionOverflowPolicy::parse)
+                    .ifPresent(this::connectionOverflowPolicy);
 
             DeprecatedConfig.get(config, "timeout-millis", "timeout")
                     .asInt()
@@ -399,6 +883,15 @@ public interface SocketConfiguration {
 
             // compression
             config.get("enable-compression").asBoolean().ifPresent(this::enableCompression);
+            Config compressionConfig = config.get("compression");
+            if (compressionConfig.exists()) {
+                compression(CompressionConfiguration.builder().config(compressionConfig).build());
+            }
+            return identity();
+        }
+
+        @SuppressWarnings("unchecked")
+        private B identity() {
             return (B) this;
         }
     }
@@ -432,6 +925,23 @@ public interface SocketConfiguration {
         private int initialBufferSize = 128;
         private boolean enableCompression = false;
         private long maxPayloadSize = -1;
+        private boolean reusePort = false;
+        private int acceptors = DEFAULT_ACCEPTORS;
+        private int tcpFastOpen = 0;
+        private int writeAggregationSize = 0;
+        private int writeAggregationChunks = DEFAULT_WRITE_AGGREGATION_CHUNKS;
+        private int flushConsolidation = 0;
+        private int requestBufferHighWatermark = DEFAULT_REQUEST_BUFFER_HIGH_WATERMARK;
+        private int requestBufferLowWatermark = DEFAULT_REQUEST_BUFFER_LOW_WATERMARK;
+        private int concurrencyLimit = DEFAULT_CONCURRENCY_LIMIT;
+        private int maxConcurrencyLimit = DEFAULT_MAX_CONCURRENCY_LIMIT;
+        private int concurrencyLimitRetryAfter = DEFAULT_CONCURRENCY_LIMIT_RETRY_AFTER;
+        private int idleTimeoutMillis = DEFAULT_IDLE_TIMEOUT_MILLIS;
+        private int readTimeoutMillis = DEFAULT_READ_TIMEOUT_MILLIS;
+        private int maxRequestsPerConnection = DEFAULT_MAX_REQUESTS_PER_CONNECTION;
+        private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+        private ConnectionOverflowPolicy connectionOverflowPolicy = ConnectionOverflowPolicy.CLOSE;
+        private CompressionConfiguration compression = CompressionConfiguration.builder().build();
 
         private Builder() {
         }
@@ -605,6 +1115,108 @@ public interface SocketConfiguration {
             return this;
         }
 
+        @Override
+        public Builder reusePort(boolean reusePort) {
+            this.reusePort = reusePort;
+            return this;
+        }
+
+        @Override
+        public Builder acceptors(int acceptors) {
+            this.acceptors = acceptors;
+            return this;
+        }
+
+        @Override
+        public Builder tcpFastOpen(int queueLength) {
+            this.tcpFastOpen = queueLength;
+            return this;
+        }
+
+        @Override
+        public Builder writeAggregationSize(int size) {
+            this.writeAggregationSize = size;
+            return this;
+        }
+
+        @Override
+        public Builder writeAggregationChunks(int chunks) {
+            this.writeAggregationChunks = chunks;
+            return this;
+        }
+
+        @Override
+        public Builder flushConsolidation(int flushes) {
+            this.flushConsolidation = flushes;
+            return this;
+        }
+
+        @Override
+        public Builder requestBufferHighWatermark(int bytes) {
+            this.requestBufferHighWatermark = bytes;
+            return this;
+        }
+
+        @Override
+        public Builder requestBufferLowWatermark(int bytes) {
+            this.requestBufferLowWatermark = bytes;
+            return this;
+        }
+
+        @Override
+        public Builder concurrencyLimit(int limit) {
+            this.concurrencyLimit = limit;
+            return this;
+        }
+
+        @Override
+        public Builder maxConcurrencyLimit(int limit) {
+            this.maxConcurrencyLimit = limit;
+            return this;
+        }
+
+        @Override
+        public Builder concurrencyLimitRetryAfter(int seconds) {
+            this.concurrencyLimitRetryAfter = seconds;
+            return this;
+        }
+
+        @Override
+        public Builder idleTimeout(long amount, TimeUnit unit) {
+            this.idleTimeoutMillis = (int) Math.min(unit.toMillis(amount), Integer.MAX_VALUE);
+            return this;
+        }
+
+        @Override
+        public Builder readTimeout(long amount, TimeUnit unit) {
+            this.readTimeoutMillis = (int) Math.min(unit.toMillis(amount), Integer.MAX_VALUE);
+            return this;
+        }
+
+        @Override
+        public Builder maxRequestsPerConnection(int max) {
+            this.maxRequestsPerConnection = max;
+            return this;
+        }
+
+        @Override
+        public Builder maxConnections(int max) {
+            this.maxConnections = max;
+            return this;
+        }
+
+        @Override
+        public Builder connectionOverflowPolicy(ConnectionOverflowPolicy policy) {
+            this.connectionOverflowPolicy = Objects.requireNonNull(policy);
+            return this;
+        }
+
+        @Override
+        public Builder compression(CompressionConfiguration compression) {
+            this.compression = Objects.requireNonNull(compression);
+            return this;
+        }
+
         /**
          * Configure a socket name, to bind named routings to.
          *
@@ -747,5 +1359,73 @@ public interface SocketConfiguration {
         long maxPayloadSize() {
             return maxPayloadSize;
         }
+
+        boolean reusePort() {
+            return reusePort;
+        }
+
+        int acceptors() {
+            return acceptors;
+        }
+
+        int tcpFastOpen() {
+            return tcpFastOpen;
+        }
+
+        int writeAggregationSize() {
+            return writeAggregationSize;
+        }
+
+        int writeAggregationChunks() {
+            return writeAggregationChunks;
+        }
+
+        int flushConsolidation() {
+            return flushConsolidation;
+        }
+
+        int requestBufferHighWatermark() {
+            return requestBufferHighWatermark;
+        }
+
+        int requestBufferLowWatermark() {
+            return requestBufferLowWatermark;
+        }
+
+        int concurrencyLimit() {
+            return concurrencyLimit;
+        }
+
+        int maxConcurrencyLimit() {
+            return maxConcurrencyLimit;
+        }
+
+        int concurrencyLimitRetryAfter() {
+            return concurrencyLimitRetryAfter;
+        }
+
+        int idleTimeoutMillis() {
+            return idleTimeoutMillis;
+        }
+
+        int readTimeoutMillis() {
+            return readTimeoutMillis;
+        }
+
+        int maxRequestsPerConnection() {
+            return maxRequestsPerConnection;
+        }
+
+        int maxConnections() {
+            return maxConnections;
+        }
+
+        ConnectionOverflowPolicy connectionOverflowPolicy() {
+            return connectionOverflowPolicy;
+        }
+
+        CompressionConfiguration compression() {
+            return compression;
+        }
     }
 }
@@ -0,0 +1,460 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.http.Http;
+import io.helidon.common.reactive.Single;
+
+/**
+ * Bounded in-memory cache of static content.
+ * <p>
+ * Entries hold the content in direct buffers together with a strong ETag computed from the content
+ * and compressed variants: {@code gzip} computed when the entry is loaded (unless a precompressed {@code .gz} file
+ * exists) and {@code br} if a precompressed {@code .br} file exists, as there is no brotli encoder in the JDK.
+ * The variant is selected by the quality values of the {@code Accept-Encoding} request header.
+ * <p>
+ * An entry is reloaded when the last modification time of its source changes. The least recently used entries are
+ * evicted when the maximal size or number of entries is exceeded.
+ */
+final class StaticContentCache implements StaticContentSupport.CacheStatistics {
+    // compressing tiny files does not pay off
+    private static final int MIN_COMPRESSED_SIZE = 256;
+    private static final String GZIP = "gzip";
+    private static final String BROTLI = "br";
+    private static final String IDENTITY = "identity";
+
+    private final long maxSize;
+    private final int maxEntries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    // guarded by this
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // guarded by this
+    private long size;
+
+    private StaticContentCache(long maxSize, int maxEntries) {
+        this.maxSize = maxSize;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Create a new cache.
+     *
+     * @param maxSize    maximal size of all cached content (including compressed variants) in bytes
+     * @param maxEntries maximal number of cached resources
+     * @return a new cache
+     */
+    static StaticContentCache create(long maxSize, int maxEntries) {
+        return new StaticContentCache(maxSize, maxEntries);
+    }
+
+    /**
+     * Send a resource from the cache, loading it if it is not cached yet or was modified.
+     *
+     * @param key          unique key of the resource
+     * @param lastModified last modification time of the resource, may be {@code null} if not known
+     * @param loader       loads the resource
+     * @param method       GET or HEAD HTTP method
+     * @param request      an HTTP request
+     * @param response     an HTTP response
+     * @param contentTypeSelector selector of content types
+     * @return {@code true} if the resource was sent, {@code false} if it cannot be cached (e.g. it is too big)
+     * @throws IOException if the resource cannot be read
+     */
+    boolean send(String key,
+                 Instant lastModified,
+                 Loader loader,
+                 Http.RequestMethod method,
+                 ServerRequest request,
+                 ServerResponse response,
+                 ContentTypeSelector contentTypeSelector) throws IOException {
+        Entry entry = get(key, lastModified, loader);
+        if (entry == null) {
+            return false;
+        }
+        send(entry, method, request, response, contentTypeSelector);
+        return true;
+    }
+
+    /**
+     * Send a cached resource, never loads the resource.
+     *
+     * @param key      unique key of the resource
+     * @param method   GET or HEAD HTTP method
+     * @param request  an HTTP request
+     * @param response an HTTP response
+     * @param contentTypeSelector selector of content types
+     * @return {@code true} if the resource was cached and was sent
+     * @throws IOException if the response cannot be sent
+     */
+    boolean sendCached(String key,
+                       Http.RequestMethod method,
+                       ServerRequest request,
+                       ServerResponse response,
+                       ContentTypeSelector contentTypeSelector) throws IOException {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+        if (entry == null) {
+            return false;
+        }
+        hits.increment();
+        send(entry, method, request, response, contentTypeSelector);
+        return true;
+    }
+
+    /**
+     * Remove all entries.
+     */
+    synchronized void clear() {
+        entries.clear();
+        size = 0;
+    }
+
+    @Override
+    public long hits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long misses() {
+        return misses.sum();
+    }
+
+    @Override
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public synchronized long size() {
+        return size;
+    }
+
+    @Override
+    public synchronized int entries() {
+        return entries.size();
+    }
+
+    @Override
+    public String toString() {
+        return "StaticContentCache{"
+                + "hits=" + hits()
+                + ", misses=" + misses()
+                + ", evictions=" + evictions()
+                + ", size=" + size()
+                + ", entries=" + entries()
+                + '}';
+    }
+
+    private Entry get(String key, Instant lastModified, Loader loader) throws IOException {
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (Objects.equals(entry.lastModified, lastModified)) {
+                    hits.increment();
+                    return entry;
+                }
+                remove(key);
+            }
+        }
+        misses.increment();
+
+        // load outside of the lock, concurrent loads of the same resource are harmless
+        Entry entry = load(loader, lastModified);
+        if (entry == null) {
+            return null;
+        }
+        synchronized (this) {
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                size -= previous.size;
+            }
+            size += entry.size;
+            Iterator<Entry> iterator = entries.values().iterator();
+            while ((size > maxSize || entries.size() > maxEntries) && iterator.hasNext()) {
+                Entry evicted = iterator.next();
+                iterator.remove();
+                size -= evicted.size;
+                evictions.increment();
+            }
+        }
+        return entry;
+    }
+
+    // guarded by this
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            size -= removed.size;
+        }
+    }
+
+    private Entry load(Loader loader, Instant lastModified) throws IOException {
+        if (loader.size() > maxSize) {
+            return null;
+        }
+        byte[] content = loader.content();
+        String etag = etag(content);
+
+        Variant identity = new Variant(IDENTITY, etag, content);
+        Variant gzip = null;
+        byte[] gzipContent = loader.precompressed(".gz");
+        if (gzipContent == null && content.length >= MIN_COMPRESSED_SIZE) {
+            gzipContent = gzip(content);
+            if (gzipContent.length > content.length * 9L / 10) {
+                // not compressible, probably already compressed
+                gzipContent = null;
+            }
+        }
+        if (gzipContent != null) {
+            gzip = new Variant(GZIP, etag + "-" + GZIP, gzipContent);
+        }
+        Variant brotli = null;
+        byte[] brotliContent = loader.precompressed(".br");
+        if (brotliContent != null) {
+            brotli = new Variant(BROTLI, etag + "-" + BROTLI, brotliContent);
+        }
+
+        Entry entry = new Entry(loader.name(), lastModified, identity, gzip, brotli);
+        return (entry.size > maxSize) ? null : entry;
+    }
+
+    private static void send(Entry entry,
+                             Http.RequestMethod method,
+                             ServerRequest request,
+                             ServerResponse response,
+                             ContentTypeSelector contentTypeSelector) throws IOException {
+        boolean ranged = method == Http.Method.GET && request.headers().first(Http.Header.RANGE).isPresent();
+        // byte ranges are always ranges of the identity representation
+        Variant variant = ranged
+                ? entry.identity
+                : entry.select(request.headers().values(Http.Header.ACCEPT_ENCODING));
+        if (variant == null) {
+            throw new HttpException("No acceptable content encoding", Http.Status.NOT_ACCEPTABLE_406);
+        }
+        ResponseHeaders headers = response.headers();
+        if (entry.gzip != null || entry.brotli != null) {
+            headers.add(Http.Header.VARY, Http.Header.ACCEPT_ENCODING);
+        }
+        StaticContentHandler.processEtag(variant.etag, request.headers(), headers);
+        StaticContentHandler.processModifyHeaders(entry.lastModified, request.headers(), headers);
+        StaticContentHandler.processContentType(entry.name, request.headers(), headers, contentTypeSelector);
+        headers.put(Http.Header.ACCEPT_RANGES, "bytes");
+        if (ranged && ContentRanges.send(request,
+                                         response,
+                                         variant.content.remaining(),
+                                         entry.lastModified,
+                                         (offset, count) -> Single.just(DataChunk.create(false, true, slice(variant.content,
+                                                                                                            offset,
+                                                                                                            count))))) {
+            return;
+        }
+        if (variant != entry.identity) {
+            headers.put(Http.Header.CONTENT_ENCODING, variant.encoding);
+        }
+        headers.contentLength(variant.content.remaining());
+        if (method == Http.Method.HEAD) {
+            response.send();
+        } else {
+            response.send(Single.just(DataChunk.create(false, true, variant.content.duplicate())));
+        }
+    }
+
+    private static ByteBuffer slice(ByteBuffer content, long offset, long count) {
+        ByteBuffer result = content.duplicate();
+        int start = content.position() + (int) offset;
+        result.position(start);
+        result.limit(start + (int) count);
+        return result.slice();
+    }
+
+    private static String etag(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder result = new StringBuilder(32);
+            // 128 bits are more than enough to identify a version of a resource
+            for (int i = 0; i < 16; i++) {
+                result.append(Character.forDigit((digest[i] >> 4) & 0xF, 16))
+                        .append(Character.forDigit(digest[i] & 0xF, 16));
+            }
+            return result.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Quality of an encoding in {@code Accept-Encoding} header values.
+     *
+     * @return quality between {@code 0} and {@code 1}, {@code -1} if the encoding is not listed
+     */
+    private static double quality(List<String> acceptEncoding, String encoding) {
+        double wildcard = -1;
+        for (String header : acceptEncoding) {
+            for (String value : header.split(",")) {
+                String[] parts = value.split(";");
+                String name = parts[0].trim();
+                boolean matches = name.equalsIgnoreCase(encoding);
+                if (!matches && !"*".equals(name)) {
+                    continue;
+                }
+                double quality = 1;
+                for (int i = 1; i < parts.length; i++) {
+                    String param = parts[i].trim();
+                    if (param.startsWith("q=")) {
+                        try {
+                            quality = Double.parseDouble(param.substring(2));
+                        } catch (NumberFormatException ignored) {
+                            quality = 0;
+                        }
+                    }
+                }
+                if (matches) {
+                    return quality;
+                }
+                wildcard = quality;
+            }
+        }
+        return wildcard;
+    }
+
+    /**
+     * Loads a resource into the cache.
+     */
+    interface Loader {
+        /**
+         * File name of the resource, used to determine the content type.
+         *
+         * @return file name
+         */
+        String name();
+
+        /**
+         * Size of the resource in bytes.
+         *
+         * @return size in bytes, {@code -1} if not known
+         * @throws IOException if the resource cannot be read
+         */
+        long size() throws IOException;
+
+        /**
+         * Content of the resource.
+         *
+         * @return content bytes
+         * @throws IOException if the resource cannot be read
+         */
+        byte[] content() throws IOException;
+
+        /**
+         * Content of a precompressed sibling of the resource (e.g. {@code app.js.gz} for {@code app.js}).
+         *
+         * @param extension extension of the precompressed file, such as {@code .gz}
+         * @return content or {@code null} if there is no such file
+         * @throws IOException if the file exists but cannot be read
+         */
+        byte[] precompressed(String extension) throws IOException;
+    }
+
+    private static final class Entry {
+        private final String name;
+        private final Instant lastModified;
+        private final Variant identity;
+        private final Variant gzip;
+        private final Variant brotli;
+        private final long size;
+
+        private Entry(String name, Instant lastModified, Variant identity, Variant gzip, Variant brotli) {
+            this.name = name;
+            this.lastModified = lastModified;
+            this.identity = identity;
+            this.gzip = gzip;
+            this.brotli = brotli;
+            this.size = identity.content.remaining()
+                    + ((gzip == null) ? 0 : gzip.content.remaining())
+                    + ((brotli == null) ? 0 : brotli.content.remaining());
+        }
+
+        /**
+         * Select the variant with the highest quality, compressed variants are preferred on equal quality.
+         *
+         * @return selected variant, {@code null} if none is acceptable
+         */
+        private Variant select(List<String> acceptEncoding) {
+            if (acceptEncoding.isEmpty()) {
+                return identity;
+            }
+            // identity is acceptable unless excluded by identity;q=0 or *;q=0, but is only competing with
+            // the compressed variants if listed
+            double identityQuality = quality(acceptEncoding, IDENTITY);
+            Variant result = (identityQuality == 0) ? null : identity;
+            double best = Math.max(identityQuality, 0);
+            // brotli first, as it is usually the smallest
+            for (Variant variant : new Variant[] {brotli, gzip}) {
+                if (variant != null) {
+                    double quality = quality(acceptEncoding, variant.encoding);
+                    if (quality > best || (quality > 0 && quality == best && result == identity)) {
+                        best = quality;
+                        result = variant;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class Variant {
+        private final String encoding;
+        private final String etag;
+        private final ByteBuffer content;
+
+        private Variant(String encoding, String etag, byte[] bytes) {
+            this.encoding = encoding;
+            this.etag = etag;
+            // not from the pooled allocator: the buffer is shared by concurrent responses and lives until evicted,
+            // while pooled buffers are reference counted and released by a single owner; the total size of the
+            // buffers is bounded by the size of the cache
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+            buffer.put(bytes);
+            buffer.flip();
+            this.content = buffer.asReadOnlyBuffer();
+        }
+    }
+}
@@ -37,6 +37,7 @@ abstract class StaticContentHandler {
 
     private final String welcomeFilename;
     private final ContentTypeSelector contentTypeSelector;
+    private final StaticContentCache cache;
 
     /**
      * Creates new instance.
@@ -45,14 +46,29 @@ abstract class StaticContentHandler {
      * @param contentTypeSelector a selector for content type
      */
     StaticContentHandler(String welcomeFilename, ContentTypeSelector contentTypeSelector) {
+        this(welcomeFilename, contentTypeSelector, null);
+    }
+
+    /**
+     * Creates new instance.
+     *
+     * @param welcomeFilename     a welcome filename
+     * @param contentTypeSelector a selector for content type
+     * @param cache               an in-memory cache of the content, {@code null} if content is not cached
+     */
+    StaticContentHandler(String welcomeFilename, ContentTypeSelector contentTypeSelector, StaticContentCache cache) {
         this.welcomeFilename = welcomeFilename;
         this.contentTypeSelector = contentTypeSelector;
+        this.cache = cache;
     }
 
     /**
      * Should release cache (if any exists).
      */
     void releaseCache() {
+        if (cache != null) {
+            cache.clear();
+        }
     }
 
     /**
@@ -96,6 +112,15 @@ abstract class StaticContentHandler {
         return contentTypeSelector;
     }
 
+    /**
+     * In-memory cache of the content.
+     *
+     * @return cache or {@code null} if content is not cached
+     */
+    StaticContentCache cache() {
+        return cache;
+    }
+
     /**
      * Do handle for GET and HEAD HTTP methods.
      *
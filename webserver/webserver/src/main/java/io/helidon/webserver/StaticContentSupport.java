@@ -19,6 +19,7 @@ package io.helidon.webserver;
 import java.nio.file.Path;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.TreeMap;
 import java.util.function.Consumer;
 
@@ -36,6 +37,8 @@ import io.helidon.common.http.MediaType;
  * }</pre>
  * <p>
  * Content is served ONLY on HTTP {@code GET} method.
+ * <p>
+ * Frequently requested resources can be kept in memory, see {@link Builder#cacheMaxSize(long)}.
  */
 public class StaticContentSupport implements Service {
 
@@ -65,6 +68,19 @@ public class StaticContentSupport implements Service {
         routing.head((req, res) -> handler.handle(Http.Method.HEAD, req, res));
     }
 
+    /**
+     * Statistics of the in-memory content cache, can be used to expose cache metrics.
+     * <pre>{@code
+     * StaticContentSupport.CacheStatistics stats = support.cacheStatistics().get();
+     * registry.register("static-content.cache.hits", (Gauge<Long>) stats::hits);
+     * }</pre>
+     *
+     * @return cache statistics, empty if the cache is not enabled
+     */
+    public Optional<CacheStatistics> cacheStatistics() {
+        return Optional.ofNullable(handler.cache());
+    }
+
     private synchronized void webServerStarted() {
         webServerCounter++;
     }
@@ -159,6 +175,7 @@ public class StaticContentSupport implements Service {
      * Fluent builder of the StaticContent detailed parameters.
      */
     public static class Builder implements io.helidon.common.Builder<StaticContentSupport> {
+        private static final int DEFAULT_CACHE_MAX_ENTRIES = 1000;
 
         private final Path fsRoot;
         private final String clRoot;
@@ -167,6 +184,8 @@ public class StaticContentSupport implements Service {
         private final Map<String, MediaType> specificContentTypes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
         private String welcomeFileName;
         private Path tmpDir;
+        private long cacheMaxSize;
+        private int cacheMaxEntries = DEFAULT_CACHE_MAX_ENTRIES;
 
         Builder(Path fsRoot) {
             Objects.requireNonNull(fsRoot, "Attribute fsRoot is null!");
@@ -207,6 +226,47 @@ public class StaticContentSupport implements Service {
             return this;
         }
 
+        /**
+         * Enables in-memory caching of the content and sets the maximal size of all cached content in bytes.
+         * <p>
+         * Cached resources are held in direct buffers with an ETag computed from the content and
+         * compressed variants, which are sent based on the {@code Accept-Encoding} request header: {@code gzip}
+         * is computed when the resource is cached, or read from a precompressed {@code .gz} sibling of the resource
+         * (e.g. {@code app.js.gz}); {@code br} is read from a precompressed {@code .br} sibling. Files are reloaded
+         * when their last modification time changes. Least recently used resources are evicted when the cache
+         * is full. Resources larger than the cache are not cached.
+         * <p>
+         * Caching is disabled by default.
+         *
+         * @param cacheMaxSize maximal size of the cache in bytes, {@code 0} to disable caching
+         * @return updated builder
+         * @throws IllegalArgumentException if the size is negative
+         * @see StaticContentSupport#cacheStatistics()
+         */
+        public Builder cacheMaxSize(long cacheMaxSize) {
+            if (cacheMaxSize < 0) {
+                throw new IllegalArgumentException("Cache size must not be negative: " + cacheMaxSize);
+            }
+            this.cacheMaxSize = cacheMaxSize;
+            return this;
+        }
+
+        /**
+         * Maximal number of resources in the in-memory cache, defaults to {@value DEFAULT_CACHE_MAX_ENTRIES}.
+         * Only used if the cache is enabled by {@link #cacheMaxSize(long)}.
+         *
+         * @param cacheMaxEntries maximal number of cached resources
+         * @return updated builder
+         * @throws IllegalArgumentException if the number is not positive
+         */
+        public Builder cacheMaxEntries(int cacheMaxEntries) {
+            if (cacheMaxEntries <= 0) {
+                throw new IllegalArgumentException("Cache entries must be positive: " + cacheMaxEntries);
+            }
+            this.cacheMaxEntries = cacheMaxEntries;
+            return this;
+        }
+
         /**
          * Maps a filename extension to the response content type.
          *
@@ -238,11 +298,12 @@ public class StaticContentSupport implements Service {
         @Override
         public StaticContentSupport build() {
             ContentTypeSelector selector = new ContentTypeSelector(specificContentTypes);
+            StaticContentCache cache = (cacheMaxSize > 0) ? StaticContentCache.create(cacheMaxSize, cacheMaxEntries) : null;
             StaticContentHandler handler;
             if (fsRoot != null) {
-                handler = FileSystemContentHandler.create(welcomeFileName, selector, fsRoot);
+                handler = FileSystemContentHandler.create(welcomeFileName, selector, fsRoot, cache);
             } else if (clRoot != null) {
-                handler = ClassPathContentHandler.create(welcomeFileName, selector, clRoot, tmpDir, classLoader);
+                handler = ClassPathContentHandler.create(welcomeFileName, selector, clRoot, tmpDir, classLoader, cache);
             } else {
                 throw new IllegalArgumentException("Builder was created without specified static content root!");
             }
@@ -250,4 +311,46 @@ public class StaticContentSupport implements Service {
         }
 
     }
+
+    /**
+     * Statistics of the in-memory content cache.
+     *
+     * @see Builder#cacheMaxSize(long)
+     */
+    public interface CacheStatistics {
+        /**
+         * Number of requests served from the cache.
+         *
+         * @return number of cache hits
+         */
+        long hits();
+
+        /**
+         * Number of requests for resources which were not cached or were modified.
+         *
+         * @return number of cache misses
+         */
+        long misses();
+
+        /**
+         * Number of resources evicted from the cache to make room for other resources.
+         *
+         * @return number of evictions
+         */
+        long evictions();
+
+        /**
+         * Current size of the cached content, including compressed variants.
+         *
+         * @return size in bytes
+         */
+        long size();
+
+        /**
+         * Current number of cached resources.
+         *
+         * @return number of entries
+         */
+        int entries();
+    }
 }
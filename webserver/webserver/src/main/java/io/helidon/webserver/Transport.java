@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.util.Locale;
+
+/**
+ * Network transport used by the server event loops.
+ * <p>
+ * Native transports require the corresponding Netty native library to be on the classpath
+ * (e.g. {@code io.netty:netty-transport-native-epoll} with the {@code linux-x86_64} classifier).
+ * If the requested native transport is not available, the server falls back to {@link #NIO}.
+ */
+public enum Transport {
+
+    /**
+     * Use the best transport available on this platform, {@link #EPOLL} if present, {@link #NIO} otherwise.
+     */
+    AUTO,
+
+    /**
+     * Java NIO transport, available on all platforms.
+     */
+    NIO,
+
+    /**
+     * Linux native epoll transport.
+     */
+    EPOLL,
+
+    /**
+     * Linux native io_uring transport (Netty incubator).
+     */
+    IO_URING;
+
+    /**
+     * Parse a transport from its configuration value, such as {@code epoll} or {@code io-uring}.
+     *
+     * @param value configured value, case insensitive
+     * @return transport
+     * @throws IllegalArgumentException in case the value is not a known transport
+     */
+    public static Transport parse(String value) {
+        return Transport.valueOf(value.trim()
+                                         .replace('-', '_')
+                                         .toUpperCase(Locale.ROOT));
+    }
+}
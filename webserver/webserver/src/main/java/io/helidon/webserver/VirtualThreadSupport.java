@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import io.helidon.common.configurable.ServerThreadPoolSupplier;
+import io.helidon.common.configurable.ThreadPoolSupplier;
+import io.helidon.common.context.Contexts;
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.reactive.IoMulti;
+import io.helidon.common.reactive.OutputStreamMulti;
+import io.helidon.config.Config;
+import io.helidon.media.common.DataChunkInputStream;
+
+/**
+ * Runs the handlers registered after this support on a separate thread, so they can block.
+ * When the JVM supports virtual threads, each request is handled on its own virtual thread,
+ * otherwise a thread pool is used.
+ * <p>
+ * Registered first in {@link Routing}, all handlers of the routing run on virtual threads:
+ * <pre>{@code
+ * Routing.builder()
+ *        .register(VirtualThreadSupport.create())
+ *        .get("/greet", (req, res) -> res.send(blockingCall()))
+ * }</pre>
+ * Registered with a {@link Service}, only the handlers of that service run on virtual threads:
+ * <pre>{@code
+ * Routing.builder()
+ *        .register("/blocking", VirtualThreadSupport.create(), new BlockingService())
+ * }</pre>
+ * Handlers running on such a thread can use {@link #inputStream(ServerRequest)} and
+ * {@link #outputStream(ServerResponse)} to read and write the entity with blocking IO.
+ */
+public final class VirtualThreadSupport implements Service, Handler {
+
+    private final ExecutorService executorService;
+
+    private VirtualThreadSupport(Builder builder) {
+        this.executorService = (builder.executorService == null)
+                ? builder.threadPoolSupplier.get()
+                : Contexts.wrap(builder.executorService);
+    }
+
+    /**
+     * Create support with the default configuration.
+     *
+     * @return a new virtual thread support
+     */
+    public static VirtualThreadSupport create() {
+        return builder().build();
+    }
+
+    /**
+     * Create support from configuration.
+     *
+     * @param config configuration of the executor service, see {@link ThreadPoolSupplier.Builder#config(Config)}
+     * @return a new virtual thread support
+     */
+    public static VirtualThreadSupport create(Config config) {
+        return builder().config(config).build();
+    }
+
+    /**
+     * A new fluent API builder.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Blocking input stream of the request entity.
+     * Reads block until the data is received, so this must not be called on a server thread.
+     *
+     * @param request the request
+     * @return input stream of the request entity
+     */
+    public static InputStream inputStream(ServerRequest request) {
+        return new DataChunkInputStream(request.content());
+    }
+
+    /**
+     * Blocking output stream sending the response entity.
+     * Writes block until the connection requests more data, so this must not be called on a server thread.
+     * {@link OutputStream#flush()} flushes the data written so far to the connection, and the response
+     * is completed when the stream is closed.
+     *
+     * @param response the response
+     * @return output stream of the response entity
+     */
+    public static OutputStream outputStream(ServerResponse response) {
+        OutputStreamMulti multi = IoMulti.outputStreamMulti();
+        // OutputStreamMulti signals a flush with an empty buffer
+        response.send(multi.map(buffer -> buffer.hasRemaining()
+                ? DataChunk.create(buffer)
+                : DataChunk.create(true, buffer)));
+        return multi;
+    }
+
+    @Override
+    public void update(Routing.Rules rules) {
+        rules.any(this);
+    }
+
+    @Override
+    public void accept(ServerRequest req, ServerResponse res) {
+        try {
+            executorService.execute(() -> Contexts.runInContext(req.context(), (Runnable) req::next));
+        } catch (RejectedExecutionException e) {
+            req.next(e);
+        }
+    }
+
+    /**
+     * Fluent API builder for {@link VirtualThreadSupport}.
+     */
+    public static final class Builder implements io.helidon.common.Builder<VirtualThreadSupport> {
+        private final ThreadPoolSupplier.Builder threadPoolBuilder = ServerThreadPoolSupplier.builder()
+                .name("virtual-thread-support")
+                .threadNamePrefix("helidon-virtual-")
+                .virtualThreads(true);
+        private ThreadPoolSupplier threadPoolSupplier;
+        private ExecutorService executorService;
+
+        private Builder() {
+        }
+
+        @Override
+        public VirtualThreadSupport build() {
+            threadPoolSupplier = threadPoolBuilder.build();
+            return new VirtualThreadSupport(this);
+        }
+
+        /**
+         * Update the executor service from configuration, see {@link ThreadPoolSupplier.Builder#config(Config)}.
+         * Virtual threads are used unless disabled with the {@code virtual-threads} key.
+         *
+         * @param config configuration of the executor service
+         * @return updated builder instance
+         */
+        public Builder config(Config config) {
+            threadPoolBuilder.config(config);
+            return this;
+        }
+
+        /**
+         * Executor service to run the handlers on instead of virtual threads.
+         *
+         * @param executorService executor service
+         * @return updated builder instance
+         */
+        public Builder executorService(ExecutorService executorService) {
+            this.executorService = Objects.requireNonNull(executorService);
+            return this;
+        }
+    }
+}
@@ -20,6 +20,7 @@ import java.net.InetAddress;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -143,6 +144,45 @@ public interface WebServer {
      */
     int port(String socketName);
 
+    /**
+     * Number of bytes of request content received by this server and not yet requested by the subscribers
+     * of the content, summed over all connections. Reading from a connection is suspended while its buffered
+     * content is above {@link SocketConfiguration#requestBufferHighWatermark()}.
+     * <p>
+     * The value can be registered as a gauge in a metric registry.
+     *
+     * @return buffered request content in bytes
+     */
+    default long bufferedRequestBytes() {
+        return 0;
+    }
+
+    /**
+     * Concurrency limiter of a socket, present if the socket is configured with
+     * a {@link SocketConfiguration#concurrencyLimit()}.
+     * <p>
+     * The limit, requests in flight and rejected requests can be registered as metrics.
+     *
+     * @param socketName the name of an additional named server socket configuration, or
+     *                   {@link WebServer#DEFAULT_SOCKET_NAME} for the default socket
+     * @return concurrency limiter of the socket
+     */
+    default Optional<ConcurrencyLimiter> concurrencyLimiter(String socketName) {
+        return Optional.empty();
+    }
+
+    /**
+     * Statistics of the event loops, connections and buffers of this server.
+     * <p>
+     * The values can be registered as gauges in a metric registry, {@code MetricsSupport} registers
+     * them in the vendor registry.
+     *
+     * @return server statistics
+     */
+    default Optional<ServerStatistics> statistics() {
+        return Optional.empty();
+    }
+
     /**
      * Creates a new instance from a provided configuration and a routing.
      *
@@ -583,6 +623,108 @@ public interface WebServer {
             return this;
         }
 
+        @Override
+        public Builder reusePort(boolean reusePort) {
+            configurationBuilder.reusePort(reusePort);
+            return this;
+        }
+
+        @Override
+        public Builder acceptors(int acceptors) {
+            configurationBuilder.acceptors(acceptors);
+            return this;
+        }
+
+        @Override
+        public Builder tcpFastOpen(int queueLength) {
+            configurationBuilder.tcpFastOpen(queueLength);
+            return this;
+        }
+
+        @Override
+        public Builder writeAggregationSize(int size) {
+            configurationBuilder.writeAggregationSize(size);
+            return this;
+        }
+
+        @Override
+        public Builder writeAggregationChunks(int chunks) {
+            configurationBuilder.writeAggregationChunks(chunks);
+            return this;
+        }
+
+        @Override
+        public Builder flushConsolidation(int flushes) {
+            configurationBuilder.flushConsolidation(flushes);
+            return this;
+        }
+
+        @Override
+        public Builder requestBufferHighWatermark(int bytes) {
+            configurationBuilder.requestBufferHighWatermark(bytes);
+            return this;
+        }
+
+        @Override
+        public Builder requestBufferLowWatermark(int bytes) {
+            configurationBuilder.requestBufferLowWatermark(bytes);
+            return this;
+        }
+
+        @Override
+        public Builder concurrencyLimit(int limit) {
+            configurationBuilder.concurrencyLimit(limit);
+            return this;
+        }
+
+        @Override
+        public Builder maxConcurrencyLimit(int limit) {
+            configurationBuilder.maxConcurrencyLimit(limit);
+            return this;
+        }
+
+        @Override
+        public Builder concurrencyLimitRetryAfter(int seconds) {
+            configurationBuilder.concurrencyLimitRetryAfter(seconds);
+            return this;
+        }
+
+        @Override
+        public Builder idleTimeout(long amount, TimeUnit unit) {
+            configurationBuilder.idleTimeout(amount, unit);
+            return this;
+        }
+
+        @Override
+        public Builder readTimeout(long amount, TimeUnit unit) {
+            configurationBuilder.readTimeout(amount, unit);
+            return this;
+        }
+
+        @Override
+        public Builder maxRequestsPerConnection(int max) {
+            configurationBuilder.maxRequestsPerConnection(max);
+            return this;
+        }
+
+        @Override
+        public Builder maxConnections(int max) {
+            configurationBuilder.maxConnections(max);
+            return this;
+        }
+
+        @Override
+        public Builder connectionOverflowPolicy(ConnectionOverflowPolicy policy) {
+            configurationBuilder.connectionOverflowPolicy(policy);
+            return this;
+        }
+
+        @Override
+        public Builder compression(CompressionConfiguration compression) {
+            configurationBuilder.compression(compression);
+            return this;
+        }
+
         /**
          * Configure experimental features.
          * @param experimental experimental configuration
@@ -765,6 +907,37 @@ public interface WebServer {
             return this;
         }
 
+        /**
+         * Sets the network transport used by the server event loops. Native transports
+         * are used only when available on the classpath and platform, otherwise NIO is used.
+         * Default value is {@link Transport#AUTO}.
+         * <p>
+         * Configuration key: {@code transport}
+         *
+         * @param transport transport to use
+         * @return an updated builder
+         */
+        public Builder transport(Transport transport) {
+            configurationBuilder.transport(transport);
+            return this;
+        }
+
+        /**
+         * Sets how long the server waits for exchanges in progress to finish when shutting down.
+         * Default value is {@code 0}, connections are closed right away.
+         * <p>
+         * Configuration key: {@code drain-timeout-millis}
+         *
+         * @param amount amount of time
+         * @param unit time unit
+         * @return an updated builder
+         * @see ServerConfiguration#drainTimeoutMillis()
+         */
+        public Builder drainTimeout(long amount, TimeUnit unit) {
+            configurationBuilder.drainTimeout(amount, unit);
+            return this;
+        }
+
         /**
          * Set to {@code true} to print detailed feature information on startup.
          *
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.util.concurrent.Flow;
+
+/**
+ * Endpoint of WebSocket connections served by {@link WebSocketSupport}.
+ * <p>
+ * The endpoint is invoked on the event loop thread of the connection once the handshake completes.
+ * It must not block, the messages are exchanged as reactive streams:
+ * <pre>{@code
+ * // echo
+ * WebSocketSupport.create((upgradeRequest, session) -> session.inbound())
+ * }</pre>
+ */
+@FunctionalInterface
+public interface WebSocketEndpoint {
+
+    /**
+     * Invoked once the connection is upgraded to a WebSocket.
+     * <p>
+     * Each message published by the returned publisher is sent as a single text or binary frame and its data
+     * is released once written.
+     * The next chunk is requested once the previous one is written, so a slow client slows the publisher down.
+     * The connection is closed with the status {@code 1000} (normal closure) when the publisher completes,
+     * or {@code 1011} (internal error) when it fails. An endpoint that only receives messages can return
+     * {@link io.helidon.common.reactive.Multi#never()}.
+     *
+     * @param upgradeRequest the HTTP request upgraded to the WebSocket, not retained by the connection
+     * @param session the WebSocket session
+     * @return publisher of the messages to send
+     */
+    Flow.Publisher<WebSocketMessage> onOpen(ServerRequest upgradeRequest, WebSocketSession session);
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import io.helidon.common.http.DataChunk;
+
+/**
+ * A text or binary WebSocket message exchanged with a {@link WebSocketEndpoint}.
+ * <p>
+ * The data of a message is a single data chunk, text messages are UTF-8 encoded. The data of a received message
+ * is backed by the network buffers and must be released once processed, the data of a sent message is released
+ * once written.
+ */
+public final class WebSocketMessage {
+
+    private final boolean text;
+    private final DataChunk data;
+
+    private WebSocketMessage(boolean text, DataChunk data) {
+        this.text = text;
+        this.data = Objects.requireNonNull(data);
+    }
+
+    /**
+     * Create a new text message.
+     *
+     * @param text text of the message
+     * @return a new message
+     */
+    public static WebSocketMessage text(String text) {
+        return new WebSocketMessage(true, DataChunk.create(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Create a new text message of UTF-8 encoded data.
+     *
+     * @param data UTF-8 encoded text of the message
+     * @return a new message
+     */
+    public static WebSocketMessage text(DataChunk data) {
+        return new WebSocketMessage(true, data);
+    }
+
+    /**
+     * Create a new binary message.
+     *
+     * @param data data of the message
+     * @return a new message
+     */
+    public static WebSocketMessage binary(DataChunk data) {
+        return new WebSocketMessage(false, data);
+    }
+
+    /**
+     * Whether this is a text message.
+     *
+     * @return {@code true} for a text message, {@code false} for a binary message
+     */
+    public boolean isText() {
+        return text;
+    }
+
+    /**
+     * Data of this message.
+     *
+     * @return data chunk of the message
+     */
+    public DataChunk data() {
+        return data;
+    }
+
+    /**
+     * Decodes the data of this message as UTF-8 text. The data is not released.
+     *
+     * @return text of the message
+     */
+    public String asText() {
+        return new String(data.bytes(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Releases the data of this message.
+     */
+    public void release() {
+        data.release();
+    }
+}
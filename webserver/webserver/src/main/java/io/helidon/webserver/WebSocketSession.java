@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import io.helidon.common.reactive.Multi;
+
+/**
+ * A WebSocket connection served by a {@link WebSocketEndpoint}.
+ */
+public interface WebSocketSession {
+
+    /**
+     * Messages received from the client, each a whole text or binary message, however many frames it was
+     * sent in.
+     * <p>
+     * The data of the messages is backed by the network buffers and must be released once processed.
+     * The connection is only read while the subscriber has outstanding demand, so a slow subscriber stops the client
+     * from sending. Completes when the connection is closed.
+     *
+     * @return publisher of the received messages, single subscriber only
+     */
+    Multi<WebSocketMessage> inbound();
+
+    /**
+     * Sends a close frame with the status code and reason and closes the connection.
+     *
+     * @param statusCode WebSocket close status code, such as {@code 1000} for normal closure
+     * @param reason reason phrase, may be {@code null}
+     */
+    void close(int statusCode, String reason);
+}
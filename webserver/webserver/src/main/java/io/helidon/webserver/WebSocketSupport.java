@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.util.Locale;
+import java.util.Objects;
+
+import io.helidon.common.http.Http;
+import io.helidon.config.Config;
+
+/**
+ * Serves WebSocket connections directly on the Netty pipeline of the server, as a lightweight alternative
+ * to the Tyrus based JSR-356 support.
+ * <p>
+ * The handshake, control frames and the optional {@code permessage-deflate} extension are handled by Netty,
+ * the messages are exchanged with a {@link WebSocketEndpoint} as reactive streams of {@link WebSocketMessage}s backed
+ * by the network buffers, without copying and without any executor service. An upgraded connection no longer holds any HTTP state,
+ * the read and idle timeouts of the socket do not apply to it.
+ * <pre>{@code
+ * Routing.builder()
+ *        .register("/echo", WebSocketSupport.create((upgradeRequest, session) -> session.inbound()))
+ * }</pre>
+ * Requests that do not ask for a WebSocket upgrade are passed to the next handler. WebSockets are only supported
+ * over HTTP/1.1.
+ * <p>
+ * Jakarta WebSocket (JSR-356) endpoints are not dispatched by this support, they are served by the
+ * {@code TyrusSupport} of the {@code helidon-webserver-tyrus} module, which can be registered in the same
+ * routing on other paths.
+ */
+public final class WebSocketSupport implements Service, Handler {
+    /**
+     * Default maximal payload length of a single frame.
+     */
+    public static final int DEFAULT_MAX_FRAME_PAYLOAD_LENGTH = 65536;
+    /**
+     * Default maximal length of a message aggregated from fragmented frames.
+     */
+    public static final int DEFAULT_MAX_MESSAGE_LENGTH = 65536;
+
+    private static final Http.ResponseStatus SWITCHING_PROTOCOLS = Http.ResponseStatus.create(101);
+
+    private final WebSocketEndpoint endpoint;
+    private final int maxFramePayloadLength;
+    private final int maxMessageLength;
+    private final boolean compression;
+
+    private WebSocketSupport(Builder builder) {
+        this.endpoint = builder.endpoint;
+        this.maxFramePayloadLength = builder.maxFramePayloadLength;
+        this.maxMessageLength = builder.maxMessageLength;
+        this.compression = builder.compression;
+    }
+
+    /**
+     * Create a new WebSocket support with default configuration.
+     *
+     * @param endpoint endpoint serving the connections
+     * @return a new support
+     */
+    public static WebSocketSupport create(WebSocketEndpoint endpoint) {
+        return builder().endpoint(endpoint).build();
+    }
+
+    /**
+     * A new fluent API builder.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public void update(Routing.Rules rules) {
+        rules.get(this);
+    }
+
+    @Override
+    public void accept(ServerRequest req, ServerResponse res) {
+        if (!isUpgrade(req) || !(res instanceof Response)) {
+            req.next();
+            return;
+        }
+        BareResponse bareResponse = ((Response) res).bareResponse();
+        if (!(bareResponse instanceof BareResponseImpl)) {
+            req.next();
+            return;
+        }
+        res.status(SWITCHING_PROTOCOLS);
+        ((BareResponseImpl) bareResponse).upgradeToWebSocket(this, req);
+    }
+
+    WebSocketEndpoint endpoint() {
+        return endpoint;
+    }
+
+    int maxFramePayloadLength() {
+        return maxFramePayloadLength;
+    }
+
+    int maxMessageLength() {
+        return maxMessageLength;
+    }
+
+    boolean compression() {
+        return compression;
+    }
+
+    private static boolean isUpgrade(ServerRequest req) {
+        return req.version() == Http.Version.V1_1
+                && req.headers().first(Http.Header.UPGRADE)
+                        .map(upgrade -> upgrade.trim().equalsIgnoreCase("websocket"))
+                        .orElse(false)
+                && req.headers().all(Http.Header.CONNECTION).stream()
+                        .anyMatch(connection -> connection.toLowerCase(Locale.ROOT).contains("upgrade"));
+    }
+
+    /**
+     * Fluent API builder for {@link WebSocketSupport}.
+     */
+    public static final class Builder implements io.helidon.common.Builder<WebSocketSupport> {
+        private WebSocketEndpoint endpoint;
+        private int maxFramePayloadLength = DEFAULT_MAX_FRAME_PAYLOAD_LENGTH;
+        private int maxMessageLength = DEFAULT_MAX_MESSAGE_LENGTH;
+        private boolean compression = true;
+
+        private Builder() {
+        }
+
+        @Override
+        public WebSocketSupport build() {
+            Objects.requireNonNull(endpoint, "WebSocket endpoint must be configured");
+            return new WebSocketSupport(this);
+        }
+
+        /**
+         * Update this builder from configuration.
+         * <table class="config">
+         *     <caption>WebSocket configuration</caption>
+         *     <tr>
+         *         <th>key</th>
+         *         <th>default value</th>
+         *         <th>description</th>
+         *     </tr>
+         *     <tr>
+         *         <td>max-frame-payload-length</td>
+         *         <td>{@value #DEFAULT_MAX_FRAME_PAYLOAD_LENGTH}</td>
+         *         <td>Maximal payload length of a single frame</td>
+         *     </tr>
+         *     <tr>
+         *         <td>max-message-length</td>
+         *         <td>{@value #DEFAULT_MAX_MESSAGE_LENGTH}</td>
+         *         <td>Maximal length of a message aggregated from fragmented frames</td>
+         *     </tr>
+         *     <tr>
+         *         <td>compression</td>
+         *         <td>{@code true}</td>
+         *         <td>Whether to negotiate the {@code permessage-deflate} extension</td>
+         *     </tr>
+         * </table>
+         *
+         * @param config WebSocket configuration
+         * @return updated builder instance
+         */
+        public Builder config(Config config) {
+            config.get("max-frame-payload-length").asInt().ifPresent(this::maxFramePayloadLength);
+            config.get("max-message-length").asInt().ifPresent(this::maxMessageLength);
+            config.get("compression").asBoolean().ifPresent(this::compression);
+            return this;
+        }
+
+        /**
+         * Endpoint serving the connections.
+         *
+         * @param endpoint WebSocket endpoint
+         * @return updated builder instance
+         */
+        public Builder endpoint(WebSocketEndpoint endpoint) {
+            this.endpoint = endpoint;
+            return this;
+        }
+
+        /**
+         * Maximal payload length of a single frame, longer frames close the connection with the status
+         * {@code 1009} (message too big). Defaults to {@value #DEFAULT_MAX_FRAME_PAYLOAD_LENGTH}.
+         *
+         * @param maxFramePayloadLength maximal frame payload length in bytes
+         * @return updated builder instance
+         */
+        public Builder maxFramePayloadLength(int maxFramePayloadLength) {
+            if (maxFramePayloadLength < 1) {
+                throw new IllegalArgumentException("Maximal frame payload length must be positive, but is "
+                                                           + maxFramePayloadLength);
+            }
+            this.maxFramePayloadLength = maxFramePayloadLength;
+            return this;
+        }
+
+        /**
+         * Maximal length of a message aggregated from fragmented frames, longer messages close the connection
+         * with the status {@code 1009} (message too big). Each received message is a single
+         * {@link WebSocketMessage}, however many frames it was sent in. Defaults to {@value #DEFAULT_MAX_MESSAGE_LENGTH}.
+         *
+         * @param maxMessageLength maximal message length in bytes
+         * @return updated builder instance
+         */
+        public Builder maxMessageLength(int maxMessageLength) {
+            if (maxMessageLength < 1) {
+                throw new IllegalArgumentException("Maximal message length must be positive, but is "
+                                                           + maxMessageLength);
+            }
+            this.maxMessageLength = maxMessageLength;
+            return this;
+        }
+
+        /**
+         * Whether to negotiate the {@code permessage-deflate} extension (RFC 7692) with clients supporting it.
+         * Defaults to {@code true}.
+         *
+         * @param compression whether to compress messages
+         * @return updated builder instance
+         */
+        public Builder compression(boolean compression) {
+            this.compression = compression;
+            return this;
+        }
+    }
+}
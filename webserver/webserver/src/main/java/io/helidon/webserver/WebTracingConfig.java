@@ -304,8 +304,12 @@ public abstract class WebTracingConfig {
             context.register(span.context());
             context.register(ServerRequest.class, span.context());
 
+            boolean timingTags = spanConfig.logEnabled("request-timing", false);
             res.whenSent()
                     .thenRun(() -> {
+                        if (timingTags) {
+                            timingTags(span, req.timing());
+                        }
                         Http.ResponseStatus httpStatus = res.status();
                         if (httpStatus != null) {
                             int statusCode = httpStatus.code();
@@ -327,5 +331,21 @@ public abstract class WebTracingConfig {
                         return null;
                     });
         }
+
+        // durations of the request phases in microseconds since the request was received
+        private static void timingTags(Span span, RequestTiming timing) {
+            long received = timing.received();
+            if (timing.route() != null) {
+                span.setTag("timing.route", timing.route());
+                span.setTag("timing.routed", (timing.routed() - received) / 1000);
+                span.setTag("timing.handler", (timing.handlerEntered() - received) / 1000);
+            }
+            if (timing.headersWritten() != 0) {
+                span.setTag("timing.headers", (timing.headersWritten() - received) / 1000);
+            }
+            if (timing.completed() != 0) {
+                span.setTag("timing.completed", (timing.completed() - received) / 1000);
+            }
+        }
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2019 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,8 @@ module io.helidon.webserver {
     requires transitive io.helidon.media.common;
     requires transitive io.helidon.common.http;
     requires io.helidon.common.mapper;
+    requires io.helidon.common.configurable;
+    requires io.helidon.common.netty;
     requires transitive io.helidon.common.pki;
     requires transitive io.helidon.common.reactive;
     requires transitive io.helidon.common.context;
@@ -16,13 +16,25 @@
 
 package io.helidon.webserver;
 
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
 
+import io.helidon.common.http.DataChunk;
 import io.helidon.common.http.Http;
+import io.helidon.common.http.MediaType;
+import io.helidon.common.reactive.Multi;
 import io.helidon.webclient.WebClient;
 import io.helidon.webclient.WebClientRequestBuilder;
 import io.helidon.webclient.WebClientResponse;
@@ -33,8 +45,11 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsMapContaining.hasEntry;
+import static org.hamcrest.collection.IsMapContaining.hasKey;
+import static org.hamcrest.core.IsNot.not;
 import static io.helidon.webserver.TransferEncodingTest.cutHeaders;
 
 /**
@@ -76,8 +91,59 @@ public class CompressionTest {
                             String payload = "It works!";
                             res.send(payload);
                         })
+                        .get("/small", (req, res) -> res.send("Small"))
+                        .get("/image", (req, res) -> {
+                            res.headers().contentType(MediaType.create("image", "png"));
+                            res.send(SocketHttpClient.longData(2048).toString());
+                        })
+                        .get("/identity", (req, res) -> {
+                            res.headers().put(Http.Header.CONTENT_ENCODING, "identity");
+                            res.send(SocketHttpClient.longData(2048).toString());
+                        })
+                        .get("/stream", (req, res) -> {
+                            res.headers().contentType(MediaType.TEXT_PLAIN);
+                            res.send(Multi.range(0, 100)
+                                             .map(i -> DataChunk.create(i % 10 == 0,
+                                                                        ByteBuffer.wrap(line(i)))));
+                        })
+                        .register("/route/disabled", ResponseCompressionSupport.disabled())
+                        .get("/route/disabled", (req, res) -> res.send("It is not compressed"))
+                        .register("/route/deflate", ResponseCompressionSupport.create(CompressionConfiguration.builder()
+                                                                                              .minSize(8)
+                                                                                              .removeEncoder("gzip")
+                                                                                              .build()))
+                        .get("/route/deflate", (req, res) -> res.send("It is deflated"))
+                        .register("/decompress", RequestDecompressionSupport.create())
+                        .post("/decompress", (req, res) -> {
+                            // the headers of the compressed content are removed
+                            res.headers().put("X-Content-Encoding",
+                                              req.headers().first(Http.Header.CONTENT_ENCODING).orElse("none"));
+                            res.headers().put("X-Content-Length",
+                                              req.headers().first(Http.Header.CONTENT_LENGTH).orElse("none"));
+                            req.content()
+                                    .as(String.class)
+                                    .thenAccept(res::send);
+                        })
                         .build())
                 .enableCompression(true)        // compression
+                .compression(CompressionConfiguration.builder()
+                                     .minSize(8)
+                                     .build())
+                .addSocket(SocketConfiguration.builder()
+                                   .name("deflate")
+                                   .enableCompression(true)
+                                   .compression(CompressionConfiguration.builder()
+                                                        .minSize(8)
+                                                        .removeEncoder("gzip")
+                                                        .build())
+                                   .build(),
+                           Routing.builder()
+                                   .get("/compressed", (req, res) -> res.send("It works!"))
+                                   .build())
+                .addSocket(SocketConfiguration.create("plain"),
+                           Routing.builder()
+                                   .get("/compressed", (req, res) -> res.send("It works!"))
+                                   .build())
                 .build()
                 .start()
                 .toCompletableFuture()
@@ -153,4 +219,143 @@ public class CompressionTest {
                 .await(10, TimeUnit.SECONDS);
         assertThat(response.content().as(String.class).get(), equalTo("It works!"));
     }
+
+    /**
+     * Test that responses smaller than the minimal size are not compressed.
+     *
+     * @throws Exception if error occurs.
+     */
+    @Test
+    public void testBelowMinSize() throws Exception {
+        Map<String, String> responseHeaders = headers("/small", "gzip");
+        assertThat(responseHeaders, not(hasKey("content-encoding")));
+    }
+
+    /**
+     * Test that responses of MIME types not in the allowed list are not compressed.
+     *
+     * @throws Exception if error occurs.
+     */
+    @Test
+    public void testMimeTypeNotAllowed() throws Exception {
+        Map<String, String> responseHeaders = headers("/image", "gzip");
+        assertThat(responseHeaders, not(hasKey("content-encoding")));
+    }
+
+    /**
+     * Test that responses with a content encoding are not compressed again.
+     *
+     * @throws Exception if error occurs.
+     */
+    @Test
+    public void testExistingContentEncoding() throws Exception {
+        Map<String, String> responseHeaders = headers("/identity", "gzip");
+        assertThat(responseHeaders, hasEntry("Content-Encoding", "identity"));
+    }
+
+    /**
+     * Test that the preferred encoding is selected by quality.
+     *
+     * @throws Exception if error occurs.
+     */
+    @Test
+    public void testQuality() throws Exception {
+        assertThat(headers("/compressed", "gzip;q=0.5, deflate"), hasEntry("content-encoding", "deflate"));
+        assertThat(headers("/compressed", "deflate, gzip"), hasEntry("content-encoding", "gzip"));
+        assertThat(headers("/compressed", "gzip;q=0, *"), hasEntry("content-encoding", "deflate"));
+    }
+
+    /**
+     * Test that a streamed entity flushed at chunk boundaries is compressed as a single stream.
+     *
+     * @throws Exception if error occurs.
+     */
+    @Test
+    public void testStreamedGzipContent() throws Exception {
+        WebClientRequestBuilder builder = webClient.get();
+        builder.headers().add("Accept-Encoding", "gzip");
+        WebClientResponse response = builder.path("/stream")
+                .request()
+                .await(10, TimeUnit.SECONDS);
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            expected.append(new String(line(i), StandardCharsets.UTF_8));
+        }
+        assertThat(response.content().as(String.class).get(), equalTo(expected.toString()));
+    }
+
+    /**
+     * Test that a named socket compresses with its own settings.
+     *
+     * @throws Exception if error occurs.
+     */
+    @Test
+    public void testSocketCompression() throws Exception {
+        assertThat(contentEncoding("deflate", "/compressed", "gzip, deflate"), is("deflate"));
+        assertThat(contentEncoding("plain", "/compressed", "gzip, deflate"), is("none"));
+    }
+
+    /**
+     * Test that a route overrides the compression of the socket.
+     *
+     * @throws Exception if error occurs.
+     */
+    @Test
+    public void testRouteCompression() throws Exception {
+        assertThat(headers("/route/disabled", "gzip, deflate"), not(hasKey("content-encoding")));
+        assertThat(headers("/route/deflate", "gzip, deflate"), hasEntry("content-encoding", "deflate"));
+        assertThat(headers("/compressed", "gzip, deflate"), hasEntry("content-encoding", "gzip"));
+    }
+
+    /**
+     * Test that a gzip request entity is decompressed.
+     *
+     * @throws Exception if error occurs.
+     */
+    @Test
+    public void testGzipRequest() throws Exception {
+        String payload = SocketHttpClient.longData(100_000).toString();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(payload.getBytes(StandardCharsets.UTF_8));
+        }
+
+        URL url = new URL("http://localhost:" + webServer.port() + "/decompress");
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Encoding", "gzip");
+        connection.setRequestProperty("Content-Type", "text/plain");
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(compressed.toByteArray());
+        }
+        assertThat(connection.getResponseCode(), is(200));
+        assertThat(connection.getHeaderField("X-Content-Encoding"), is("none"));
+        assertThat(connection.getHeaderField("X-Content-Length"), is("none"));
+        try (InputStream in = connection.getInputStream()) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8), is(payload));
+        }
+    }
+
+    private static byte[] line(int i) {
+        return ("line " + i + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String contentEncoding(String socket, String path, String acceptEncoding) throws Exception {
+        URL url = new URL("http://localhost:" + webServer.port(socket) + path);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestProperty("Accept-Encoding", acceptEncoding);
+        try {
+            assertThat(connection.getResponseCode(), is(200));
+            return Optional.ofNullable(connection.getHeaderField("Content-Encoding")).orElse("none");
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static Map<String, String> headers(String path, String acceptEncoding) throws Exception {
+        List<String> requestHeaders = List.of("Accept-Encoding: " + acceptEncoding);
+        String s = SocketHttpClient.sendAndReceive(path, Http.Method.GET, null, requestHeaders, webServer);
+        return cutHeaders(s);
+    }
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.common.http.Http;
+import io.helidon.common.reactive.Single;
+import io.helidon.webclient.WebClient;
+import io.helidon.webclient.WebClientResponse;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Tests admission control with {@link SocketConfiguration#concurrencyLimit()}.
+ */
+public class ConcurrencyLimitTest {
+
+    private static final CountDownLatch RECEIVED = new CountDownLatch(1);
+    private static final CompletableFuture<String> RELEASE = new CompletableFuture<>();
+
+    private static WebServer webServer;
+    private static WebClient webClient;
+
+    @BeforeAll
+    public static void startServer() throws Exception {
+        webServer = WebServer.builder(Routing.builder()
+                                              .get("/slow", (req, res) -> {
+                                                  RECEIVED.countDown();
+                                                  RELEASE.thenAccept(res::send);
+                                              })
+                                              .get("/fast", (req, res) -> res.send("fast")))
+                .concurrencyLimit(1)
+                .maxConcurrencyLimit(1)
+                .concurrencyLimitRetryAfter(3)
+                .build()
+                .start()
+                .toCompletableFuture()
+                .get(10, TimeUnit.SECONDS);
+        webClient = WebClient.builder()
+                .baseUri("http://localhost:" + webServer.port())
+                .build();
+    }
+
+    @AfterAll
+    public static void close() throws Exception {
+        if (webServer != null) {
+            webServer.shutdown().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testRejected() throws Exception {
+        Single<String> slow = webClient.get()
+                .path("/slow")
+                .request(String.class);
+        assertThat(RECEIVED.await(10, TimeUnit.SECONDS), is(true));
+
+        ConcurrencyLimiter limiter = webServer.concurrencyLimiter(WebServer.DEFAULT_SOCKET_NAME).orElseThrow();
+        assertThat(limiter.inFlight(), is(1));
+
+        WebClientResponse response = webClient.get()
+                .path("/fast")
+                .request()
+                .await(10, TimeUnit.SECONDS);
+        assertThat(response.status().code(), is(Http.Status.SERVICE_UNAVAILABLE_503.code()));
+        assertThat(response.headers().first(Http.Header.RETRY_AFTER), is(Optional.of("3")));
+        assertThat(limiter.rejected(), is(1L));
+
+        RELEASE.complete("slow");
+        assertThat(slow.await(10, TimeUnit.SECONDS), is("slow"));
+
+        String fast = webClient.get()
+                .path("/fast")
+                .request(String.class)
+                .await(10, TimeUnit.SECONDS);
+        assertThat(fast, is("fast"));
+        assertThat(limiter.inFlight(), is(0));
+    }
+
+    @Test
+    public void testAdaptiveLimit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(SocketConfiguration.builder()
+                                                                    .concurrencyLimit(10)
+                                                                    .maxConcurrencyLimit(100)
+                                                                    .build());
+        // requests use the whole limit with a steady latency
+        for (int i = 0; i < 200; i++) {
+            sample(limiter, TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        int grown = limiter.limit();
+        assertThat(grown, greaterThan(10));
+
+        // a downstream stalls
+        for (int i = 0; i < 100; i++) {
+            sample(limiter, TimeUnit.MILLISECONDS.toNanos(100));
+        }
+        assertThat(limiter.limit(), lessThan(grown));
+        assertThat(limiter.inFlight(), is(0));
+    }
+
+    @Test
+    public void testDisabled() {
+        WebServer server = WebServer.create(Routing.builder());
+        assertThat(server.concurrencyLimiter(WebServer.DEFAULT_SOCKET_NAME).isPresent(), is(false));
+    }
+
+    private static void sample(ConcurrencyLimiter limiter, long latency) {
+        int limit = limiter.limit();
+        for (int i = 0; i < limit; i++) {
+            assertThat(limiter.tryAcquire(), is(true));
+        }
+        assertThat(limiter.tryAcquire(), is(false));
+        for (int i = 0; i < limit; i++) {
+            limiter.release(latency);
+        }
+    }
+}
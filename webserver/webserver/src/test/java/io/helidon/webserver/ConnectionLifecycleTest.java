@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.common.http.Http;
+import io.helidon.common.reactive.Single;
+import io.helidon.webserver.utils.SocketHttpClient;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests the connection lifecycle controls of a socket: maximum requests per connection, idle timeout,
+ * maximum connections and the drain on shutdown.
+ */
+public class ConnectionLifecycleTest {
+
+    private static WebServer webServer;
+
+    @BeforeAll
+    public static void startServer() throws Exception {
+        webServer = WebServer.builder(Routing.builder()
+                                              .get("/", (req, res) -> res.send("ok")))
+                .maxRequestsPerConnection(2)
+                .idleTimeout(500, TimeUnit.MILLISECONDS)
+                .addSocket(SocketConfiguration.builder()
+                                   .name("limited")
+                                   .maxConnections(1)
+                                   .build())
+                .build()
+                .start()
+                .await(10, TimeUnit.SECONDS);
+    }
+
+    @AfterAll
+    public static void close() throws Exception {
+        if (webServer != null) {
+            webServer.shutdown().await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testMaxRequestsPerConnection() throws Exception {
+        try (SocketHttpClient s = new SocketHttpClient(webServer)) {
+            s.request(Http.Method.GET, "/", null);
+            assertThat(receive(s), containsString("connection: keep-alive"));
+
+            s.request(Http.Method.GET, "/", null);
+            assertThat(receive(s), containsString("connection: close"));
+            SocketHttpClient.assertConnectionIsClosed(s);
+        }
+    }
+
+    @Test
+    public void testIdleTimeout() throws Exception {
+        try (Socket socket = new Socket(InetAddress.getLocalHost(), webServer.port())) {
+            socket.setSoTimeout(10_000);
+            // the server closes the connection without any request
+            assertThat(socket.getInputStream().read(), is(-1));
+        }
+    }
+
+    @Test
+    public void testMaxConnections() throws Exception {
+        try (Socket first = new Socket(InetAddress.getLocalHost(), webServer.port("limited"))) {
+            first.setSoTimeout(10_000);
+            first.getOutputStream().write("GET / HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            first.getOutputStream().flush();
+            assertThat(read(first.getInputStream()), containsString("200 OK"));
+
+            try (Socket second = new Socket(InetAddress.getLocalHost(), webServer.port("limited"))) {
+                second.setSoTimeout(10_000);
+                assertThat(second.getInputStream().read(), is(-1));
+            }
+        }
+    }
+
+    @Test
+    public void testDrain() throws Exception {
+        CountDownLatch received = new CountDownLatch(1);
+        CompletableFuture<String> release = new CompletableFuture<>();
+        WebServer server = WebServer.builder(Routing.builder()
+                                                     .get("/slow", (req, res) -> {
+                                                         received.countDown();
+                                                         release.thenAccept(res::send);
+                                                     }))
+                .drainTimeout(10, TimeUnit.SECONDS)
+                .build()
+                .start()
+                .await(10, TimeUnit.SECONDS);
+
+        try (SocketHttpClient s = new SocketHttpClient(server)) {
+            s.request(Http.Method.GET, "/slow", null, List.of());
+            assertThat(received.await(10, TimeUnit.SECONDS), is(true));
+
+            Single<WebServer> shutdown = server.shutdown();
+            release.complete("slow");
+
+            // the exchange in progress completes before the connection is closed
+            assertThat(receive(s), containsString("slow"));
+            shutdown.await(10, TimeUnit.SECONDS);
+            SocketHttpClient.assertConnectionIsClosed(s);
+        }
+    }
+
+    private static String receive(SocketHttpClient s) throws IOException {
+        return s.receive().toLowerCase(Locale.ROOT);
+    }
+
+    private static String read(InputStream in) throws IOException {
+        byte[] buffer = new byte[512];
+        int read = in.read(buffer);
+        return read == -1 ? "" : new String(buffer, 0, read, StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.common.http.Http;
+import io.helidon.webclient.WebClient;
+import io.helidon.webclient.WebClientResponse;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests {@link ContentRanges}.
+ */
+public class ContentRangesTest {
+
+    private static final String CONTENT = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+    private static WebServer webServer;
+    private static WebClient client;
+
+    @BeforeAll
+    public static void startServer() throws Exception {
+        Path root = Files.createTempDirectory("content-ranges");
+        Files.writeString(root.resolve("file.txt"), CONTENT);
+
+        webServer = WebServer.builder(Routing.builder()
+                                              .register("/files", StaticContentSupport.create(root))
+                                              .register("/cached", StaticContentSupport.builder(root)
+                                                      .cacheMaxSize(10_000)
+                                                      .build()))
+                .build()
+                .start()
+                .toCompletableFuture()
+                .get(10, TimeUnit.SECONDS);
+
+        client = WebClient.builder()
+                .baseUri("http://localhost:" + webServer.port())
+                .build();
+    }
+
+    @AfterAll
+    public static void close() throws Exception {
+        if (webServer != null) {
+            webServer.shutdown().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testParse() {
+        assertRanges(ContentRanges.parse("bytes=0-9", 36), new long[] {0, 9});
+        assertRanges(ContentRanges.parse("bytes=30-", 36), new long[] {30, 35});
+        assertRanges(ContentRanges.parse("bytes=-6", 36), new long[] {30, 35});
+        assertRanges(ContentRanges.parse("bytes=-100", 36), new long[] {0, 35});
+        assertRanges(ContentRanges.parse("bytes=30-100", 36), new long[] {30, 35});
+        // sorted and coalesced
+        assertRanges(ContentRanges.parse("bytes=20-25, 0-4, 3-9, 10-12", 36), new long[] {0, 12}, new long[] {20, 25});
+        // unsatisfiable
+        assertThat(ContentRanges.parse("bytes=36-40", 36).isEmpty(), is(true));
+        assertThat(ContentRanges.parse("bytes=-0", 36).isEmpty(), is(true));
+        assertThat(ContentRanges.parse("bytes=100-", 36).isEmpty(), is(true));
+        // ignored
+        assertThat(ContentRanges.parse("items=0-9", 36), nullValue());
+        assertThat(ContentRanges.parse("bytes=9-0", 36), nullValue());
+        assertThat(ContentRanges.parse("bytes=a-b", 36), nullValue());
+        assertThat(ContentRanges.parse("bytes=" + "0-0,".repeat(17), 36), nullValue());
+    }
+
+    @Test
+    public void testSingleRange() throws Exception {
+        for (String path : List.of("/files/file.txt", "/cached/file.txt")) {
+            WebClientResponse response = get(path, Map.of(Http.Header.RANGE, "bytes=10-15"));
+            assertThat(response.status(), is(Http.Status.PARTIAL_CONTENT_206));
+            assertThat(response.headers().first(Http.Header.CONTENT_RANGE).orElse(null), is("bytes 10-15/36"));
+            assertThat(response.headers().first(Http.Header.ACCEPT_RANGES).orElse(null), is("bytes"));
+            assertThat(response.content().as(String.class).get(), is("abcdef"));
+        }
+    }
+
+    @Test
+    public void testMultipleRanges() throws Exception {
+        for (String path : List.of("/files/file.txt", "/cached/file.txt")) {
+            WebClientResponse response = get(path, Map.of(Http.Header.RANGE, "bytes=0-1,-2"));
+            assertThat(response.status(), is(Http.Status.PARTIAL_CONTENT_206));
+            String contentType = response.headers().first(Http.Header.CONTENT_TYPE).orElseThrow();
+            assertThat(contentType, containsString("multipart/byteranges; boundary="));
+            String boundary = contentType.substring(contentType.indexOf('=') + 1);
+            String body = response.content().as(String.class).get();
+            assertThat(body, is("\r\n--" + boundary + "\r\n"
+                                        + "Content-Type: text/plain\r\n"
+                                        + "Content-Range: bytes 0-1/36\r\n\r\n"
+                                        + "01"
+                                        + "\r\n--" + boundary + "\r\n"
+                                        + "Content-Type: text/plain\r\n"
+                                        + "Content-Range: bytes 34-35/36\r\n\r\n"
+                                        + "yz"
+                                        + "\r\n--" + boundary + "--\r\n"));
+        }
+    }
+
+    @Test
+    public void testNotSatisfiable() throws Exception {
+        WebClientResponse response = get("/files/file.txt", Map.of(Http.Header.RANGE, "bytes=100-"));
+        assertThat(response.status(), is(Http.Status.REQUESTED_RANGE_NOT_SATISFIABLE_416));
+        assertThat(response.headers().first(Http.Header.CONTENT_RANGE).orElse(null), is("bytes */36"));
+        response.close();
+    }
+
+    @Test
+    public void testIfRange() throws Exception {
+        for (String path : List.of("/files/file.txt", "/cached/file.txt")) {
+            WebClientResponse response = get(path, Map.of());
+            String etag = response.headers().first(Http.Header.ETAG).orElseThrow();
+            String lastModified = response.headers().first(Http.Header.LAST_MODIFIED).orElseThrow();
+            response.close();
+
+            response = get(path, Map.of(Http.Header.RANGE, "bytes=0-0", Http.Header.IF_RANGE, etag));
+            assertThat(response.status(), is(Http.Status.PARTIAL_CONTENT_206));
+            assertThat(response.content().as(String.class).get(), is("0"));
+
+            response = get(path, Map.of(Http.Header.RANGE, "bytes=0-0", Http.Header.IF_RANGE, lastModified));
+            assertThat(response.status(), is(Http.Status.PARTIAL_CONTENT_206));
+            assertThat(response.content().as(String.class).get(), is("0"));
+
+            response = get(path, Map.of(Http.Header.RANGE, "bytes=0-0", Http.Header.IF_RANGE, "\"other\""));
+            assertThat(response.status(), is(Http.Status.OK_200));
+            assertThat(response.content().as(String.class).get(), is(CONTENT));
+        }
+    }
+
+    private static void assertRanges(List<long[]> ranges, long[]... expected) {
+        assertThat(ranges.size(), is(expected.length));
+        for (int i = 0; i < expected.length; i++) {
+            assertThat(ranges.get(i), is(expected[i]));
+        }
+    }
+
+    private static WebClientResponse get(String path, Map<String, String> headers) throws Exception {
+        return client.get()
+                .path(path)
+                .headers(requestHeaders -> {
+                    requestHeaders.put(Http.Header.ACCEPT_ENCODING, "identity");
+                    headers.forEach((name, value) -> requestHeaders.put(name, value));
+                    return requestHeaders;
+                })
+                .request()
+                .toCompletableFuture()
+                .get(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.common.configurable.Resource;
+import io.helidon.common.pki.KeyConfig;
+import io.helidon.webclient.WebClient;
+import io.helidon.webclient.WebClientTls;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests files sent as file regions, using {@code sendfile} on a plain socket and chunked writes with TLS.
+ */
+public class FileRegionTest {
+
+    private static final int FILE_SIZE = 3 * 1024 * 1024 + 17;
+
+    private static Path file;
+    private static byte[] content;
+    private static WebServer plainServer;
+    private static WebServer tlsServer;
+    private static WebClient client;
+
+    @BeforeAll
+    public static void startServers() throws Exception {
+        content = new byte[FILE_SIZE];
+        new Random(42).nextBytes(content);
+        file = Files.createTempFile("file-region", ".bin");
+        Files.write(file, content);
+
+        plainServer = WebServer.builder(routing())
+                .build()
+                .start()
+                .toCompletableFuture()
+                .get(10, TimeUnit.SECONDS);
+
+        tlsServer = WebServer.builder(routing())
+                .tls(WebServerTls.builder()
+                             .privateKey(KeyConfig.pemBuilder()
+                                                 .key(Resource.create("ssl/key.pkcs8.pem"))
+                                                 .certChain(Resource.create("ssl/certificate.pem"))
+                                                 .build()))
+                .build()
+                .start()
+                .toCompletableFuture()
+                .get(10, TimeUnit.SECONDS);
+
+        client = WebClient.builder()
+                .tls(WebClientTls.builder()
+                             .trustAll(true)
+                             .build())
+                .build();
+    }
+
+    @AfterAll
+    public static void close() throws Exception {
+        if (plainServer != null) {
+            plainServer.shutdown().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        }
+        if (tlsServer != null) {
+            tlsServer.shutdown().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        }
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testPlainPath() throws Exception {
+        assertThat(get("http://localhost:" + plainServer.port() + "/path"), is(content));
+    }
+
+    @Test
+    public void testPlainFile() throws Exception {
+        assertThat(get("http://localhost:" + plainServer.port() + "/file"), is(content));
+    }
+
+    @Test
+    public void testTlsPath() throws Exception {
+        assertThat(get("https://localhost:" + tlsServer.port() + "/path"), is(content));
+    }
+
+    @Test
+    public void testStaticContent() throws Exception {
+        assertThat(get("http://localhost:" + plainServer.port() + "/static/" + file.getFileName()), is(content));
+        assertThat(get("https://localhost:" + tlsServer.port() + "/static/" + file.getFileName()), is(content));
+    }
+
+    @Test
+    public void testSendfileSupported() {
+        assertThat(BareResponseImpl.sendfileSupported(new NioSocketChannel()), is(true));
+        // stands for transports without sendfile, such as io_uring
+        assertThat(BareResponseImpl.sendfileSupported(new EmbeddedChannel()), is(false));
+    }
+
+    private static byte[] get(String uri) throws Exception {
+        return client.get()
+                .uri(uri)
+                .request(byte[].class)
+                .toCompletableFuture()
+                .get(10, TimeUnit.SECONDS);
+    }
+
+    private static Routing routing() {
+        return Routing.builder()
+                .get("/path", (req, res) -> res.send(file))
+                .get("/file", (req, res) -> res.send(file.toFile()))
+                .register("/static", StaticContentSupport.create(file.getParent()))
+                .build();
+    }
+}
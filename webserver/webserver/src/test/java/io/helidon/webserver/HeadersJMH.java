@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.common.http.ArrayParameters;
+import io.helidon.common.http.HashParameters;
+import io.helidon.common.http.Http;
+import io.helidon.common.http.Parameters;
+import io.helidon.common.http.ReadOnlyParameters;
+
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Compares the map based header storage with {@link ArrayParameters} on a header-heavy browser request
+ * and a typical response. Runs with the GC profiler (same as {@code -prof gc}), compare
+ * the {@code gc.alloc.rate.norm} column.
+ * <p>
+ * {@code *Request} benchmarks create request headers from Netty headers and look up a few present and absent headers,
+ * {@code *Response} benchmarks set response headers and copy them to the map written to Netty.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HeadersJMH {
+
+    public static void main(String[] args) throws Throwable {
+        Options opt = new OptionsBuilder()
+                .include(HeadersJMH.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    private HttpHeaders nettyHeaders;
+
+    @Setup
+    public void setup() {
+        nettyHeaders = new DefaultHttpHeaders()
+                .add("Host", "localhost:8080")
+                .add("Connection", "keep-alive")
+                .add("Cache-Control", "max-age=0")
+                .add("Upgrade-Insecure-Requests", "1")
+                .add("User-Agent", "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/85.0")
+                .add("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8")
+                .add("Sec-Fetch-Site", "same-origin")
+                .add("Sec-Fetch-Mode", "navigate")
+                .add("Sec-Fetch-User", "?1")
+                .add("Sec-Fetch-Dest", "document")
+                .add("Referer", "http://localhost:8080/index.html")
+                .add("Accept-Encoding", "gzip, deflate, br")
+                .add("Accept-Language", "en-US,en;q=0.9")
+                .add("Cookie", "JSESSIONID=1234567890; theme=dark")
+                .add("If-None-Match", "\"1600000000000\"")
+                .add("If-Modified-Since", "Sun, 13 Sep 2020 12:26:40 GMT")
+                .add("X-Forwarded-For", "10.0.0.1")
+                .add("X-Forwarded-Proto", "http")
+                .add("X-Request-Id", "f058ebd6-02f7-4d3f-942e-904344e8cde5")
+                .add("Traceparent", "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01");
+    }
+
+    @Benchmark
+    public void mapRequest(Blackhole bh) {
+        // the former path: a map of lists, copied to a case-insensitive tree map
+        Map<String, List<String>> map = new HashMap<>();
+        for (Map.Entry<String, String> entry : nettyHeaders.entries()) {
+            map.computeIfAbsent(entry.getKey(), s -> new ArrayList<>()).add(entry.getValue());
+        }
+        readRequest(bh, new ReadOnlyParameters(map));
+    }
+
+    @Benchmark
+    public void arrayRequest(Blackhole bh) {
+        readRequest(bh, new HashRequestHeaders(nettyHeaders));
+    }
+
+    @Benchmark
+    public void mapResponse(Blackhole bh) {
+        writeResponse(bh, HashParameters.create());
+    }
+
+    @Benchmark
+    public void arrayResponse(Blackhole bh) {
+        writeResponse(bh, ArrayParameters.create());
+    }
+
+    private static void readRequest(Blackhole bh, Parameters headers) {
+        bh.consume(headers.first(Http.Header.HOST));
+        bh.consume(headers.all(Http.Header.ACCEPT));
+        bh.consume(headers.first(Http.Header.ACCEPT_ENCODING));
+        bh.consume(headers.all(Http.Header.COOKIE));
+        bh.consume(headers.first(Http.Header.IF_NONE_MATCH));
+        bh.consume(headers.first(Http.Header.IF_MODIFIED_SINCE));
+        bh.consume(headers.first(Http.Header.CONTENT_TYPE));
+        bh.consume(headers.first(Http.Header.CONTENT_LENGTH));
+        bh.consume(headers.first(Http.Header.RANGE));
+        bh.consume(headers.first("x-request-id"));
+    }
+
+    private static void writeResponse(Blackhole bh, Parameters headers) {
+        headers.put(Http.Header.DATE, "Sun, 13 Sep 2020 12:26:40 GMT");
+        headers.put(Http.Header.CONTENT_TYPE, "text/html");
+        headers.put(Http.Header.ETAG, "\"1600000000000\"");
+        headers.put(Http.Header.LAST_MODIFIED, "Sun, 13 Sep 2020 12:26:40 GMT");
+        headers.put(Http.Header.CACHE_CONTROL, "no-cache");
+        headers.add(Http.Header.SET_COOKIE, "theme=dark");
+        headers.add(Http.Header.VARY, Http.Header.ACCEPT_ENCODING);
+        headers.put(Http.Header.CONTENT_LENGTH, "1024");
+        bh.consume(headers.first(Http.Header.CONTENT_LENGTH));
+        bh.consume(headers.toMap());
+    }
+}
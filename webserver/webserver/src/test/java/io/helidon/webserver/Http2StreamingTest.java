@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.common.configurable.Resource;
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.pki.KeyConfig;
+import io.helidon.common.reactive.Multi;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests streaming of HTTP/2 request and response content larger than
+ * {@link Http2Configuration#maxContentLength()}, with prior knowledge over cleartext and negotiated with ALPN over TLS.
+ */
+public class Http2StreamingTest {
+
+    private static final int CONTENT_SIZE = 1024 * 1024;
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    private static WebServer plainServer;
+    private static WebServer tlsServer;
+    private static EventLoopGroup group;
+
+    @BeforeAll
+    public static void startServers() throws Exception {
+        plainServer = WebServer.builder(routing())
+                .experimental(http2())
+                .build()
+                .start()
+                .toCompletableFuture()
+                .get(10, TimeUnit.SECONDS);
+
+        tlsServer = WebServer.builder(routing())
+                .experimental(http2())
+                .tls(WebServerTls.builder()
+                             .privateKey(KeyConfig.pemBuilder()
+                                                 .key(Resource.create("ssl/key.pkcs8.pem"))
+                                                 .certChain(Resource.create("ssl/certificate.pem"))
+                                                 .build()))
+                .build()
+                .start()
+                .toCompletableFuture()
+                .get(10, TimeUnit.SECONDS);
+
+        group = new NioEventLoopGroup(1);
+    }
+
+    @AfterAll
+    public static void close() throws Exception {
+        if (plainServer != null) {
+            plainServer.shutdown().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        }
+        if (tlsServer != null) {
+            tlsServer.shutdown().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        }
+        if (group != null) {
+            group.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testCleartext() throws Exception {
+        Channel channel = connect(plainServer.port(), null);
+        try {
+            assertStreaming(channel);
+        } finally {
+            channel.close();
+        }
+    }
+
+    @Test
+    public void testTls() throws Exception {
+        SslContext sslContext = SslContextBuilder.forClient()
+                .trustManager(InsecureTrustManagerFactory.INSTANCE)
+                .applicationProtocolConfig(new ApplicationProtocolConfig(
+                        ApplicationProtocolConfig.Protocol.ALPN,
+                        ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                        ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                        ApplicationProtocolNames.HTTP_2))
+                .build();
+        Channel channel = connect(tlsServer.port(), sslContext);
+        try {
+            SslHandler sslHandler = channel.pipeline().get(SslHandler.class);
+            sslHandler.handshakeFuture().get(10, TimeUnit.SECONDS);
+            assertThat(sslHandler.applicationProtocol(), is(ApplicationProtocolNames.HTTP_2));
+            assertStreaming(channel);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private static void assertStreaming(Channel channel) throws Exception {
+        byte[] content = new byte[CONTENT_SIZE];
+        Arrays.fill(content, (byte) 'a');
+        FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/count",
+                                                             Unpooled.wrappedBuffer(content));
+        request.headers().setInt(HttpHeaderNames.CONTENT_LENGTH, CONTENT_SIZE);
+        assertThat(exchange(channel, request).toString(StandardCharsets.UTF_8), is(String.valueOf(CONTENT_SIZE)));
+
+        request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/large");
+        assertThat(exchange(channel, request).readableBytes(), is(CONTENT_SIZE));
+    }
+
+    private static Channel connect(int port, SslContext sslContext) throws Exception {
+        return new Bootstrap()
+                .group(group)
+                .channel(NioSocketChannel.class)
+                .handler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        if (sslContext != null) {
+                            ch.pipeline().addLast(sslContext.newHandler(ch.alloc(), "localhost", port));
+                        }
+                        ch.pipeline().addLast(Http2FrameCodecBuilder.forClient().build());
+                        ch.pipeline().addLast(new Http2MultiplexHandler(new ChannelInboundHandlerAdapter()));
+                    }
+                })
+                .connect("localhost", port)
+                .sync()
+                .channel();
+    }
+
+    private static ByteBuf exchange(Channel channel, FullHttpRequest request) throws Exception {
+        CompletableFuture<ByteBuf> content = new CompletableFuture<>();
+        Http2StreamChannel stream = new Http2StreamChannelBootstrap(channel)
+                .handler(new ChannelInitializer<Http2StreamChannel>() {
+                    @Override
+                    protected void initChannel(Http2StreamChannel ch) {
+                        ch.pipeline().addLast(new Http2StreamFrameToHttpObjectCodec(false));
+                        ch.pipeline().addLast(new HttpObjectAggregator(2 * CONTENT_SIZE));
+                        ch.pipeline().addLast(new SimpleChannelInboundHandler<FullHttpResponse>() {
+                            @Override
+                            protected void channelRead0(ChannelHandlerContext ctx, FullHttpResponse response) {
+                                content.complete(Unpooled.copiedBuffer(response.content()));
+                            }
+
+                            @Override
+                            public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+                                content.completeExceptionally(cause);
+                            }
+                        });
+                    }
+                })
+                .open()
+                .get(10, TimeUnit.SECONDS);
+        request.headers().set(HttpHeaderNames.HOST, "localhost");
+        stream.writeAndFlush(request);
+        return content.get(10, TimeUnit.SECONDS);
+    }
+
+    private static ExperimentalConfiguration http2() {
+        return ExperimentalConfiguration.builder()
+                .http2(Http2Configuration.builder()
+                               .enable(true)
+                               .build())
+                .build();
+    }
+
+    private static Routing routing() {
+        return Routing.builder()
+                .post("/count", (req, res) -> Multi.create(req.content())
+                        .map(chunk -> {
+                            int remaining = chunk.remaining();
+                            chunk.release();
+                            return remaining;
+                        })
+                        .reduce(Integer::sum)
+                        .forSingle(count -> res.send(String.valueOf(count))))
+                .get("/large", (req, res) -> res.send(Multi.range(0, CONTENT_SIZE / CHUNK_SIZE)
+                        .map(i -> DataChunk.create(ByteBuffer.wrap(new byte[CHUNK_SIZE])))))
+                .build();
+    }
+}
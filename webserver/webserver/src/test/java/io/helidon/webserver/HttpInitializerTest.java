@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests {@link HttpInitializer}.
+ */
+class HttpInitializerTest {
+
+    @Test
+    void testAcceptorsPausedTogether() {
+        HttpInitializer initializer = new HttpInitializer(SocketConfiguration.builder()
+                                                                  .maxConnections(1)
+                                                                  .connectionOverflowPolicy(ConnectionOverflowPolicy.PAUSE)
+                                                                  .build(),
+                                                          null,
+                                                          null,
+                                                          null,
+                                                          null);
+        EmbeddedChannel first = new EmbeddedChannel();
+        EmbeddedChannel second = new EmbeddedChannel();
+        initializer.acceptorBound(first);
+        initializer.acceptorBound(second);
+
+        initializer.pauseAcceptors();
+        assertThat(first.config().isAutoRead(), is(false));
+        assertThat(second.config().isAutoRead(), is(false));
+
+        // an acceptor bound while the socket is full does not accept either
+        EmbeddedChannel third = new EmbeddedChannel();
+        initializer.acceptorBound(third);
+        assertThat(third.config().isAutoRead(), is(false));
+
+        initializer.resumeAcceptors();
+        assertThat(first.config().isAutoRead(), is(true));
+        assertThat(second.config().isAutoRead(), is(true));
+        assertThat(third.config().isAutoRead(), is(true));
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests {@link PathParameters}.
+ */
+class PathParametersTest {
+
+    @Test
+    void testOffsets() {
+        PathParameters params = new PathParameters("/users/john/items/42",
+                                                   new String[] {"name", "id", "missing"},
+                                                   new int[] {7, 11, 18, 20, -1, -1});
+
+        assertThat(params.size(), is(2));
+        assertThat(params.get("name"), is("john"));
+        assertThat(params.get("id"), is("42"));
+        assertThat(params.get("missing"), nullValue());
+        assertThat(params.containsKey("missing"), is(false));
+        assertThat(params, is(Map.of("name", "john", "id", "42")));
+        assertThrows(UnsupportedOperationException.class, () -> params.put("foo", "bar"));
+    }
+
+    @Test
+    void testMatchersProduceOffsets() {
+        PathMatcher.Result result = PathMatcher.create("/foo/{id:\\d+}/{name}").match("/foo/123/bar");
+        assertThat(result.matches(), is(true));
+        assertThat(result.params(), is(Map.of("id", "123", "name", "bar")));
+
+        PathMatcher.PrefixResult prefixResult = PathMatcher.create("/foo/{id}[/{opt}]").prefixMatch("/foo/1/x");
+        assertThat(prefixResult.matches(), is(true));
+        assertThat(prefixResult.param("id"), is("1"));
+    }
+
+    @Test
+    void testLazyAbsolutePath() {
+        Request.Path root = Request.Path.create(null, "/a/b/c", Map.of("a", "1", "b", "2"));
+        Request.Path sub = Request.Path.create(root, "/b/c", Map.of("b", "3"));
+        Request.Path subSub = Request.Path.create(sub, "/c", Map.of("c", "4"));
+
+        assertThat(subSub.param("a"), nullValue());
+        Request.Path absolute = subSub.absolute();
+        assertThat(absolute.toString(), is("/a/b/c"));
+        assertThat(absolute.param("a"), is("1"));
+        assertThat(absolute.param("b"), is("3"));
+        assertThat(absolute.param("c"), is("4"));
+        assertThat(subSub.absolute(), is(absolute));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.common.http.Http;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Measures time and allocation of path parameter extraction. Runs with the GC profiler
+ * (same as {@code -prof gc}), compare the {@code gc.alloc.rate.norm} column.
+ * <p>
+ * {@code *NoRead} benchmarks match a route but never read its parameters, which should not create any parameter
+ * values. {@code regexpMiss} matches a path against a route which does not match it, which only allocates
+ * the regular expression matcher.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PathParamsJMH {
+
+    private static final Handler VOID_HANDLER = (req, res) -> {};
+    private static final String PATH = "/tenants/acme/users/john/orders/42";
+
+    public static void main(String[] args) throws Throwable {
+        Options opt = new OptionsBuilder()
+                .include(PathParamsJMH.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    private RouteList indexed;
+    private PathMatcher regexp;
+    private PathMatcher regexpOther;
+
+    @Setup
+    public void setup() {
+        indexed = new RouteList(List.of(new HandlerRoute(null,
+                                                         PathMatcher.create("/tenants/{tenant}/users/{user}/orders/{id}"),
+                                                         VOID_HANDLER,
+                                                         Http.Method.GET)));
+        // custom regular expressions are not indexed and are matched by the regular expression matcher
+        regexp = PathMatcher.create("/tenants/{tenant}/users/{user}/orders/{id:\\d+}");
+        regexpOther = PathMatcher.create("/tenants/{tenant}/groups/{group:\\w+}");
+    }
+
+    @Benchmark
+    public void indexedNoRead(Blackhole bh) {
+        RouteIndex.Lookup lookup = indexed.index().lookup(PATH, Http.Method.GET);
+        bh.consume(lookup.match(lookup.nextCandidate(0)).matches());
+    }
+
+    @Benchmark
+    public void indexedRead(Blackhole bh) {
+        RouteIndex.Lookup lookup = indexed.index().lookup(PATH, Http.Method.GET);
+        bh.consume(lookup.match(lookup.nextCandidate(0)).param("id"));
+    }
+
+    @Benchmark
+    public void regexpNoRead(Blackhole bh) {
+        bh.consume(regexp.match(PATH).matches());
+    }
+
+    @Benchmark
+    public void regexpRead(Blackhole bh) {
+        bh.consume(regexp.match(PATH).param("id"));
+    }
+
+    @Benchmark
+    public void regexpMiss(Blackhole bh) {
+        bh.consume(regexpOther.match(PATH).matches());
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.helidon.common.http.MediaType;
+import io.helidon.common.reactive.Multi;
+import io.helidon.webclient.WebClient;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Tests that request content is not read from the connection beyond the high watermark
+ * until the content is requested.
+ */
+public class RequestBufferWatermarkTest {
+
+    private static final int CONTENT_SIZE = 4 * 1024 * 1024;
+    private static final int HIGH_WATERMARK = 16 * 1024;
+
+    private static final AtomicLong BUFFERED = new AtomicLong();
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor();
+
+    private static WebServer webServer;
+
+    @BeforeAll
+    public static void startServer() throws Exception {
+        webServer = WebServer.builder(Routing.builder()
+                                              .post("/", RequestBufferWatermarkTest::slowConsumer))
+                .requestBufferHighWatermark(HIGH_WATERMARK)
+                .requestBufferLowWatermark(HIGH_WATERMARK / 2)
+                .build()
+                .start()
+                .toCompletableFuture()
+                .get(10, TimeUnit.SECONDS);
+    }
+
+    @AfterAll
+    public static void close() throws Exception {
+        if (webServer != null) {
+            webServer.shutdown().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        }
+        EXECUTOR.shutdownNow();
+    }
+
+    @Test
+    public void testSuspendedReads() throws Exception {
+        String count = WebClient.builder()
+                .baseUri("http://localhost:" + webServer.port())
+                .build()
+                .post()
+                .contentType(MediaType.TEXT_PLAIN)
+                .submit("a".repeat(CONTENT_SIZE), String.class)
+                .toCompletableFuture()
+                .get(30, TimeUnit.SECONDS);
+
+        assertThat(count, is(String.valueOf(CONTENT_SIZE)));
+        // content read before the handler subscribed is limited by the high watermark, not the request size
+        assertThat(BUFFERED.get(), lessThan((long) CONTENT_SIZE / 4));
+        assertThat(webServer.bufferedRequestBytes(), is(0L));
+    }
+
+    private static void slowConsumer(ServerRequest req, ServerResponse res) {
+        EXECUTOR.schedule(() -> {
+            BUFFERED.set(req.webServer().bufferedRequestBytes());
+            Multi.create(req.content())
+                    .map(chunk -> {
+                        int remaining = chunk.remaining();
+                        chunk.release();
+                        return remaining;
+                    })
+                    .reduce(Integer::sum)
+                    .forSingle(sum -> res.send(String.valueOf(sum)));
+        }, 500, TimeUnit.MILLISECONDS);
+    }
+}
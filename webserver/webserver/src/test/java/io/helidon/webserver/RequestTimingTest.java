@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.webclient.WebClient;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+/**
+ * Tests {@link RequestTiming}.
+ */
+public class RequestTimingTest {
+
+    private static volatile CompletableFuture<RequestTiming> timing;
+    private static WebServer webServer;
+    private static WebClient webClient;
+
+    @BeforeAll
+    public static void startServer() throws Exception {
+        webServer = WebServer.builder(Routing.builder()
+                                              .any((req, res) -> {
+                                                  res.whenSent().thenRun(() -> timing.complete(req.timing()));
+                                                  req.next();
+                                              })
+                                              .register("/greet", rules -> rules
+                                                      .get("/{name}", (req, res) -> res.send("Hello " + req.path()
+                                                              .param("name"))))
+                                              .get("/", (req, res) -> res.send("Root")))
+                .build()
+                .start()
+                .await(10, TimeUnit.SECONDS);
+        webClient = WebClient.builder()
+                .baseUri("http://localhost:" + webServer.port())
+                .build();
+    }
+
+    @AfterAll
+    public static void close() throws Exception {
+        if (webServer != null) {
+            webServer.shutdown().await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testPhases() throws Exception {
+        RequestTiming timing = get("/greet/Joe", "Hello Joe");
+        assertThat(timing.route(), is("/greet/{name}"));
+        assertThat(timing.routed() - timing.received(), greaterThanOrEqualTo(0L));
+        assertThat(timing.handlerEntered() - timing.routed(), greaterThanOrEqualTo(0L));
+        assertThat(timing.headersWritten() - timing.handlerEntered(), greaterThanOrEqualTo(0L));
+        assertThat(timing.completed() - timing.headersWritten(), greaterThanOrEqualTo(0L));
+    }
+
+    @Test
+    public void testRootRoute() throws Exception {
+        RequestTiming timing = get("/", "Root");
+        assertThat(timing.route(), is("/"));
+    }
+
+    private static RequestTiming get(String path, String expected) throws Exception {
+        timing = new CompletableFuture<>();
+        String response = webClient.get()
+                .path(path)
+                .request(String.class)
+                .await(10, TimeUnit.SECONDS);
+        assertThat(response, is(expected));
+        return timing.get(10, TimeUnit.SECONDS);
+    }
+}
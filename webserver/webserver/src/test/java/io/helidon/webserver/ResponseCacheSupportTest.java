@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.helidon.common.http.Http;
+import io.helidon.common.reactive.Single;
+import io.helidon.webclient.WebClient;
+import io.helidon.webclient.WebClientResponse;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests {@link ResponseCacheSupport}.
+ */
+public class ResponseCacheSupportTest {
+
+    private static final AtomicInteger CACHED_CALLS = new AtomicInteger();
+    private static final AtomicInteger NO_STORE_CALLS = new AtomicInteger();
+    private static final AtomicInteger VARY_CALLS = new AtomicInteger();
+    private static final AtomicInteger SLOW_CALLS = new AtomicInteger();
+    private static final AtomicInteger HOST_CALLS = new AtomicInteger();
+    private static final CountDownLatch SLOW_RECEIVED = new CountDownLatch(1);
+    private static final CompletableFuture<String> SLOW_RELEASE = new CompletableFuture<>();
+    private static final AtomicInteger HUNG_CALLS = new AtomicInteger();
+    private static final CompletableFuture<String> HUNG_RELEASE = new CompletableFuture<>();
+
+    private static ResponseCacheSupport cache;
+    private static WebServer webServer;
+    private static WebClient webClient;
+
+    @BeforeAll
+    public static void startServer() throws Exception {
+        cache = ResponseCacheSupport.create();
+        webServer = WebServer.builder(Routing.builder()
+                                              .register("/cache", cache, rules -> rules
+                                                      .get("/cached", (req, res) -> {
+                                                          res.headers().put(Http.Header.CACHE_CONTROL, "max-age=60");
+                                                          res.headers().put(Http.Header.ETAG, "\"v1\"");
+                                                          res.send("cached " + CACHED_CALLS.incrementAndGet());
+                                                      })
+                                                      .get("/no-store", (req, res) -> {
+                                                          res.headers().put(Http.Header.CACHE_CONTROL, "no-store");
+                                                          res.send("no-store " + NO_STORE_CALLS.incrementAndGet());
+                                                      })
+                                                      .get("/vary", (req, res) -> {
+                                                          VARY_CALLS.incrementAndGet();
+                                                          res.headers().put(Http.Header.CACHE_CONTROL, "max-age=60");
+                                                          res.headers().put(Http.Header.VARY, Http.Header.ACCEPT_LANGUAGE);
+                                                          res.send(req.headers().first(Http.Header.ACCEPT_LANGUAGE).orElse(""));
+                                                      })
+                                                      .get("/host", (req, res) -> {
+                                                          HOST_CALLS.incrementAndGet();
+                                                          res.headers().put(Http.Header.CACHE_CONTROL, "max-age=60");
+                                                          res.send(req.headers().first(Http.Header.HOST).orElse(""));
+                                                      })
+                                                      .get("/slow", (req, res) -> {
+                                                          SLOW_CALLS.incrementAndGet();
+                                                          SLOW_RECEIVED.countDown();
+                                                          res.headers().put(Http.Header.CACHE_CONTROL, "max-age=60");
+                                                          SLOW_RELEASE.thenAccept(res::send);
+                                                      }))
+                                              .register("/timeout", ResponseCacheSupport.builder()
+                                                      .collapseTimeout(100, TimeUnit.MILLISECONDS)
+                                                      .build(), rules -> rules
+                                                      .get("/hung", (req, res) -> {
+                                                          res.headers().put(Http.Header.CACHE_CONTROL, "max-age=60");
+                                                          if (HUNG_CALLS.incrementAndGet() == 1) {
+                                                              HUNG_RELEASE.thenAccept(res::send);
+                                                          } else {
+                                                              res.send("not hung");
+                                                          }
+                                                      })))
+                .build()
+                .start()
+                .await(10, TimeUnit.SECONDS);
+        webClient = WebClient.builder()
+                .baseUri("http://localhost:" + webServer.port() + "/cache")
+                .build();
+    }
+
+    @AfterAll
+    public static void close() throws Exception {
+        if (webServer != null) {
+            webServer.shutdown().await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testCached() {
+        assertThat(get("/cached"), is("cached 1"));
+
+        WebClientResponse response = webClient.get()
+                .path("/cached")
+                .request()
+                .await(10, TimeUnit.SECONDS);
+        assertThat(response.status(), is(Http.Status.OK_200));
+        assertThat(response.headers().first(Http.Header.AGE).isPresent(), is(true));
+        assertThat(response.content().as(String.class).await(10, TimeUnit.SECONDS), is("cached 1"));
+        assertThat(CACHED_CALLS.get(), is(1));
+    }
+
+    @Test
+    public void testConditional() {
+        get("/cached");
+        WebClientResponse response = webClient.get()
+                .path("/cached")
+                .headers(headers -> {
+                    headers.add(Http.Header.IF_NONE_MATCH, "\"v1\"");
+                    return headers;
+                })
+                .request()
+                .await(10, TimeUnit.SECONDS);
+        assertThat(response.status(), is(Http.Status.NOT_MODIFIED_304));
+    }
+
+    @Test
+    public void testNoStore() {
+        assertThat(get("/no-store"), is("no-store 1"));
+        assertThat(get("/no-store"), is("no-store 2"));
+    }
+
+    @Test
+    public void testVary() {
+        assertThat(get("/vary", "en"), is("en"));
+        assertThat(get("/vary", "cs"), is("cs"));
+        assertThat(get("/vary", "en"), is("en"));
+        assertThat(get("/vary", "cs"), is("cs"));
+        assertThat(VARY_CALLS.get(), is(2));
+    }
+
+    @Test
+    public void testCollapsed() throws Exception {
+        long collapsed = cache.statistics().collapsed();
+        Single<String> first = webClient.get().path("/slow").request(String.class);
+        assertThat(SLOW_RECEIVED.await(10, TimeUnit.SECONDS), is(true));
+
+        List<Single<String>> others = List.of(webClient.get().path("/slow").request(String.class),
+                                              webClient.get().path("/slow").request(String.class));
+        // the handler is released only once both requests wait for the loaded entry
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (cache.statistics().collapsed() < collapsed + 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(cache.statistics().collapsed(), is(collapsed + 2));
+        SLOW_RELEASE.complete("slow");
+
+        assertThat(first.await(10, TimeUnit.SECONDS), is("slow"));
+        for (Single<String> other : others) {
+            assertThat(other.await(10, TimeUnit.SECONDS), is("slow"));
+        }
+        assertThat(SLOW_CALLS.get(), is(1));
+    }
+
+    @Test
+    public void testCollapseTimeout() throws Exception {
+        WebClient client = WebClient.builder()
+                .baseUri("http://localhost:" + webServer.port() + "/timeout")
+                .build();
+        Single<String> first = client.get().path("/hung").request(String.class);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (HUNG_CALLS.get() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // does not wait for the hung handler past the collapse timeout
+        assertThat(client.get().path("/hung").request(String.class).await(10, TimeUnit.SECONDS), is("not hung"));
+        assertThat(HUNG_CALLS.get(), is(2));
+
+        HUNG_RELEASE.complete("hung");
+        assertThat(first.await(10, TimeUnit.SECONDS), is("hung"));
+    }
+
+    @Test
+    public void testHost() {
+        assertThat(getHost("first.example"), is("first.example"));
+        assertThat(getHost("second.example"), is("second.example"));
+        assertThat(getHost("first.example"), is("first.example"));
+        assertThat(HOST_CALLS.get(), is(2));
+    }
+
+    private static String getHost(String host) {
+        return webClient.get()
+                .path("/host")
+                .headers(headers -> {
+                    headers.put(Http.Header.HOST, host);
+                    return headers;
+                })
+                .request(String.class)
+                .await(10, TimeUnit.SECONDS);
+    }
+
+    private static String get(String path) {
+        return webClient.get()
+                .path(path)
+                .request(String.class)
+                .await(10, TimeUnit.SECONDS);
+    }
+
+    private static String get(String path, String language) {
+        return webClient.get()
+                .path(path)
+                .headers(headers -> {
+                    headers.add(Http.Header.ACCEPT_LANGUAGE, language);
+                    return headers;
+                })
+                .request(String.class)
+                .await(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import io.helidon.common.http.Http;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests {@link RouteIndex}.
+ */
+class RouteIndexTest {
+
+    private static final Handler VOID_HANDLER = (req, res) -> {};
+
+    private static final String[] PATTERNS = {
+            "/",
+            "/foo",
+            "/foo/bar",
+            "/foo/{id}",
+            "/foo/{id}/bar",
+            "/foo/{}/baz",
+            "/foo/{+rest}",
+            "/foo/{id:\\d+}",
+            "/foo[/bar]",
+            "/a{id}",
+            "/{a}/{b}",
+            "/{+}",
+            "/foo/",
+            "foo"
+    };
+
+    private static final String[] PATHS = {
+            "/",
+            "/foo",
+            "/foobar",
+            "/foo/bar",
+            "/foo/123",
+            "/foo/abc/bar",
+            "/foo/abc/baz",
+            "/foo/a/b/c",
+            "/a123",
+            "/x/y",
+            "/x/y/z",
+            "/foo//bar"
+    };
+
+    @Test
+    void testSameMatchesAsMatchers() {
+        List<Route> routes = new ArrayList<>();
+        for (String pattern : PATTERNS) {
+            routes.add(new HandlerRoute(null, PathMatcher.create(pattern), VOID_HANDLER, Http.Method.GET));
+        }
+        RouteList routeList = new RouteList(routes);
+
+        for (String path : PATHS) {
+            RouteIndex.Lookup lookup = routeList.index().lookup(path, Http.Method.GET);
+            List<Integer> indexed = new ArrayList<>();
+            List<Map<String, String>> indexedParams = new ArrayList<>();
+            for (int i = lookup.nextCandidate(0); i >= 0; i = lookup.nextCandidate(i + 1)) {
+                PathMatcher.Result result = lookup.match(i);
+                if (result.matches()) {
+                    indexed.add(i);
+                    indexedParams.add(result.params());
+                }
+            }
+
+            List<Integer> scanned = new ArrayList<>();
+            List<Map<String, String>> scannedParams = new ArrayList<>();
+            for (int i = 0; i < routes.size(); i++) {
+                PathMatcher.Result result = ((HandlerRoute) routes.get(i)).match(path);
+                if (result.matches()) {
+                    scanned.add(i);
+                    scannedParams.add(result.params());
+                }
+            }
+
+            assertThat("Matched routes for " + path, indexed, is(scanned));
+            assertThat("Parameters for " + path, indexedParams, is(scannedParams));
+        }
+    }
+
+    @Test
+    void testMethodDispatch() {
+        RouteList routeList = new RouteList(List.of(
+                new HandlerRoute(null, PathMatcher.create("/foo"), VOID_HANDLER, Http.Method.POST),
+                new HandlerRoute(null, PathMatcher.create("/foo"), VOID_HANDLER, Http.Method.GET),
+                new HandlerRoute(null, VOID_HANDLER),
+                new HandlerRoute(null, PathMatcher.create("/foo"), VOID_HANDLER, Http.RequestMethod.create("FOO"))));
+
+        assertThat(candidates(routeList, "/foo", Http.Method.GET), is(List.of(1, 2)));
+        assertThat(candidates(routeList, "/foo", Http.Method.POST), is(List.of(0, 2)));
+        assertThat(candidates(routeList, "/foo", Http.RequestMethod.create("FOO")), is(List.of(2, 3)));
+        assertThat(candidates(routeList, "/bar", Http.Method.GET), is(List.of(2)));
+    }
+
+    @Test
+    void testRouteListPrefix() {
+        RouteList nested = new RouteList(PathMatcher.create("/users"),
+                                         List.of(new HandlerRoute(null, PathMatcher.create("/{name}"), VOID_HANDLER)));
+        RouteList nestedParam = new RouteList(PathMatcher.create("/tenants/{tenant}"),
+                                              List.of(new HandlerRoute(null, VOID_HANDLER)));
+        RouteList routeList = new RouteList(List.of(nested, nestedParam));
+
+        assertThat(candidates(routeList, "/users", Http.Method.GET), is(List.of(0)));
+        assertThat(candidates(routeList, "/users/john", Http.Method.GET), is(List.of(0)));
+        assertThat(candidates(routeList, "/usersx", Http.Method.GET), is(List.of()));
+        assertThat(candidates(routeList, "/tenants/acme/users", Http.Method.GET), is(List.of(1)));
+        assertThat(candidates(routeList, "/tenants", Http.Method.GET), is(List.of()));
+    }
+
+    private static List<Integer> candidates(RouteList routeList, String path, Http.RequestMethod method) {
+        RouteIndex.Lookup lookup = routeList.index().lookup(path, method);
+        List<Integer> result = new ArrayList<>();
+        for (int i = lookup.nextCandidate(0); i >= 0; i = lookup.nextCandidate(i + 1)) {
+            result.add(i);
+        }
+        return result;
+    }
+}
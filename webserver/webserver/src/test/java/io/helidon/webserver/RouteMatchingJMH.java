@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.common.http.Http;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Compares the {@link RouteIndex} lookup with a linear scan of {@link PathMatcher matchers},
+ * which is how routes were matched before the index was introduced.
+ * <p>
+ * Routes are a mix of literal, parameter and wildcard patterns; the routed path matches one of the last routes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RouteMatchingJMH {
+
+    private static final Handler VOID_HANDLER = (req, res) -> {};
+
+    public static void main(String[] args) throws Throwable {
+        Options opt = new OptionsBuilder()
+                .include(RouteMatchingJMH.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Param({"10", "100", "1000"})
+    int routeCount;
+
+    private RouteList routes;
+    private String path;
+
+    @Setup
+    public void setup() {
+        List<Route> list = new ArrayList<>(routeCount);
+        for (int i = 0; i < routeCount; i++) {
+            String pattern;
+            switch (i % 4) {
+            case 0:
+                pattern = "/service" + i + "/items";
+                break;
+            case 1:
+                pattern = "/service" + i + "/items/{id}";
+                break;
+            case 2:
+                pattern = "/service" + i + "/items/{id}/parts/{part}";
+                break;
+            default:
+                pattern = "/service" + i + "/files/{+path}";
+                break;
+            }
+            list.add(new HandlerRoute(null, PathMatcher.create(pattern), VOID_HANDLER, Http.Method.GET));
+        }
+        routes = new RouteList(list);
+        int target = ((routeCount - 1) / 4) * 4 + 2;
+        if (target >= routeCount) {
+            target -= 4;
+        }
+        path = "/service" + target + "/items/42/parts/wheel";
+    }
+
+    @Benchmark
+    public void linearScan(Blackhole bh) {
+        for (Route route : routes) {
+            if (route.accepts(Http.Method.GET)) {
+                PathMatcher.Result result = ((HandlerRoute) route).match(path);
+                if (result.matches()) {
+                    bh.consume(result.params());
+                    return;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void routeIndex(Blackhole bh) {
+        RouteIndex.Lookup lookup = routes.index().lookup(path, Http.Method.GET);
+        for (int i = lookup.nextCandidate(0); i >= 0; i = lookup.nextCandidate(i + 1)) {
+            PathMatcher.Result result = lookup.match(i);
+            if (result.matches()) {
+                bh.consume(result.params());
+                return;
+            }
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package io.helidon.webserver;
 
 import java.net.InetAddress;
+import java.util.Map;
 
 import io.helidon.config.Config;
 import io.helidon.config.ConfigSources;
@@ -126,4 +127,35 @@ public class ServerConfigurationTest {
         assertThat(sc.socket("secure").enabledSslProtocols(), contains("TLSv1.2"));
         assertThat(sc.socket("secure").ssl(), notNullValue());
     }
+
+    @Test
+    public void transportFromConfig() {
+        Config config = Config.create(ConfigSources.create(Map.of("transport", "io-uring",
+                                                                  "reuse-port", "true",
+                                                                  "acceptors", "4",
+                                                                  "tcp-fast-open", "256")));
+        ServerConfiguration sc = ServerConfiguration.create(config);
+        assertThat(sc.transport(), is(Transport.IO_URING));
+        assertThat(sc.reusePort(), is(true));
+        assertThat(sc.acceptors(), is(4));
+        assertThat(sc.tcpFastOpen(), is(256));
+        assertThat(sc.socket(WebServer.DEFAULT_SOCKET_NAME).reusePort(), is(true));
+    }
+
+    @Test
+    public void connectionLifecycleFromConfig() {
+        Config config = Config.create(ConfigSources.create(Map.of("idle-timeout-millis", "30000",
+                                                                  "read-timeout-millis", "5000",
+                                                                  "max-requests-per-connection", "1000",
+                                                                  "max-connections", "10000",
+                                                                  "connection-overflow-policy", "pause",
+                                                                  "drain-timeout-millis", "20000")));
+        ServerConfiguration sc = ServerConfiguration.create(config);
+        assertThat(sc.idleTimeoutMillis(), is(30000));
+        assertThat(sc.readTimeoutMillis(), is(5000));
+        assertThat(sc.maxRequestsPerConnection(), is(1000));
+        assertThat(sc.maxConnections(), is(10000));
+        assertThat(sc.connectionOverflowPolicy(), is(ConnectionOverflowPolicy.PAUSE));
+        assertThat(sc.drainTimeoutMillis(), is(20000L));
+    }
 }
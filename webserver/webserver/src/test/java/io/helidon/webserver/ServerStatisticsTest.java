@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.common.http.Http;
+import io.helidon.webserver.utils.SocketHttpClient;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+/**
+ * Tests {@link ServerStatistics}.
+ */
+public class ServerStatisticsTest {
+
+    private static WebServer webServer;
+    private static ServerStatistics statistics;
+
+    @BeforeAll
+    public static void startServer() throws Exception {
+        webServer = WebServer.builder(Routing.builder()
+                                              .get("/", (req, res) -> res.send("OK")))
+                .workersCount(2)
+                .build()
+                .start()
+                .await(10, TimeUnit.SECONDS);
+        statistics = webServer.statistics().orElseThrow();
+    }
+
+    @AfterAll
+    public static void close() throws Exception {
+        if (webServer != null) {
+            webServer.shutdown().await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testEventLoops() throws Exception {
+        assertThat(statistics.eventLoops(), is(2));
+        for (int i = 0; i < statistics.eventLoops(); i++) {
+            assertThat(statistics.pendingTasks(i), greaterThanOrEqualTo(0));
+            // starts the probes
+            statistics.eventLoopDelay(i);
+        }
+        Thread.sleep(1200);
+        for (int i = 0; i < statistics.eventLoops(); i++) {
+            assertThat(statistics.eventLoopDelay(i), greaterThanOrEqualTo(0L));
+        }
+    }
+
+    @Test
+    public void testOpenConnections() throws Exception {
+        try (SocketHttpClient client = new SocketHttpClient(webServer)) {
+            client.request(Http.Method.GET);
+            client.receive();
+            assertThat(statistics.openConnections(WebServer.DEFAULT_SOCKET_NAME), is(1));
+        }
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (statistics.openConnections(WebServer.DEFAULT_SOCKET_NAME) > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(statistics.openConnections(WebServer.DEFAULT_SOCKET_NAME), is(0));
+        assertThat(statistics.openConnections("unknown"), is(0));
+    }
+
+    @Test
+    public void testMemory() {
+        assertThat(statistics.maxDirectMemory(), greaterThan(0L));
+        assertThat(statistics.unreleasedChunks(), greaterThanOrEqualTo(0));
+        assertThat(statistics.allocatorDirectMemory(), greaterThanOrEqualTo(0L));
+    }
+}
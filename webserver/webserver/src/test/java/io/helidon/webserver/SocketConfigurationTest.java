@@ -16,8 +16,11 @@
 
 package io.helidon.webserver;
 
+import java.net.InetAddress;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import io.helidon.config.Config;
 import io.helidon.config.ConfigException;
@@ -30,6 +33,7 @@ import org.junit.jupiter.api.Test;
 import static io.helidon.config.testing.OptionalMatcher.present;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 public class SocketConfigurationTest {
@@ -101,6 +105,23 @@ public class SocketConfigurationTest {
 
     }
 
+    @Test
+    void testMinimalBuilderIgnoresUnsupportedOptions() {
+        Config config = Config.create(ConfigSources.create(Map.of("port", "8080",
+                                                                  "reuse-port", "true",
+                                                                  "acceptors", "4",
+                                                                  "write-aggregation-size", "8192",
+                                                                  "concurrency-limit", "10",
+                                                                  "max-connections", "100",
+                                                                  "connection-overflow-policy", "pause",
+                                                                  "compression.min-size", "512")));
+        MinimalBuilder builder = new MinimalBuilder();
+
+        assertThat(builder.config(config), sameInstance(builder));
+        assertThat(builder.port, is(8080));
+        assertThat(builder.acceptors(2), sameInstance(builder));
+    }
+
     private void validateRunnablePort(String socketName, WebServer server, boolean enabled) {
         if (enabled) {
             assertThat(ERROR_PREFIX + " runnable \"" + socketName + "\" port must be an ephemeral port",
@@ -151,4 +172,62 @@ public class SocketConfigurationTest {
                    socket.enabled(),
                    is(enabled));
     }
+
+    /**
+     * A builder implemented outside of Helidon, supporting only the options of the first release.
+     */
+    private static final class MinimalBuilder implements SocketConfiguration.SocketConfigurationBuilder<MinimalBuilder> {
+        private int port;
+
+        @Override
+        public MinimalBuilder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        @Override
+        public MinimalBuilder bindAddress(InetAddress bindAddress) {
+            return this;
+        }
+
+        @Override
+        public MinimalBuilder backlog(int backlog) {
+            return this;
+        }
+
+        @Override
+        public MinimalBuilder timeout(long amount, TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        public MinimalBuilder receiveBufferSize(int receiveBufferSize) {
+            return this;
+        }
+
+        @Override
+        public MinimalBuilder tls(WebServerTls webServerTls) {
+            return this;
+        }
+
+        @Override
+        public MinimalBuilder maxHeaderSize(int size) {
+            return this;
+        }
+
+        @Override
+        public MinimalBuilder maxInitialLineLength(int length) {
+            return this;
+        }
+
+        @Override
+        public MinimalBuilder enableCompression(boolean value) {
+            return this;
+        }
+
+        @Override
+        public MinimalBuilder maxPayloadSize(long size) {
+            return this;
+        }
+    }
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.common.http.Http;
+import io.helidon.webclient.WebClient;
+import io.helidon.webclient.WebClientResponse;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests the in-memory cache of {@link StaticContentSupport}.
+ */
+public class StaticContentCacheTest {
+
+    private static final String SCRIPT = "function hello() { return 'hello'; }\n".repeat(50);
+
+    private static Path root;
+    private static StaticContentSupport staticContent;
+    private static StaticContentSupport.CacheStatistics statistics;
+    private static WebServer webServer;
+    private static WebClient client;
+
+    @BeforeAll
+    public static void startServer() throws Exception {
+        root = Files.createTempDirectory("static-cache");
+        Files.writeString(root.resolve("page.js"), SCRIPT);
+        Files.writeString(root.resolve("page.js.br"), "brotli");
+        Files.writeString(root.resolve("app.js"), SCRIPT);
+        Files.writeString(root.resolve("small.txt"), "small");
+        Files.writeString(root.resolve("other.txt"), "other");
+        Files.writeString(root.resolve("big.txt"), "x".repeat(20_000));
+
+        staticContent = StaticContentSupport.builder(root)
+                .cacheMaxSize(10_000)
+                .cacheMaxEntries(2)
+                .build();
+        statistics = staticContent.cacheStatistics().orElseThrow();
+
+        webServer = WebServer.builder(Routing.builder().register("/static", staticContent))
+                .build()
+                .start()
+                .toCompletableFuture()
+                .get(10, TimeUnit.SECONDS);
+
+        client = WebClient.builder()
+                .baseUri("http://localhost:" + webServer.port() + "/static/")
+                .build();
+    }
+
+    @AfterAll
+    public static void close() throws Exception {
+        if (webServer != null) {
+            webServer.shutdown().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testCacheDisabledByDefault() {
+        assertThat(StaticContentSupport.create(root).cacheStatistics().isPresent(), is(false));
+    }
+
+    @Test
+    public void testVariantsAndInvalidation() throws Exception {
+        long hits = statistics.hits();
+        long misses = statistics.misses();
+
+        // client sends Accept-Encoding: gzip and decompresses the content
+        WebClientResponse response = get("page.js", null);
+        assertThat(response.content().as(String.class).get(), is(SCRIPT));
+        assertThat(get("page.js", null).content().as(String.class).get(), is(SCRIPT));
+        assertThat(statistics.misses(), is(misses + 1));
+        assertThat(statistics.hits(), is(hits + 1));
+
+        response = get("page.js", "br, gzip;q=0.5");
+        assertThat(response.headers().first(Http.Header.CONTENT_ENCODING).orElse(null), is("br"));
+        assertThat(response.content().as(String.class).get(), is("brotli"));
+
+        response = get("page.js", "gzip;q=0.5, identity");
+        assertThat(response.headers().first(Http.Header.CONTENT_ENCODING).isPresent(), is(false));
+        response.close();
+
+        response = get("page.js", "gzip;q=0, identity;q=0");
+        assertThat(response.status(), is(Http.Status.NOT_ACCEPTABLE_406));
+        response.close();
+
+        response = get("page.js", "identity");
+        assertThat(response.headers().first(Http.Header.CONTENT_ENCODING).isPresent(), is(false));
+        String etag = response.headers().first(Http.Header.ETAG).orElseThrow();
+        assertThat(response.content().as(String.class).get(), is(SCRIPT));
+
+        Path file = root.resolve("page.js");
+        Files.writeString(file, "changed");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(10)));
+        response = get("page.js", "identity");
+        assertThat(response.headers().first(Http.Header.ETAG).orElse(null), not(etag));
+        assertThat(response.content().as(String.class).get(), is("changed"));
+    }
+
+    @Test
+    public void testLimits() throws Exception {
+        long evictions = statistics.evictions();
+        get("small.txt", null).content().as(String.class).get();
+        get("other.txt", null).content().as(String.class).get();
+        get("app.js", null).content().as(String.class).get();
+
+        assertThat(statistics.entries() <= 2, is(true));
+        assertThat(statistics.size() <= 10_000, is(true));
+        assertThat(statistics.evictions() > evictions, is(true));
+        // big.txt is larger than the cache and is served from the file
+        assertThat(new String(get("big.txt", null).content().as(byte[].class).get(), StandardCharsets.UTF_8).length(),
+                   is(20_000));
+    }
+
+    private static WebClientResponse get(String path, String acceptEncoding) throws Exception {
+        return client.get()
+                .path(path)
+                .headers(headers -> {
+                    if (acceptEncoding != null) {
+                        headers.put(Http.Header.ACCEPT_ENCODING, acceptEncoding);
+                    }
+                    return headers;
+                })
+                .request()
+                .toCompletableFuture()
+                .get(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import io.helidon.common.netty.NettyTransport;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests {@link Transport} and its use by {@link NettyWebServer}.
+ */
+class TransportTest {
+
+    @Test
+    void testParse() {
+        assertThat(Transport.parse("auto"), is(Transport.AUTO));
+        assertThat(Transport.parse("NIO"), is(Transport.NIO));
+        assertThat(Transport.parse(" epoll "), is(Transport.EPOLL));
+        assertThat(Transport.parse("io-uring"), is(Transport.IO_URING));
+        assertThat(Transport.parse("io_uring"), is(Transport.IO_URING));
+        assertThrows(IllegalArgumentException.class, () -> Transport.parse("kqueue"));
+    }
+
+    @Test
+    void testNettyTransportNames() {
+        for (Transport transport : Transport.values()) {
+            // native transports are not test dependencies of this module
+            assertThat(NettyTransport.create(transport.name()).name(), is("nio"));
+        }
+    }
+
+    @Test
+    void testAcceptors() {
+        NettyTransport transport = NettyTransport.nio();
+        // multiple acceptors need SO_REUSEPORT of a native transport
+        assertThat(NettyWebServer.acceptors(transport, SocketConfiguration.builder().acceptors(4).build()), is(1));
+        assertThat(NettyWebServer.acceptors(transport, SocketConfiguration.builder().build()), is(1));
+    }
+}
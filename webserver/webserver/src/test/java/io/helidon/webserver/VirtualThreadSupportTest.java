@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.common.http.MediaType;
+import io.helidon.webclient.WebClient;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests blocking handlers registered after {@link VirtualThreadSupport}.
+ */
+public class VirtualThreadSupportTest {
+
+    private static final int CONTENT_SIZE = 1024 * 1024;
+
+    private static WebServer webServer;
+    private static WebClient webClient;
+
+    @BeforeAll
+    public static void startServer() throws Exception {
+        webServer = WebServer.builder(Routing.builder()
+                                              .get("/event-loop", (req, res) -> res.send(Thread.currentThread().getName()))
+                                              .register("/blocking", VirtualThreadSupport.create(), rules -> rules
+                                                      .get("/thread", (req, res) -> res.send(Thread.currentThread().getName()))
+                                                      .post("/echo", VirtualThreadSupportTest::echo)))
+                .build()
+                .start()
+                .toCompletableFuture()
+                .get(10, TimeUnit.SECONDS);
+        webClient = WebClient.builder()
+                .baseUri("http://localhost:" + webServer.port())
+                .build();
+    }
+
+    @AfterAll
+    public static void close() throws Exception {
+        if (webServer != null) {
+            webServer.shutdown().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testServiceThread() throws Exception {
+        assertThat(get("/event-loop"), not(startsWith("helidon-virtual-")));
+        assertThat(get("/blocking/thread"), startsWith("helidon-virtual-"));
+    }
+
+    @Test
+    public void testBlockingStreams() throws Exception {
+        String content = "a".repeat(CONTENT_SIZE);
+        String echoed = webClient.post()
+                .path("/blocking/echo")
+                .contentType(MediaType.TEXT_PLAIN)
+                .submit(content, String.class)
+                .toCompletableFuture()
+                .get(10, TimeUnit.SECONDS);
+        assertThat(echoed, is(content));
+    }
+
+    private static String get(String path) throws Exception {
+        return webClient.get()
+                .path(path)
+                .request(String.class)
+                .toCompletableFuture()
+                .get(10, TimeUnit.SECONDS);
+    }
+
+    private static void echo(ServerRequest req, ServerResponse res) {
+        try (InputStream in = VirtualThreadSupport.inputStream(req);
+                OutputStream out = VirtualThreadSupport.outputStream(res)) {
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                out.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
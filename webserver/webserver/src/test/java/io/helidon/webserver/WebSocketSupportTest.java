@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests {@link WebSocketSupport}.
+ */
+public class WebSocketSupportTest {
+
+    private static WebServer webServer;
+
+    @BeforeAll
+    public static void startServer() throws Exception {
+        webServer = WebServer.builder(Routing.builder()
+                                              .register("/echo", WebSocketSupport.create(
+                                                      (upgradeRequest, session) -> session.inbound()))
+                                              .register("/upper", WebSocketSupport.builder()
+                                                      .endpoint((upgradeRequest, session) -> session.inbound()
+                                                              .map(WebSocketSupportTest::upper))
+                                                      .maxMessageLength(16)
+                                                      .build())
+                                              .get("/echo", (req, res) -> res.send("Not a WebSocket")))
+                .build()
+                .start()
+                .await(10, TimeUnit.SECONDS);
+    }
+
+    @AfterAll
+    public static void close() throws Exception {
+        if (webServer != null) {
+            webServer.shutdown().await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testEcho() throws Exception {
+        Listener listener = new Listener();
+        WebSocket webSocket = connect("/echo", listener);
+        webSocket.sendText("Hello", true).get(10, TimeUnit.SECONDS);
+        assertThat(listener.messages.poll(10, TimeUnit.SECONDS), is("Hello"));
+        webSocket.sendText("World", true).get(10, TimeUnit.SECONDS);
+        assertThat(listener.messages.poll(10, TimeUnit.SECONDS), is("World"));
+        webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "").get(10, TimeUnit.SECONDS);
+        assertThat(listener.closed.get(10, TimeUnit.SECONDS), is(WebSocket.NORMAL_CLOSURE));
+    }
+
+    @Test
+    public void testTextAndBinary() throws Exception {
+        Listener listener = new Listener();
+        WebSocket webSocket = connect("/echo", listener);
+        webSocket.sendBinary(ByteBuffer.wrap(new byte[] {1, 2, 3}), true).get(10, TimeUnit.SECONDS);
+        webSocket.sendText("Hello", true).get(10, TimeUnit.SECONDS);
+        // each message is echoed with its own type
+        assertThat(listener.messages.poll(10, TimeUnit.SECONDS), is("binary:010203"));
+        assertThat(listener.messages.poll(10, TimeUnit.SECONDS), is("Hello"));
+        webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "").get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testFragmentsAggregated() throws Exception {
+        Listener listener = new Listener();
+        WebSocket webSocket = connect("/upper", listener);
+        webSocket.sendText("hel", false).get(10, TimeUnit.SECONDS);
+        webSocket.sendText("lo", true).get(10, TimeUnit.SECONDS);
+        assertThat(listener.messages.poll(10, TimeUnit.SECONDS), is("HELLO"));
+        webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "").get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testFragmentsAggregatedByDefault() throws Exception {
+        Listener listener = new Listener();
+        WebSocket webSocket = connect("/echo", listener);
+        webSocket.sendText("hel", false).get(10, TimeUnit.SECONDS);
+        webSocket.sendText("lo", true).get(10, TimeUnit.SECONDS);
+        webSocket.sendText("world", true).get(10, TimeUnit.SECONDS);
+        // each message is echoed whole, not fragment by fragment
+        assertThat(listener.messages.poll(10, TimeUnit.SECONDS), is("hello"));
+        assertThat(listener.messages.poll(10, TimeUnit.SECONDS), is("world"));
+        webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "").get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testMaxMessageLength() {
+        assertThrows(IllegalArgumentException.class, () -> WebSocketSupport.builder().maxMessageLength(0));
+    }
+
+    @Test
+    public void testMessageTooBig() throws Exception {
+        Listener listener = new Listener();
+        WebSocket webSocket = connect("/upper", listener);
+        webSocket.sendText("0123456789", false).get(10, TimeUnit.SECONDS);
+        webSocket.sendText("0123456789", true).get(10, TimeUnit.SECONDS);
+        assertThat(listener.closed.get(10, TimeUnit.SECONDS), is(1009));
+    }
+
+    @Test
+    public void testNotUpgrade() throws Exception {
+        String response = HttpClient.newHttpClient()
+                .send(java.net.http.HttpRequest.newBuilder(URI.create("http://localhost:" + webServer.port() + "/echo"))
+                              .build(),
+                      java.net.http.HttpResponse.BodyHandlers.ofString())
+                .body();
+        assertThat(response, is("Not a WebSocket"));
+    }
+
+    private static WebSocket connect(String path, Listener listener) throws Exception {
+        return HttpClient.newHttpClient()
+                .newWebSocketBuilder()
+                .buildAsync(URI.create("ws://localhost:" + webServer.port() + path), listener)
+                .get(10, TimeUnit.SECONDS);
+    }
+
+    private static WebSocketMessage upper(WebSocketMessage message) {
+        String text = message.asText();
+        message.release();
+        return WebSocketMessage.text(text.toUpperCase());
+    }
+
+    private static final class Listener implements WebSocket.Listener {
+        private final BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+        private final CompletableFuture<Integer> closed = new CompletableFuture<>();
+        private final StringBuilder message = new StringBuilder();
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            message.append(data);
+            if (last) {
+                messages.add(message.toString());
+                message.setLength(0);
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onBinary(WebSocket webSocket, ByteBuffer data, boolean last) {
+            message.append("binary:");
+            while (data.hasRemaining()) {
+                message.append(String.format("%02x", data.get()));
+            }
+            if (last) {
+                messages.add(message.toString());
+                message.setLength(0);
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+            closed.complete(statusCode);
+            return null;
+        }
+    }
+}
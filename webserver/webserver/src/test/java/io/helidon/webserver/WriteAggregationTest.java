@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2020 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.reactive.Multi;
+import io.helidon.webclient.WebClient;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests aggregation of response writes and flush consolidation.
+ */
+public class WriteAggregationTest {
+
+    private static final int CHUNKS = 1000;
+    private static final AtomicInteger RELEASED = new AtomicInteger();
+
+    private static WebServer webServer;
+    private static WebServer noAggregationServer;
+
+    @BeforeAll
+    public static void startServer() throws Exception {
+        webServer = WebServer.builder(routing())
+                .writeAggregationSize(8192)
+                .flushConsolidation(256)
+                .build()
+                .start()
+                .toCompletableFuture()
+                .get(10, TimeUnit.SECONDS);
+        noAggregationServer = WebServer.builder(routing())
+                .build()
+                .start()
+                .toCompletableFuture()
+                .get(10, TimeUnit.SECONDS);
+    }
+
+    @AfterAll
+    public static void close() throws Exception {
+        if (webServer != null) {
+            webServer.shutdown().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        }
+        if (noAggregationServer != null) {
+            noAggregationServer.shutdown().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testSmallChunks() throws Exception {
+        assertContent(webServer);
+    }
+
+    @Test
+    public void testSmallChunksNoAggregation() throws Exception {
+        assertContent(noAggregationServer);
+    }
+
+    @Test
+    public void testConfiguration() {
+        ServerConfiguration config = ServerConfiguration.builder()
+                .writeAggregationSize(1024)
+                .writeAggregationChunks(0)
+                .build();
+        assertThat(config.writeAggregationSize(), is(1024));
+        assertThat(config.writeAggregationChunks(), is(1));
+        // both are opt-in
+        config = ServerConfiguration.builder().build();
+        assertThat(config.writeAggregationSize(), is(0));
+        assertThat(config.flushConsolidation(), is(0));
+    }
+
+    private static void assertContent(WebServer server) throws Exception {
+        int released = RELEASED.get();
+        String content = WebClient.builder()
+                .baseUri("http://localhost:" + server.port())
+                .build()
+                .get()
+                .path("/chunks")
+                .request(String.class)
+                .toCompletableFuture()
+                .get(10, TimeUnit.SECONDS);
+
+        assertThat(content, is(expected()));
+        // chunks are released once written, which may be after the client has read the response
+        long deadline = System.currentTimeMillis() + 5000;
+        while (RELEASED.get() - released < CHUNKS && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(RELEASED.get() - released, is(CHUNKS));
+    }
+
+    private static Routing routing() {
+        return Routing.builder()
+                .get("/chunks", (req, res) -> res.send(Multi.range(0, CHUNKS)
+                        .map(i -> DataChunk.create(i % 100 == 0,
+                                                   RELEASED::incrementAndGet,
+                                                   ByteBuffer.wrap(line(i))))))
+                .build();
+    }
+
+    private static byte[] line(int i) {
+        return (i + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String expected() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < CHUNKS; i++) {
+            sb.append(i).append('\n');
+        }
+        return sb.toString();
+    }
+}